@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -48,6 +49,8 @@ public abstract class BaseComputeStep implements ComputeStep {
     private int[] lengths;
     protected double tolerance;
     private long[] sourceNodeIds;
+    private NodeProperties seedScores;
+    private boolean deltaPropagation;
     final RelationshipIterator relationshipIterator;
     final Degrees degrees;
     private final AllocationTracker tracker;
@@ -57,6 +60,10 @@ public abstract class BaseComputeStep implements ComputeStep {
 
     double[] pageRank;
     double[] deltas;
+    // the part of the initial residual that is not covered by pushing the seed scores, only set until the first sync
+    private double[] seedCorrection;
+    // nodes push their delta only if its magnitude exceeds this threshold
+    private double activeThreshold;
     float[][] nextScores;
     float[][] prevScores;
 
@@ -119,12 +126,26 @@ public abstract class BaseComputeStep implements ComputeStep {
         final int partitionSize,
         final Class<?> computeStep
     ) {
-        return MemoryEstimations.builder(computeStep)
+        return estimateMemory(partitionSize, computeStep, false);
+    }
+
+    /**
+     * @param seeded whether the scores start from a seed property, which needs the seed correction until the first sync
+     */
+    static MemoryEstimation estimateMemory(
+        final int partitionSize,
+        final Class<?> computeStep,
+        final boolean seeded
+    ) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(computeStep)
             .perThread("nextScores[] wrapper", MemoryUsage::sizeOfObjectArray)
             .perThread("inner nextScores[][]", sizeOfFloatArray(partitionSize))
             .fixed("pageRank[]", sizeOfDoubleArray(partitionSize))
-            .fixed("deltas[]", sizeOfDoubleArray(partitionSize))
-            .build();
+            .fixed("deltas[]", sizeOfDoubleArray(partitionSize));
+        if (seeded) {
+            builder.fixed("seedCorrection[]", sizeOfDoubleArray(partitionSize));
+        }
+        return builder.build();
     }
 
     public void setStarts(long[] starts, int[] lengths) {
@@ -132,6 +153,16 @@ public abstract class BaseComputeStep implements ComputeStep {
         this.lengths = lengths;
     }
 
+    @Override
+    public void setSeedScores(NodeProperties seedScores) {
+        this.seedScores = seedScores;
+    }
+
+    @Override
+    public void setDeltaPropagation(boolean deltaPropagation) {
+        this.deltaPropagation = deltaPropagation;
+    }
+
     @Override
     public void run() {
         if (state == S_CALC) {
@@ -178,7 +209,34 @@ public abstract class BaseComputeStep implements ComputeStep {
         }
 
         this.pageRank = partitionRank;
-        this.deltas = Arrays.copyOf(partitionRank, partitionSize);
+        if (seedScores == null) {
+            this.deltas = Arrays.copyOf(partitionRank, partitionSize);
+        } else {
+            initializeFromSeed(partitionRank);
+        }
+        // the first iteration always pushes every delta, so that the seed scores are fully propagated
+        this.activeThreshold = 0.0;
+    }
+
+    /**
+     * Starts from the seed scores {@code s} instead of the initial scores {@code b}.
+     * The scores converge to the same result if they start at {@code s + r} with the pending deltas {@code r},
+     * the residual {@code b + dampingFactor * A * s - s} of the seed.
+     * The first iteration computes {@code A * s} by pushing the seed scores, and the first sync adds
+     * {@code b - s} to the deltas, so that the scores are {@code b + dampingFactor * A * s = s + r} afterwards.
+     */
+    private void initializeFromSeed(double[] initialRank) {
+        this.deltas = new double[partitionSize];
+        this.seedCorrection = new double[partitionSize];
+        tracker.add(sizeOfDoubleArray(partitionSize));
+        for (int i = 0; i < partitionSize; i++) {
+            double seed = seedScores.nodeProperty(startNode + i);
+            if (Double.isNaN(seed)) {
+                seed = initialRank[i];
+            }
+            deltas[i] = seed;
+            seedCorrection[i] = initialRank[i] - seed;
+        }
     }
 
     double initialValue() {
@@ -187,6 +245,19 @@ public abstract class BaseComputeStep implements ComputeStep {
 
     abstract void singleIteration();
 
+    /**
+     * Returns the delta that the node at the given index in this partition has to push to its neighbours
+     * in this iteration, and marks it as pushed. Returns {@code 0} if the node is not active.
+     */
+    final double takeDelta(int index) {
+        double delta = deltas[index];
+        if (Math.abs(delta) > activeThreshold) {
+            deltas[index] = 0.0;
+            return delta;
+        }
+        return 0.0;
+    }
+
     @Override
     public void prepareNormalizeDeltas(double l2Norm) {
         this.l2Norm = l2Norm;
@@ -203,6 +274,8 @@ public abstract class BaseComputeStep implements ComputeStep {
         int scoreDim = prevScores.length;
         float[][] prevScores = this.prevScores;
 
+        double[] seedCorrection = this.seedCorrection;
+
         boolean shouldBreak = true;
 
         int length = prevScores[0].length;
@@ -214,11 +287,23 @@ public abstract class BaseComputeStep implements ComputeStep {
                 scores[i] = 0F;
             }
             double delta = dampingFactor * sum;
-            if (delta > tolerance) {
+            pageRank[i] += delta;
+            // deltas that were not pushed in this iteration are kept and accumulate
+            deltas[i] += delta;
+            if (seedCorrection != null) {
+                deltas[i] += seedCorrection[i];
+            }
+            if (Math.abs(deltas[i]) > tolerance) {
                 shouldBreak = false;
             }
-            pageRank[i] += delta;
-            deltas[i] = delta;
+        }
+
+        if (seedCorrection != null) {
+            tracker.remove(sizeOfDoubleArray(partitionSize));
+            this.seedCorrection = null;
+        }
+        if (deltaPropagation) {
+            this.activeThreshold = tolerance;
         }
 
         return shouldBreak;
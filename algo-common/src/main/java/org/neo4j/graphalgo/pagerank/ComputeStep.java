@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.pagerank;
 
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 public interface ComputeStep extends Runnable {
@@ -29,6 +30,10 @@ public interface ComputeStep extends Runnable {
 
     void setStarts(long[] startArray, int[] lengthArray);
 
+    void setSeedScores(NodeProperties seedScores);
+
+    void setDeltaPropagation(boolean deltaPropagation);
+
     double[] deltas();
 
     void prepareNormalizeDeltas(double l2Norm);
@@ -24,6 +24,7 @@ import com.carrotsearch.hppc.LongArrayList;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -119,6 +120,8 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
     private final Graph graph;
     private final LongStream sourceNodeIds;
     private final PageRankVariant pageRankVariant;
+    private final NodeProperties seedScores;
+    private final boolean deltaPropagation;
 
     private ComputeSteps computeSteps;
 
@@ -154,6 +157,8 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         this.toleranceValue = algoConfig.tolerance();
         this.sourceNodeIds = sourceNodeIds;
         this.pageRankVariant = pageRankVariant;
+        this.seedScores = algoConfig.seedProperty() != null ? graph.nodeProperties(algoConfig.seedProperty()) : null;
+        this.deltaPropagation = algoConfig.deltaPropagation();
         this.result = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
         this.progressLogger = progressLogger;
     }
@@ -230,7 +235,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             long[] sourceNodeIds,
             List<Partition> partitions,
             ExecutorService pool) {
-        concurrency = findIdealConcurrency(nodeCount, partitions, concurrency, progressLogger.getLog());
+        concurrency = findIdealConcurrency(nodeCount, partitions, concurrency, seedScores != null, progressLogger.getLog());
         final int expectedParallelism = Math.min(
                 concurrency,
                 partitions.size());
@@ -280,6 +285,8 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         int[] lengthArray = lengths.toArray();
         for (ComputeStep computeStep : computeSteps) {
             computeStep.setStarts(startArray, lengthArray);
+            computeStep.setSeedScores(seedScores);
+            computeStep.setDeltaPropagation(deltaPropagation);
         }
         return new ComputeSteps(tracker, computeSteps, concurrency, pool);
     }
@@ -288,6 +295,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             long nodeCount,
             List<Partition> partitions,
             int concurrency,
+            boolean seeded,
             Log log) {
         if (concurrency <= 0) {
             concurrency = partitions.size();
@@ -299,7 +307,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
                     nodeCount,
                     concurrency,
                     humanReadable(availableMemory()),
-                    humanReadable(memoryUsageFor(concurrency, partitions))
+                    humanReadable(memoryUsageFor(concurrency, partitions, seeded))
             );
         }
 
@@ -307,11 +315,12 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
                 nodeCount,
                 concurrency,
                 availableMemory(),
-                partitions);
+                partitions,
+                seeded);
         if (concurrency > maxConcurrency) {
             if (log != null) {
-                long required = memoryUsageFor(concurrency, partitions);
-                long newRequired = memoryUsageFor(maxConcurrency, partitions);
+                long required = memoryUsageFor(concurrency, partitions, seeded);
+                long newRequired = memoryUsageFor(maxConcurrency, partitions, seeded);
                 long available = availableMemory();
                 log.warn(
                         "Requested concurrency of %d would require %s Heap but only %s are available, Page Rank will be throttled to a concurrency of %d to use only %s Heap.",
@@ -331,16 +340,17 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             long nodeCount,
             int concurrency,
             long availableBytes,
-            List<Partition> partitions) {
+            List<Partition> partitions,
+            boolean seeded) {
         int newConcurrency = concurrency;
 
-        long memoryUsage = memoryUsageFor(newConcurrency, partitions);
+        long memoryUsage = memoryUsageFor(newConcurrency, partitions, seeded);
         while (memoryUsage > availableBytes) {
             long perThread = estimateMemoryUsagePerThread(nodeCount, concurrency);
             long overflow = memoryUsage - availableBytes;
             newConcurrency -= (int) Math.ceil((double) overflow / (double) perThread);
 
-            memoryUsage = memoryUsageFor(newConcurrency, partitions);
+            memoryUsage = memoryUsageFor(newConcurrency, partitions, seeded);
         }
 
         if (newConcurrency < 1) {
@@ -348,8 +358,8 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
                 formatWithLocale(
                     "Requested concurrency of %d would require %s Heap but only %s are available. Page Rank needs at least %d Heap in order to run.",
                     concurrency,
-                    humanReadable(memoryUsageFor(concurrency, partitions)),
-                    humanReadable(memoryUsageFor(1, partitions))
+                    humanReadable(memoryUsageFor(concurrency, partitions, seeded)),
+                    humanReadable(memoryUsageFor(1, partitions, seeded))
                 )
             );
         }
@@ -374,9 +384,13 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         return sizeOfInstance(BaseComputeStep.class) + partitions;
     }
 
+    /**
+     * @param seeded whether the steps start from seed scores, which need a seed correction until the first sync
+     */
     private static long memoryUsageFor(
             int concurrency,
-            List<Partition> partitions) {
+            List<Partition> partitions,
+            boolean seeded) {
         long perThreadUsage = 0L;
         long sharedUsage = 0L;
         int stepSize = 0;
@@ -396,6 +410,9 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             }
             stepSize++;
             sharedUsage += (sizeOfDoubleArray(partitionCount) << 1);
+            if (seeded) {
+                sharedUsage += sizeOfDoubleArray(partitionCount);
+            }
             perThreadUsage += sizeOfIntArray(partitionCount);
         }
 
@@ -98,10 +98,17 @@ public interface PageRankAlgorithm extends Assessable {
 
     @Override
     default MemoryEstimation memoryEstimation() {
+        return memoryEstimation(false);
+    }
+
+    /**
+     * @param seeded whether the scores start from a seed property
+     */
+    default MemoryEstimation memoryEstimation(boolean seeded) {
         return MemoryEstimations.setup("ComputeStep", (dimensions, concurrency) -> {
             long nodeCount = dimensions.nodeCount();
             long nodesPerThread = ceilDiv(nodeCount, concurrency);
-            return BaseComputeStep.estimateMemory((int) nodesPerThread, computeStepClass());
+            return BaseComputeStep.estimateMemory((int) nodesPerThread, computeStepClass(), seeded);
         });
     }
 }
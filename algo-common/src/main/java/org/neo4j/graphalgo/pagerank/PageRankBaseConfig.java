@@ -23,6 +23,7 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.IterationsConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+import org.neo4j.graphalgo.config.SeedConfig;
 import org.neo4j.graphalgo.config.SourceNodesConfig;
 import org.neo4j.graphalgo.config.ToleranceConfig;
 
@@ -31,7 +32,8 @@ public interface PageRankBaseConfig extends
     RelationshipWeightConfig,
     ToleranceConfig,
     IterationsConfig,
-    SourceNodesConfig {
+    SourceNodesConfig,
+    SeedConfig {
 
     @Value.Default
     @Override
@@ -50,6 +52,16 @@ public interface PageRankBaseConfig extends
         return 0.85;
     }
 
+    /**
+     * Only nodes whose pending delta exceeds the tolerance push it to their neighbours,
+     * smaller deltas are accumulated until they do. Combined with a {@link #seedProperty()}
+     * from a previous run, only the parts of the graph that changed are iterated.
+     */
+    @Value.Default
+    default boolean deltaPropagation() {
+        return false;
+    }
+
     // TODO: consider moving this to WeightConfig or create a sub interface of that
     @Value.Default
     default boolean cacheWeights() {
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.modularity;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Accumulates the influence of a single node on its neighbouring communities.
+ * <p>
+ * An open addressing map from community id to influence that is meant to be reused for
+ * every node of a thread. It remembers which slots are in use, so that {@link #clear()}
+ * only touches the entries of the previous node instead of the whole table, and it only
+ * grows when a node has more neighbouring communities than any node before.
+ * Community ids must be non-negative.
+ */
+final class CommunityInfluences {
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 64;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private long[] keys;
+    private double[] values;
+    private int[] usedSlots;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    CommunityInfluences() {
+        allocate(MIN_CAPACITY);
+    }
+
+    static long memoryEstimation(long expectedElements) {
+        int capacity = capacityFor(expectedElements);
+        return sizeOfInstance(CommunityInfluences.class) +
+               sizeOfLongArray(capacity) +
+               sizeOfDoubleArray(capacity) +
+               sizeOfIntArray(capacity);
+    }
+
+    private static int capacityFor(long expectedElements) {
+        long required = (long) Math.ceil(expectedElements / LOAD_FACTOR);
+        return (int) Math.max(MIN_CAPACITY, BitUtil.nextHighestPowerOfTwo(required));
+    }
+
+    void addTo(long community, double value) {
+        assert community >= 0;
+        int slot = slot(community);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == community) {
+                values[slot] += value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = community;
+        values[slot] = value;
+        usedSlots[size++] = slot;
+        if (size > resizeAt) {
+            grow();
+        }
+    }
+
+    double get(long community) {
+        int slot = slot(community);
+        long key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == community) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0.0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the community of the entry at the given index, in insertion order
+     */
+    long community(int index) {
+        return keys[usedSlots[index]];
+    }
+
+    /**
+     * @return the influence of the entry at the given index, in insertion order
+     */
+    double influence(int index) {
+        return values[usedSlots[index]];
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            keys[usedSlots[i]] = EMPTY;
+        }
+        size = 0;
+    }
+
+    private int slot(long community) {
+        return (int) BitMixer.mixPhi(community) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        int[] oldUsedSlots = usedSlots;
+        int oldSize = size;
+
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldSize; i++) {
+            int oldSlot = oldUsedSlots[i];
+            long community = oldKeys[oldSlot];
+            int slot = slot(community);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = community;
+            values[slot] = oldValues[oldSlot];
+            usedSlots[size++] = slot;
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        this.values = new double[capacity];
+        this.usedSlots = new int[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
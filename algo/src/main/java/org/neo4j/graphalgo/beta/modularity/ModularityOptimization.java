@@ -37,13 +37,17 @@ import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.graphalgo.utils.CloseableThreadLocal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.LongStream;
 
+import static org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongCollections.range;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 /**
@@ -53,6 +57,9 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  * "Parallel heuristics for scalable community detection."
  * Parallel Computing 47 (2015): 19-37.
  * https://arxiv.org/pdf/1410.1237.pdf
+ *
+ * Nodes are grouped by their color once, before the first iteration, so that every color sweep only
+ * visits the nodes of that color, split into batches of roughly equal degree.
  */
 public final class ModularityOptimization extends Algorithm<ModularityOptimization, ModularityOptimization> {
 
@@ -72,6 +79,10 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     private double modularity = -1.0;
     private BitSet colorsUsed;
     private HugeLongArray colors;
+    private HugeLongArray nodesByColor;
+    private long[] colorOffsets;
+    private List<List<Partition>> colorBatches;
+    private CloseableThreadLocal<CommunityInfluences> communityInfluences;
     private HugeLongArray currentCommunities;
     private HugeLongArray nextCommunities;
     private HugeLongArray reverseSeedCommunityMapping;
@@ -122,6 +133,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
 
         progressLogger.logMessage(":: Initialization :: Start");
         computeColoring();
+        bucketNodesByColor();
         initSeeding();
         init();
         progressLogger.logMessage(":: Initialization :: Finished");
@@ -134,11 +146,9 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
 
             nodeCommunityInfluences.fill(0.0);
 
-            long currentColor = colorsUsed.nextSetBit(0);
-            while (currentColor != -1) {
+            for (int colorIndex = 0; colorIndex < colorBatches.size(); colorIndex++) {
                 assertRunning();
-                optimizeForColor(currentColor);
-                currentColor = colorsUsed.nextSetBit(currentColor + 1);
+                optimizeForColor(colorIndex);
             }
 
             hasConverged = !updateModularity();
@@ -174,6 +184,84 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.colorsUsed = coloring.usedColors();
     }
 
+    /**
+     * Sorts the nodes by color with a parallel counting sort over fixed node ranges.
+     * Nodes of the same color end up consecutively in {@code nodesByColor}, in ascending id order.
+     * The colors do not change between iterations, so neither do the per color batches.
+     */
+    private void bucketNodesByColor() {
+        int colorCount = Math.toIntExact(colorsUsed.cardinality());
+        int[] colorIndex = new int[Math.toIntExact(colorsUsed.length())];
+        int nextColorIndex = 0;
+        for (long color = colorsUsed.nextSetBit(0); color != -1; color = colorsUsed.nextSetBit(color + 1)) {
+            colorIndex[(int) color] = nextColorIndex++;
+        }
+
+        List<Partition> ranges = PartitionUtils.numberAlignedPartitioning(concurrency, nodeCount, 64);
+        long[][] cursors = new long[ranges.size()][colorCount];
+
+        ParallelUtil.runWithConcurrency(concurrency, rangeTasks(ranges, (range, counts) -> {
+            for (long nodeId = range.startNode; nodeId < range.startNode + range.nodeCount; nodeId++) {
+                counts[colorIndex[(int) colors.get(nodeId)]]++;
+            }
+        }, cursors), executor);
+
+        // turn the counts into the first position of every (color, range) pair
+        this.colorOffsets = new long[colorCount + 1];
+        long offset = 0L;
+        for (int color = 0; color < colorCount; color++) {
+            colorOffsets[color] = offset;
+            for (long[] counts : cursors) {
+                long count = counts[color];
+                counts[color] = offset;
+                offset += count;
+            }
+        }
+        colorOffsets[colorCount] = offset;
+
+        this.nodesByColor = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.runWithConcurrency(concurrency, rangeTasks(ranges, (range, positions) -> {
+            for (long nodeId = range.startNode; nodeId < range.startNode + range.nodeCount; nodeId++) {
+                nodesByColor.set(positions[colorIndex[(int) colors.get(nodeId)]]++, nodeId);
+            }
+        }, cursors), executor);
+
+        this.colorBatches = new ArrayList<>(colorCount);
+        for (int color = 0; color < colorCount; color++) {
+            long colorStart = colorOffsets[color];
+            long colorSize = colorOffsets[color + 1] - colorStart;
+            long colorDegree = 0L;
+            for (long position = colorStart; position < colorStart + colorSize; position++) {
+                colorDegree += graph.degree(nodesByColor.get(position));
+            }
+            long batchDegree = Math.max(batchSize, ParallelUtil.threadCount(concurrency, colorDegree));
+            colorBatches.add(PartitionUtils.degreePartition(
+                range(0, colorSize - 1),
+                position -> graph.degree(nodesByColor.get(colorStart + position)),
+                batchDegree
+            ));
+        }
+    }
+
+    private static Collection<Runnable> rangeTasks(
+        List<Partition> ranges,
+        RangeConsumer consumer,
+        long[][] cursors
+    ) {
+        Collection<Runnable> tasks = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            Partition range = ranges.get(i);
+            long[] rangeCursors = cursors[i];
+            tasks.add(() -> consumer.accept(range, rangeCursors));
+        }
+        return tasks;
+    }
+
+    @FunctionalInterface
+    private interface RangeConsumer {
+        void accept(Partition range, long[] cursors);
+    }
+
     private void initSeeding() {
         this.currentCommunities = HugeLongArray.newArray(nodeCount, tracker);
 
@@ -209,6 +297,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.nodeCommunityInfluences = HugeDoubleArray.newArray(nodeCount, tracker);
         this.communityWeights = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
         this.communityWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.communityInfluences = CloseableThreadLocal.withInitial(CommunityInfluences::new);
 
         double doubleTotalNodeWeight;
 
@@ -247,48 +336,72 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         currentCommunities.copyTo(nextCommunities, nodeCount);
     }
 
-    private void optimizeForColor(long currentColor) {
-        // run optimization tasks for every node
+    private void optimizeForColor(int colorIndex) {
+        List<Partition> batches = colorBatches.get(colorIndex);
+        long colorStart = colorOffsets[colorIndex];
+
+        // run optimization tasks for every node of this color
         ParallelUtil.runWithConcurrency(
             concurrency,
-            createModularityOptimizationTasks(currentColor),
+            createModularityOptimizationTasks(batches, colorStart),
             executor
         );
 
-        // swap old and new communities
-        nextCommunities.copyTo(currentCommunities, nodeCount);
-
-        // apply communityWeight updates to communityWeights
-        ParallelUtil.parallelStreamConsume(
-            LongStream.range(0, nodeCount),
-            concurrency,
-            stream -> stream.forEach(nodeId -> {
-                final double update = communityWeightUpdates.get(nodeId);
-                communityWeights.update(nodeId, w -> w + update);
-            })
-        );
+        // only nodes of this color have moved, so only their communities need to be swapped and updated
+        Collection<Runnable> updateTasks = new ArrayList<>(batches.size());
+        for (Partition batch : batches) {
+            long start = colorStart + batch.startNode;
+            long end = start + batch.nodeCount;
+            updateTasks.add(() -> {
+                for (long position = start; position < end; position++) {
+                    long nodeId = nodesByColor.get(position);
+                    long nextCommunity = nextCommunities.get(nodeId);
+                    applyCommunityWeightUpdate(currentCommunities.get(nodeId));
+                    applyCommunityWeightUpdate(nextCommunity);
+                    currentCommunities.set(nodeId, nextCommunity);
+                }
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, updateTasks, executor);
+    }
 
-        // reset communityWeightUpdates
-        communityWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+    /**
+     * Moves the pending update of the given community into its weight and resets it.
+     * Several nodes might share the community, only the first one to see the update applies it.
+     */
+    private void applyCommunityWeightUpdate(long community) {
+        double update;
+        do {
+            update = communityWeightUpdates.get(community);
+        } while (update != 0.0 && !communityWeightUpdates.compareAndSet(community, update, 0.0));
+
+        if (update != 0.0) {
+            double finalUpdate = update;
+            communityWeights.update(community, w -> w + finalUpdate);
+        }
     }
 
-    private Collection<ModularityOptimizationTask> createModularityOptimizationTasks(long currentColor) {
-        final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(concurrency);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+    private Collection<ModularityOptimizationTask> createModularityOptimizationTasks(
+        List<Partition> batches,
+        long colorStart
+    ) {
+        final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(batches.size());
+        for (Partition batch : batches) {
+            long batchStart = colorStart + batch.startNode;
             tasks.add(
                 new ModularityOptimizationTask(
                     graph,
-                    i,
-                    Math.min(i + batchSize, nodeCount),
-                    currentColor,
+                    nodesByColor,
+                    batchStart,
+                    batchStart + batch.nodeCount,
                     totalNodeWeight,
-                    colors,
                     currentCommunities,
                     nextCommunities,
                     cumulativeNodeWeights,
                     nodeCommunityInfluences,
                     communityWeights,
                     communityWeightUpdates,
+                    communityInfluences,
                     getProgressLogger()
                 )
             );
@@ -340,7 +453,11 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.cumulativeNodeWeights.release();
         this.nodeCommunityInfluences.release();
         this.colors.release();
+        this.nodesByColor.release();
+        this.communityInfluences.close();
         this.colorsUsed = null;
+        this.colorOffsets = null;
+        this.colorBatches = null;
     }
 
     public long getCommunityId(long nodeId) {
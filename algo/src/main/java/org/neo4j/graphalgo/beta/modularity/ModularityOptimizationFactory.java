@@ -45,6 +45,7 @@ public class ModularityOptimizationFactory<T extends ModularityOptimizationConfi
             .perNode("communityWeights", HugeAtomicDoubleArray::memoryEstimation)
             .perNode("colorsUsed", MemoryUsage::sizeOfBitset)
             .perNode("colors", HugeLongArray::memoryEstimation)
+            .perNode("nodesByColor", HugeLongArray::memoryEstimation)
             .rangePerNode(
                 "reversedSeedCommunityMapping", (nodeCount) ->
                     MemoryRange.of(0, HugeLongArray.memoryEstimation(nodeCount))
@@ -54,8 +55,8 @@ public class ModularityOptimizationFactory<T extends ModularityOptimizationConfi
                 .rangePerNode(
                     "communityInfluences",
                     (nodeCount) -> MemoryRange.of(
-                        MemoryUsage.sizeOfLongDoubleHashMap(50),
-                        MemoryUsage.sizeOfLongDoubleHashMap(Math.max(50, nodeCount))
+                        CommunityInfluences.memoryEstimation(0),
+                        CommunityInfluences.memoryEstimation(nodeCount)
                     )
                 )
                 .build()
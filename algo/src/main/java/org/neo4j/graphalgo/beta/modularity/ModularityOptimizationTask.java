@@ -19,9 +19,6 @@
  */
 package org.neo4j.graphalgo.beta.modularity;
 
-import com.carrotsearch.hppc.LongDoubleHashMap;
-import com.carrotsearch.hppc.LongDoubleMap;
-import com.carrotsearch.hppc.cursors.LongDoubleCursor;
 import org.apache.commons.lang3.mutable.MutableDouble;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
@@ -29,16 +26,17 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.utils.CloseableThreadLocal;
 
 final class ModularityOptimizationTask implements Runnable {
 
     private final Graph graph;
     private final RelationshipIterator localGraph;
+    private final HugeLongArray nodesByColor;
     private final long batchStart;
     private final long batchEnd;
-    private final long color;
     private final double totalNodeWeight;
-    private final HugeLongArray colors;
+    private final CloseableThreadLocal<CommunityInfluences> threadLocalCommunityInfluences;
     private final ProgressLogger progressLogger;
     private final HugeLongArray currentCommunities;
     private final HugeLongArray nextCommunities;
@@ -49,23 +47,23 @@ final class ModularityOptimizationTask implements Runnable {
 
     ModularityOptimizationTask(
         Graph graph,
+        HugeLongArray nodesByColor,
         long batchStart,
         long batchEnd,
-        long color,
         double totalNodeWeight,
-        HugeLongArray colors,
         HugeLongArray currentCommunities,
         HugeLongArray nextCommunities,
         HugeDoubleArray cumulativeNodeWeights,
         HugeDoubleArray nodeCommunityInfluences,
         HugeAtomicDoubleArray communityWeights,
         HugeAtomicDoubleArray communityWeightUpdates,
+        CloseableThreadLocal<CommunityInfluences> threadLocalCommunityInfluences,
         ProgressLogger progressLogger
     ) {
         this.graph = graph;
+        this.nodesByColor = nodesByColor;
         this.batchStart = batchStart;
         this.batchEnd = batchEnd;
-        this.color = color;
         this.localGraph = graph.concurrentCopy();
         this.currentCommunities = currentCommunities;
         this.nextCommunities = nextCommunities;
@@ -74,29 +72,19 @@ final class ModularityOptimizationTask implements Runnable {
         this.totalNodeWeight = totalNodeWeight;
         this.cumulativeNodeWeights = cumulativeNodeWeights;
         this.nodeCommunityInfluences = nodeCommunityInfluences;
-        this.colors = colors;
+        this.threadLocalCommunityInfluences = threadLocalCommunityInfluences;
         this.progressLogger = progressLogger;
     }
 
     @Override
     public void run() {
-        LongDoubleMap reuseCommunityInfluences = new LongDoubleHashMap(50);
-        for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
-
-            if (colors.get(nodeId) != color) {
-                continue;
-            }
-
+        CommunityInfluences communityInfluences = threadLocalCommunityInfluences.get();
+        // batch bounds are positions in nodesByColor, which holds the nodes of a color consecutively
+        for (long position = batchStart; position < batchEnd; position++) {
+            long nodeId = nodesByColor.get(position);
             long currentCommunity = currentCommunities.get(nodeId);
-            final int degree = graph.degree(nodeId);
 
-            LongDoubleMap communityInfluences;
-            if (degree < 50) {
-                reuseCommunityInfluences.clear();
-                communityInfluences = reuseCommunityInfluences;
-            } else {
-                communityInfluences = new LongDoubleHashMap(degree);
-            }
+            communityInfluences.clear();
             MutableDouble selfWeight = new MutableDouble(0.0D);
 
             // calculate influence of this node w.r.t its neighbours communities
@@ -119,12 +107,12 @@ final class ModularityOptimizationTask implements Runnable {
             double ay;
 
             long communityCandidate;
-            for (LongDoubleCursor cursor : communityInfluences) {
-                communityCandidate = cursor.key;
+            for (int i = 0; i < communityInfluences.size(); i++) {
+                communityCandidate = communityInfluences.community(i);
 
                 if (currentCommunity != communityCandidate) {
                     ay = communityWeights.get(communityCandidate);
-                    eiy = cursor.value;
+                    eiy = communityInfluences.influence(i);
                     currentGain =
                         (eiy - eix) / totalNodeWeight
                         + (2 * cumulativeNodeWeight * ax - 2 * cumulativeNodeWeight * ay) / Math.pow(
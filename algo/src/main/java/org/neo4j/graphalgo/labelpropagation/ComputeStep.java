@@ -23,59 +23,46 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
-import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
-import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
 
 import static org.neo4j.graphalgo.labelpropagation.LabelPropagation.DEFAULT_WEIGHT;
 
-final class ComputeStep implements Step {
+final class ComputeStep {
 
     private final RelationshipIterator localRelationshipIterator;
     private final HugeLongArray existingLabels;
-    private final PrimitiveLongIterable nodes;
     private final ProgressLogger progressLogger;
     private final ComputeStepConsumer consumer;
     private final Graph graph;
 
-    private boolean didChange = true;
-
     ComputeStep(
             Graph graph,
             NodeProperties nodeWeights,
             ProgressLogger progressLogger,
-            HugeLongArray existingLabels,
-            PrimitiveLongIterable nodes) {
+            HugeLongArray existingLabels) {
         this.existingLabels = existingLabels;
         this.progressLogger = progressLogger;
         this.graph = graph;
         this.localRelationshipIterator = graph.concurrentCopy();
-        this.nodes = nodes;
         this.consumer = new ComputeStepConsumer(nodeWeights, existingLabels);
     }
 
-    @Override
-    public Step next() {
-        return this;
-    }
-
-    @Override
-    public void run() {
-        this.didChange = iterateAll(nodes.iterator());
-    }
-
-    @Override
-    public boolean didConverge() {
-        return !this.didChange;
-    }
-
-    private boolean iterateAll(PrimitiveLongIterator nodeIds) {
+    /**
+     * Computes the labels of the nodes {@code startNode} (inclusive) to {@code endNode} (exclusive).
+     *
+     * @return whether any label changed
+     */
+    boolean computeRange(long startNode, long endNode) {
         boolean didChange = false;
-        while (nodeIds.hasNext()) {
-            long nodeId = nodeIds.next();
+        long relationships = 0L;
+        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
             didChange = compute(nodeId, didChange);
-            progressLogger.logProgress(graph.degree(nodeId));
+            int degree = graph.degree(nodeId);
+            relationships += degree;
+            progressLogger.logProgress(degree);
         }
+        RunTelemetry.current().relationshipsTraversed(relationships);
         return didChange;
     }
 
@@ -91,8 +78,7 @@ final class ComputeStep implements Step {
         return didChange;
     }
 
-    @Override
-    public void release() {
+    void release() {
         consumer.release();
     }
 }
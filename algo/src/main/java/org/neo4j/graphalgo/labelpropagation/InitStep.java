@@ -26,20 +26,18 @@ import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
-final class InitStep implements Step {
+final class InitStep implements Runnable {
 
     private final NodeProperties nodeProperties;
     private final HugeLongArray existingLabels;
     private final PrimitiveLongIterable nodes;
     private final Graph graph;
-    private final NodeProperties nodeWeights;
     private final ProgressLogger progressLogger;
     private final long maxLabelId;
 
     InitStep(
             Graph graph,
             NodeProperties nodeProperties,
-            NodeProperties nodeWeights,
             PrimitiveLongIterable nodes,
             HugeLongArray existingLabels,
             ProgressLogger progressLogger,
@@ -48,7 +46,6 @@ final class InitStep implements Step {
         this.existingLabels = existingLabels;
         this.nodes = nodes;
         this.graph = graph;
-        this.nodeWeights = nodeWeights;
         this.progressLogger = progressLogger;
         this.maxLabelId = maxLabelId;
     }
@@ -76,20 +73,4 @@ final class InitStep implements Step {
             progressLogger.logProgress(graph.degree(nodeId));
         }
     }
-
-    @Override
-    public boolean didConverge() {
-        return false;
-    }
-
-    @Override
-    public Step next() {
-        return new ComputeStep(
-                graph,
-                nodeWeights,
-                progressLogger,
-                existingLabels,
-                nodes
-        );
-    }
 }
@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.WorkStealing;
 import org.neo4j.graphalgo.core.loading.NullPropertyMap;
 import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
@@ -30,11 +31,15 @@ import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongCollecti
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -132,13 +137,15 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
         ranIterations = 0L;
         didConverge = false;
 
-        List<StepRunner> stepRunners = stepRunners();
+        initializeLabels();
+        RunTelemetry telemetry = RunTelemetry.current();
 
         while (ranIterations < config.maxIterations()) {
             getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Start", ranIterations + 1));
-            ParallelUtil.runWithConcurrency(config.concurrency(), stepRunners, 1L, MICROSECONDS, terminationFlag, executor);
+            try (RunTelemetry.Scope ignored = telemetry.phase(formatWithLocale("iteration %d", ranIterations + 1))) {
+                didConverge = !computeIteration();
+            }
             ++ranIterations;
-            didConverge = stepRunners.stream().allMatch(StepRunner::didConverge);
             if (didConverge) {
                 break;
             }
@@ -146,13 +153,45 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
             getProgressLogger().reset(graph.relationshipCount());
         }
 
-        stepRunners.forEach(StepRunner::release);
         getProgressLogger().logMessage(":: Finished");
 
         return me();
     }
 
-    private List<StepRunner> stepRunners() {
+    /**
+     * Runs a single iteration over degree-balanced node ranges that idle workers steal from each other,
+     * with one compute step per worker.
+     *
+     * @return whether any label changed
+     */
+    private boolean computeIteration() {
+        AtomicBoolean didChange = new AtomicBoolean(false);
+        Queue<ComputeStep> steps = new ConcurrentLinkedQueue<>();
+        try {
+            WorkStealing.forEachNodeRange(
+                graph,
+                config.concurrency(),
+                batchSize,
+                terminationFlag,
+                executor,
+                () -> {
+                    ComputeStep step = new ComputeStep(graph, nodeWeights, getProgressLogger(), labels);
+                    steps.add(step);
+                    return step;
+                },
+                (step, startNode, endNode) -> {
+                    if (step.computeRange(startNode, endNode)) {
+                        didChange.set(true);
+                    }
+                }
+            );
+        } finally {
+            steps.forEach(ComputeStep::release);
+        }
+        return didChange.get();
+    }
+
+    private void initializeLabels() {
         long nodeCount = graph.nodeCount();
         long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, this.batchSize);
 
@@ -162,26 +201,21 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
             (start, length) -> () -> PrimitiveLongCollections.range(start, start + length - 1L)
         );
 
-        int threads = nodeBatches.size();
-        List<StepRunner> tasks = new ArrayList<>(threads);
+        List<InitStep> tasks = new ArrayList<>(nodeBatches.size());
         for (PrimitiveLongIterable iter : nodeBatches) {
-            InitStep initStep = new InitStep(
+            tasks.add(new InitStep(
                 graph,
                 nodeProperties,
-                nodeWeights,
                 iter,
                 labels,
                 getProgressLogger(),
                 maxLabelId
-            );
-            StepRunner task = new StepRunner(initStep);
-            tasks.add(task);
+            ));
         }
         progressLogger.logMessage(":: Initialization :: Start");
         ParallelUtil.runWithConcurrency(config.concurrency(), tasks, 1, MICROSECONDS, terminationFlag, executor);
         progressLogger.logMessage(":: Initialization :: Finished");
         progressLogger.reset(graph.relationshipCount());
-        return tasks;
     }
 
     void withBatchSize(int batchSize) {
@@ -20,16 +20,16 @@
 package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
-import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.NeighborCursor;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
 import static org.neo4j.graphalgo.core.utils.ArrayUtil.binaryLookup;
 
-public class NonWeightedComputeStep extends BaseComputeStep implements RelationshipConsumer {
+public class NonWeightedComputeStep extends BaseComputeStep {
 
-    private float srcRankDelta;
+    private final NeighborCursor neighbors;
+    private final long[] targets;
 
     NonWeightedComputeStep(
         double dampingFactor,
@@ -51,31 +51,38 @@ public class NonWeightedComputeStep extends BaseComputeStep implements Relations
             startNode,
             progressLogger
         );
+        this.neighbors = relationshipIterator.neighborCursor(0D);
+        this.targets = new long[NeighborCursor.BLOCK_SIZE];
     }
 
     void singleIteration() {
         long startNode = this.startNode;
         long endNode = this.endNode;
-        RelationshipIterator rels = this.relationshipIterator;
         for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
-            double delta = deltas[(int) (nodeId - startNode)];
-            if (delta > 0.0) {
+            double delta = takeDelta((int) (nodeId - startNode));
+            if (delta != 0.0) {
                 int degree = degrees.degree(nodeId);
                 if (degree > 0) {
-                    srcRankDelta = (float) (delta / degree);
-                    rels.forEachRelationship(nodeId, this);
+                    float srcRankDelta = (float) (delta / degree);
+                    if (srcRankDelta != 0F) {
+                        distribute(nodeId, srcRankDelta);
+                    }
                 }
             }
             progressLogger.logProgress(graph.degree(nodeId));
         }
     }
 
-    @Override
-    public boolean accept(long sourceNodeId, long targetNodeId) {
-        if (srcRankDelta != 0F) {
-            int idx = binaryLookup(targetNodeId, starts);
-            nextScores[idx][(int) (targetNodeId - starts[idx])] += srcRankDelta;
+    private void distribute(long nodeId, float srcRankDelta) {
+        long[] targets = this.targets;
+        neighbors.init(nodeId);
+        int length;
+        while ((length = neighbors.nextBlock(targets)) > 0) {
+            for (int i = 0; i < length; i++) {
+                long targetNodeId = targets[i];
+                int idx = binaryLookup(targetNodeId, starts);
+                nextScores[idx][(int) (targetNodeId - starts[idx])] += srcRankDelta;
+            }
         }
-        return true;
     }
 }
@@ -91,7 +91,7 @@ public class PageRankFactory<CONFIG extends PageRankBaseConfig> extends Algorith
                     .perThread("starts[]", MemoryUsage::sizeOfLongArray)
                     .perThread("lengths[]", MemoryUsage::sizeOfLongArray)
                     .perThread("list of computeSteps", MemoryUsage::sizeOfObjectArray)
-                    .perThread("ComputeStep", algorithmType.memoryEstimation())
+                    .perThread("ComputeStep", algorithmType.memoryEstimation(config.seedProperty() != null))
                     .build();
             }))
             .build();
@@ -20,8 +20,7 @@
 package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipIterator;
-import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.api.NeighborCursor;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
@@ -29,11 +28,12 @@ import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import static org.neo4j.graphalgo.core.utils.ArrayUtil.binaryLookup;
 import static org.neo4j.graphalgo.pagerank.PageRank.DEFAULT_WEIGHT;
 
-public class WeightedComputeStep extends BaseComputeStep implements RelationshipWithPropertyConsumer {
+public class WeightedComputeStep extends BaseComputeStep {
 
     private final HugeDoubleArray aggregatedDegrees;
-    private double sumOfWeights;
-    private double delta;
+    private final NeighborCursor neighbors;
+    private final long[] targets;
+    private final double[] weights;
 
     WeightedComputeStep(
             double dampingFactor,
@@ -54,36 +54,44 @@ public class WeightedComputeStep extends BaseComputeStep implements Relationship
                 progressLogger
         );
         this.aggregatedDegrees = degreeCache.aggregatedDegrees();
+        this.neighbors = relationshipIterator.neighborCursor(DEFAULT_WEIGHT);
+        this.targets = new long[NeighborCursor.BLOCK_SIZE];
+        this.weights = new double[NeighborCursor.BLOCK_SIZE];
     }
 
     void singleIteration() {
         long startNode = this.startNode;
         long endNode = this.endNode;
-        RelationshipIterator rels = this.relationshipIterator;
         for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
-            delta = deltas[(int) (nodeId - startNode)];
-            if (delta > 0.0) {
+            double delta = takeDelta((int) (nodeId - startNode));
+            if (delta != 0.0) {
                 int degree = degrees.degree(nodeId);
                 if (degree > 0) {
-                    sumOfWeights = aggregatedDegrees.get(nodeId);
-                    rels.forEachRelationship(nodeId, DEFAULT_WEIGHT, this);
+                    distribute(nodeId, delta, aggregatedDegrees.get(nodeId));
                 }
             }
             progressLogger.logProgress(graph.degree(nodeId));
         }
     }
 
-    @Override
-    public boolean accept(long sourceNodeId, long targetNodeId, double property) {
-        if (property > 0) {
-            double proportion = property / sumOfWeights;
-            float srcRankDelta = (float) (delta * proportion);
-            if (srcRankDelta != 0F) {
-                int idx = binaryLookup(targetNodeId, starts);
-                nextScores[idx][(int) (targetNodeId - starts[idx])] += srcRankDelta;
+    private void distribute(long nodeId, double delta, double sumOfWeights) {
+        long[] targets = this.targets;
+        double[] weights = this.weights;
+        neighbors.init(nodeId);
+        int length;
+        while ((length = neighbors.nextBlock(targets, weights)) > 0) {
+            for (int i = 0; i < length; i++) {
+                double property = weights[i];
+                if (property > 0) {
+                    double proportion = property / sumOfWeights;
+                    float srcRankDelta = (float) (delta * proportion);
+                    if (srcRankDelta != 0F) {
+                        long targetNodeId = targets[i];
+                        int idx = binaryLookup(targetNodeId, starts);
+                        nextScores[idx][(int) (targetNodeId - starts[idx])] += srcRankDelta;
+                    }
+                }
             }
         }
-
-        return true;
     }
 }
@@ -21,15 +21,16 @@ package org.neo4j.graphalgo.wcc;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NeighborCursor;
 import org.neo4j.graphalgo.api.NodeProperties;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
-import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.WorkStealing;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 
@@ -53,6 +54,7 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
     private final ExecutorService executor;
     private final AllocationTracker tracker;
     private final long nodeCount;
+    private final int minBatchSize;
     private final long batchSize;
     private final int threadSize;
 
@@ -81,6 +83,7 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         this.executor = executor;
         this.tracker = tracker;
         this.nodeCount = graph.nodeCount();
+        this.minBatchSize = minBatchSize;
         this.batchSize = ParallelUtil.adjustedBatchSize(
             nodeCount,
             config.concurrency(),
@@ -112,14 +115,24 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
-        final Collection<Runnable> tasks = new ArrayList<>(threadSize);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
-            WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold(), dss, i);
-            tasks.add(wccTask);
+        if (ParallelUtil.canRunInParallel(executor)) {
+            // hub-heavy ranges are stolen by idle workers
+            WorkStealing.forEachNodeRange(
+                graph,
+                config.concurrency(),
+                minBatchSize,
+                terminationFlag,
+                executor,
+                () -> newTask(dss, 0L, 0L),
+                (task, startNode, endNode) -> task.run(startNode, endNode)
+            );
+        } else {
+            final Collection<Runnable> tasks = new ArrayList<>(threadSize);
+            for (long i = 0L; i < this.nodeCount; i += batchSize) {
+                tasks.add(newTask(dss, i, Math.min(i + batchSize, nodeCount)));
+            }
+            ParallelUtil.run(tasks, executor);
         }
-        ParallelUtil.run(tasks, executor);
 
         progressLogger.logMessage(":: Finished");
         return dss;
@@ -135,6 +148,12 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         graph = null;
     }
 
+    private WCCTask newTask(DisjointSetStruct dss, long startNode, long endNode) {
+        return Double.isNaN(threshold()) || threshold() == 0
+            ? new WCCTask(dss, startNode, endNode)
+            : new WCCWithThresholdTask(threshold(), dss, startNode, endNode);
+    }
+
     public double threshold() {
         return config.threshold();
     }
@@ -143,63 +162,83 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         return threshold + 1;
     }
 
-    private class WCCTask implements Runnable, RelationshipConsumer {
+    private class WCCTask implements Runnable {
 
         final DisjointSetStruct struct;
         final RelationshipIterator rels;
+        final long[] targets;
+        private final NeighborCursor neighbors;
         private final long offset;
         private final long end;
 
-        WCCTask(DisjointSetStruct struct, long offset) {
+        WCCTask(DisjointSetStruct struct, long offset, long end) {
+            this(struct, offset, end, 0D);
+        }
+
+        WCCTask(DisjointSetStruct struct, long offset, long end, double fallbackValue) {
             this.struct = struct;
             this.rels = graph.concurrentCopy();
+            this.neighbors = rels.neighborCursor(fallbackValue);
+            this.targets = new long[NeighborCursor.BLOCK_SIZE];
             this.offset = offset;
-            this.end = Math.min(offset + batchSize, nodeCount);
+            this.end = end;
         }
 
         @Override
         public void run() {
+            run(offset, end);
+        }
+
+        void run(long offset, long end) {
+            long relationships = 0L;
             for (long node = offset; node < end; node++) {
-                compute(node);
+                neighbors.init(node);
+                compute(node, neighbors);
                 if (node % RUN_CHECK_NODE_COUNT == 0) {
                     assertRunning();
                 }
 
-                getProgressLogger().logProgress(graph.degree(node));
+                int degree = graph.degree(node);
+                relationships += degree;
+                getProgressLogger().logProgress(degree);
             }
+            RunTelemetry.current().relationshipsTraversed(relationships);
         }
 
-        void compute(final long node) {
-            rels.forEachRelationship(node, this);
-        }
-
-        @Override
-        public boolean accept(final long sourceNodeId, final long targetNodeId) {
-            struct.union(sourceNodeId, targetNodeId);
-            return true;
+        void compute(final long node, NeighborCursor neighbors) {
+            long[] targets = this.targets;
+            int length;
+            while ((length = neighbors.nextBlock(targets)) > 0) {
+                for (int i = 0; i < length; i++) {
+                    struct.union(node, targets[i]);
+                }
+            }
         }
     }
 
-    private class WCCWithThresholdTask extends WCCTask implements RelationshipWithPropertyConsumer {
+    private class WCCWithThresholdTask extends WCCTask {
 
         private final double threshold;
+        private final double[] weights;
 
-        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset) {
-            super(struct, offset);
+        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset, long end) {
+            super(struct, offset, end, Wcc.defaultWeight(threshold));
             this.threshold = threshold;
+            this.weights = new double[NeighborCursor.BLOCK_SIZE];
         }
 
         @Override
-        void compute(final long node) {
-            rels.forEachRelationship(node, Wcc.defaultWeight(threshold), this);
-        }
-
-        @Override
-        public boolean accept(final long sourceNodeId, final long targetNodeId, final double property) {
-            if (property > threshold) {
-                struct.union(sourceNodeId, targetNodeId);
+        void compute(final long node, NeighborCursor neighbors) {
+            long[] targets = this.targets;
+            double[] weights = this.weights;
+            int length;
+            while ((length = neighbors.nextBlock(targets, weights)) > 0) {
+                for (int i = 0; i < length; i++) {
+                    if (weights[i] > threshold) {
+                        struct.union(node, targets[i]);
+                    }
+                }
             }
-            return true;
         }
     }
 }
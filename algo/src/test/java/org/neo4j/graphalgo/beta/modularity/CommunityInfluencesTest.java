@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.modularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CommunityInfluencesTest {
+
+    @Test
+    void shouldAccumulateInfluencesAcrossGrowth() {
+        var influences = new CommunityInfluences();
+        var expected = new HashMap<Long, Double>();
+        for (long i = 0; i < 1000; i++) {
+            long community = (i * 7919) % 300;
+            influences.addTo(community, 0.5);
+            expected.merge(community, 0.5, Double::sum);
+        }
+
+        assertEquals(expected.size(), influences.size());
+        var actual = new HashMap<Long, Double>();
+        for (int i = 0; i < influences.size(); i++) {
+            actual.put(influences.community(i), influences.influence(i));
+        }
+        assertEquals(expected, actual);
+        for (Map.Entry<Long, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), influences.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void shouldForgetEntriesOnClear() {
+        var influences = new CommunityInfluences();
+        influences.addTo(42, 1.0);
+        influences.addTo(1337, 2.0);
+        influences.clear();
+
+        assertEquals(0, influences.size());
+        assertEquals(0.0, influences.get(42));
+
+        influences.addTo(1337, 3.0);
+        assertEquals(1, influences.size());
+        assertEquals(3.0, influences.get(1337));
+    }
+}
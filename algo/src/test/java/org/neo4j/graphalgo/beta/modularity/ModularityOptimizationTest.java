@@ -215,9 +215,9 @@ class ModularityOptimizationTest {
 
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
-            arguments(1, 5614048, 8413080),
-            arguments(4, 5617336, 14413344),
-            arguments(42, 5658984, 90416688)
+            arguments(1, 6414360, 12456000),
+            arguments(4, 6418464, 28184904),
+            arguments(42, 6470448, 227417688)
         );
     }
 
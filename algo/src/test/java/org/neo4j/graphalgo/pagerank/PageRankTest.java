@@ -23,11 +23,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
@@ -43,6 +45,8 @@ import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.TestSupport.assertMemoryEstimation;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @GdlExtension
@@ -80,6 +84,39 @@ final class PageRankTest {
 
     private static final PageRankBaseConfig DEFAULT_CONFIG = defaultConfigBuilder().build();
 
+    // the scores of testOnOutgoingRelationships, as seed for the same graph
+    private static final String SEEDED_NODES =
+        "CREATE" +
+        "  (a:Label {score: 0.243007})" +
+        ", (b:Label {score: 1.9183995})" +
+        ", (c:Label {score: 1.7806315})" +
+        ", (d:Label {score: 0.21885})" +
+        ", (e:Label {score: 0.243007})" +
+        ", (f:Label {score: 0.21885})" +
+        ", (g:Label {score: 0.15})" +
+        ", (h:Label {score: 0.15})" +
+        ", (i:Label {score: 0.15})" +
+        ", (j:Label {score: 0.15})" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(b)" +
+        ", (d)-[:TYPE]->(a)" +
+        ", (d)-[:TYPE]->(b)" +
+        ", (e)-[:TYPE]->(b)" +
+        ", (e)-[:TYPE]->(d)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(b)" +
+        ", (f)-[:TYPE]->(e)";
+
+    // enough iterations for the unseeded runs to converge
+    private static final ImmutablePageRankStreamConfig SEED_TEST_CONFIG = defaultConfigBuilder()
+        .maxIterations(100)
+        .tolerance(1e-6)
+        .build();
+
+    private static final ImmutablePageRankStreamConfig REFERENCE_CONFIG = SEED_TEST_CONFIG
+        .withMaxIterations(1000)
+        .withTolerance(1e-12);
+
     static ImmutablePageRankStreamConfig.Builder defaultConfigBuilder() {
         return ImmutablePageRankStreamConfig.builder()
             .maxIterations(40);
@@ -159,6 +196,20 @@ final class PageRankTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("org.neo4j.graphalgo.pagerank.PageRankTest#expectedMemoryEstimation")
+    void shouldComputeMemoryEstimationWithSeedCorrection(int concurrency, long expectedMinBytes, long expectedMaxBytes) {
+        // every compute step holds a seed correction for its partition until the first sync
+        long seedCorrections = concurrency * MemoryUsage.sizeOfDoubleArray(ceilDiv(100_000L, concurrency));
+        assertMemoryEstimation(
+            () -> new PageRankFactory<>(PageRankAlgorithmType.NON_WEIGHTED).memoryEstimation(defaultConfigBuilder().seedProperty("score").build()),
+            100_000L,
+            concurrency,
+            expectedMinBytes + seedCorrections,
+            expectedMaxBytes + seedCorrections
+        );
+    }
+
     @Test
     void shouldLogProgress() {
         var config = ImmutablePageRankStreamConfig.builder().build();
@@ -191,6 +242,60 @@ final class PageRankTest {
         assertTrue(testLogger.containsMessage(TestLog.INFO, ":: Finished"));
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldContinueFromSeedScores(boolean deltaPropagation) {
+        TestGraph seededGraph = fromGdl(SEEDED_NODES);
+
+        var unseeded = runPageRank(seededGraph, SEED_TEST_CONFIG);
+        var seeded = runPageRank(seededGraph, SEED_TEST_CONFIG.withSeedProperty("score").withDeltaPropagation(deltaPropagation));
+
+        assertTrue(seeded.iterations() < unseeded.iterations());
+        assertSameScores(seededGraph, unseeded, seeded);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldConvergeFromOutdatedSeedScores(boolean deltaPropagation) {
+        // g has gained a relationship to b since the seed scores have been computed
+        TestGraph changedGraph = fromGdl(SEEDED_NODES + ", (g)-[:TYPE]->(b)");
+
+        var unseeded = runPageRank(changedGraph, SEED_TEST_CONFIG);
+        var seeded = runPageRank(changedGraph, SEED_TEST_CONFIG.withSeedProperty("score").withDeltaPropagation(deltaPropagation));
+
+        assertSameScores(changedGraph, unseeded, seeded);
+        // the seed is not the result for the changed graph
+        assertTrue(seeded.result().score(changedGraph.toMappedNodeId("b")) - 1.9183995 > SEED_TEST_CONFIG.tolerance());
+    }
+
+    private static PageRank runPageRank(Graph graph, PageRankBaseConfig config) {
+        return PageRankAlgorithmType.NON_WEIGHTED
+            .create(graph, config, LongStream.empty(), ProgressLogger.NULL_LOGGER)
+            .compute();
+    }
+
+    /**
+     * A run stops once no score changes by more than the tolerance, so the changes that are still pending sum up
+     * to at most {@code nodeCount * tolerance}. Propagating them changes the sum of all scores by at most
+     * {@code nodeCount * tolerance / (1 - dampingFactor)}, which also bounds the error of every single score.
+     * Both runs are compared against a reference run with a much tighter tolerance.
+     */
+    private static void assertSameScores(TestGraph graph, PageRank unseeded, PageRank seeded) {
+        var reference = runPageRank(graph, REFERENCE_CONFIG);
+        assertTrue(reference.didConverge());
+        assertTrue(unseeded.didConverge());
+        assertTrue(seeded.didConverge());
+        double maxError = graph.nodeCount()
+                          * (SEED_TEST_CONFIG.tolerance() + REFERENCE_CONFIG.tolerance())
+                          / (1 - SEED_TEST_CONFIG.dampingFactor());
+        for (String variable : List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j")) {
+            long nodeId = graph.toMappedNodeId(variable);
+            double expected = reference.result().score(nodeId);
+            assertEquals(expected, unseeded.result().score(nodeId), maxError, variable);
+            assertEquals(expected, seeded.result().score(nodeId), maxError, variable);
+        }
+    }
+
     static void assertResult(Graph graph, PageRankAlgorithm algorithmType, Map<Long, Double> expected) {
         var rankResult = algorithmType
             .create(graph, DEFAULT_CONFIG, LongStream.empty(), ProgressLogger.NULL_LOGGER)
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.centrality.eigenvector;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.WritePropertyConfig;
@@ -51,6 +52,19 @@ public interface EigenvectorCentralityConfig extends PageRankBaseConfig, WritePr
         return "NONE";
     }
 
+    // the deltas are normalized in every iteration, so they cannot be continued from previous scores
+    @Override
+    @Configuration.Ignore
+    default @Nullable String seedProperty() {
+        return null;
+    }
+
+    @Override
+    @Configuration.Ignore
+    default boolean deltaPropagation() {
+        return false;
+    }
+
     static EigenvectorCentralityConfig of(
         String username,
         Optional<String> graphName,
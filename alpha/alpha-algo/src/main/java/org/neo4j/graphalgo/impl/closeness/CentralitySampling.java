@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.closeness;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Chooses the pivot nodes for approximating closeness and harmonic centrality as described in:
+ *
+ * Eppstein, David, and Joseph Wang.
+ * "Fast approximation of centrality."
+ * Journal of Graph Algorithms and Applications 8.1 (2004): 39-45.
+ * https://arxiv.org/pdf/cs/0009005.pdf
+ * <p>
+ * Running a BFS from {@code k} uniformly sampled pivots estimates the average distance of every node
+ * within an additive error of {@code ε} times the diameter with probability {@code 1 - δ}, if
+ * {@code k >= ln(2n / δ) / (2ε²)} (Hoeffding's inequality with a union bound over all nodes).
+ */
+public final class CentralitySampling {
+
+    private CentralitySampling() {}
+
+    /**
+     * The traversals only measure the distances from the pivots to every node, which equal
+     * the distances from every node to the pivots only if the graph is undirected.
+     *
+     * @return the sorted pivots to start the traversals from,
+     *     or {@code null} if every node should be a source, either because no sampling was configured
+     *     or because the sample would not be smaller than the graph.
+     * @throws IllegalArgumentException if sampling is configured for a graph that is not undirected
+     */
+    @Nullable
+    public static long[] pivots(Graph graph, CentralitySamplingConfig config) {
+        if (config.samplingError().isEmpty()) {
+            return null;
+        }
+        if (!graph.isUndirected()) {
+            throw new IllegalArgumentException(
+                "Sampling pivots with `samplingError` requires an undirected graph, but the graph is directed. " +
+                "Load the relationships with orientation `UNDIRECTED`."
+            );
+        }
+        long nodeCount = graph.nodeCount();
+        long sampleSize = sampleSize(nodeCount, config.samplingError().get(), config.samplingConfidence());
+        if (sampleSize >= nodeCount) {
+            return null;
+        }
+        var random = config.randomSeed().map(SplittableRandom::new).orElseGet(SplittableRandom::new);
+        return samplePivots(nodeCount, Math.toIntExact(sampleSize), random);
+    }
+
+    static long sampleSize(long nodeCount, double error, double confidence) {
+        double failureProbability = 1.0 - confidence;
+        return (long) Math.ceil(Math.log(2.0 * nodeCount / failureProbability) / (2.0 * error * error));
+    }
+
+    /**
+     * Samples {@code sampleSize} distinct nodes uniformly with Floyd's algorithm.
+     */
+    static long[] samplePivots(long nodeCount, int sampleSize, SplittableRandom random) {
+        var pivots = new LongHashSet(sampleSize);
+        for (long i = nodeCount - sampleSize; i < nodeCount; i++) {
+            long candidate = random.nextLong(i + 1);
+            if (!pivots.add(candidate)) {
+                pivots.add(i);
+            }
+        }
+        long[] sorted = pivots.toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
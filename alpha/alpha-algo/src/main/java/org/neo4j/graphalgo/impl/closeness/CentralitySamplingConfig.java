@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.closeness;
+
+import org.immutables.value.Value;
+
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Configures the approximation of distance based centralities from a sample of pivot nodes.
+ * If no {@link #samplingError()} is given, the centralities are computed exactly from every node.
+ * Sampling is only supported on undirected graphs.
+ */
+public interface CentralitySamplingConfig {
+
+    /**
+     * The maximum additive error of the estimated average distance of a node, relative to the diameter of the graph.
+     */
+    Optional<Double> samplingError();
+
+    /**
+     * The probability with which every node stays within the sampling error.
+     */
+    @Value.Default
+    default double samplingConfidence() {
+        return 0.99;
+    }
+
+    Optional<Long> randomSeed();
+
+    @Value.Check
+    default void validateSampling() {
+        samplingError().ifPresent(error -> {
+            if (error <= 0 || error >= 1) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Sampling error must be in the range (0, 1), but got %f",
+                    error
+                ));
+            }
+        });
+        if (samplingConfidence() <= 0 || samplingConfidence() >= 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Sampling confidence must be in the range (0, 1), but got %f",
+                samplingConfidence()
+            ));
+        }
+    }
+}
@@ -35,7 +35,8 @@ import java.util.Optional;
 @SuppressWarnings("immutables:subtype")
 public interface ClosenessCentralityConfig extends
     AlgoBaseConfig,
-    WritePropertyConfig
+    WritePropertyConfig,
+    CentralitySamplingConfig
 {
 
     @Value.Default
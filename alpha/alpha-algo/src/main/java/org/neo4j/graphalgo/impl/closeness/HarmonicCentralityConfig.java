@@ -35,7 +35,8 @@ import java.util.Optional;
 @SuppressWarnings("immutables:subtype")
 public interface HarmonicCentralityConfig extends
     AlgoBaseConfig,
-    WritePropertyConfig {
+    WritePropertyConfig,
+    CentralitySamplingConfig {
 
     @Override
     @Value.Default
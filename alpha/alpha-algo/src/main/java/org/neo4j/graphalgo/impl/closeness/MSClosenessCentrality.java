@@ -19,12 +19,13 @@
  */
 package org.neo4j.graphalgo.impl.closeness;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.PagedAtomicIntegerArray;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.graphalgo.impl.msbfs.BfsConsumer;
@@ -39,12 +40,15 @@ import java.util.stream.Stream;
  *
  * Utilizes the MSBFS for counting the farness between nodes.
  * See MSBFS documentation.
+ *
+ * If pivots are given, the traversals only start from those and the farness of every node
+ * is extrapolated from its distances to the pivots, see {@link CentralitySampling}.
  */
 public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSClosenessCentrality> {
 
     private Graph graph;
-    private PagedAtomicIntegerArray farness;
-    private PagedAtomicIntegerArray component;
+    private HugeAtomicLongArray farness;
+    private HugeAtomicLongArray component;
 
     private final int concurrency;
     private final ExecutorService executorService;
@@ -52,29 +56,39 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
     private final AllocationTracker tracker;
 
     private final boolean wassermanFaust;
+    @Nullable
+    private final long[] pivots;
 
     public MSClosenessCentrality(
             Graph graph,
             AllocationTracker tracker,
             int concurrency,
             ExecutorService executorService, boolean wassermanFaust) {
+        this(graph, tracker, concurrency, executorService, wassermanFaust, null);
+    }
+
+    public MSClosenessCentrality(
+            Graph graph,
+            AllocationTracker tracker,
+            int concurrency,
+            ExecutorService executorService,
+            boolean wassermanFaust,
+            @Nullable long[] pivots) {
         this.graph = graph;
         nodeCount = graph.nodeCount();
         this.concurrency = concurrency;
         this.executorService = executorService;
         this.tracker = tracker;
         this.wassermanFaust = wassermanFaust;
-        farness = PagedAtomicIntegerArray.newArray(nodeCount, this.tracker);
-        component = PagedAtomicIntegerArray.newArray(nodeCount, this.tracker);
+        this.pivots = pivots;
+        farness = HugeAtomicLongArray.newArray(nodeCount, this.tracker);
+        component = HugeAtomicLongArray.newArray(nodeCount, this.tracker);
     }
 
     public HugeDoubleArray getCentrality() {
         final HugeDoubleArray cc = HugeDoubleArray.newArray(nodeCount, tracker);
-        for (int i = 0; i < nodeCount; i++) {
-            cc.set(i, centrality(farness.get(i),
-                    component.get(i),
-                    nodeCount,
-                    wassermanFaust));
+        for (long i = 0; i < nodeCount; i++) {
+            cc.set(i, centrality(i));
         }
         return cc;
     }
@@ -83,18 +97,31 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
         exporter.write(
                 propertyName,
                 farness,
-                (PropertyTranslator.OfDouble<PagedAtomicIntegerArray>)
-                        (data, nodeId) -> centrality(data.get(nodeId), component.get(nodeId), nodeCount, wassermanFaust));
+                (PropertyTranslator.OfDouble<HugeAtomicLongArray>) (data, nodeId) -> centrality(nodeId));
     }
 
     public Stream<MSClosenessCentrality.Result> resultStream() {
         return LongStream.range(0L, nodeCount)
                 .mapToObj(nodeId -> new MSClosenessCentrality.Result(
                         graph.toOriginalNodeId(nodeId),
-                        centrality(farness.get(nodeId), component.get(nodeId), nodeCount, wassermanFaust)
+                        centrality(nodeId)
                 ));
     }
 
+    private double centrality(long nodeId) {
+        if (pivots == null) {
+            return centrality(farness.get(nodeId), component.get(nodeId), nodeCount, wassermanFaust);
+        }
+        // farness and component only cover the pivots, scale both up to the whole graph
+        double scale = (double) nodeCount / pivots.length;
+        return centrality(
+            farness.get(nodeId) * scale,
+            component.get(nodeId) * scale,
+            nodeCount,
+            wassermanFaust
+        );
+    }
+
     @Override
     public MSClosenessCentrality me() {
         return this;
@@ -107,17 +134,30 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
     public MSClosenessCentrality compute() {
         final ProgressLogger progressLogger = getProgressLogger();
 
-        final BfsConsumer consumer = (nodeId, depth, sourceNodeIds) -> {
-            int len = sourceNodeIds.size();
-            farness.add(nodeId, len * depth);
-            while (sourceNodeIds.hasNext()) {
-                component.add(sourceNodeIds.next(), 1);
-            }
-            progressLogger.logProgress((double) nodeId / (nodeCount - 1));
-        };
+        final BfsConsumer consumer;
+        if (pivots == null) {
+            consumer = (nodeId, depth, sourceNodeIds) -> {
+                long len = sourceNodeIds.size();
+                farness.update(nodeId, value -> value + len * depth);
+                while (sourceNodeIds.hasNext()) {
+                    component.update(sourceNodeIds.next(), value -> value + 1);
+                }
+                progressLogger.logProgress((double) nodeId / (nodeCount - 1));
+            };
+        } else {
+            // only the pivots are traversed from, so count the pivots that reach a node instead of
+            // the nodes that are reached from a pivot; both are the same on undirected graphs
+            consumer = (nodeId, depth, sourceNodeIds) -> {
+                long len = sourceNodeIds.size();
+                farness.update(nodeId, value -> value + len * depth);
+                component.update(nodeId, value -> value + len);
+                progressLogger.logProgress((double) nodeId / (nodeCount - 1));
+            };
+        }
 
+        long[] startNodes = pivots == null ? new long[0] : pivots.clone();
         MultiSourceBFS
-            .aggregatedNeighborProcessing(graph, graph, consumer, tracker)
+            .directionOptimizingAggregatedNeighborProcessing(graph, null, consumer, tracker, startNodes)
             .run(concurrency, executorService);
 
         return this;
@@ -130,8 +170,8 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
                 .toArray();
     }
 
-    static double centrality(long farness, long componentSize, long nodeCount, boolean wassermanFaust) {
-        if (farness == 0L) {
+    static double centrality(double farness, double componentSize, long nodeCount, boolean wassermanFaust) {
+        if (farness == 0.0) {
             return 0.;
         }
         if (wassermanFaust) {
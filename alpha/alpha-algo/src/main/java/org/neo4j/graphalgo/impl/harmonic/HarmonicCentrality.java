@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.impl.harmonic;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -28,6 +29,12 @@ import org.neo4j.graphalgo.impl.msbfs.MultiSourceBFS;
 
 import java.util.concurrent.ExecutorService;
 
+/**
+ * Harmonic Centrality, the average inverse distance from every other node.
+ *
+ * If pivots are given, the traversals only start from those and the average
+ * is taken over the pivots instead, see {@link org.neo4j.graphalgo.impl.closeness.CentralitySampling}.
+ */
 public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCentrality> {
 
     private final int concurrency;
@@ -35,6 +42,8 @@ public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCe
     private final AllocationTracker allocationTracker;
     private final ExecutorService executorService;
     private final HugeAtomicDoubleArray inverseFarness;
+    @Nullable
+    private final long[] pivots;
 
     private Graph graph;
 
@@ -43,8 +52,19 @@ public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCe
         AllocationTracker allocationTracker,
         int concurrency,
         ExecutorService executorService
+    ) {
+        this(graph, allocationTracker, concurrency, executorService, null);
+    }
+
+    public HarmonicCentrality(
+        Graph graph,
+        AllocationTracker allocationTracker,
+        int concurrency,
+        ExecutorService executorService,
+        @Nullable long[] pivots
     ) {
         this.graph = graph;
+        this.pivots = pivots;
         this.allocationTracker = allocationTracker;
         this.concurrency = concurrency;
         this.executorService = executorService;
@@ -59,11 +79,12 @@ public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCe
             inverseFarness.update(nodeId, currentValue -> currentValue + (len * (1.0 / depth)));
         };
 
-        MultiSourceBFS.aggregatedNeighborProcessing(
-            graph,
+        MultiSourceBFS.directionOptimizingAggregatedNeighborProcessing(
             graph,
+            null,
             consumer,
-            allocationTracker
+            allocationTracker,
+            pivots == null ? new long[0] : pivots.clone()
         ).run(concurrency, executorService);
 
         return this;
@@ -80,6 +101,7 @@ public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCe
     }
 
     public double getCentralityScore(long nodeId) {
-        return inverseFarness.get(nodeId) / (double) (nodeCount - 1);
+        long sources = pivots == null ? nodeCount - 1 : pivots.length;
+        return inverseFarness.get(nodeId) / (double) sources;
     }
 }
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.impl.msbfs;
 
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -40,13 +42,36 @@ import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
  * but then always for different sources.
  * </li>
  * </ul>
+ * <p>
+ * If incoming relationships are available, the strategy switches between top-down and bottom-up steps, following
+ * Beamer et al., "Direction-optimizing breadth-first search".
+ * Top-down steps push the sources of every visited node to its neighbours. Once the frontier grows beyond
+ * {@code 1 / ALPHA} of the nodes that have not yet been seen by all sources, bottom-up steps let those nodes pull
+ * the sources from their incoming neighbours instead, which stops once all missing sources are found.
+ * Once the frontier shrinks below {@code 1 / BETA} of the nodes, the strategy switches back to top-down steps.
  */
 public class ANPStrategy implements MultiSourceBFS.ExecutionStrategy {
 
+    static final int ALPHA = 14;
+    static final int BETA = 24;
+
     private final BfsConsumer perNodeAction;
+    @Nullable
+    private final RelationshipIterator incoming;
+    private final boolean undirected;
 
     ANPStrategy(BfsConsumer perNodeAction) {
+        this(perNodeAction, null, false);
+    }
+
+    /**
+     * @param incoming   the reversed relationships, used for bottom-up steps, or {@code null} if not available
+     * @param undirected whether the traversed relationships are undirected and therefore their own reverse
+     */
+    ANPStrategy(BfsConsumer perNodeAction, @Nullable RelationshipIterator incoming, boolean undirected) {
         this.perNodeAction = perNodeAction;
+        this.incoming = incoming;
+        this.undirected = undirected;
     }
 
     @Override
@@ -63,16 +88,35 @@ public class ANPStrategy implements MultiSourceBFS.ExecutionStrategy {
         HugeCursor<long[]> nextCursor = visitNextSet.newCursor();
         int depth = 0;
 
+        RelationshipIterator reverse = undirected ? relationships : incoming != null ? incoming.concurrentCopy() : null;
+        ParentCollector parents = reverse != null ? new ParentCollector(visitSet) : null;
+        long allSources = sourceNodes.allSourcesMask();
+        long frontierSize = sourceNodes.sourceCount();
+        long unfinishedNodes = totalNodeCount;
+        boolean bottomUp = false;
+
         while (true) {
-            visitSet.initCursor(visitCursor);
-            while (visitCursor.next()) {
-                long[] array = visitCursor.array;
-                int offset = visitCursor.offset;
-                int limit = visitCursor.limit;
-                long base = visitCursor.base;
-                for (int i = offset; i < limit; ++i) {
-                    if (array[i] != 0L) {
-                        prepareNextVisit(relationships, array[i], base + i, visitNextSet);
+            if (reverse != null) {
+                if (!bottomUp && frontierSize > unfinishedNodes / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < totalNodeCount / BETA) {
+                    bottomUp = false;
+                }
+            }
+
+            if (bottomUp) {
+                prepareNextVisitBottomUp(reverse, parents, totalNodeCount, allSources, seenSet, visitNextSet);
+            } else {
+                visitSet.initCursor(visitCursor);
+                while (visitCursor.next()) {
+                    long[] array = visitCursor.array;
+                    int offset = visitCursor.offset;
+                    int limit = visitCursor.limit;
+                    long base = visitCursor.base;
+                    for (int i = offset; i < limit; ++i) {
+                        if (array[i] != 0L) {
+                            prepareNextVisit(relationships, array[i], base + i, visitNextSet);
+                        }
                     }
                 }
             }
@@ -81,6 +125,7 @@ public class ANPStrategy implements MultiSourceBFS.ExecutionStrategy {
 
             boolean hasNext = false;
             long next;
+            frontierSize = 0L;
 
             visitNextSet.initCursor(nextCursor);
             while (nextCursor.next()) {
@@ -92,9 +137,13 @@ public class ANPStrategy implements MultiSourceBFS.ExecutionStrategy {
                     if (array[i] != 0L) {
                         next = visitNext(base + i, seenSet, visitNextSet);
                         if (next != 0L) {
+                            if (seenSet.get(base + i) == allSources) {
+                                unfinishedNodes--;
+                            }
                             sourceNodes.reset(next);
                             perNodeAction.accept(base + i, depth, sourceNodes);
                             hasNext = true;
+                            frontierSize++;
                         }
                     }
                 }
@@ -119,10 +168,54 @@ public class ANPStrategy implements MultiSourceBFS.ExecutionStrategy {
         );
     }
 
+    private void prepareNextVisitBottomUp(
+        RelationshipIterator reverse,
+        ParentCollector parents,
+        long totalNodeCount,
+        long allSources,
+        HugeLongArray seenSet,
+        HugeLongArray nextSet
+    ) {
+        for (long nodeId = 0L; nodeId < totalNodeCount; nodeId++) {
+            long missing = allSources & ~seenSet.get(nodeId);
+            if (missing != 0L) {
+                parents.reset(missing);
+                reverse.forEachRelationship(nodeId, parents);
+                if (parents.found != 0L) {
+                    nextSet.set(nodeId, parents.found);
+                }
+            }
+        }
+    }
+
     private long visitNext(long nodeId, HugeLongArray seenSet, HugeLongArray nextSet) {
         long seen = seenSet.get(nodeId);
         long next = nextSet.and(nodeId, ~seen);
         seenSet.or(nodeId, next);
         return next;
     }
+
+    /**
+     * Collects the sources that reached any incoming neighbour in the current depth, until all missing sources are found.
+     */
+    private static final class ParentCollector implements RelationshipConsumer {
+        private final HugeLongArray visitSet;
+        private long missing;
+        private long found;
+
+        private ParentCollector(HugeLongArray visitSet) {
+            this.visitSet = visitSet;
+        }
+
+        void reset(long missing) {
+            this.missing = missing;
+            this.found = 0L;
+        }
+
+        @Override
+        public boolean accept(long nodeId, long parentId) {
+            found |= visitSet.get(parentId) & missing;
+            return found != missing;
+        }
+    }
 }
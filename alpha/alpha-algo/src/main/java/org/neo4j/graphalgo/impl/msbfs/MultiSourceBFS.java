@@ -120,6 +120,23 @@ public final class MultiSourceBFS implements Runnable {
         return new MultiSourceBFS(nodeIds, relationships, new ANPStrategy(perNodeAction), false, tracker, startNodes);
     }
 
+    /**
+     * Like {@link #aggregatedNeighborProcessing(IdMapping, RelationshipIterator, BfsConsumer, AllocationTracker, long...)},
+     * but switches to bottom-up steps for large frontiers, see {@link ANPStrategy}.
+     * Bottom-up steps need the reversed relationships, which undirected graphs provide themselves.
+     * If the graph is directed and {@code incoming} is {@code null}, this only uses top-down steps.
+     */
+    public static MultiSourceBFS directionOptimizingAggregatedNeighborProcessing(
+        Graph graph,
+        @Nullable RelationshipIterator incoming,
+        BfsConsumer perNodeAction,
+        AllocationTracker tracker,
+        long... startNodes
+    ) {
+        var strategy = new ANPStrategy(perNodeAction, incoming, graph.isUndirected());
+        return new MultiSourceBFS(graph, graph, strategy, false, tracker, startNodes);
+    }
+
     /**
      * Initializes MS-BFS prepared for executing the Predecessor Processing strategy.
      * <p>
@@ -434,6 +451,14 @@ public final class MultiSourceBFS implements Runnable {
             fetchNext();
         }
 
+        int sourceCount() {
+            return maxPos;
+        }
+
+        long allSourcesMask() {
+            return maxPos == OMEGA ? -1L : (1L << maxPos) - 1;
+        }
+
         void reset(long sourceMask) {
             assert sourceMask != 0;
             this.sourceMask = sourceMask;
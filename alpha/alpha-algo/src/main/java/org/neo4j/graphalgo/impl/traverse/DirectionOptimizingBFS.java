@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Level-synchronous parallel BFS from a single node, that switches between top-down and bottom-up steps as described in:
+ *
+ * Beamer, Scott, Krste Asanović, and David Patterson.
+ * "Direction-optimizing breadth-first search."
+ * SC'12: Proceedings of the International Conference on High Performance Computing,
+ * Networking, Storage and Analysis. IEEE, 2012.
+ * <p>
+ * Top-down steps expand the frontier along outgoing relationships. Once the frontier touches more than
+ * {@code 1 / ALPHA} of the unexplored relationships, bottom-up steps let every unvisited node look for a parent
+ * in the frontier along its incoming relationships instead, which stops at the first hit.
+ * Once the frontier shrinks below {@code 1 / BETA} of the nodes, the search switches back to top-down.
+ * Bottom-up steps are only used if incoming relationships are available, which is always the case for undirected graphs.
+ * <p>
+ * Visited nodes are stored in level order in a single queue, so that the frontier is always a range of that queue.
+ */
+final class DirectionOptimizingBFS {
+
+    static final int ALPHA = 14;
+    static final int BETA = 24;
+
+    private static final long MIN_BATCH_SIZE = 1024L;
+
+    private final Graph graph;
+    @Nullable
+    private final Graph incoming;
+    private final long nodeCount;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final TerminationFlag terminationFlag;
+
+    private final HugeAtomicBitSet visited;
+    private final HugeAtomicBitSet frontier;
+    private final HugeLongArray queue;
+    private final AtomicLong queueSize;
+    private final LongArrayList levelOffsets;
+
+    DirectionOptimizingBFS(
+        Graph graph,
+        @Nullable Graph incoming,
+        int concurrency,
+        ExecutorService executor,
+        TerminationFlag terminationFlag,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.incoming = incoming != null ? incoming : graph.isUndirected() ? graph : null;
+        this.nodeCount = graph.nodeCount();
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.terminationFlag = terminationFlag;
+        this.visited = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.frontier = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.queue = HugeLongArray.newArray(nodeCount, tracker);
+        this.queueSize = new AtomicLong();
+        this.levelOffsets = new LongArrayList();
+    }
+
+    /**
+     * Visits all nodes that are reachable from the start node within the given depth, or all reachable nodes for a
+     * negative depth. Afterwards, the nodes of depth {@code d} are stored in {@link #queue()} from
+     * {@code levelOffset(d)} (inclusive) to {@code levelOffset(d + 1)} (exclusive).
+     */
+    void run(long startNode, long maxDepth) {
+        visited.set(startNode);
+        queue.set(0, startNode);
+        queueSize.set(1);
+        levelOffsets.add(0L);
+
+        long unexploredRelationships = graph.relationshipCount() - graph.degree(startNode);
+        long frontierRelationships = graph.degree(startNode);
+        boolean bottomUp = false;
+
+        for (long depth = 1; maxDepth < 0 || depth <= maxDepth; depth++) {
+            terminationFlag.assertRunning();
+
+            long frontierStart = levelOffsets.get(levelOffsets.size() - 1);
+            long frontierEnd = queueSize.get();
+            if (frontierStart == frontierEnd) {
+                break;
+            }
+            levelOffsets.add(frontierEnd);
+
+            long frontierSize = frontierEnd - frontierStart;
+            if (incoming != null) {
+                if (!bottomUp && frontierRelationships > unexploredRelationships / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < nodeCount / BETA) {
+                    bottomUp = false;
+                }
+            }
+
+            LongAdder discoveredRelationships = new LongAdder();
+            if (bottomUp) {
+                bottomUpStep(frontierStart, frontierEnd, discoveredRelationships);
+            } else {
+                topDownStep(frontierStart, frontierEnd, discoveredRelationships);
+            }
+            frontierRelationships = discoveredRelationships.sum();
+            unexploredRelationships -= frontierRelationships;
+        }
+
+        long last = levelOffsets.get(levelOffsets.size() - 1);
+        if (last != queueSize.get()) {
+            levelOffsets.add(queueSize.get());
+        }
+    }
+
+    HugeLongArray queue() {
+        return queue;
+    }
+
+    long visitedCount() {
+        return levelOffsets.get(levelOffsets.size() - 1);
+    }
+
+    int levels() {
+        return levelOffsets.size() - 1;
+    }
+
+    long levelOffset(int depth) {
+        return levelOffsets.get(depth);
+    }
+
+    void release() {
+        visited.release();
+        frontier.release();
+        queue.release();
+    }
+
+    private void topDownStep(long frontierStart, long frontierEnd, LongAdder discoveredRelationships) {
+        Collection<Runnable> tasks = new ArrayList<>();
+        long batchSize = Math.max(MIN_BATCH_SIZE, BitUtil.ceilDiv(frontierEnd - frontierStart, concurrency));
+        for (long start = frontierStart; start < frontierEnd; start += batchSize) {
+            long batchStart = start;
+            long batchEnd = Math.min(frontierEnd, start + batchSize);
+            tasks.add(() -> {
+                Graph localGraph = graph.concurrentCopy();
+                LongArrayList discovered = new LongArrayList();
+                for (long i = batchStart; i < batchEnd; i++) {
+                    localGraph.forEachRelationship(queue.get(i), (source, target) -> {
+                        if (!visited.getAndSet(target)) {
+                            discovered.add(target);
+                        }
+                        return true;
+                    });
+                }
+                enqueue(discovered, localGraph, discoveredRelationships);
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+    }
+
+    private void bottomUpStep(long frontierStart, long frontierEnd, LongAdder discoveredRelationships) {
+        assert incoming != null;
+        frontier.clear();
+        for (long i = frontierStart; i < frontierEnd; i++) {
+            frontier.set(queue.get(i));
+        }
+
+        List<Partition> partitions = PartitionUtils.numberAlignedPartitioning(concurrency, nodeCount, Long.SIZE);
+        Collection<Runnable> tasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            tasks.add(() -> {
+                Graph localIncoming = incoming.concurrentCopy();
+                LongArrayList discovered = new LongArrayList();
+                long end = partition.startNode + partition.nodeCount;
+                for (long nodeId = partition.startNode; nodeId < end; nodeId++) {
+                    if (visited.get(nodeId)) {
+                        continue;
+                    }
+                    long candidate = nodeId;
+                    localIncoming.forEachRelationship(nodeId, (source, parent) -> {
+                        if (frontier.get(parent)) {
+                            visited.set(candidate);
+                            discovered.add(candidate);
+                            return false;
+                        }
+                        return true;
+                    });
+                }
+                enqueue(discovered, graph.concurrentCopy(), discoveredRelationships);
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+    }
+
+    private void enqueue(LongArrayList discovered, Graph localGraph, LongAdder discoveredRelationships) {
+        int count = discovered.size();
+        if (count == 0) {
+            return;
+        }
+        long offset = queueSize.getAndAdd(count);
+        long degrees = 0L;
+        long[] buffer = discovered.buffer;
+        for (int i = 0; i < count; i++) {
+            queue.set(offset + i, buffer[i]);
+            degrees += localGraph.degree(buffer[i]);
+        }
+        discoveredRelationships.add(degrees);
+    }
+}
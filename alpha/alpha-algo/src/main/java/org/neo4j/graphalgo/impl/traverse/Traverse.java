@@ -23,19 +23,21 @@ import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.DoubleArrayDeque;
 import com.carrotsearch.hppc.LongArrayDeque;
 import com.carrotsearch.hppc.LongArrayList;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.ObjLongConsumer;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 public final class Traverse extends Algorithm<Traverse, Traverse> {
 
     public static final Aggregator DEFAULT_AGGREGATOR = (s, t, w) -> .0;
 
-    private final int nodeCount;
+    private final long nodeCount;
     private final long startNodeId;
     private final ExitPredicate exitPredicate;
     private final Aggregator aggregatorFunction;
@@ -49,6 +51,14 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
 
     private long[] resultNodes;
 
+    // only set for the parallel BFS
+    private final long maxDepth;
+    @Nullable
+    private final Graph incoming;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
     private Traverse(
         Graph graph,
         long startNodeId,
@@ -58,16 +68,45 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         ObjDoubleConsumer<DoubleArrayDeque> weightFunc
     ) {
         this.graph = graph;
-        this.nodeCount = Math.toIntExact(graph.nodeCount());
+        this.nodeCount = graph.nodeCount();
         this.startNodeId = startNodeId;
         this.exitPredicate = exitPredicate;
         this.aggregatorFunction = aggregatorFunction;
         this.nodeFunc = nodeFunc;
         this.weightFunc = weightFunc;
-        this.nodes = new LongArrayDeque(nodeCount);
-        this.sources = new LongArrayDeque(nodeCount);
-        this.weights = new DoubleArrayDeque(nodeCount);
+        this.nodes = new LongArrayDeque();
+        this.sources = new LongArrayDeque();
+        this.weights = new DoubleArrayDeque();
         this.visited = new BitSet(nodeCount);
+        this.maxDepth = -1L;
+        this.incoming = null;
+        this.concurrency = 1;
+        this.executor = null;
+        this.tracker = AllocationTracker.EMPTY;
+    }
+
+    private Traverse(
+        Graph graph,
+        @Nullable Graph incoming,
+        long startNodeId,
+        long maxDepth,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.startNodeId = startNodeId;
+        this.exitPredicate = null;
+        this.aggregatorFunction = null;
+        this.nodeFunc = null;
+        this.weightFunc = null;
+        this.sources = null;
+        this.maxDepth = maxDepth;
+        this.incoming = incoming;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
     }
 
     public static Traverse dfs(
@@ -102,10 +141,35 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         );
     }
 
+    /**
+     * A level-synchronous parallel BFS that visits every node reachable from the start node, up to the given depth.
+     * Nodes are returned by increasing depth and by increasing node id within the same depth.
+     * Compared to {@link #bfs(Graph, long, ExitPredicate, Aggregator)} it does not support exit predicates or costs,
+     * but switches to bottom-up steps for large frontiers, see {@link DirectionOptimizingBFS}.
+     *
+     * @param incoming the graph with reversed relationships, or {@code null} if it is not available.
+     *                 Undirected graphs are their own reverse.
+     * @param maxDepth the maximum depth to visit, or {@code -1} to visit all reachable nodes
+     */
+    public static Traverse parallelBfs(
+        Graph graph,
+        @Nullable Graph incoming,
+        long startNodeId,
+        long maxDepth,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return new Traverse(graph, incoming, startNodeId, maxDepth, concurrency, executor, tracker);
+    }
+
     @Override
     public Traverse compute() {
+        if (exitPredicate == null) {
+            return computeParallelBfs();
+        }
         long sourceNode = graph.toMappedNodeId(startNodeId);
-        LongArrayList result = new LongArrayList(nodeCount);
+        LongArrayList result = new LongArrayList();
         BitSet inResult = new BitSet(nodeCount);
         nodes.clear();
         sources.clear();
@@ -137,7 +201,7 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
 
             graph.forEachRelationship(
                 node,
-                longToIntConsumer((s, t) -> {
+                (s, t) -> {
                     // remove from the visited nodes to allow revisiting in case the node is accessible via more than one path.
                     double aggregatedWeight = aggregatorFunction.apply(s, t, weight);
                     final ExitPredicate.Result test = exitPredicate.test(s, t, aggregatedWeight);
@@ -153,7 +217,7 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
                         weightFunc.accept(weights, aggregatedWeight);
                     }
                     return running();
-                })
+                }
             );
         }
 
@@ -161,6 +225,30 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         return me();
     }
 
+    private Traverse computeParallelBfs() {
+        var bfs = new DirectionOptimizingBFS(graph, incoming, concurrency, executor, getTerminationFlag(), tracker);
+        bfs.run(graph.toMappedNodeId(startNodeId), maxDepth);
+
+        var queue = bfs.queue();
+        long[] result = new long[Math.toIntExact(bfs.visitedCount())];
+        for (int depth = 0; depth < bfs.levels(); depth++) {
+            int levelStart = (int) bfs.levelOffset(depth);
+            int levelEnd = (int) bfs.levelOffset(depth + 1);
+            for (int i = levelStart; i < levelEnd; i++) {
+                result[i] = queue.get(i);
+            }
+            // the parallel steps discover the nodes of a level in arbitrary order
+            Arrays.sort(result, levelStart, levelEnd);
+            for (int i = levelStart; i < levelEnd; i++) {
+                result[i] = graph.toOriginalNodeId(result[i]);
+            }
+        }
+        bfs.release();
+
+        this.resultNodes = result;
+        return me();
+    }
+
     public long[] resultNodes() {
         return resultNodes;
     }
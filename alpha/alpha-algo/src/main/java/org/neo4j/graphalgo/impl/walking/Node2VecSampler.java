@@ -0,0 +1,521 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.walking;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Samples second-order (node2vec) transitions in expected constant time.
+ *
+ * The adjacency of the graph is copied once into a sorted CSR layout.
+ * For weighted graphs, a first-order alias table (Vose) is built for every node.
+ * A transition is sampled by drawing a candidate from the first-order distribution
+ * and accepting it with probability {@code factor / upperBound}, where the factor
+ * is {@code 1 / p} for the previous node, {@code 1} for common neighbours and
+ * {@code 1 / q} otherwise (KnightKing, Yang et al. SOSP '19).
+ * A large return factor is not folded into the upper bound but handled as an
+ * additional outlier region that directly yields the previous node.
+ *
+ * If too many candidates are rejected in a row, the transition is computed
+ * exactly over the neighbourhood, which keeps the sampled distribution unchanged
+ * and bounds the work for extreme parameters.
+ *
+ * Sampling does not allocate and is safe to be used from multiple threads
+ * as long as every thread uses its own {@link Random}.
+ */
+public final class Node2VecSampler {
+
+    public static final long NO_NEXT_NODE = -1L;
+
+    static final int MAX_REJECTIONS = 16;
+
+    private static final int MIN_BATCH_SIZE = 10_000;
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray targets;
+    private final @Nullable HugeDoubleArray weights;
+    private final @Nullable HugeDoubleArray weightSums;
+    private final @Nullable HugeDoubleArray aliasProbabilities;
+    private final @Nullable HugeIntArray aliases;
+
+    private final double returnFactor;
+    private final double inOutFactor;
+    private final double upperBound;
+    private final AllocationTracker tracker;
+
+    /**
+     * The copied adjacency, and for weighted graphs also the weights and alias tables.
+     * Whether the graph is weighted is not known upfront, so the latter are given as a range.
+     */
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(Node2VecSampler.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perGraphDimension("targets", (dimensions, concurrency) ->
+                MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .perGraphDimension("weights and alias tables", (dimensions, concurrency) -> {
+                long relationshipCount = dimensions.maxRelCount();
+                return MemoryRange.of(
+                    0L,
+                    2 * HugeDoubleArray.memoryEstimation(relationshipCount) +
+                    HugeDoubleArray.memoryEstimation(dimensions.nodeCount()) +
+                    HugeIntArray.memoryEstimation(relationshipCount)
+                );
+            })
+            .build();
+    }
+
+    public static Node2VecSampler create(
+        Graph graph,
+        double returnParam,
+        double inOutParam,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (returnParam <= 0 || inOutParam <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Return and in-out parameters must be positive, but got returnParam=%f and inOutParam=%f",
+                returnParam,
+                inOutParam
+            ));
+        }
+
+        long nodeCount = graph.nodeCount();
+        boolean weighted = graph.hasRelationshipProperty();
+
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long relationshipCount = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, relationshipCount);
+            relationshipCount += graph.degree(nodeId);
+        }
+        offsets.set(nodeCount, relationshipCount);
+
+        HugeLongArray targets = HugeLongArray.newArray(relationshipCount, tracker);
+        HugeDoubleArray weights = null;
+        HugeDoubleArray weightSums = null;
+        HugeDoubleArray aliasProbabilities = null;
+        HugeIntArray aliases = null;
+        if (weighted) {
+            weights = HugeDoubleArray.newArray(relationshipCount, tracker);
+            weightSums = HugeDoubleArray.newArray(nodeCount, tracker);
+            aliasProbabilities = HugeDoubleArray.newArray(relationshipCount, tracker);
+            aliases = HugeIntArray.newArray(relationshipCount, tracker);
+        }
+
+        long batchSize = Math.max(MIN_BATCH_SIZE, BitUtil.ceilDiv(relationshipCount, Math.max(1, concurrency)));
+        List<Partition> partitions = PartitionUtils.degreePartition(graph, batchSize);
+
+        HugeDoubleArray finalWeights = weights;
+        HugeDoubleArray finalWeightSums = weightSums;
+        HugeDoubleArray finalAliasProbabilities = aliasProbabilities;
+        HugeIntArray finalAliases = aliases;
+        List<Runnable> tasks = partitions.stream()
+            .map(partition -> new ImportTask(
+                graph.concurrentCopy(),
+                partition,
+                offsets,
+                targets,
+                finalWeights,
+                finalWeightSums,
+                finalAliasProbabilities,
+                finalAliases
+            ))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+        return new Node2VecSampler(
+            offsets,
+            targets,
+            weights,
+            weightSums,
+            aliasProbabilities,
+            aliases,
+            returnParam,
+            inOutParam,
+            tracker
+        );
+    }
+
+    private Node2VecSampler(
+        HugeLongArray offsets,
+        HugeLongArray targets,
+        @Nullable HugeDoubleArray weights,
+        @Nullable HugeDoubleArray weightSums,
+        @Nullable HugeDoubleArray aliasProbabilities,
+        @Nullable HugeIntArray aliases,
+        double returnParam,
+        double inOutParam,
+        AllocationTracker tracker
+    ) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.weightSums = weightSums;
+        this.aliasProbabilities = aliasProbabilities;
+        this.aliases = aliases;
+        this.returnFactor = 1D / returnParam;
+        this.inOutFactor = 1D / inOutParam;
+        this.upperBound = Math.max(1D, inOutFactor);
+        this.tracker = tracker;
+    }
+
+    /**
+     * @return the next node of a node2vec walk that arrived at {@code currentNode} coming from {@code previousNode},
+     *     or {@link #NO_NEXT_NODE} if the walk cannot continue. At the start of a walk, both ids are the same.
+     */
+    public long nextNode(long currentNode, long previousNode, Random random) {
+        long start = offsets.get(currentNode);
+        int degree = (int) (offsets.get(currentNode + 1) - start);
+        if (degree == 0) {
+            return NO_NEXT_NODE;
+        }
+
+        double totalWeight = weightSums == null ? degree : weightSums.get(currentNode);
+        if (totalWeight <= 0D) {
+            return NO_NEXT_NODE;
+        }
+
+        double envelopeMass = totalWeight * upperBound;
+        double outlierMass = returnFactor > upperBound
+            ? weightTo(start, degree, previousNode) * (returnFactor - upperBound)
+            : 0D;
+        double returnAcceptance = Math.min(1D, returnFactor / upperBound);
+
+        for (int trial = 0; trial < MAX_REJECTIONS; trial++) {
+            if (outlierMass > 0D && random.nextDouble() * (envelopeMass + outlierMass) >= envelopeMass) {
+                return previousNode;
+            }
+
+            long candidate = targets.get(start + sampleFirstOrder(start, degree, random));
+            double acceptance;
+            if (candidate == previousNode) {
+                acceptance = returnAcceptance;
+            } else if (isNeighbour(previousNode, candidate)) {
+                acceptance = 1D / upperBound;
+            } else {
+                acceptance = inOutFactor / upperBound;
+            }
+
+            if (random.nextDouble() < acceptance) {
+                return candidate;
+            }
+        }
+
+        return sampleExact(start, degree, previousNode, random);
+    }
+
+    public void release() {
+        tracker.remove(offsets.release());
+        tracker.remove(targets.release());
+        if (weights != null) {
+            tracker.remove(weights.release());
+            tracker.remove(weightSums.release());
+            tracker.remove(aliasProbabilities.release());
+            tracker.remove(aliases.release());
+        }
+    }
+
+    private int sampleFirstOrder(long start, int degree, Random random) {
+        int index = random.nextInt(degree);
+        if (aliasProbabilities == null || random.nextDouble() < aliasProbabilities.get(start + index)) {
+            return index;
+        }
+        return aliases.get(start + index);
+    }
+
+    private long sampleExact(long start, int degree, long previousNode, Random random) {
+        double totalMass = 0D;
+        for (int i = 0; i < degree; i++) {
+            totalMass += transitionMass(start + i, previousNode);
+        }
+        if (totalMass <= 0D) {
+            return NO_NEXT_NODE;
+        }
+
+        double threshold = random.nextDouble() * totalMass;
+        double cumulativeMass = 0D;
+        for (int i = 0; i < degree; i++) {
+            cumulativeMass += transitionMass(start + i, previousNode);
+            if (threshold < cumulativeMass) {
+                return targets.get(start + i);
+            }
+        }
+        return targets.get(start + degree - 1);
+    }
+
+    private double transitionMass(long relationshipIndex, long previousNode) {
+        long target = targets.get(relationshipIndex);
+        double weight = weights == null ? 1D : weights.get(relationshipIndex);
+        if (target == previousNode) {
+            return weight * returnFactor;
+        } else if (isNeighbour(previousNode, target)) {
+            return weight;
+        } else {
+            return weight * inOutFactor;
+        }
+    }
+
+    /**
+     * @return the accumulated weight of all relationships from the neighbourhood starting at {@code start} to {@code target}
+     */
+    private double weightTo(long start, int degree, long target) {
+        long index = lowerBound(start, start + degree, target);
+        long end = start + degree;
+        double weight = 0D;
+        while (index < end && targets.get(index) == target) {
+            weight += weights == null ? 1D : weights.get(index);
+            index++;
+        }
+        return weight;
+    }
+
+    private boolean isNeighbour(long nodeId, long target) {
+        long end = offsets.get(nodeId + 1);
+        long index = lowerBound(offsets.get(nodeId), end, target);
+        return index < end && targets.get(index) == target;
+    }
+
+    private long lowerBound(long from, long to, long value) {
+        long low = from;
+        long high = to;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (targets.get(mid) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class ImportTask implements Runnable, RelationshipWithPropertyConsumer {
+        private final Graph graph;
+        private final Partition partition;
+        private final HugeLongArray offsets;
+        private final HugeLongArray targets;
+        private final @Nullable HugeDoubleArray weights;
+        private final @Nullable HugeDoubleArray weightSums;
+        private final @Nullable HugeDoubleArray aliasProbabilities;
+        private final @Nullable HugeIntArray aliases;
+
+        private long[] targetBuffer;
+        private double[] weightBuffer;
+        private int[] small;
+        private int[] large;
+        private int length;
+
+        ImportTask(
+            Graph graph,
+            Partition partition,
+            HugeLongArray offsets,
+            HugeLongArray targets,
+            @Nullable HugeDoubleArray weights,
+            @Nullable HugeDoubleArray weightSums,
+            @Nullable HugeDoubleArray aliasProbabilities,
+            @Nullable HugeIntArray aliases
+        ) {
+            this.graph = graph;
+            this.partition = partition;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.weightSums = weightSums;
+            this.aliasProbabilities = aliasProbabilities;
+            this.aliases = aliases;
+            this.targetBuffer = new long[0];
+            this.weightBuffer = new double[0];
+            this.small = new int[0];
+            this.large = new int[0];
+        }
+
+        @Override
+        public void run() {
+            long endNode = partition.startNode + partition.nodeCount;
+            for (long nodeId = partition.startNode; nodeId < endNode; nodeId++) {
+                long start = offsets.get(nodeId);
+                int degree = (int) (offsets.get(nodeId + 1) - start);
+                if (degree == 0) {
+                    continue;
+                }
+                ensureCapacity(degree);
+
+                length = 0;
+                graph.forEachRelationship(nodeId, 1D, this);
+                sortByTarget();
+
+                for (int i = 0; i < length; i++) {
+                    targets.set(start + i, targetBuffer[i]);
+                }
+                if (weights != null) {
+                    double weightSum = 0D;
+                    for (int i = 0; i < length; i++) {
+                        weights.set(start + i, weightBuffer[i]);
+                        weightSum += weightBuffer[i];
+                    }
+                    weightSums.set(nodeId, weightSum);
+                    buildAliasTable(start, weightSum);
+                }
+            }
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            if (property < 0D) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Relationship weights must not be negative, but got %f for relationship (%d)-->(%d)",
+                    property,
+                    sourceNodeId,
+                    targetNodeId
+                ));
+            }
+            targetBuffer[length] = targetNodeId;
+            weightBuffer[length] = property;
+            length++;
+            return true;
+        }
+
+        private void ensureCapacity(int degree) {
+            if (targetBuffer.length < degree) {
+                targetBuffer = new long[degree];
+                weightBuffer = new double[degree];
+                if (weights != null) {
+                    small = new int[degree];
+                    large = new int[degree];
+                }
+            }
+        }
+
+        private void sortByTarget() {
+            boolean sorted = true;
+            for (int i = 1; i < length && sorted; i++) {
+                sorted = targetBuffer[i - 1] <= targetBuffer[i];
+            }
+            if (sorted) {
+                return;
+            }
+            if (weights == null) {
+                Arrays.sort(targetBuffer, 0, length);
+                return;
+            }
+            // heap sort keeps the weights aligned without allocating an index array
+            for (int i = length / 2 - 1; i >= 0; i--) {
+                siftDown(i, length);
+            }
+            for (int end = length - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+        }
+
+        private void siftDown(int root, int end) {
+            while (2 * root + 1 < end) {
+                int child = 2 * root + 1;
+                if (child + 1 < end && targetBuffer[child] < targetBuffer[child + 1]) {
+                    child++;
+                }
+                if (targetBuffer[root] >= targetBuffer[child]) {
+                    return;
+                }
+                swap(root, child);
+                root = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long target = targetBuffer[i];
+            targetBuffer[i] = targetBuffer[j];
+            targetBuffer[j] = target;
+            double weight = weightBuffer[i];
+            weightBuffer[i] = weightBuffer[j];
+            weightBuffer[j] = weight;
+        }
+
+        /**
+         * Vose's alias method, the scaled probabilities are kept in the weight buffer.
+         */
+        private void buildAliasTable(long start, double weightSum) {
+            if (weightSum <= 0D) {
+                for (int i = 0; i < length; i++) {
+                    aliasProbabilities.set(start + i, 1D);
+                    aliases.set(start + i, i);
+                }
+                return;
+            }
+
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < length; i++) {
+                weightBuffer[i] = weightBuffer[i] * length / weightSum;
+                if (weightBuffer[i] < 1D) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                aliasProbabilities.set(start + less, weightBuffer[less]);
+                aliases.set(start + less, more);
+                weightBuffer[more] = (weightBuffer[more] + weightBuffer[less]) - 1D;
+                if (weightBuffer[more] < 1D) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // remaining entries are 1 up to floating point errors
+            while (largeCount > 0) {
+                int index = large[--largeCount];
+                aliasProbabilities.set(start + index, 1D);
+                aliases.set(start + index, index);
+            }
+            while (smallCount > 0) {
+                int index = small[--smallCount];
+                aliasProbabilities.set(start + index, 1D);
+                aliases.set(start + index, index);
+            }
+        }
+    }
+}
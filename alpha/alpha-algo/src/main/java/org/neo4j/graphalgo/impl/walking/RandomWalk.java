@@ -24,9 +24,9 @@ import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.IntBinaryPredicate;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
 
 import java.util.ArrayList;
@@ -39,7 +39,6 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
 import static org.neo4j.graphalgo.impl.walking.RandomWalk.NextNodeStrategy.NO_NEXT_NODE;
 
 public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
@@ -92,7 +91,11 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
             });
         }
         new Thread(() -> {
-            ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
+            try {
+                ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
+            } finally {
+                strategy.release();
+            }
             put(queue, TOMB);
         }).start();
 
@@ -150,6 +153,8 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         }
 
         public abstract long getNextNode(long currentNodeId, long previousNodeId);
+
+        public void release() { }
     }
 
     public static class RandomNextNodeStrategy extends NextNodeStrategy {
@@ -182,99 +187,28 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
     }
 
     public static class Node2VecStrategy extends NextNodeStrategy {
-        private double returnParam, inOutParam;
-
-
-        public Node2VecStrategy(Graph graph, Degrees degrees, double returnParam, double inOutParam) {
+        private final Node2VecSampler sampler;
+
+        public Node2VecStrategy(
+            Graph graph,
+            Degrees degrees,
+            double returnParam,
+            double inOutParam,
+            int concurrency,
+            AllocationTracker tracker
+        ) {
             super(graph, degrees);
-            this.returnParam = returnParam;
-            this.inOutParam = inOutParam;
+            this.sampler = Node2VecSampler.create(graph, returnParam, inOutParam, concurrency, tracker);
         }
 
+        @Override
         public long getNextNode(long currentNode, long previousNode) {
-            int currentNodeId = Math.toIntExact(currentNode);
-            int previousNodeId = Math.toIntExact(previousNode);
-
-            int degree = degrees.degree(currentNodeId);
-            if (degree == 0) {
-                return NO_NEXT_NODE;
-            }
-
-            double[] distribution = buildProbabilityDistribution(currentNodeId, previousNodeId, returnParam, inOutParam, degree);
-            int neighbourIndex = pickIndexFromDistribution(distribution, ThreadLocalRandom.current().nextDouble());
-
-            return graph.getTarget(currentNodeId, neighbourIndex);
+            return sampler.nextNode(currentNode, previousNode, ThreadLocalRandom.current());
         }
 
-        private double[] buildProbabilityDistribution(int currentNodeId, int previousNodeId,
-                                                      double returnParam, double inOutParam, int degree) {
-            ProbabilityDistributionComputer consumer = new ProbabilityDistributionComputer(degree, currentNodeId, previousNodeId, returnParam, inOutParam);
-            graph.concurrentCopy().forEachRelationship(currentNodeId, longToIntConsumer(consumer));
-            return consumer.probabilities();
-        }
-
-        private static double[] normalizeDistribution(double[] array, double sum) {
-            for (int i = 0; i < array.length; i++) {
-                array[i] /= sum;
-            }
-            return array;
-        }
-
-        private static int pickIndexFromDistribution(double[] distribution, double probability) {
-            double cumulativeProbability = 0.0;
-            for (int i = 0; i < distribution.length; i++) {
-                cumulativeProbability += distribution[i];
-                if (probability <= cumulativeProbability) {
-                    return i;
-                }
-            }
-            return distribution.length - 1;
-        }
-
-        private class ProbabilityDistributionComputer implements IntBinaryPredicate {
-            final double[] probabilities;
-            private final int currentNodeId;
-            private final int previousNodeId;
-            private final double returnParam;
-            private final double inOutParam;
-            double probSum;
-            int index;
-
-            public ProbabilityDistributionComputer(int degree, int currentNodeId, int previousNodeId, double returnParam, double inOutParam) {
-                this.currentNodeId = currentNodeId;
-                this.previousNodeId = previousNodeId;
-                this.returnParam = returnParam;
-                this.inOutParam = inOutParam;
-                probabilities = new double[degree];
-                probSum = 0;
-                index = 0;
-            }
-
-            @Override
-            public boolean test(int start, int end) {
-                int neighbourId = start == currentNodeId ? end : start;
-
-                double probability;
-
-                if (neighbourId == previousNodeId) {
-                    // node is previous node
-                    probability = 1D / returnParam;
-                } else if (graph.exists(previousNodeId, neighbourId)) {
-                    // node is also adjacent to previous node --> distance to previous node is 1
-                    probability = 1D;
-                } else {
-                    // node is not adjacent to previous node --> distance to previous node is 2
-                    probability = 1D / inOutParam;
-                }
-                probabilities[index] = probability;
-                probSum += probability;
-                index++;
-                return true;
-            }
-
-            private double[] probabilities() {
-                return normalizeDistribution(probabilities, probSum);
-            }
+        @Override
+        public void release() {
+            sampler.release();
         }
     }
 }
@@ -58,8 +58,8 @@ final class ArticleRankComputeStep extends BaseComputeStep implements Relationsh
         long endNode = this.endNode;
         RelationshipIterator rels = this.relationshipIterator;
         for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
-            double delta = deltas[(int) (nodeId - startNode)];
-            if (delta > 0) {
+            double delta = takeDelta((int) (nodeId - startNode));
+            if (delta != 0.0) {
                 int degree = degrees.degree(nodeId);
                 if (degree > 0) {
                     srcRankDelta = (float) (delta / (degree + averageDegree));
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.closeness;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.extension.TestGraph;
+import org.neo4j.graphalgo.impl.harmonic.HarmonicCentrality;
+
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class CentralitySamplingTest {
+
+    private static final String GRAPH =
+        "  (a)-->(b)" +
+        ", (b)-->(c)" +
+        ", (c)-->(d)" +
+        ", (b)-->(e)" +
+        ", (f)-->(g)";
+
+    @Test
+    void shouldComputeSampleSize() {
+        // ln(2 * 1000 / 0.01) / (2 * 0.1²) = 610.3
+        assertEquals(611, CentralitySampling.sampleSize(1000, 0.1, 0.99));
+    }
+
+    @Test
+    void shouldSampleDistinctSortedPivots() {
+        long[] pivots = CentralitySampling.samplePivots(1000, 100, new SplittableRandom(42));
+
+        assertEquals(100, pivots.length);
+        for (int i = 1; i < pivots.length; i++) {
+            assertTrue(pivots[i - 1] < pivots[i]);
+        }
+        assertTrue(pivots[0] >= 0 && pivots[pivots.length - 1] < 1000);
+    }
+
+    @Test
+    void shouldNotSampleWithoutError() {
+        var config = ImmutableClosenessCentralityConfig.builder().username("").build();
+
+        assertNull(CentralitySampling.pivots(fromGdl(GRAPH, Orientation.UNDIRECTED), config));
+    }
+
+    @Test
+    void shouldRejectSamplingOnDirectedGraphs() {
+        var config = ImmutableClosenessCentralityConfig.builder().username("").samplingError(0.1).build();
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> CentralitySampling.pivots(fromGdl(GRAPH), config)
+        );
+        assertTrue(exception.getMessage().contains("requires an undirected graph"));
+    }
+
+    @Test
+    void shouldMatchExactClosenessWhenEveryNodeIsAPivot() {
+        TestGraph graph = fromGdl(GRAPH, Orientation.UNDIRECTED);
+        long[] allNodes = LongStream.range(0, graph.nodeCount()).toArray();
+
+        var exact = new MSClosenessCentrality(graph, AllocationTracker.EMPTY, 1, Pools.DEFAULT, true).compute();
+        var sampled = new MSClosenessCentrality(graph, AllocationTracker.EMPTY, 1, Pools.DEFAULT, true, allNodes).compute();
+
+        assertArrayEquals(exact.exportToArray(), sampled.exportToArray(), 1e-9);
+    }
+
+    @Test
+    void shouldMatchExactHarmonicWhenEveryNodeIsAPivot() {
+        TestGraph graph = fromGdl(GRAPH, Orientation.UNDIRECTED);
+        long[] allNodes = LongStream.range(0, graph.nodeCount()).toArray();
+
+        var exact = new HarmonicCentrality(graph, AllocationTracker.EMPTY, 1, Pools.DEFAULT).compute();
+        var sampled = new HarmonicCentrality(graph, AllocationTracker.EMPTY, 1, Pools.DEFAULT, allNodes).compute();
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            // the exact mode averages over the n - 1 other nodes, the sampled one over all n pivots
+            assertEquals(
+                exact.getCentralityScore(nodeId) * (graph.nodeCount() - 1) / graph.nodeCount(),
+                sampled.getCentralityScore(nodeId),
+                1e-9
+            );
+        }
+    }
+}
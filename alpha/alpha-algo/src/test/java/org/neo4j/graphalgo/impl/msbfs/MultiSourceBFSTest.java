@@ -233,6 +233,45 @@ final class MultiSourceBFSTest extends AlgoTestBase {
         });
     }
 
+    @Test
+    void testDirectionOptimizingANPWithAllSources() {
+        withGraph(DB_CYPHER, graph -> {
+            BfsConsumer mock = mock(BfsConsumer.class);
+            MultiSourceBFS msbfs = MultiSourceBFS.directionOptimizingAggregatedNeighborProcessing(
+                    graph,
+                    null,
+                    (i, d, s) -> mock.accept(i + 1, d, toList(s, x -> x + 1)),
+                    AllocationTracker.EMPTY
+            );
+
+            msbfs.run(ConcurrencyConfig.DEFAULT_CONCURRENCY, Pools.DEFAULT);
+
+            verify(mock).accept(1, 1, toList(3, 4));
+            verify(mock).accept(2, 1, toList(3, 4));
+            verify(mock).accept(3, 1, toList(1, 2, 5));
+            verify(mock).accept(4, 1, toList(1, 2, 6));
+            verify(mock).accept(5, 1, toList(3));
+            verify(mock).accept(6, 1, toList(4));
+
+            verify(mock).accept(1, 2, toList(2, 5, 6));
+            verify(mock).accept(2, 2, toList(1, 5, 6));
+            verify(mock).accept(3, 2, toList(4));
+            verify(mock).accept(4, 2, toList(3));
+            verify(mock).accept(5, 2, toList(1, 2));
+            verify(mock).accept(6, 2, toList(1, 2));
+
+            verify(mock).accept(3, 3, toList(6));
+            verify(mock).accept(4, 3, toList(5));
+            verify(mock).accept(5, 3, toList(4));
+            verify(mock).accept(6, 3, toList(3));
+
+            verify(mock).accept(5, 4, toList(6));
+            verify(mock).accept(6, 4, toList(5));
+
+            verifyNoMoreInteractions(mock);
+        });
+    }
+
     @Test
     void testSequentialInvariant() {
         // for a single run with < ω nodes, the same node may only be traversed once at a given depth
@@ -30,6 +30,8 @@ import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.impl.traverse.Traverse.ExitPredicate.Result;
 import org.neo4j.graphdb.Node;
 
@@ -250,6 +252,46 @@ class TraverseTest extends AlgoTestBase {
         assertEquals(4, nodes.length);
     }
 
+    @Test
+    void testParallelBfsOut() {
+        Graph graph = graphs.getGraph(RelationshipType.of("REL_OUT"), Optional.of("cost"));
+        long[] nodes = Traverse.parallelBfs(graph, null, id("a"), -1, 4, Pools.DEFAULT, AllocationTracker.EMPTY)
+            .compute()
+            .resultNodes();
+
+        assertEquals(7, nodes.length);
+        assertEquals(id("a"), nodes[0]);
+        assertContains(new String[]{"b", "c"}, Arrays.copyOfRange(nodes, 1, 3));
+        assertEquals(id("d"), nodes[3]);
+        assertContains(new String[]{"e", "f"}, Arrays.copyOfRange(nodes, 4, 6));
+        assertEquals(id("g"), nodes[6]);
+    }
+
+    @Test
+    void testParallelBfsMaxDepth() {
+        Graph graph = graphs.getGraph(RelationshipType.of("REL_OUT"), Optional.of("cost"));
+        long[] nodes = Traverse.parallelBfs(graph, null, id("a"), 2, 4, Pools.DEFAULT, AllocationTracker.EMPTY)
+            .compute()
+            .resultNodes();
+
+        assertContains(new String[]{"a", "b", "c", "d"}, nodes);
+    }
+
+    /**
+     * on undirected graphs the wide middle levels are expanded bottom-up
+     */
+    @Test
+    void testParallelBfsUndirected() {
+        Graph graph = graphs.getGraph(RelationshipType.of("REL_BOTH"), Optional.of("cost"));
+        long[] nodes = Traverse.parallelBfs(graph, null, id("d"), -1, 4, Pools.DEFAULT, AllocationTracker.EMPTY)
+            .compute()
+            .resultNodes();
+
+        assertEquals(id("d"), nodes[0]);
+        assertContains(new String[]{"b", "c", "e", "f"}, Arrays.copyOfRange(nodes, 1, 5));
+        assertContains(new String[]{"a", "g"}, Arrays.copyOfRange(nodes, 5, 7));
+    }
+
     /**
      * test if all both arrays contain the same nodes. not necessarily in
      * same order
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.walking;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class Node2VecSamplerTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void shouldSampleUniformlyWithNeutralParameters() {
+        TestGraph graph = fromGdl(
+            "  (a)-->(b)" +
+            ", (a)-->(c)" +
+            ", (a)-->(d)" +
+            ", (a)-->(e)"
+        );
+
+        var sampler = Node2VecSampler.create(graph, 1, 1, 1, AllocationTracker.EMPTY);
+        var counts = sample(sampler, graph.toMappedNodeId("a"), graph.toMappedNodeId("a"));
+
+        for (String neighbour : new String[]{"b", "c", "d", "e"}) {
+            assertEquals(0.25, frequency(counts, graph.toMappedNodeId(neighbour)), 0.01);
+        }
+    }
+
+    @Test
+    void shouldApplyReturnAndInOutFactors() {
+        // from (b) to (a): (b) is the previous node, (c) is a common neighbour, (d) is two hops away
+        TestGraph graph = fromGdl(
+            "  (a)-->(b)" +
+            ", (a)-->(c)" +
+            ", (a)-->(d)" +
+            ", (b)-->(c)"
+        );
+
+        double returnParam = 0.25;
+        double inOutParam = 2;
+        var sampler = Node2VecSampler.create(graph, returnParam, inOutParam, 1, AllocationTracker.EMPTY);
+        var counts = sample(sampler, graph.toMappedNodeId("a"), graph.toMappedNodeId("b"));
+
+        double total = 1 / returnParam + 1 + 1 / inOutParam;
+        assertEquals((1 / returnParam) / total, frequency(counts, graph.toMappedNodeId("b")), 0.01);
+        assertEquals(1 / total, frequency(counts, graph.toMappedNodeId("c")), 0.01);
+        assertEquals((1 / inOutParam) / total, frequency(counts, graph.toMappedNodeId("d")), 0.01);
+    }
+
+    @Test
+    void shouldKeepDistributionForExtremeParameters() {
+        TestGraph graph = fromGdl(
+            "  (a)-->(b)" +
+            ", (a)-->(c)" +
+            ", (a)-->(d)"
+        );
+
+        double inOutParam = 100_000;
+        var sampler = Node2VecSampler.create(graph, 1, inOutParam, 1, AllocationTracker.EMPTY);
+        var counts = sample(sampler, graph.toMappedNodeId("a"), graph.toMappedNodeId("b"));
+
+        double total = 1 + 2 / inOutParam;
+        assertEquals(1 / total, frequency(counts, graph.toMappedNodeId("b")), 0.001);
+    }
+
+    @Test
+    void shouldSampleProportionalToWeights() {
+        TestGraph graph = fromGdl(
+            "  (a)-[{w: 1.0D}]->(b)" +
+            ", (a)-[{w: 2.0D}]->(c)" +
+            ", (a)-[{w: 5.0D}]->(d)"
+        );
+
+        var sampler = Node2VecSampler.create(graph, 1, 1, 1, AllocationTracker.EMPTY);
+        var counts = sample(sampler, graph.toMappedNodeId("a"), graph.toMappedNodeId("a"));
+
+        assertEquals(1.0 / 8, frequency(counts, graph.toMappedNodeId("b")), 0.01);
+        assertEquals(2.0 / 8, frequency(counts, graph.toMappedNodeId("c")), 0.01);
+        assertEquals(5.0 / 8, frequency(counts, graph.toMappedNodeId("d")), 0.01);
+    }
+
+    @Test
+    void shouldReturnNoNextNodeForSinks() {
+        TestGraph graph = fromGdl("(a)-->(b)");
+
+        var sampler = Node2VecSampler.create(graph, 1, 1, 1, AllocationTracker.EMPTY);
+        long b = graph.toMappedNodeId("b");
+
+        assertEquals(Node2VecSampler.NO_NEXT_NODE, sampler.nextNode(b, b, new Random(42)));
+    }
+
+    @Test
+    void shouldRejectNonPositiveParameters() {
+        TestGraph graph = fromGdl("(a)-->(b)");
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> Node2VecSampler.create(graph, 0, 1, 1, AllocationTracker.EMPTY)
+        );
+    }
+
+    private static Map<Long, Integer> sample(Node2VecSampler sampler, long currentNode, long previousNode) {
+        var random = new Random(42);
+        var counts = new HashMap<Long, Integer>();
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.merge(sampler.nextNode(currentNode, previousNode, random), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static double frequency(Map<Long, Integer> counts, long nodeId) {
+        return counts.getOrDefault(nodeId, 0) / (double) SAMPLES;
+    }
+}
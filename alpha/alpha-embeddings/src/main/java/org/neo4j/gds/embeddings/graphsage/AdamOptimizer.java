@@ -21,12 +21,10 @@ package org.neo4j.gds.embeddings.graphsage;
 
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Tensor;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 // Division, squaring and square-rooting is done elementwise.
 public class AdamOptimizer {
@@ -43,8 +41,8 @@ public class AdamOptimizer {
 
     private final List<Weights> variables;
 
-    private List<Tensor> momentumTerms;
-    private List<Tensor> velocityTerms;
+    private final List<Tensor> momentumTerms;
+    private final List<Tensor> velocityTerms;
 
     private int iteration = 0;
 
@@ -71,57 +69,30 @@ public class AdamOptimizer {
     // TODO: probably doesnt have to be synchronized
     public synchronized void update(ComputationContext otherCtx) {
         iteration += 1;
-        variables.forEach(variable -> otherCtx.gradient(variable).mapInPlace(this::clip));
-
-        // m_t = beta_1*m_t + (1-beta_1)*g_t	#updates the moving averages of the gradient
-        momentumTerms = IntStream.range(0, variables.size())
-            .mapToObj(i -> {
-                Variable variable = variables.get(i);
-                Tensor momentumTerm = momentumTerms.get(i);
-                return Tensor.add(
-                    momentumTerm.scalarMultiply(beta_1),
-                    otherCtx.gradient(variable).scalarMultiply(1 - beta_1)
-                );
-            })
-            .collect(Collectors.toList());
-
-        // v_t = beta_2*v_t + (1-beta_2)*(g_t*g_t)	#updates the moving averages of the squared gradient
-        velocityTerms = IntStream.range(0, variables.size())
-            .mapToObj(i -> {
-                Variable variable = variables.get(i);
-                Tensor velocityTerm = velocityTerms.get(i);
-                Tensor gradient = otherCtx.gradient(variable);
-                Tensor squaredGradient = gradient.elementwiseProduct(gradient);
-                return Tensor.add(
-                    velocityTerm.scalarMultiply(beta_2),
-                    squaredGradient.scalarMultiply(1 - beta_2)
-                );
-            })
-            .collect(Collectors.toList());
-
-        // m_cap = m_t/(1-(beta_1**t))		#calculates the bias-corrected estimates
-        List<Tensor> mCaps = momentumTerms.stream()
-            .map(mTerm -> mTerm.scalarMultiply(1d / (1 - Math.pow(beta_1, iteration))))
-            .collect(Collectors.toList());
-
-        // v_cap = v_t/(1-(beta_2**t))		#calculates the bias-corrected estimates
-        List<Tensor> vCaps = velocityTerms.stream()
-            .map(vTerm -> vTerm.scalarMultiply(1d / (1 - Math.pow(beta_2, iteration))))
-            .collect(Collectors.toList());
-
-        IntStream.range(0, variables.size())
-            .forEach(i -> {
-                Weights variable = variables.get(i);
-                Tensor mCap = mCaps.get(i);
-                Tensor vCap = vCaps.get(i);
-
+        double mCapScale = 1d / (1 - Math.pow(beta_1, iteration));
+        double vCapScale = 1d / (1 - Math.pow(beta_2, iteration));
+
+        // all terms are updated in place, elementwise
+        for (int i = 0; i < variables.size(); i++) {
+            double[] theta = variables.get(i).data().data;
+            double[] gradient = otherCtx.gradient(variables.get(i)).data;
+            double[] momentum = momentumTerms.get(i).data;
+            double[] velocity = velocityTerms.get(i).data;
+
+            for (int j = 0; j < theta.length; j++) {
+                double g = clip(gradient[j]);
+                gradient[j] = g;
+                // m_t = beta_1*m_t + (1-beta_1)*g_t	#updates the moving averages of the gradient
+                momentum[j] = momentum[j] * beta_1 + g * (1 - beta_1);
+                // v_t = beta_2*v_t + (1-beta_2)*(g_t*g_t)	#updates the moving averages of the squared gradient
+                velocity[j] = velocity[j] * beta_2 + (g * g) * (1 - beta_2);
+                // m_cap = m_t/(1-(beta_1**t)), v_cap = v_t/(1-(beta_2**t))		#calculates the bias-corrected estimates
+                double mCap = momentum[j] * mCapScale;
+                double vCap = velocity[j] * vCapScale;
                 // theta_0 = theta_0 - (alpha*m_cap)/(math.sqrt(v_cap)+epsilon)	#updates the parameters
-                Tensor theta_0 = variable.data();
-                theta_0.addInPlace(mCap
-                    .scalarMultiply(-alpha)
-                    .elementwiseProduct(vCap.map(v -> 1 / (Math.sqrt(v) + epsilon)))
-                );
-            });
+                theta[j] += (mCap * -alpha) * (1 / (Math.sqrt(vCap) + epsilon));
+            }
+        }
     }
 
     private double clip(double value) {
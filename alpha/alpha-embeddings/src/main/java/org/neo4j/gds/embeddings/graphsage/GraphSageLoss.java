@@ -70,7 +70,8 @@ public class GraphSageLoss extends SingleParentVariable {
         int batchSize = totalBatchSize / 3;
 
         int embeddingSize = embeddingData.dimensions[1];
-        double[] gradientResult = new double[totalBatchSize * embeddingSize];
+        Tensor gradient = ctx.allocate(parent.dimensions());
+        double[] gradientResult = gradient.data;
 
         IntStream.range(0, batchSize).forEach(nodeId -> {
             int positiveNodeId = nodeId + batchSize;
@@ -95,7 +96,7 @@ public class GraphSageLoss extends SingleParentVariable {
             ));
 
         });
-        return Tensor.matrix(gradientResult, totalBatchSize, embeddingSize);
+        return gradient;
     }
 
     private void partialComputeGradient(
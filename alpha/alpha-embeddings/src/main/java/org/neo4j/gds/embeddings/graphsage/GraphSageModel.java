@@ -29,10 +29,14 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.gds.embeddings.graphsage.subgraph.SubGraph;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.utils.CloseableThreadLocal;
 import org.neo4j.logging.Log;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -41,13 +45,16 @@ import java.util.Random;
 import java.util.TreeMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStreamConsume;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public class GraphSageModel {
@@ -58,9 +65,13 @@ public class GraphSageModel {
     public static final int DEFAULT_MAX_SEARCH_DEPTH = 5;
     public static final int DEFAULT_NEGATIVE_SAMPLE_WEIGHT = 20;
 
+    // the largest array length the JVM reliably allocates
+    private static final long MAX_TENSOR_SIZE = Integer.MAX_VALUE - 8;
+
     private final Layer[] layers;
     private final Log log;
     private final BatchProvider batchProvider;
+    private final int batchSize;
     private final double learningRate;
     private final double tolerance;
     private final int negativeSampleWeight;
@@ -68,6 +79,7 @@ public class GraphSageModel {
     private final int epochs;
     private final int maxIterations;
     private final int maxSearchDepth;
+    private final AllocationTracker tracker;
 
     private double degreeProbabilityNormalizer;
 
@@ -104,11 +116,12 @@ public class GraphSageModel {
             DEFAULT_MAX_SEARCH_DEPTH,
             DEFAULT_NEGATIVE_SAMPLE_WEIGHT,
             layers,
-            log
+            log,
+            AllocationTracker.EMPTY
         );
     }
 
-    public GraphSageModel(GraphSageBaseConfig config, Log log) {
+    public GraphSageModel(GraphSageBaseConfig config, Log log, AllocationTracker tracker) {
         this(
             config.concurrency(),
             config.batchSize(),
@@ -121,7 +134,8 @@ public class GraphSageModel {
             config.layerConfigs().stream()
                 .map(LayerFactory::createLayer)
                 .toArray(Layer[]::new),
-            log
+            log,
+            tracker
         );
     }
 
@@ -135,7 +149,8 @@ public class GraphSageModel {
         int maxSearchDepth,
         int negativeSampleWeight,
         Layer[] layers,
-        Log log
+        Log log,
+        AllocationTracker tracker
     ) {
         this.concurrency = concurrency;
         this.layers = layers;
@@ -146,7 +161,9 @@ public class GraphSageModel {
         this.maxSearchDepth = maxSearchDepth;
         this.negativeSampleWeight = negativeSampleWeight;
         this.batchProvider = new BatchProvider(batchSize);
+        this.batchSize = batchSize;
         this.log = log;
+        this.tracker = tracker;
     }
 
     public TrainResult train(Graph graph, HugeObjectArray<double[]> features) {
@@ -156,11 +173,13 @@ public class GraphSageModel {
             .mapToDouble(nodeId -> Math.pow(graph.degree(nodeId), 0.75))
             .sum();
 
-        double initialLoss = evaluateLoss(graph, features, batchProvider, -1);
+        SampledNeighborhoods[] neighborhoods = sampleNeighborhoods(graph, tracker);
+
+        double initialLoss = evaluateLoss(graph, features, neighborhoods, batchProvider, -1);
         double previousLoss = initialLoss;
         for (int epoch = 0; epoch < epochs; epoch++) {
-            trainEpoch(graph, features, epoch);
-            double newLoss = evaluateLoss(graph, features, batchProvider, epoch);
+            trainEpoch(graph, features, neighborhoods, epoch);
+            double newLoss = evaluateLoss(graph, features, neighborhoods, batchProvider, epoch);
             epochLosses.put(
                 formatWithLocale("Epoch: %d", epoch),
                 newLoss
@@ -170,11 +189,17 @@ public class GraphSageModel {
             }
             previousLoss = newLoss;
         }
+        releaseNeighborhoods(neighborhoods, tracker);
 
         return TrainResult.of(initialLoss, epochLosses);
     }
 
-    private void trainEpoch(Graph graph, HugeObjectArray<double[]> features, int epoch) {
+    private void trainEpoch(
+        Graph graph,
+        HugeObjectArray<double[]> features,
+        SampledNeighborhoods[] neighborhoods,
+        int epoch
+    ) {
         List<Weights> weights = getWeights();
 
         AdamOptimizer updater = new AdamOptimizer(weights, learningRate);
@@ -187,6 +212,7 @@ public class GraphSageModel {
                 batch,
                 graph,
                 features,
+                neighborhoods,
                 updater,
                 epoch,
                 batchCounter.incrementAndGet()
@@ -198,15 +224,12 @@ public class GraphSageModel {
         long[] batch,
         Graph graph,
         HugeObjectArray<double[]> features,
+        SampledNeighborhoods[] neighborhoods,
         AdamOptimizer updater,
         int epoch,
         int batchIndex
     ) {
-        for (Layer layer : layers) {
-            layer.generateNewRandomState();
-        }
-
-        Variable lossFunction = lossFunction(batch, graph, features);
+        Variable lossFunction = lossFunction(batch, graph, features, neighborhoods);
 
         double newLoss = Double.MAX_VALUE;
         double oldLoss;
@@ -214,10 +237,12 @@ public class GraphSageModel {
         log.debug(formatWithLocale("Epoch %d\tBatch %d, Initial loss: %.10f", epoch, batchIndex, newLoss));
 
         int iteration = 0;
+        // the computation graph is the same for every iteration, so its buffers can be reused
+        ComputationContext localCtx = new ComputationContext();
         while (iteration < maxIterations) {
             oldLoss = newLoss;
 
-            ComputationContext localCtx = new ComputationContext();
+            localCtx.reset();
 
             newLoss = localCtx.forward(lossFunction).data[0];
             double lossDiff = Math.abs((oldLoss - newLoss) / oldLoss);
@@ -240,39 +265,155 @@ public class GraphSageModel {
         ));
     }
 
-    public HugeObjectArray<double[]> makeEmbeddings(Graph graph, HugeObjectArray<double[]> features) {
-        HugeObjectArray<double[]> result = HugeObjectArray.newArray(
-            double[].class,
-            graph.nodeCount(),
-            AllocationTracker.EMPTY
-        );
+    public HugeFloatMatrix makeEmbeddings(Graph graph, HugeObjectArray<double[]> features) {
+        return makeEmbeddings(graph, features, batchSize, AllocationTracker.EMPTY);
+    }
 
-        parallelStreamConsume(
-            batchProvider.stream(graph),
-            concurrency,
-            batches -> batches.forEach(batch -> {
-                ComputationContext ctx = new ComputationContext();
-                Variable embeddingVariable = embeddingVariable(graph, batch, features);
-                int dimension = embeddingVariable.dimension(1);
-                double[] embeddings = ctx.forward(embeddingVariable).data;
-
-                for (int nodeIndex = 0; nodeIndex < batch.length; nodeIndex++) {
-                    double[] nodeEmbedding = Arrays.copyOfRange(
-                        embeddings,
-                        nodeIndex * dimension,
-                        (nodeIndex + 1) * dimension
-                    );
-                    result.set(batch[nodeIndex], nodeEmbedding);
-                }
-            })
-        );
+    /**
+     * Runs the forward pass only and writes the embedding of every node into a row of the returned matrix.
+     * Every thread keeps one {@link ComputationContext} whose buffers are recycled from batch to batch,
+     * so the batch size only bounds the memory of the in-flight batches, see {@link #inferenceBatchSize}.
+     */
+    public HugeFloatMatrix makeEmbeddings(
+        Graph graph,
+        HugeObjectArray<double[]> features,
+        int batchSize,
+        AllocationTracker tracker
+    ) {
+        HugeFloatMatrix result = HugeFloatMatrix.newMatrix(graph.nodeCount(), embeddingDimension(), tracker);
+        SampledNeighborhoods[] neighborhoods = sampleNeighborhoods(graph, tracker);
+
+        try (var contexts = CloseableThreadLocal.withInitial(ComputationContext::new)) {
+            parallelStreamConsume(
+                new BatchProvider(batchSize).stream(graph),
+                concurrency,
+                batches -> batches.forEach(batch -> {
+                    ComputationContext ctx = contexts.get();
+                    ctx.reset();
+                    Variable embeddingVariable = embeddingVariable(graph, batch, features, neighborhoods);
+                    int dimension = embeddingVariable.dimension(1);
+                    double[] embeddings = ctx.forward(embeddingVariable).data;
+
+                    for (int nodeIndex = 0; nodeIndex < batch.length; nodeIndex++) {
+                        float[] page = result.page(batch[nodeIndex]);
+                        int offset = result.offset(batch[nodeIndex]);
+                        int embeddingOffset = nodeIndex * dimension;
+                        for (int i = 0; i < dimension; i++) {
+                            page[offset + i] = (float) embeddings[embeddingOffset + i];
+                        }
+                    }
+                })
+            );
+        }
+        releaseNeighborhoods(neighborhoods, tracker);
 
         return result;
     }
 
+    /**
+     * Picks the number of nodes per inference batch. Unless configured, batches grow as long as one batch per thread
+     * fits into half of the given free memory, because larger batches share more of their sampled neighbors.
+     * In both cases, the batch is capped so that every tensor of the batch fits into a single array.
+     * The memory estimation uses the same sizes, with a free memory of zero and of {@link Long#MAX_VALUE} as bounds.
+     */
+    public static int inferenceBatchSize(GraphSageBaseConfig config, long nodeCount, long freeMemory) {
+        if (config.inferenceBatchSize().isPresent()) {
+            return largestBatchSize(
+                Math.toIntExact(config.inferenceBatchSize().get()),
+                batchSize -> largestBatchTensor(config, nodeCount, batchSize) <= MAX_TENSOR_SIZE
+            );
+        }
+        int concurrency = config.concurrency();
+        long budget = freeMemory / 2 / concurrency;
+        return largestBatchSize(
+            (int) Math.min(Integer.MAX_VALUE, Math.max(1, BitUtil.ceilDiv(nodeCount, concurrency))),
+            batchSize -> largestBatchTensor(config, nodeCount, batchSize) <= MAX_TENSOR_SIZE
+                         && inferenceBatchMemory(config, nodeCount, batchSize) <= budget
+        );
+    }
+
+    /**
+     * @return the largest batch size of at most {@code maxBatchSize} that fits, but at least 1
+     */
+    private static int largestBatchSize(int maxBatchSize, IntPredicate fits) {
+        int low = 1;
+        int high = maxBatchSize;
+        while (low < high) {
+            int mid = (int) (((long) low + high + 1) >>> 1);
+            if (fits.test(mid)) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Estimates the memory of the forward pass over one batch, i.e. the sub graphs, the features of all sampled nodes
+     * and the intermediate tensors of every layer. The estimate covers both the mean and the pool aggregator.
+     */
+    public static long inferenceBatchMemory(GraphSageBaseConfig config, long nodeCount, int batchSize) {
+        List<Long> sampleSizes = config.sampleSizes();
+        int layerCount = sampleSizes.size();
+        int embeddingSize = config.embeddingSize();
+        long[] nodesPerLevel = nodesPerLevel(config, nodeCount, batchSize);
+
+        long memory = sizeOfDoubleArray(nodesPerLevel[layerCount] * config.featuresSize());
+        for (int layer = 0; layer < layerCount; layer++) {
+            long inputs = nodesPerLevel[layerCount - layer];
+            long outputs = nodesPerLevel[layerCount - layer - 1];
+            long inputDimension = layer == 0 ? config.featuresSize() : embeddingSize;
+
+            memory += sizeOfLongArray(inputs) * 3;
+            memory += sizeOfIntArray(outputs * (sampleSizes.get(layer) + 1));
+            memory += sizeOfDoubleArray(inputs * 3 * embeddingSize);
+            memory += sizeOfDoubleArray(outputs * (2 * inputDimension + 5 * embeddingSize));
+        }
+        return memory + sizeOfDoubleArray(nodesPerLevel[0] * embeddingSize);
+    }
+
+    /**
+     * @return an upper bound for the number of elements of the largest single tensor of the forward pass over one batch
+     */
+    static long largestBatchTensor(GraphSageBaseConfig config, long nodeCount, int batchSize) {
+        List<Long> sampleSizes = config.sampleSizes();
+        int layerCount = sampleSizes.size();
+        int embeddingSize = config.embeddingSize();
+        long[] nodesPerLevel = nodesPerLevel(config, nodeCount, batchSize);
+
+        long largest = nodesPerLevel[layerCount] * config.featuresSize();
+        for (int layer = 0; layer < layerCount; layer++) {
+            long inputs = nodesPerLevel[layerCount - layer];
+            long outputs = nodesPerLevel[layerCount - layer - 1];
+            long dimension = Math.max(layer == 0 ? config.featuresSize() : embeddingSize, embeddingSize);
+
+            largest = Math.max(largest, inputs * dimension);
+            largest = Math.max(largest, outputs * 2 * dimension);
+            largest = Math.max(largest, outputs * (sampleSizes.get(layer) + 1));
+        }
+        return largest;
+    }
+
+    /**
+     * nodesPerLevel[0] is the batch, nodesPerLevel[i + 1] also holds the neighbors sampled for the layer that reads level i.
+     */
+    private static long[] nodesPerLevel(GraphSageBaseConfig config, long nodeCount, int batchSize) {
+        List<Long> sampleSizes = config.sampleSizes();
+        int layerCount = sampleSizes.size();
+        long[] nodesPerLevel = new long[layerCount + 1];
+        nodesPerLevel[0] = Math.min(batchSize, nodeCount);
+        for (int level = 0; level < layerCount; level++) {
+            long sampleSize = sampleSizes.get(layerCount - level - 1);
+            nodesPerLevel[level + 1] = Math.min(nodeCount, nodesPerLevel[level] * (sampleSize + 1));
+        }
+        return nodesPerLevel;
+    }
+
     private double evaluateLoss(
         Graph graph,
         HugeObjectArray<double[]> features,
+        SampledNeighborhoods[] neighborhoods,
         BatchProvider batchProvider,
         int epoch
     ) {
@@ -282,7 +423,7 @@ public class GraphSageModel {
             concurrency,
             batches -> batches.forEach(batch -> {
                 ComputationContext ctx = new ComputationContext();
-                Variable loss = lossFunction(batch, graph, features);
+                Variable loss = lossFunction(batch, graph, features, neighborhoods);
                 doubleAdder.add(ctx.forward(loss).data[0]);
             })
         );
@@ -291,13 +432,31 @@ public class GraphSageModel {
         return lossValue;
     }
 
+    /**
+     * Builds the loss of a single batch from a fresh neighborhood sample.
+     * The sub graphs of the batch are built eagerly from the sample, so the sample is released right away.
+     */
     Variable lossFunction(long[] batch, Graph graph, HugeObjectArray<double[]> features) {
+        SampledNeighborhoods[] neighborhoods = sampleNeighborhoods(graph, tracker);
+        try {
+            return lossFunction(batch, graph, features, neighborhoods);
+        } finally {
+            releaseNeighborhoods(neighborhoods, tracker);
+        }
+    }
+
+    private Variable lossFunction(
+        long[] batch,
+        Graph graph,
+        HugeObjectArray<double[]> features,
+        SampledNeighborhoods[] neighborhoods
+    ) {
         long[] totalBatch = LongStream
             .concat(Arrays.stream(batch), LongStream.concat(
                 neighborBatch(graph, batch),
                 negativeBatch(graph, batch.length)
             )).toArray();
-        Variable embeddingVariable = embeddingVariable(graph, totalBatch, features);
+        Variable embeddingVariable = embeddingVariable(graph, totalBatch, features, neighborhoods);
 
         Variable lossFunction = new GraphSageLoss(embeddingVariable, negativeSampleWeight);
 
@@ -305,20 +464,18 @@ public class GraphSageModel {
     }
 
     private LongStream neighborBatch(Graph graph, long[] batch) {
+        Graph localGraph = graph.concurrentCopy();
+        long[] sample = new long[1];
         return Arrays.stream(batch).map(nodeId -> {
-            int searchDepth = ThreadLocalRandom.current().nextInt(maxSearchDepth) + 1;
-            AtomicLong currentNode = new AtomicLong(nodeId);
-            while (searchDepth > 0) {
-                List<Long> samples = new UniformNeighborhoodSampler().sample(graph, currentNode.get(), 1, 0);
-                if (samples.size() == 1) {
-                    currentNode.set(samples.get(0));
-                } else {
-                    // terminate
-                    searchDepth = 0;
-                }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int searchDepth = random.nextInt(maxSearchDepth) + 1;
+            long currentNode = nodeId;
+            while (searchDepth > 0
+                   && UniformNeighborhoodSampler.sample(localGraph, currentNode, 1, random.nextLong(), sample) == 1) {
+                currentNode = sample[0];
                 searchDepth--;
             }
-            return currentNode.get();
+            return currentNode;
         });
     }
 
@@ -354,11 +511,13 @@ public class GraphSageModel {
         return Constant.matrix(data, nodeIds.length, dimension);
     }
 
-    private Variable embeddingVariable(Graph graph, long[] nodeIds, HugeObjectArray<double[]> features) {
-        List<NeighborhoodFunction> neighborhoodFunctions = Arrays
-            .stream(layers)
-            .map(layer -> (NeighborhoodFunction) layer::neighborhoodFunction)
-            .collect(Collectors.toList());
+    private Variable embeddingVariable(
+        Graph graph,
+        long[] nodeIds,
+        HugeObjectArray<double[]> features,
+        SampledNeighborhoods[] neighborhoods
+    ) {
+        List<NeighborhoodFunction> neighborhoodFunctions = new ArrayList<>(Arrays.asList(neighborhoods));
         Collections.reverse(neighborhoodFunctions);
         List<SubGraph> subGraphs = SubGraph.buildSubGraphs(nodeIds, neighborhoodFunctions, graph);
 
@@ -380,6 +539,32 @@ public class GraphSageModel {
         return new NormalizeRows(previousLayerRepresentations);
     }
 
+    /**
+     * Samples the neighborhoods of all nodes once per layer, so that every batch and epoch
+     * reads the samples instead of iterating the adjacency lists again.
+     */
+    private SampledNeighborhoods[] sampleNeighborhoods(Graph graph, AllocationTracker tracker) {
+        return Arrays.stream(layers)
+            .map(layer -> SampledNeighborhoods.create(
+                graph,
+                Math.toIntExact(layer.sampleSize()),
+                layer.randomState(),
+                concurrency,
+                tracker
+            ))
+            .toArray(SampledNeighborhoods[]::new);
+    }
+
+    private static void releaseNeighborhoods(SampledNeighborhoods[] neighborhoods, AllocationTracker tracker) {
+        for (SampledNeighborhoods neighborhood : neighborhoods) {
+            tracker.remove(neighborhood.release());
+        }
+    }
+
+    private int embeddingDimension() {
+        return layers[layers.length - 1].weights().get(0).dimension(0);
+    }
+
     private List<Weights> getWeights() {
         return Arrays.stream(layers)
             .flatMap(layer -> layer.weights().stream())
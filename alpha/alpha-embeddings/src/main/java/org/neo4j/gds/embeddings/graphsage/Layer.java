@@ -19,7 +19,6 @@
  */
 package org.neo4j.gds.embeddings.graphsage;
 
-import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 
 import java.util.List;
@@ -31,15 +30,7 @@ public interface Layer {
 
     long randomState();
 
-    void generateNewRandomState();
-
-    UniformNeighborhoodSampler sampler();
-
     default List<Weights> weights() {
         return aggregator().weights();
     }
-
-    default List<Long> neighborhoodFunction(Graph graph, long nodeId) {
-        return sampler().sample(graph, nodeId, sampleSize(), randomState());
-    }
 }
@@ -27,13 +27,12 @@ import java.util.function.Function;
 
 public class MaxPoolAggregatingLayer implements Layer {
 
-    private final UniformNeighborhoodSampler sampler;
     private final long sampleSize;
     private final Weights poolWeights;
     private final Weights selfWeights;
     private final Weights neighborsWeights;
     private final Weights bias;
-    private long randomState;
+    private final long randomState;
     private final Function<Variable, Variable> activationFunction;
 
     public MaxPoolAggregatingLayer(
@@ -52,7 +51,6 @@ public class MaxPoolAggregatingLayer implements Layer {
         this.randomState = ThreadLocalRandom.current().nextLong();
 
         this.sampleSize = sampleSize;
-        this.sampler = new UniformNeighborhoodSampler();
 
         this.activationFunction = activationFunction;
     }
@@ -73,18 +71,8 @@ public class MaxPoolAggregatingLayer implements Layer {
         );
     }
 
-    @Override
-    public UniformNeighborhoodSampler sampler() {
-        return sampler;
-    }
-
     @Override
     public long randomState() {
         return randomState;
     }
-
-    @Override
-    public void generateNewRandomState() {
-        randomState = ThreadLocalRandom.current().nextLong();
-    }
 }
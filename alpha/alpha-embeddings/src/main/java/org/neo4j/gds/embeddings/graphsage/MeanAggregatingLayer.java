@@ -27,10 +27,9 @@ import java.util.function.Function;
 
 public class MeanAggregatingLayer implements Layer {
 
-    private final UniformNeighborhoodSampler sampler;
     private final long sampleSize;
     private final Weights weights;
-    private long randomState;
+    private final long randomState;
     private final Function<Variable, Variable> activationFunction;
 
     public MeanAggregatingLayer(Weights weights, long sampleSize, Function<Variable, Variable> activationFunction) {
@@ -38,7 +37,6 @@ public class MeanAggregatingLayer implements Layer {
         this.weights = weights;
         this.activationFunction = activationFunction;
         this.randomState = ThreadLocalRandom.current().nextLong();
-        this.sampler = new UniformNeighborhoodSampler();
     }
 
     @Override
@@ -46,11 +44,6 @@ public class MeanAggregatingLayer implements Layer {
         return new MeanAggregator(weights, activationFunction);
     }
 
-    @Override
-    public UniformNeighborhoodSampler sampler() {
-        return sampler;
-    }
-
     @Override
     public long sampleSize() {
         return sampleSize;
@@ -60,9 +53,4 @@ public class MeanAggregatingLayer implements Layer {
     public long randomState() {
         return randomState;
     }
-
-    @Override
-    public void generateNewRandomState() {
-        randomState = ThreadLocalRandom.current().nextLong();
-    }
 }
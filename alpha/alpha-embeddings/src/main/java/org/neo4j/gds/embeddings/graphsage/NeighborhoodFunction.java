@@ -21,9 +21,7 @@ package org.neo4j.gds.embeddings.graphsage;
 
 import org.neo4j.graphalgo.api.Graph;
 
-import java.util.List;
-
 @FunctionalInterface
 public interface NeighborhoodFunction {
-    List<Long> apply(Graph graph, long nodeId);
+    long[] apply(Graph graph, long nodeId);
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A fixed neighborhood sample of every node of a graph, stored as compressed sparse rows.
+ * <p>
+ * Node {@code n} has {@code min(k, degree(n))} sampled neighbors, which are stored in
+ * {@code targets[offsets[n]]} to {@code targets[offsets[n + 1] - 1]}.
+ * The sample is drawn once with {@link UniformNeighborhoodSampler} and can be shared by all threads
+ * and reused for all batches and epochs.
+ */
+public final class SampledNeighborhoods implements NeighborhoodFunction {
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray targets;
+
+    public static SampledNeighborhoods create(
+        Graph graph,
+        int sampleSize,
+        long randomState,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            offset += Math.min(sampleSize, graph.degree(nodeId));
+        }
+        offsets.set(nodeCount, offset);
+
+        HugeLongArray targets = HugeLongArray.newArray(offset, tracker);
+        List<Partition> partitions = PartitionUtils.numberAlignedPartitioning(concurrency, nodeCount, 64);
+        List<Runnable> tasks = partitions.stream()
+            .map(partition -> (Runnable) () -> {
+                Graph localGraph = graph.concurrentCopy();
+                long[] buffer = new long[sampleSize];
+                long endNode = partition.startNode + partition.nodeCount;
+                for (long nodeId = partition.startNode; nodeId < endNode; nodeId++) {
+                    int sampled = UniformNeighborhoodSampler.sample(localGraph, nodeId, sampleSize, randomState, buffer);
+                    long targetOffset = offsets.get(nodeId);
+                    for (int i = 0; i < sampled; i++) {
+                        targets.set(targetOffset + i, buffer[i]);
+                    }
+                }
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+        return new SampledNeighborhoods(offsets, targets);
+    }
+
+    private SampledNeighborhoods(HugeLongArray offsets, HugeLongArray targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int sampleCount(long nodeId) {
+        return (int) (offsets.get(nodeId + 1) - offsets.get(nodeId));
+    }
+
+    /**
+     * Writes the sampled neighbors into the given buffer, which must hold at least {@link #sampleCount(long)} elements.
+     *
+     * @return the number of sampled neighbors
+     */
+    public int neighbors(long nodeId, long[] buffer) {
+        long start = offsets.get(nodeId);
+        int count = (int) (offsets.get(nodeId + 1) - start);
+        for (int i = 0; i < count; i++) {
+            buffer[i] = targets.get(start + i);
+        }
+        return count;
+    }
+
+    @Override
+    public long[] apply(Graph graph, long nodeId) {
+        long[] neighbors = new long[sampleCount(nodeId)];
+        neighbors(nodeId, neighbors);
+        return neighbors;
+    }
+
+    /**
+     * @return the number of released bytes
+     */
+    public long release() {
+        return offsets.release() + targets.release();
+    }
+}
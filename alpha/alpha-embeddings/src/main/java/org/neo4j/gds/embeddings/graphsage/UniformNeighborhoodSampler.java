@@ -20,42 +20,87 @@
 package org.neo4j.gds.embeddings.graphsage;
 
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicLong;
+/**
+ * Samples up to {@code k} neighbors of a node uniformly at random without replacement,
+ * keeping the neighbors in adjacency order.
+ * <p>
+ * The random decisions are derived by hashing the random state, the node id and the position
+ * of the neighbor, so the sampler holds no mutable state and returns the same sample for the same
+ * random state, no matter which thread asks.
+ * The given {@link Graph} is iterated, so every thread needs to pass its own {@link Graph#concurrentCopy()}.
+ */
+public final class UniformNeighborhoodSampler {
+
+    private UniformNeighborhoodSampler() {}
+
+    public static long[] sample(Graph graph, long nodeId, int numberOfSamples, long randomState) {
+        long[] buffer = new long[Math.min(numberOfSamples, graph.degree(nodeId))];
+        sample(graph, nodeId, numberOfSamples, randomState, buffer);
+        return buffer;
+    }
 
-public class UniformNeighborhoodSampler {
-    private final Random random;
+    /**
+     * Writes the sampled neighbors into the given buffer, which must hold at least
+     * {@code min(numberOfSamples, degree(nodeId))} elements.
+     *
+     * @return the number of sampled neighbors
+     */
+    public static int sample(Graph graph, long nodeId, int numberOfSamples, long randomState, long[] buffer) {
+        int degree = graph.degree(nodeId);
+        int sampleCount = Math.min(degree, numberOfSamples);
+        if (sampleCount == 0) {
+            return 0;
+        }
 
-    public UniformNeighborhoodSampler() {
-        this.random = new Random();
+        var sampler = new SelectionSampling(buffer, degree, sampleCount, randomState, nodeId);
+        graph.forEachRelationship(nodeId, sampler);
+        return sampleCount;
     }
 
-    public List<Long> sample(Graph graph, long nodeId, long numberOfSamples, long randomState) {
-        AtomicLong remainingToSample = new AtomicLong(numberOfSamples);
-        AtomicLong remainingToConsider = new AtomicLong(graph.degree(nodeId));
-        List<Long> neighbors = new ArrayList<>();
-        graph.concurrentCopy().forEachRelationship(
-            nodeId,
-            (source, target) -> {
-                if (remainingToSample.get() == 0 || remainingToConsider.get() == 0) {
-                    return false;
-                }
-                double randomDouble = randomDouble(randomState, source, target, graph.nodeCount());
-                if (remainingToConsider.getAndDecrement() * randomDouble <= remainingToSample.get()) {
-                    neighbors.add(target);
-                    remainingToSample.decrementAndGet();
-                }
-                return true;
+    /**
+     * Knuth's selection sampling: the {@code i}-th of {@code n} neighbors is picked with probability
+     * {@code (k - picked) / (n - i)}, which yields exactly {@code k} neighbors.
+     */
+    private static final class SelectionSampling implements RelationshipConsumer {
+        private final long[] buffer;
+        private final long randomState;
+        private final long nodeId;
+        private final int degree;
+        private final int sampleCount;
+        private int considered;
+        private int picked;
+
+        SelectionSampling(long[] buffer, int degree, int sampleCount, long randomState, long nodeId) {
+            this.buffer = buffer;
+            this.degree = degree;
+            this.sampleCount = sampleCount;
+            this.randomState = randomState;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public boolean accept(long source, long target) {
+            int remainingToConsider = degree - considered;
+            int remainingToSample = sampleCount - picked;
+            if (remainingToConsider <= remainingToSample
+                || remainingToConsider * randomDouble(randomState, nodeId, considered) < remainingToSample) {
+                buffer[picked++] = target;
             }
-        );
-        return neighbors;
+            considered++;
+            return picked < sampleCount;
+        }
     }
 
-    private double randomDouble(long randomState, long source, long target, long nodeCount) {
-        random.setSeed(randomState + source + nodeCount * target);
-        return random.nextDouble();
+    /**
+     * A SplitMix64 finalizer over the inputs, mapped to {@code [0, 1)}.
+     */
+    static double randomDouble(long randomState, long nodeId, long index) {
+        long z = randomState + nodeId * 0x9E3779B97F4A7C15L + index * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
     }
 }
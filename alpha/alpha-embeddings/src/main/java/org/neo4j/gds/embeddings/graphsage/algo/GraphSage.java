@@ -23,7 +23,9 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.mem.GcListenerExtension;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.gds.embeddings.graphsage.GraphSageModel;
 import org.neo4j.logging.Log;
@@ -39,12 +41,16 @@ public class GraphSage extends Algorithm<GraphSage, GraphSage.GraphSageResult> {
 
     private final GraphSageModel graphSageModel;
     private final Graph graph;
+    private final GraphSageBaseConfig config;
+    private final AllocationTracker tracker;
     private final List<NodeProperties> nodeProperties;
     private final boolean useDegreeAsProperty;
 
-    public GraphSage(Graph graph, GraphSageBaseConfig config, Log log) {
+    public GraphSage(Graph graph, GraphSageBaseConfig config, AllocationTracker tracker, Log log) {
         this.useDegreeAsProperty = config.degreeAsProperty();
         this.graph = graph;
+        this.config = config;
+        this.tracker = tracker;
 
         nodeProperties = config
             .nodePropertyNames()
@@ -52,7 +58,7 @@ public class GraphSage extends Algorithm<GraphSage, GraphSage.GraphSageResult> {
             .map(graph::nodeProperties)
             .collect(toList());
 
-        graphSageModel = new GraphSageModel(config, log);
+        graphSageModel = new GraphSageModel(config, log, tracker);
     }
 
     @Override
@@ -60,7 +66,12 @@ public class GraphSage extends Algorithm<GraphSage, GraphSage.GraphSageResult> {
         // TODO: Split training into its own procedure?
         HugeObjectArray<double[]> features = initializeFeatures();
         GraphSageModel.TrainResult trainResult = graphSageModel.train(graph, features);
-        HugeObjectArray<double[]> embeddings = graphSageModel.makeEmbeddings(graph, features);
+        int inferenceBatchSize = GraphSageModel.inferenceBatchSize(
+            config,
+            graph.nodeCount(),
+            GcListenerExtension.freeMemory()
+        );
+        HugeFloatMatrix embeddings = graphSageModel.makeEmbeddings(graph, features, inferenceBatchSize, tracker);
         return GraphSageResult.of(trainResult.startLoss(), trainResult.epochLosses(), embeddings);
     }
 
@@ -95,14 +106,14 @@ public class GraphSage extends Algorithm<GraphSage, GraphSage.GraphSageResult> {
 
         Map<String, Double> epochLosses();
 
-        HugeObjectArray<double[]> embeddings();
+        HugeFloatMatrix embeddings();
 
         double startLoss();
 
         static GraphSageResult of(
             double startLoss,
             Map<String, Double> epochLosses,
-            HugeObjectArray<double[]> embeddings
+            HugeFloatMatrix embeddings
         ) {
             return ImmutableGraphSageResult.builder()
                 .startLoss(startLoss)
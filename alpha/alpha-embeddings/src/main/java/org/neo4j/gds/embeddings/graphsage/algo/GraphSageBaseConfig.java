@@ -32,6 +32,9 @@ import org.neo4j.graphalgo.config.ToleranceConfig;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public interface GraphSageBaseConfig extends AlgoBaseConfig, IterationsConfig, ToleranceConfig {
 
@@ -70,6 +73,12 @@ public interface GraphSageBaseConfig extends AlgoBaseConfig, IterationsConfig, T
         return 100;
     }
 
+    /**
+     * The number of nodes per batch when computing the embeddings. If absent, it is derived from the free heap,
+     * see {@link GraphSageModel#inferenceBatchSize(GraphSageBaseConfig, long, long)}.
+     */
+    Optional<Long> inferenceBatchSize();
+
     @Value.Default
     @Override
     default double tolerance() {
@@ -138,5 +147,14 @@ public interface GraphSageBaseConfig extends AlgoBaseConfig, IterationsConfig, T
                 "GraphSage requires at least one property. Either `nodePropertyNames` or `degreeAsProperty` must be set."
             );
         }
+        inferenceBatchSize().ifPresent(batchSize -> {
+            if (batchSize <= 0 || batchSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Value for `inferenceBatchSize` must be within [1, %d], but got %d.",
+                    Integer.MAX_VALUE,
+                    batchSize
+                ));
+            }
+        });
     }
 }
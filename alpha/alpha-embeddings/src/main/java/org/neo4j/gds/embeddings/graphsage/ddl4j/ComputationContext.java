@@ -19,41 +19,72 @@
  */
 package org.neo4j.gds.embeddings.graphsage.ddl4j;
 
+import com.carrotsearch.hppc.IntIntHashMap;
+import com.carrotsearch.hppc.IntObjectHashMap;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.DummyVariable;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Holds the forward values and gradients of one computation graph, keyed by {@link Variable#id()}.
+ * <p>
+ * A context is meant to be used by a single thread. Tensors created through {@link #allocate(int[])}
+ * are taken from a pool owned by the context: gradient buffers are reused by the next call to
+ * {@link #backward(Variable)}, all buffers are reused after {@link #reset()}.
+ */
 public class ComputationContext {
-    private final Map<Variable, Tensor> data;
-    private final Map<Variable, Tensor> gradients;
+    private final IntObjectHashMap<Tensor> data;
+    private final IntObjectHashMap<Tensor> gradients;
+    private final TensorPool pool;
+
+    private boolean inBackward;
 
     public ComputationContext() {
-        this.data = new ConcurrentHashMap<>();
-        this.gradients = new ConcurrentHashMap<>();
+        this.data = new IntObjectHashMap<>();
+        this.gradients = new IntObjectHashMap<>();
+        this.pool = new TensorPool();
     }
 
     public Tensor forward(Variable variable) {
         for (Variable parent : variable.parents) {
-            if (!data.containsKey(parent)) {
+            if (!data.containsKey(parent.id())) {
                 Tensor parentData = forward(parent);
-                data.put(parent, parentData);
+                data.put(parent.id(), parentData);
             }
         }
-        return data.computeIfAbsent(variable, ignore -> variable.apply(this));
+        Tensor result = data.get(variable.id());
+        if (result == null) {
+            result = variable.apply(this);
+            data.put(variable.id(), result);
+        }
+        return result;
     }
 
     public Tensor data(Variable variable) {
-        return data.get(variable);
+        return data.get(variable.id());
     }
 
     public Tensor gradient(Variable variable) {
-        return gradients.get(variable);
+        return gradients.get(variable.id());
+    }
+
+    /**
+     * @return a zeroed tensor that is owned by this context and must not be used after the next {@link #reset()}
+     */
+    public Tensor allocate(int[] dimensions) {
+        return new Tensor(pool.allocate(Tensor.totalSize(dimensions), inBackward), dimensions);
+    }
+
+    /**
+     * Forgets all forward values and gradients and makes their buffers available for the next pass.
+     * Tensors previously returned by this context must not be used afterwards.
+     */
+    public void reset() {
+        data.clear();
+        gradients.clear();
+        pool.releaseAll();
     }
 
     public void backward(Variable function) {
@@ -61,15 +92,21 @@ public class ComputationContext {
             throw new IllegalArgumentException("Backward requires a variable with rank 1 and single dimension of size 1.");
         }
         gradients.clear();
-        Queue<BackPropTask> executionQueue = new LinkedBlockingQueue<>();
-        DummyVariable dummy = new DummyVariable(function);
-        executionQueue.add(new BackPropTask(function, dummy));
-        Map<Variable, AtomicInteger> upstreamCounters = new HashMap<>();
-        initUpstream(dummy, upstreamCounters);
-        backward(executionQueue, upstreamCounters);
+        pool.releaseBackward();
+        inBackward = true;
+        try {
+            Queue<BackPropTask> executionQueue = new ArrayDeque<>();
+            DummyVariable dummy = new DummyVariable(function);
+            executionQueue.add(new BackPropTask(function, dummy));
+            IntIntHashMap upstreamCounters = new IntIntHashMap();
+            initUpstream(dummy, upstreamCounters);
+            backward(executionQueue, upstreamCounters);
+        } finally {
+            inBackward = false;
+        }
     }
 
-    private void backward(Queue<BackPropTask> executionQueue, Map<Variable, AtomicInteger> upstreamCounters) {
+    private void backward(Queue<BackPropTask> executionQueue, IntIntHashMap upstreamCounters) {
         while (!executionQueue.isEmpty()) {
             BackPropTask task = executionQueue.poll();
             var variable = task.variable;
@@ -77,8 +114,7 @@ public class ComputationContext {
             Tensor gradient = child.gradient(variable, this);
             updateGradient(variable, gradient);
 
-            upstreamCounters.get(variable).decrementAndGet();
-            if (upstreamCounters.get(variable).get() == 0) {
+            if (upstreamCounters.addTo(variable.id(), -1) == 0) {
                 for (Variable parent : variable.parents) {
                     if (parent.requireGradient) {
                         executionQueue.offer(new BackPropTask(parent, variable));
@@ -88,22 +124,26 @@ public class ComputationContext {
         }
     }
 
-    private void initUpstream(Variable function, Map<Variable, AtomicInteger> upstreamCounters) {
+    private void initUpstream(Variable function, IntIntHashMap upstreamCounters) {
         for (Variable parent : function.parents) {
             if (parent.requireGradient) {
-                boolean firstToSeeParent = !upstreamCounters.containsKey(parent);
+                boolean firstToSeeParent = !upstreamCounters.containsKey(parent.id());
                 if (firstToSeeParent) {
                     initUpstream(parent, upstreamCounters);
-                    upstreamCounters.put(parent, new AtomicInteger(0));
+                    upstreamCounters.put(parent.id(), 0);
                 }
-                upstreamCounters.get(parent).incrementAndGet();
+                upstreamCounters.addTo(parent.id(), 1);
             }
         }
     }
 
     private void updateGradient(Variable variable, Tensor gradient) {
-        gradients.putIfAbsent(variable, Tensor.constant(0D, variable.dimensions()));
-        gradients.get(variable).addInPlace(gradient);
+        Tensor accumulated = gradients.get(variable.id());
+        if (accumulated == null) {
+            accumulated = allocate(variable.dimensions());
+            gradients.put(variable.id(), accumulated);
+        }
+        accumulated.addInPlace(gradient);
     }
 
     private static double l2(Tensor tensor) {
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j;
+
+/**
+ * Dense, row-major matrix products used by the ddl4j functions.
+ * <p>
+ * The loops are tiled so that a block of the right operand stays in the cache while it is combined
+ * with the rows of the left operand, and the innermost loops run over contiguous memory.
+ * Every output element accumulates its products in ascending order of the shared dimension,
+ * so the results do not depend on the tile size.
+ * The kernels add to {@code result}, which is expected to be zeroed by the caller.
+ */
+public final class MatrixKernels {
+
+    static final int BLOCK_SIZE = 64;
+
+    private MatrixKernels() {}
+
+    /**
+     * result (m x n) += a (m x k) * b (k x n)
+     */
+    public static void multiply(double[] a, double[] b, double[] result, int m, int k, int n) {
+        for (int kBlock = 0; kBlock < k; kBlock += BLOCK_SIZE) {
+            int kEnd = Math.min(k, kBlock + BLOCK_SIZE);
+            for (int nBlock = 0; nBlock < n; nBlock += BLOCK_SIZE) {
+                int nEnd = Math.min(n, nBlock + BLOCK_SIZE);
+                for (int row = 0; row < m; row++) {
+                    int resultOffset = row * n;
+                    int aOffset = row * k;
+                    for (int shared = kBlock; shared < kEnd; shared++) {
+                        double aValue = a[aOffset + shared];
+                        int bOffset = shared * n;
+                        for (int col = nBlock; col < nEnd; col++) {
+                            result[resultOffset + col] += aValue * b[bOffset + col];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * result (m x n) += a (m x k) * transpose(b (n x k))
+     */
+    public static void multiplyTransB(double[] a, double[] b, double[] result, int m, int k, int n) {
+        for (int nBlock = 0; nBlock < n; nBlock += BLOCK_SIZE) {
+            int nEnd = Math.min(n, nBlock + BLOCK_SIZE);
+            for (int row = 0; row < m; row++) {
+                int aOffset = row * k;
+                int resultOffset = row * n;
+                for (int col = nBlock; col < nEnd; col++) {
+                    int bOffset = col * k;
+                    double sum = 0;
+                    for (int shared = 0; shared < k; shared++) {
+                        sum += a[aOffset + shared] * b[bOffset + shared];
+                    }
+                    result[resultOffset + col] += sum;
+                }
+            }
+        }
+    }
+
+    /**
+     * result (m x n) += transpose(a (k x m)) * b (k x n)
+     */
+    public static void multiplyTransA(double[] a, double[] b, double[] result, int m, int k, int n) {
+        for (int mBlock = 0; mBlock < m; mBlock += BLOCK_SIZE) {
+            int mEnd = Math.min(m, mBlock + BLOCK_SIZE);
+            for (int nBlock = 0; nBlock < n; nBlock += BLOCK_SIZE) {
+                int nEnd = Math.min(n, nBlock + BLOCK_SIZE);
+                for (int shared = 0; shared < k; shared++) {
+                    int aOffset = shared * m;
+                    int bOffset = shared * n;
+                    for (int row = mBlock; row < mEnd; row++) {
+                        double aValue = a[aOffset + row];
+                        int resultOffset = row * n;
+                        for (int col = nBlock; col < nEnd; col++) {
+                            result[resultOffset + col] += aValue * b[bOffset + col];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -74,6 +74,12 @@ public class Tensor {
         return result;
     }
 
+    public void mapInto(DoubleUnaryOperator f, Tensor target) {
+        for (int i = 0; i < data.length; i++) {
+            target.data[i] = f.applyAsDouble(data[i]);
+        }
+    }
+
     public void mapInPlace(DoubleUnaryOperator f) {
         for (int i = 0; i < data.length; i++) {
             data[i] = f.applyAsDouble(data[i]);
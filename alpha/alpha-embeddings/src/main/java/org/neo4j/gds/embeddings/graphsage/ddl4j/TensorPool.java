@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j;
+
+import com.carrotsearch.hppc.IntObjectHashMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hands out zeroed buffers for the tensors of a {@link ComputationContext} and takes them back
+ * once the context no longer needs them, so that repeated passes over the same computation graph
+ * reuse their activation and gradient buffers instead of allocating new ones.
+ * Not thread-safe, every context owns its own pool.
+ */
+final class TensorPool {
+
+    private final IntObjectHashMap<ArrayDeque<double[]>> freeBuffers;
+    private final List<double[]> forwardBuffers;
+    private final List<double[]> backwardBuffers;
+
+    TensorPool() {
+        this.freeBuffers = new IntObjectHashMap<>();
+        this.forwardBuffers = new ArrayList<>();
+        this.backwardBuffers = new ArrayList<>();
+    }
+
+    double[] allocate(int size, boolean backward) {
+        var free = freeBuffers.get(size);
+        double[] buffer;
+        if (free == null || free.isEmpty()) {
+            buffer = new double[size];
+        } else {
+            buffer = free.poll();
+            Arrays.fill(buffer, 0D);
+        }
+        (backward ? backwardBuffers : forwardBuffers).add(buffer);
+        return buffer;
+    }
+
+    void releaseBackward() {
+        release(backwardBuffers);
+    }
+
+    void releaseAll() {
+        release(forwardBuffers);
+        release(backwardBuffers);
+    }
+
+    private void release(List<double[]> buffers) {
+        for (double[] buffer : buffers) {
+            var free = freeBuffers.get(buffer.length);
+            if (free == null) {
+                free = new ArrayDeque<>();
+                freeBuffers.put(buffer.length, free);
+            }
+            free.add(buffer);
+        }
+        buffers.clear();
+    }
+}
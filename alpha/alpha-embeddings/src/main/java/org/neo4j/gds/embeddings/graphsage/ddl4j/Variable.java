@@ -20,14 +20,19 @@
 package org.neo4j.gds.embeddings.graphsage.ddl4j;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Variable {
+    private static final AtomicInteger ID_GENERATOR = new AtomicInteger();
+
+    private final int id;
     private final int[] dimensions;
     protected boolean requireGradient;
 
     protected List<Variable> parents;
 
     protected Variable(List<Variable> parents, int[] dimensions) {
+        this.id = ID_GENERATOR.getAndIncrement();
         this.dimensions = dimensions;
         this.parents = parents;
 
@@ -39,6 +44,13 @@ public abstract class Variable {
         }
     }
 
+    /**
+     * @return an identifier that is unique among all live variables, used to index the values of a {@link ComputationContext}
+     */
+    public int id() {
+        return id;
+    }
+
     public int[] dimensions() {
         return dimensions;
     }
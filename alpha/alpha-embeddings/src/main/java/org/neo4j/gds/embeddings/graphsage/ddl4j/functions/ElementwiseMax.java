@@ -24,6 +24,8 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Tensor;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 
+import java.util.Arrays;
+
 public class ElementwiseMax extends SingleParentVariable {
     private final int[][] adjacencyMatrix;
 
@@ -34,7 +36,8 @@ public class ElementwiseMax extends SingleParentVariable {
 
     @Override
     protected Tensor apply(ComputationContext ctx) {
-        Tensor max = Tensor.constant(Double.NEGATIVE_INFINITY, dimensions());
+        Tensor max = ctx.allocate(dimensions());
+        Arrays.fill(max.data, Double.NEGATIVE_INFINITY);
 
         int rows = dimension(0);
         int cols = dimension(1);
@@ -59,7 +62,7 @@ public class ElementwiseMax extends SingleParentVariable {
 
     @Override
     protected Tensor gradient(ComputationContext ctx) {
-        Tensor result = ctx.data(parent).zeros();
+        Tensor result = ctx.allocate(parent.dimensions());
 
         int cols = parent.dimension(1);
 
@@ -19,10 +19,9 @@
  */
 package org.neo4j.gds.embeddings.graphsage.ddl4j.functions;
 
-import org.ejml.data.DMatrixRMaj;
-import org.ejml.dense.row.mult.MatrixMatrixMult_DDRM;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.MatrixKernels;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Tensor;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 
@@ -45,43 +44,29 @@ public class MatrixMultiplyWithTransposedSecondOperand extends Variable {
     protected Tensor apply(ComputationContext ctx) {
         Tensor t1 = ctx.data(A);
         Tensor t2 = ctx.data(B);
-        return multiplyTransB(t1, t2);
+        Tensor result = ctx.allocate(dimensions());
+        MatrixKernels.multiplyTransB(t1.data, t2.data, result.data, t1.dimensions[0], t1.dimensions[1], t2.dimensions[0]);
+        return result;
     }
 
     @Override
     protected Tensor gradient(Variable parent, ComputationContext ctx) {
         Tensor gradient = ctx.gradient(this);
         if (parent == A) {
-            return multiply(gradient, ctx.data(B));
+            // dA = G * B
+            Tensor b = ctx.data(B);
+            Tensor result = ctx.allocate(A.dimensions());
+            MatrixKernels.multiply(gradient.data, b.data, result.data, gradient.dimensions[0], gradient.dimensions[1], b.dimensions[1]);
+            return result;
         } else {
-            return multiplyTransA(gradient, ctx.data(A));
+            // dB = transpose(G) * A
+            Tensor a = ctx.data(A);
+            Tensor result = ctx.allocate(B.dimensions());
+            MatrixKernels.multiplyTransA(gradient.data, a.data, result.data, gradient.dimensions[1], gradient.dimensions[0], a.dimensions[1]);
+            return result;
         }
     }
 
-    private Tensor multiply(Tensor t1, Tensor t2) {
-        DMatrixRMaj m1 = DMatrixRMaj.wrap(t1.dimensions[0], t1.dimensions[1], t1.data);
-        DMatrixRMaj m2 = DMatrixRMaj.wrap(t2.dimensions[0], t2.dimensions[1], t2.data);
-        DMatrixRMaj prod = new DMatrixRMaj(m1.numRows, m2.numCols);
-        MatrixMatrixMult_DDRM.mult_reorder(m1, m2, prod);
-        return Tensor.matrix(prod.getData(), prod.numRows, prod.numCols);
-    }
-
-    private Tensor multiplyTransB(Tensor t1, Tensor t2) {
-        DMatrixRMaj m1 = DMatrixRMaj.wrap(t1.dimensions[0], t1.dimensions[1], t1.data);
-        DMatrixRMaj m2 = DMatrixRMaj.wrap(t2.dimensions[0], t2.dimensions[1], t2.data);
-        DMatrixRMaj prod = new DMatrixRMaj(m1.numRows, m2.numRows);
-        MatrixMatrixMult_DDRM.multTransB(m1, m2, prod);
-        return Tensor.matrix(prod.getData(), prod.numRows, prod.numCols);
-    }
-
-    private Tensor multiplyTransA(Tensor t1, Tensor t2) {
-        DMatrixRMaj m1 = DMatrixRMaj.wrap(t1.dimensions[0], t1.dimensions[1], t1.data);
-        DMatrixRMaj m2 = DMatrixRMaj.wrap(t2.dimensions[0], t2.dimensions[1], t2.data);
-        DMatrixRMaj prod = new DMatrixRMaj(m1.numCols, m2.numCols);
-        MatrixMatrixMult_DDRM.multTransA_reorder(m1, m2, prod);
-        return Tensor.matrix(prod.getData(), prod.numRows, prod.numCols);
-    }
-
     public static MatrixMultiplyWithTransposedSecondOperand of(Variable A, Variable B) {
         return new MatrixMultiplyWithTransposedSecondOperand(A, B);
     }
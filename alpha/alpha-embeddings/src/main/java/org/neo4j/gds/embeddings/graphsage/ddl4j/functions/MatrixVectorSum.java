@@ -43,7 +43,8 @@ public class MatrixVectorSum extends Variable {
         double[] matrixData = ctx.data(matrix).data;
         double[] vectorData = ctx.data(vector).data;
 
-        double[] result = new double[matrixData.length];
+        Tensor resultTensor = ctx.allocate(dimensions());
+        double[] result = resultTensor.data;
 
         int rows = dimension(0);
         int cols = dimension(1);
@@ -55,7 +56,7 @@ public class MatrixVectorSum extends Variable {
             }
         }
 
-        return Tensor.matrix(result, rows, cols);
+        return resultTensor;
     }
 
     @Override
@@ -66,7 +67,8 @@ public class MatrixVectorSum extends Variable {
             Tensor gradient = ctx.gradient(this);
             int rows = dimension(0);
             int cols = vector.dimension(0);
-            double[] result = new double[cols];
+            Tensor resultTensor = ctx.allocate(vector.dimensions());
+            double[] result = resultTensor.data;
             for (int row = 0; row < rows; row++) {
                 for (int col = 0; col < cols; col++) {
                     int matrixIndex = row * cols + col;
@@ -74,7 +76,7 @@ public class MatrixVectorSum extends Variable {
                 }
             }
 
-            return Tensor.vector(result);
+            return resultTensor;
         }
     }
 }
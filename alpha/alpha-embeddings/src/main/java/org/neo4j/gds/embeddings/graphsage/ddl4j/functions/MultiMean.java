@@ -44,7 +44,7 @@ public class MultiMean extends SingleParentVariable {
         int rows = dimension(0);
         int cols = dimension(1);
 
-        Tensor result = ctx.data(parent).zeros();
+        Tensor result = ctx.allocate(parent.dimensions());
 
         for (int col = 0; col < cols; col++) {
             for (int row = 0; row < rows; row++) {
@@ -66,7 +66,8 @@ public class MultiMean extends SingleParentVariable {
         Tensor parentTensor = ctx.data(parent);
         double[] parentData = parentTensor.data;
         int cols = parent.dimension(1);
-        double[] means = new double[adjacency.length * cols];
+        Tensor result = ctx.allocate(dimensions());
+        double[] means = result.data;
         for (int source = 0; source < adjacency.length; source++) {
             int selfAdjacencyOfSourceOffset = selfAdjacency[source] * cols;
             int sourceOffset = source * cols;
@@ -83,6 +84,6 @@ public class MultiMean extends SingleParentVariable {
             }
         }
 
-        return new Tensor(means, dimensions());
+        return result;
     }
 }
@@ -33,7 +33,8 @@ public class NormalizeRows extends SingleParentVariable {
         int rows = dimension(0);
         int cols = dimension(1);
         double[] parentData = ctx.data(parent).data;
-        double[] result = new double[rows * cols];
+        Tensor resultTensor = ctx.allocate(dimensions());
+        double[] result = resultTensor.data;
         for (int row = 0; row < rows; row++) {
             double sum = 0;
             for (int col = 0; col < cols; col++) {
@@ -46,7 +47,7 @@ public class NormalizeRows extends SingleParentVariable {
                 result[elementIndex] = parentData[elementIndex] / l2;
             }
         }
-        return Tensor.matrix(result, rows, cols);
+        return resultTensor;
     }
 
     @Override
@@ -55,7 +56,8 @@ public class NormalizeRows extends SingleParentVariable {
         int cols = dimension(1);
         double[] parentData = ctx.data(parent).data;
         double[] gradientData = ctx.gradient(this).data;
-        double[] result = new double[parentData.length];
+        Tensor resultTensor = ctx.allocate(parent.dimensions());
+        double[] result = resultTensor.data;
         for (int row = 0; row < rows; row++) {
             double l2Squared = 0;
             for (int col = 0; col < cols; col++) {
@@ -75,6 +77,6 @@ public class NormalizeRows extends SingleParentVariable {
                 }
             }
         }
-        return Tensor.matrix(result, rows, cols);
+        return resultTensor;
     }
 }
@@ -33,11 +33,15 @@ public class Relu extends SingleParentVariable {
 
     @Override
     protected Tensor apply(ComputationContext ctx) {
-        return ctx.data(parent).map(value -> value > 0 ? value : ALPHA * value);
+        Tensor result = ctx.allocate(dimensions());
+        ctx.data(parent).mapInto(value -> value > 0 ? value : ALPHA * value, result);
+        return result;
     }
 
     @Override
     protected Tensor gradient(ComputationContext ctx) {
-        return ctx.data(parent).map(value -> value > 0 ? 1 : ALPHA);
+        Tensor result = ctx.allocate(parent.dimensions());
+        ctx.data(parent).mapInto(value -> value > 0 ? 1 : ALPHA, result);
+        return result;
     }
 }
@@ -31,12 +31,20 @@ public class Sigmoid extends SingleParentVariable {
 
     @Override
     protected Tensor apply(ComputationContext ctx) {
-        return ctx.data(parent).map(Sigmoid::sigmoid);
+        Tensor result = ctx.allocate(dimensions());
+        ctx.data(parent).mapInto(Sigmoid::sigmoid, result);
+        return result;
     }
 
     @Override
     protected Tensor gradient(ComputationContext ctx) {
-        return ctx.gradient(this).elementwiseProduct(ctx.data(this).map(value -> value * (1 - value)));
+        double[] gradient = ctx.gradient(this).data;
+        double[] data = ctx.data(this).data;
+        Tensor result = ctx.allocate(parent.dimensions());
+        for (int i = 0; i < data.length; i++) {
+            result.data[i] = gradient[i] * (data[i] * (1 - data[i]));
+        }
+        return result;
     }
 
     public static double sigmoid(double x) {
@@ -39,18 +39,19 @@ public class Slice extends SingleParentVariable {
         double[] parentData = ctx.data(parent).data;
         int rows = dimension(0);
         int cols = parent.dimension(1);
-        double[] result = new double[rows * cols];
+        Tensor resultTensor = ctx.allocate(dimensions());
+        double[] result = resultTensor.data;
 
         for (int row = 0; row < rows; row++) {
             System.arraycopy(parentData, selfAdjacency[row] * cols, result, row * cols, cols);
         }
 
-        return Tensor.matrix(result, rows, cols);
+        return resultTensor;
     }
 
     @Override
     protected Tensor gradient(ComputationContext ctx) {
-        Tensor result = ctx.data(parent).zeros();
+        Tensor result = ctx.allocate(parent.dimensions());
 
         int rows = dimension(0);
         int cols = parent.dimension(1);
@@ -32,7 +32,7 @@ public class TensorAdd extends Variable {
 
     @Override
     protected Tensor apply(ComputationContext ctx) {
-        Tensor sum = Tensor.constant(0D, dimensions());
+        Tensor sum = ctx.allocate(dimensions());
         for (Variable parent : parents) {
             sum.addInPlace(ctx.data(parent));
         }
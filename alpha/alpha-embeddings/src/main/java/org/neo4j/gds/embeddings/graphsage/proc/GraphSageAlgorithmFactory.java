@@ -19,13 +19,22 @@
  */
 package org.neo4j.gds.embeddings.graphsage.proc;
 
+import org.neo4j.gds.embeddings.graphsage.GraphSageModel;
+import org.neo4j.gds.embeddings.graphsage.algo.GraphSage;
+import org.neo4j.gds.embeddings.graphsage.algo.GraphSageBaseConfig;
 import org.neo4j.graphalgo.AlphaAlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.gds.embeddings.graphsage.algo.GraphSage;
-import org.neo4j.gds.embeddings.graphsage.algo.GraphSageBaseConfig;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.logging.Log;
 
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
 class GraphSageAlgorithmFactory<T extends GraphSageBaseConfig> extends AlphaAlgorithmFactory<GraphSage, T> {
     @Override
     public GraphSage buildAlphaAlgo(
@@ -34,6 +43,52 @@ class GraphSageAlgorithmFactory<T extends GraphSageBaseConfig> extends AlphaAlgo
         AllocationTracker tracker,
         Log log
     ) {
-        return new GraphSage(graph, configuration, log);
+        return new GraphSage(graph, configuration, tracker, log);
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(T configuration) {
+        int featuresSize = configuration.featuresSize();
+
+        return MemoryEstimations.builder(GraphSage.class)
+            .perNode(
+                "features",
+                nodeCount -> sizeOfObjectArray(nodeCount) + nodeCount * sizeOfDoubleArray(featuresSize)
+            )
+            .perNode(
+                "embeddings",
+                nodeCount -> HugeFloatMatrix.memoryEstimation(nodeCount, configuration.embeddingSize())
+            )
+            .perGraphDimension("sampled neighborhoods", (dimensions, concurrency) -> {
+                long nodeCount = dimensions.nodeCount();
+                long memory = 0L;
+                for (long sampleSize : configuration.sampleSizes()) {
+                    memory += HugeLongArray.memoryEstimation(nodeCount + 1);
+                    memory += HugeLongArray.memoryEstimation(Math.min(
+                        sampleSize * nodeCount,
+                        dimensions.maxRelCount()
+                    ));
+                }
+                return MemoryRange.of(memory);
+            })
+            .perGraphDimension("training batches", (dimensions, concurrency) -> MemoryRange.of(
+                // a training batch also holds a positive and a negative sample per node, and all gradients
+                2 * concurrency * GraphSageModel.inferenceBatchMemory(
+                    configuration,
+                    dimensions.nodeCount(),
+                    3 * configuration.batchSize()
+                )
+            ))
+            .perGraphDimension("inference batches", (dimensions, concurrency) -> {
+                // the batch size is picked from the free memory at runtime, which ranges from nothing to everything
+                long nodeCount = dimensions.nodeCount();
+                int smallestBatchSize = GraphSageModel.inferenceBatchSize(configuration, nodeCount, 0L);
+                int largestBatchSize = GraphSageModel.inferenceBatchSize(configuration, nodeCount, Long.MAX_VALUE);
+                return MemoryRange.of(
+                    concurrency * GraphSageModel.inferenceBatchMemory(configuration, nodeCount, smallestBatchSize),
+                    concurrency * GraphSageModel.inferenceBatchMemory(configuration, nodeCount, largestBatchSize)
+                );
+            })
+            .build();
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.proc;
+
+import org.neo4j.gds.embeddings.graphsage.algo.GraphSage;
+import org.neo4j.gds.embeddings.graphsage.algo.GraphSageMutateConfig;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.MutateProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.TypedNodeProperties;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Mode;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+import org.neo4j.values.storable.NumberType;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.gds.embeddings.graphsage.proc.GraphSageStreamProc.GRAPHSAGE_DESCRIPTION;
+
+public class GraphSageMutateProc extends MutateProc<GraphSage, GraphSage.GraphSageResult, GraphSageMutateProc.GraphSageMutateResult, GraphSageMutateConfig> {
+
+    @Procedure(name = "gds.alpha.graphSage.mutate", mode = Mode.READ)
+    @Description(GRAPHSAGE_DESCRIPTION)
+    public Stream<GraphSageMutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return mutate(compute(graphNameOrConfig, configuration));
+    }
+
+    @Override
+    protected GraphSageMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return GraphSageMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<GraphSage, GraphSageMutateConfig> algorithmFactory(GraphSageMutateConfig config) {
+        return new GraphSageAlgorithmFactory<>();
+    }
+
+    @Override
+    protected PropertyTranslator<GraphSage.GraphSageResult> nodePropertyTranslator(ComputationResult<GraphSage, GraphSage.GraphSageResult, GraphSageMutateConfig> computationResult) {
+        return (PropertyTranslator.OfFloatArray<GraphSage.GraphSageResult>) (data, nodeId) -> data.embeddings().row(nodeId);
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<GraphSage, GraphSage.GraphSageResult, GraphSageMutateConfig> computationResult) {
+        return TypedNodeProperties.ofFloatArrays(computationResult.result().embeddings());
+    }
+
+    @Override
+    protected NumberType nodePropertyType(ComputationResult<GraphSage, GraphSage.GraphSageResult, GraphSageMutateConfig> computationResult) {
+        return NumberType.NO_NUMBER;
+    }
+
+    @Override
+    protected AbstractResultBuilder<GraphSageMutateResult> resultBuilder(ComputationResult<GraphSage, GraphSage.GraphSageResult, GraphSageMutateConfig> computeResult) {
+        return new GraphSageMutateResult.Builder()
+            .withStartLoss(computeResult.result().startLoss())
+            .withEpochLosses(computeResult.result().epochLosses());
+    }
+
+    public static final class GraphSageMutateResult {
+
+        public final double startLoss;
+        public final Map<String, Double> epochLosses;
+
+        public final long nodeCount;
+        public final long nodePropertiesWritten;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final Map<String, Object> configuration;
+
+        GraphSageMutateResult(
+            double startLoss,
+            Map<String, Double> epochLosses,
+            long nodeCount,
+            long nodePropertiesWritten,
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            Map<String, Object> configuration
+        ) {
+            this.startLoss = startLoss;
+            this.epochLosses = epochLosses;
+            this.nodeCount = nodeCount;
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.configuration = configuration;
+        }
+
+        static class Builder extends AbstractResultBuilder<GraphSageMutateResult> {
+            private double startLoss;
+            private Map<String, Double> epochLosses;
+
+            public Builder withStartLoss(double startLoss) {
+                this.startLoss = startLoss;
+                return this;
+            }
+
+            public Builder withEpochLosses(Map<String, Double> epochLosses) {
+                this.epochLosses = epochLosses;
+                return this;
+            }
+
+            @Override
+            public GraphSageMutateResult build() {
+                return new GraphSageMutateResult(
+                    startLoss,
+                    epochLosses,
+                    nodeCount,
+                    nodePropertiesWritten,
+                    createMillis,
+                    computeMillis,
+                    mutateMillis,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
@@ -25,17 +25,16 @@ import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.StreamProc;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
@@ -58,15 +57,17 @@ public class GraphSageStreamProc extends StreamProc<GraphSage, GraphSage.GraphSa
         var result = computationResult.result();
 
         if (result == null) {
+            computationResult.close();
             return Stream.empty();
         }
 
-        HugeObjectArray<double[]> embeddings = result.embeddings();
+        HugeFloatMatrix embeddings = result.embeddings();
         return LongStream.range(0, graph.nodeCount())
             .mapToObj(i -> new GraphSageStreamResult(
                 graph.toOriginalNodeId(i),
-                embeddings.get(i)
-            ));
+                embeddings.row(i)
+            ))
+            .onClose(computationResult::close);
     }
 
 
@@ -99,9 +100,12 @@ public class GraphSageStreamProc extends StreamProc<GraphSage, GraphSage.GraphSa
         public long nodeId;
         public List<Double> embeddings;
 
-        GraphSageStreamResult(long nodeId, double[] embeddings) {
+        GraphSageStreamResult(long nodeId, float[] embeddings) {
             this.nodeId = nodeId;
-            this.embeddings = Arrays.stream(embeddings).boxed().collect(Collectors.toList());
+            this.embeddings = new ArrayList<>(embeddings.length);
+            for (float embedding : embeddings) {
+                this.embeddings.add((double) embedding);
+            }
         }
     }
 }
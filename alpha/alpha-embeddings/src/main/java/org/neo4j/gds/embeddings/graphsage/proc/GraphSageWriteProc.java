@@ -66,7 +66,7 @@ public class GraphSageWriteProc extends WriteProc<GraphSage, GraphSage.GraphSage
 
     @Override
     protected PropertyTranslator<GraphSage.GraphSageResult> nodePropertyTranslator(ComputationResult<GraphSage, GraphSage.GraphSageResult, GraphSageWriteConfig> computationResult) {
-        return (PropertyTranslator.OfDoubleArray<GraphSage.GraphSageResult>) (data, nodeId) -> data.embeddings().get(nodeId);
+        return (PropertyTranslator.OfFloatArray<GraphSage.GraphSageResult>) (data, nodeId) -> data.embeddings().row(nodeId);
     }
 
     @Override
@@ -32,12 +32,14 @@ public class LocalIdMap {
     }
 
     public int toMapped(long originalId) {
-        if (toInternalId.containsKey(originalId)) {
-            return toInternalId.get(originalId);
+        int index = toInternalId.indexOf(originalId);
+        if (toInternalId.indexExists(index)) {
+            return toInternalId.indexGet(index);
         }
-        toInternalId.put(originalId, toInternalId.size());
+        int internalId = originalIds.size();
+        toInternalId.indexInsert(index, originalId, internalId);
         originalIds.add(originalId);
-        return toInternalId.get(originalId);
+        return internalId;
     }
 
     public long toOriginal(int internalId) {
@@ -23,10 +23,7 @@ import org.neo4j.gds.embeddings.graphsage.NeighborhoodFunction;
 import org.neo4j.graphalgo.api.Graph;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class SubGraph {
     public final int[][] adjacency;
@@ -63,17 +60,16 @@ public class SubGraph {
             idmap.toMapped(nodeId);
         }
 
-        AtomicInteger nodeOffset = new AtomicInteger(0);
-        Arrays.stream(nodeIds).forEach(nodeId -> {
-            int internalId = nodeOffset.getAndIncrement();
+        for (int internalId = 0; internalId < nodeIds.length; internalId++) {
+            long nodeId = nodeIds[internalId];
             selfAdjacency[internalId] = idmap.toMapped(nodeId);
-            List<Long> nodeNeighbors = neighborhoodFunction.apply(graph, nodeId);
-            int[] neighborInternalIds = nodeNeighbors
-                .stream()
-                .mapToInt(idmap::toMapped)
-                .toArray();
+            long[] nodeNeighbors = neighborhoodFunction.apply(graph, nodeId);
+            int[] neighborInternalIds = new int[nodeNeighbors.length];
+            for (int i = 0; i < nodeNeighbors.length; i++) {
+                neighborInternalIds[i] = idmap.toMapped(nodeNeighbors[i]);
+            }
             adjacency[internalId] = neighborInternalIds;
-        });
+        }
         return new SubGraph(adjacency, selfAdjacency, idmap.originalIds());
     }
 
@@ -23,15 +23,49 @@ import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.impl.walking.Node2VecSampler;
 
-public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
+import java.nio.file.Path;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+public class Node2Vec extends Algorithm<Node2Vec, HugeFloatMatrix> {
 
     private final Graph graph;
     private final Node2VecBaseConfig config;
     private final AllocationTracker tracker;
 
+    public static MemoryEstimation memoryEstimation(Node2VecBaseConfig config) {
+        var builder = MemoryEstimations.builder(Node2Vec.class)
+            .add("sampler", Node2VecSampler.memoryEstimation())
+            .perNode("node frequencies", HugeAtomicLongArray::memoryEstimation)
+            .perNode("center probabilities", HugeDoubleArray::memoryEstimation)
+            .perNode("context distribution", HugeLongArray::memoryEstimation)
+            .perNode("embeddings", nodeCount -> 2 * HugeFloatMatrix.memoryEstimation(nodeCount, config.embeddingSize()));
+
+        if (!config.streamWalks()) {
+            long walkSize = sizeOfLongArray(config.walkLength() + 1);
+            builder.perNode(
+                "walks",
+                nodeCount -> {
+                    long walkCount = nodeCount * config.walksPerNode();
+                    return sizeOfObjectArray(walkCount) + walkCount * walkSize;
+                }
+            );
+        }
+
+        return builder.build();
+    }
+
     public Node2Vec(Graph graph, Node2VecBaseConfig config, ProgressLogger progressLogger, AllocationTracker tracker) {
         this.graph = graph;
         this.config = config;
@@ -40,28 +74,38 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
     }
 
     @Override
-    public HugeObjectArray<Vector> compute() {
-        RandomWalk randomWalk = new RandomWalk(
+    public HugeFloatMatrix compute() {
+        var nextNodeStrategy = new RandomWalk.NextNodeStrategy(
             graph,
-            config.walkLength(),
-            new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
+            config.returnFactor(),
+            config.inOutFactor(),
             config.concurrency(),
-            config.walksPerNode(),
-            config.walkBufferSize()
+            tracker
         );
 
+        if (!config.streamWalks()) {
+            return computeMaterialized(nextNodeStrategy);
+        }
+        if (config.walkSpillDirectory().isPresent()) {
+            return computeSpilled(nextNodeStrategy, Path.of(config.walkSpillDirectory().get()));
+        }
+        return computeStreaming(nextNodeStrategy);
+    }
+
+    private HugeFloatMatrix computeMaterialized(RandomWalk.NextNodeStrategy nextNodeStrategy) {
         HugeObjectArray<long[]> walks = HugeObjectArray.newArray(
             long[].class,
             graph.nodeCount() * config.walksPerNode(),
             tracker
         );
         MutableLong counter = new MutableLong(0);
-        randomWalk
+        randomWalk(nextNodeStrategy)
             .compute()
             .forEach(walk -> {
                 walks.set(counter.longValue(), walk);
                 counter.increment();
             });
+        nextNodeStrategy.release();
 
         var probabilityComputer = new ProbabilityComputer(
             walks,
@@ -72,12 +116,82 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
             tracker
         );
 
+        return train(WalkCorpus.of(walks), probabilityComputer);
+    }
+
+    /**
+     * Generates the walks anew for every iteration, so that at most a few batches of walks are on the heap.
+     * As the walks are not known upfront, the node frequencies are estimated from the degrees.
+     */
+    private HugeFloatMatrix computeStreaming(RandomWalk.NextNodeStrategy nextNodeStrategy) {
+        var probabilityComputer = ProbabilityComputer.fromDegrees(
+            graph,
+            config.walksPerNode(),
+            config.walkLength(),
+            config.centerSamplingFactor(),
+            config.contextSamplingExponent(),
+            config.concurrency(),
+            tracker
+        );
+        var walkCorpus = WalkCorpus.streaming(
+            () -> randomWalk(nextNodeStrategy).compute(),
+            graph.nodeCount() * config.walksPerNode()
+        );
+
+        var embeddings = train(walkCorpus, probabilityComputer);
+        nextNodeStrategy.release();
+        return embeddings;
+    }
+
+    /**
+     * Generates the walks once, counting the node frequencies while spilling them to disk,
+     * and replays them from the spill for every iteration.
+     */
+    private HugeFloatMatrix computeSpilled(RandomWalk.NextNodeStrategy nextNodeStrategy, Path spillDirectory) {
+        try (var spill = WalkSpill.create(spillDirectory)) {
+            var nodeFrequencies = HugeAtomicLongArray.newArray(graph.nodeCount(), tracker);
+            randomWalk(nextNodeStrategy)
+                .compute()
+                .forEach(walk -> {
+                    spill.append(walk);
+                    for (long node : walk) {
+                        nodeFrequencies.update(node, frequency -> frequency + 1);
+                    }
+                });
+            nextNodeStrategy.release();
+
+            var probabilityComputer = new ProbabilityComputer(
+                nodeFrequencies,
+                graph.nodeCount(),
+                config.centerSamplingFactor(),
+                config.contextSamplingExponent(),
+                config.concurrency(),
+                tracker
+            );
+
+            return train(WalkCorpus.spilled(spill), probabilityComputer);
+        }
+    }
+
+    private RandomWalk randomWalk(RandomWalk.NextNodeStrategy nextNodeStrategy) {
+        return new RandomWalk(
+            graph,
+            config.walkLength(),
+            nextNodeStrategy,
+            config.concurrency(),
+            config.walksPerNode(),
+            config.walkBufferSize()
+        );
+    }
+
+    private HugeFloatMatrix train(WalkCorpus walkCorpus, ProbabilityComputer probabilityComputer) {
         var node2VecModel = new Node2VecModel(
             graph.nodeCount(),
             config,
-            walks,
+            walkCorpus,
             probabilityComputer,
-            progressLogger
+            progressLogger,
+            tracker
         );
 
         node2VecModel.train();
@@ -23,6 +23,8 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 
+import java.util.Optional;
+
 public interface Node2VecBaseConfig extends AlgoBaseConfig {
 
     @Value.Default
@@ -102,4 +104,19 @@ public interface Node2VecBaseConfig extends AlgoBaseConfig {
         return 1;
     }
 
+    Optional<Long> randomSeed();
+
+    /**
+     * Generate the walks while training instead of materializing them upfront.
+     */
+    @Value.Default
+    default boolean streamWalks() {
+        return false;
+    }
+
+    /**
+     * When streaming walks, spill them to this directory once and replay them for every iteration.
+     */
+    Optional<String> walkSpillDirectory();
+
 }
@@ -21,23 +21,31 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public class Node2VecModel {
 
+    private static final long INITIALIZATION_BATCH_SIZE = 10_000;
+
     private final NegativeSampleProducer negativeSamples;
 
-    private final HugeObjectArray<Vector> centerEmbeddings;
-    private final HugeObjectArray<Vector> contextEmbeddings;
+    private final HugeFloatMatrix centerEmbeddings;
+    private final HugeFloatMatrix contextEmbeddings;
     private final Node2VecBaseConfig config;
-    private final HugeObjectArray<long[]> walks;
+    private final WalkCorpus walks;
     private final ProbabilityComputer probabilityComputer;
     private final ProgressLogger progressLogger;
     private final long batchSize;
@@ -48,6 +56,28 @@ public class Node2VecModel {
         HugeObjectArray<long[]> walks,
         ProbabilityComputer probabilityComputer,
         ProgressLogger progressLogger
+    ) {
+        this(nodeCount, config, walks, probabilityComputer, progressLogger, AllocationTracker.EMPTY);
+    }
+
+    Node2VecModel(
+        long nodeCount,
+        Node2VecBaseConfig config,
+        HugeObjectArray<long[]> walks,
+        ProbabilityComputer probabilityComputer,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this(nodeCount, config, WalkCorpus.of(walks), probabilityComputer, progressLogger, tracker);
+    }
+
+    Node2VecModel(
+        long nodeCount,
+        Node2VecBaseConfig config,
+        WalkCorpus walks,
+        ProbabilityComputer probabilityComputer,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
     ) {
         this.config = config;
         this.walks = walks;
@@ -55,15 +85,15 @@ public class Node2VecModel {
         this.progressLogger = progressLogger;
         this.negativeSamples = new NegativeSampleProducer(probabilityComputer.getContextNodeDistribution());
 
+        var random = config.randomSeed().map(SplittableRandom::new).orElseGet(SplittableRandom::new);
         // TODO research how the weights are initialized
-        centerEmbeddings = initializeEmbeddings(nodeCount, config.embeddingSize());
-        contextEmbeddings = initializeEmbeddings(nodeCount, config.embeddingSize());
-
-        this.batchSize = ParallelUtil.adjustedBatchSize(
-            walks.size(),
-            config.concurrency(),
-            1000
-        );
+        centerEmbeddings = initializeEmbeddings(nodeCount, config.embeddingSize(), random.split(), tracker);
+        contextEmbeddings = initializeEmbeddings(nodeCount, config.embeddingSize(), random.split(), tracker);
+
+        // streamed walks are buffered per task, so we keep the batches small to bound the memory
+        this.batchSize = walks.indexedWalks().isPresent()
+            ? ParallelUtil.adjustedBatchSize(walks.size(), config.concurrency(), 1000)
+            : config.walkBufferSize();
     }
 
     void train() {
@@ -71,42 +101,169 @@ public class Node2VecModel {
         for (int iteration = 0; iteration < config.iterations(); iteration++) {
             progressLogger.reset(walks.size());
             progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Start", iteration + 1));
-            var tasks = new ArrayList<TrainingTask>();
-            for (long sampleIndex = 0; sampleIndex < walks.size(); sampleIndex += batchSize) {
-                tasks.add(new TrainingTask(sampleIndex, Math.min(walks.size(), sampleIndex + batchSize) - 1));
+            var indexedWalks = walks.indexedWalks();
+            if (indexedWalks.isPresent()) {
+                ParallelUtil.runWithConcurrency(config.concurrency(), materializedTasks(indexedWalks.get()), Pools.DEFAULT);
+            } else {
+                // the walk stream is drained on this thread while the training tasks run on the pool
+                try (var walkStream = walks.walks(iteration)) {
+                    ParallelUtil.runWithConcurrency(
+                        config.concurrency(),
+                        new StreamingTasks(walkStream.iterator()),
+                        Pools.DEFAULT
+                    );
+                }
             }
-            ParallelUtil.runWithConcurrency(config.concurrency(), tasks, Pools.DEFAULT);
             progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Finished", iteration + 1));
         }
         progressLogger.logMessage(":: Training :: Finished");
     }
 
-    public HugeObjectArray<Vector> getEmbeddings() {
+    private ArrayList<TrainingTask> materializedTasks(LongFunction<long[]> indexedWalks) {
+        var tasks = new ArrayList<TrainingTask>();
+        float initialLearningRate = (float) config.initialLearningRate();
+        float minLearningRate = (float) config.minLearningRate();
+        for (long sampleIndex = 0; sampleIndex < walks.size(); sampleIndex += batchSize) {
+            tasks.add(new TrainingTask(
+                indexedWalks,
+                sampleIndex,
+                Math.min(walks.size(), sampleIndex + batchSize) - 1,
+                initialLearningRate,
+                minLearningRate
+            ));
+        }
+        return tasks;
+    }
+
+    public HugeFloatMatrix getEmbeddings() {
         return centerEmbeddings;
     }
 
-    private HugeObjectArray<Vector> initializeEmbeddings(long nodeCount, int embeddingDimensions) {
-        HugeObjectArray<Vector> embeddings = HugeObjectArray.newArray(Vector.class, nodeCount, AllocationTracker.EMPTY);
-        for (var i = 0L; i < nodeCount; i++) {
-            var data = new Random()
-                .doubles(embeddingDimensions, -1, 1)
-                .collect(() -> new FloatConsumer(embeddingDimensions), FloatConsumer::add, FloatConsumer::addAll).values;
-            embeddings.set(i, new Vector(data));
+    /**
+     * Fills the embeddings uniformly from [-1, 1) in parallel.
+     * Every batch of nodes draws from its own split of the given random, which keeps the
+     * initialization deterministic for a fixed seed, independent of the concurrency.
+     */
+    private HugeFloatMatrix initializeEmbeddings(
+        long nodeCount,
+        int embeddingDimensions,
+        SplittableRandom random,
+        AllocationTracker tracker
+    ) {
+        var embeddings = HugeFloatMatrix.newMatrix(nodeCount, embeddingDimensions, tracker);
+        var tasks = new ArrayList<Runnable>();
+        for (long start = 0; start < nodeCount; start += INITIALIZATION_BATCH_SIZE) {
+            long batchStart = start;
+            long batchEnd = Math.min(nodeCount, start + INITIALIZATION_BATCH_SIZE);
+            var batchRandom = random.split();
+            tasks.add(() -> {
+                for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
+                    float[] page = embeddings.page(nodeId);
+                    int offset = embeddings.offset(nodeId);
+                    for (int i = 0; i < embeddingDimensions; i++) {
+                        page[offset + i] = (float) batchRandom.nextDouble(-1, 1);
+                    }
+                }
+            });
         }
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, Pools.DEFAULT);
         return embeddings;
     }
 
+    static float innerProduct(float[] left, int leftOffset, float[] right, int rightOffset, int length) {
+        float result = 0;
+        for (int i = 0; i < length; i++) {
+            result += left[leftOffset + i] * right[rightOffset + i];
+        }
+        return result;
+    }
+
+    static void scalarMultiply(float[] source, int sourceOffset, float scalar, float[] target, int length) {
+        for (int i = 0; i < length; i++) {
+            target[i] = source[sourceOffset + i] * scalar;
+        }
+    }
+
+    static void addMutable(float[] target, int targetOffset, float[] source, int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] += source[i];
+        }
+    }
+
+    /**
+     * Creates the training tasks while they are submitted, each task taking the next batch of walks.
+     * As at most {@code concurrency} tasks are in flight, the number of buffered walks stays bounded
+     * and the learning rate decays linearly over the whole iteration.
+     */
+    private final class StreamingTasks extends AbstractCollection<TrainingTask> {
+        private final Iterator<long[]> walkIterator;
+
+        StreamingTasks(Iterator<long[]> walkIterator) {
+            this.walkIterator = walkIterator;
+        }
+
+        @Override
+        public Iterator<TrainingTask> iterator() {
+            return new Iterator<>() {
+                private long nextWalkIndex = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return walkIterator.hasNext();
+                }
+
+                @Override
+                public TrainingTask next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    var batch = new ArrayList<long[]>((int) batchSize);
+                    while (batch.size() < batchSize && walkIterator.hasNext()) {
+                        batch.add(walkIterator.next());
+                    }
+                    long startIndex = nextWalkIndex;
+                    long endIndex = startIndex + batch.size() - 1;
+                    nextWalkIndex += batch.size();
+                    return new TrainingTask(
+                        walkIndex -> batch.get((int) (walkIndex - startIndex)),
+                        startIndex,
+                        endIndex,
+                        learningRateAt(startIndex),
+                        learningRateAt(endIndex)
+                    );
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Math.toIntExact(BitUtil.ceilDiv(walks.size(), batchSize));
+        }
+
+        private float learningRateAt(long walkIndex) {
+            double progress = Math.min(1.0, (double) walkIndex / Math.max(1, walks.size() - 1));
+            return (float) (config.initialLearningRate() - progress * (config.initialLearningRate() - config.minLearningRate()));
+        }
+    }
+
     private class TrainingTask implements Runnable {
         private final PositiveSampleProducer positiveSamples;
-        private final Vector centerGradientBuffer;
-        private final Vector contextGradientBuffer;
+        private final float[] centerGradientBuffer;
+        private final float[] contextGradientBuffer;
+        private final int embeddingSize;
         private final float initialLearningRate;
         private final float learningRateModifier;
         private final long startIndex;
 
         private float learningRate;
 
-        TrainingTask(long startIndex, long endIndex) {
+        TrainingTask(
+            LongFunction<long[]> walks,
+            long startIndex,
+            long endIndex,
+            float initialLearningRate,
+            float finalLearningRate
+        ) {
             this.startIndex = startIndex;
             this.positiveSamples = new PositiveSampleProducer(
                 walks,
@@ -116,11 +273,12 @@ public class Node2VecModel {
                 config.windowSize(),
                 progressLogger
             );
-            this.centerGradientBuffer = new Vector(config.embeddingSize());
-            this.contextGradientBuffer = new Vector(config.embeddingSize());
+            this.embeddingSize = config.embeddingSize();
+            this.centerGradientBuffer = new float[embeddingSize];
+            this.contextGradientBuffer = new float[embeddingSize];
 
-            this.initialLearningRate = (float) config.initialLearningRate();
-            this.learningRateModifier = (float) ((initialLearningRate - config.minLearningRate()) / (endIndex - startIndex));
+            this.initialLearningRate = initialLearningRate;
+            this.learningRateModifier = (initialLearningRate - finalLearningRate) / Math.max(1, endIndex - startIndex);
             this.learningRate = initialLearningRate;
         }
 
@@ -139,42 +297,28 @@ public class Node2VecModel {
             }
         }
 
+        /**
+         * Updates both embeddings in place without synchronization (Hogwild).
+         */
         private void trainSample(long center, long context, boolean positive) {
-            var centerEmbedding = centerEmbeddings.get(center);
-            var contextEmbedding = contextEmbeddings.get(context);
+            float[] centerPage = centerEmbeddings.page(center);
+            int centerOffset = centerEmbeddings.offset(center);
+            float[] contextPage = contextEmbeddings.page(context);
+            int contextOffset = contextEmbeddings.offset(context);
 
             float affinity = positive
-                ? centerEmbedding.innerProduct(contextEmbedding)
-                : -centerEmbedding.innerProduct(contextEmbedding);
-
+                ? innerProduct(centerPage, centerOffset, contextPage, contextOffset, embeddingSize)
+                : -innerProduct(centerPage, centerOffset, contextPage, contextOffset, embeddingSize);
 
             float scalar = (float) (positive
                             ? 1 / (Math.exp(affinity) + 1)
                             : -1 / (Math.exp(affinity) + 1));
 
-            centerGradientBuffer.scalarMultiply(contextEmbedding, scalar * learningRate);
-            contextGradientBuffer.scalarMultiply(centerEmbedding, scalar * learningRate);
-
-            centerEmbedding.addMutable(centerGradientBuffer);
-            contextEmbedding.addMutable(contextGradientBuffer);
-        }
-    }
-
-    static class FloatConsumer {
-        float[] values;
-        int index;
-
-        FloatConsumer(int length) {
-            this.values = new float[length];
-        }
-
-        void add(double value) {
-            values[index++] = (float) value;
-        }
+            scalarMultiply(contextPage, contextOffset, scalar * learningRate, centerGradientBuffer, embeddingSize);
+            scalarMultiply(centerPage, centerOffset, scalar * learningRate, contextGradientBuffer, embeddingSize);
 
-        void addAll(FloatConsumer other) {
-            System.arraycopy(other.values, 0, values, index, other.index);
-            index += other.index;
+            addMutable(centerPage, centerOffset, centerGradientBuffer, embeddingSize);
+            addMutable(contextPage, contextOffset, contextGradientBuffer, embeddingSize);
         }
     }
 }
@@ -27,8 +27,7 @@ import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
-import org.neo4j.graphalgo.exceptions.MemoryEstimationNotImplementedException;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
@@ -45,7 +44,7 @@ import static java.lang.Math.multiplyExact;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 import static org.neo4j.procedure.Mode.READ;
 
-public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vector>, Node2VecStreamProc.StreamResult, Node2VecStreamConfig> {
+public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeFloatMatrix, Node2VecStreamProc.StreamResult, Node2VecStreamConfig> {
 
     static final String NODE2VEC_DESCRIPTION = "The Node2Vec algorithm computes embeddings for nodes based on random walks.";
 
@@ -55,11 +54,12 @@ public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vec
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        ComputationResult<Node2Vec, HugeObjectArray<Vector>, Node2VecStreamConfig> computationResult = compute(
+        ComputationResult<Node2Vec, HugeFloatMatrix, Node2VecStreamConfig> computationResult = compute(
             graphNameOrConfig,
             configuration
         );
         if (computationResult.isGraphEmpty()) {
+            computationResult.close();
             return Stream.empty();
         }
         Graph graph = computationResult.graph();
@@ -67,7 +67,8 @@ public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vec
 
         return LongStream
             .range(0, graph.nodeCount())
-            .mapToObj(nodeId -> new StreamResult(graph.toOriginalNodeId(nodeId), result.get(nodeId).data()));
+            .mapToObj(nodeId -> new StreamResult(graph.toOriginalNodeId(nodeId), result.row(nodeId)))
+            .onClose(computationResult::close);
     }
 
     @Override
@@ -99,7 +100,7 @@ public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vec
 
             @Override
             public MemoryEstimation memoryEstimation(Node2VecStreamConfig configuration) {
-                throw new MemoryEstimationNotImplementedException();
+                return Node2Vec.memoryEstimation(configuration);
             }
 
             private void validateConfig(Node2VecStreamConfig config, Graph graph) {
@@ -27,9 +27,8 @@ import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
-import org.neo4j.graphalgo.exceptions.MemoryEstimationNotImplementedException;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
@@ -44,7 +43,7 @@ import static java.lang.Math.multiplyExact;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public class Node2VecWriteProc extends WriteProc<Node2Vec, HugeObjectArray<Vector>, Node2VecWriteProc.WriteResult, Node2VecWriteConfig> {
+public class Node2VecWriteProc extends WriteProc<Node2Vec, HugeFloatMatrix, Node2VecWriteProc.WriteResult, Node2VecWriteConfig> {
 
     @Procedure(value = "gds.alpha.node2vec.write", mode = WRITE)
     @Description(Node2VecStreamProc.NODE2VEC_DESCRIPTION)
@@ -52,7 +51,7 @@ public class Node2VecWriteProc extends WriteProc<Node2Vec, HugeObjectArray<Vecto
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        ComputationResult<Node2Vec, HugeObjectArray<Vector>, Node2VecWriteConfig> computationResult = compute(
+        ComputationResult<Node2Vec, HugeFloatMatrix, Node2VecWriteConfig> computationResult = compute(
             graphNameOrConfig,
             configuration
         );
@@ -88,7 +87,7 @@ public class Node2VecWriteProc extends WriteProc<Node2Vec, HugeObjectArray<Vecto
 
             @Override
             public MemoryEstimation memoryEstimation(Node2VecWriteConfig configuration) {
-                throw new MemoryEstimationNotImplementedException();
+                return Node2Vec.memoryEstimation(configuration);
             }
 
             private void validateConfig(Node2VecWriteConfig config, Graph graph) {
@@ -110,12 +109,12 @@ public class Node2VecWriteProc extends WriteProc<Node2Vec, HugeObjectArray<Vecto
     }
 
     @Override
-    protected PropertyTranslator<HugeObjectArray<Vector>> nodePropertyTranslator(ComputationResult<Node2Vec, HugeObjectArray<Vector>, Node2VecWriteConfig> computationResult) {
-        return (PropertyTranslator.OfFloatArray<HugeObjectArray<Vector>>) (data, nodeId) -> data.get(nodeId).data();
+    protected PropertyTranslator<HugeFloatMatrix> nodePropertyTranslator(ComputationResult<Node2Vec, HugeFloatMatrix, Node2VecWriteConfig> computationResult) {
+        return (PropertyTranslator.OfFloatArray<HugeFloatMatrix>) (data, nodeId) -> data.row(nodeId);
     }
 
     @Override
-    protected AbstractResultBuilder<WriteResult> resultBuilder(ComputationResult<Node2Vec, HugeObjectArray<Vector>, Node2VecWriteConfig> computeResult) {
+    protected AbstractResultBuilder<WriteResult> resultBuilder(ComputationResult<Node2Vec, HugeFloatMatrix, Node2VecWriteConfig> computeResult) {
         return new WriteResult.Builder();
     }
 
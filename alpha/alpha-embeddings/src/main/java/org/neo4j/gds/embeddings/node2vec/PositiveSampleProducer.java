@@ -24,12 +24,13 @@ import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
 
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 
 public class PositiveSampleProducer {
 
-    private final HugeObjectArray<long[]> walks;
+    private final LongFunction<long[]> walks;
     private final HugeDoubleArray centerNodeProbabilities;
     private final long batchEnd;
     private final int prefixWindowSize;
@@ -48,6 +49,20 @@ public class PositiveSampleProducer {
         long batchEnd,
         int windowSize,
         ProgressLogger progressLogger
+    ) {
+        this(walks::get, centerNodeProbabilities, batchStart, batchEnd, windowSize, progressLogger);
+    }
+
+    /**
+     * @param walks returns the walk for every index in {@code [batchStart, batchEnd]}
+     */
+    public PositiveSampleProducer(
+        LongFunction<long[]> walks,
+        HugeDoubleArray centerNodeProbabilities,
+        long batchStart,
+        long batchEnd,
+        int windowSize,
+        ProgressLogger progressLogger
     ) {
         this.walks = walks;
         this.batchEnd = batchEnd;
@@ -80,14 +95,14 @@ public class PositiveSampleProducer {
 
     private void nextWalk() {
         walkIndex++;
-        while (walkIndex <= batchEnd && walks.get(walkIndex).length < 2) {
+        while (walkIndex <= batchEnd && walks.apply(walkIndex).length < 2) {
             walkIndex++;
             progressLogger.logProgress();
         }
 
-        if (walkIndex < walks.size()) {
+        if (walkIndex <= batchEnd) {
             progressLogger.logProgress();
-            this.currentWalk = walks.get(walkIndex);
+            this.currentWalk = walks.apply(walkIndex);
             centerWordIndex = -1;
             nextCenterWord();
         }
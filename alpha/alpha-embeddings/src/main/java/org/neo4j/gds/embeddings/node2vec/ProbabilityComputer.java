@@ -19,6 +19,7 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
@@ -32,14 +33,13 @@ import static java.lang.Math.addExact;
 
 public class ProbabilityComputer {
 
-    private final HugeObjectArray<long[]> walks;
     private final long nodeCount;
     private final int concurrency;
     private final AllocationTracker tracker;
     private final double centerSamplingFactor;
     private final double contextSamplingExponent;
+    private final HugeAtomicLongArray nodeFrequencies;
 
-    private HugeAtomicLongArray nodeFrequencies;
     private HugeDoubleArray centerProbabilities;
     private HugeLongArray contextDistribution;
 
@@ -51,18 +51,78 @@ public class ProbabilityComputer {
         int concurrency,
         AllocationTracker tracker
     ) {
-        this.walks = walks;
+        this(
+            computeFrequencies(walks, nodeCount, concurrency, tracker),
+            nodeCount,
+            centerSamplingFactor,
+            contextSamplingExponent,
+            concurrency,
+            tracker
+        );
+    }
+
+    /**
+     * @param nodeFrequencies how often every node occurs in the walks
+     */
+    ProbabilityComputer(
+        HugeAtomicLongArray nodeFrequencies,
+        long nodeCount,
+        double centerSamplingFactor,
+        double contextSamplingExponent,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        this.nodeFrequencies = nodeFrequencies;
         this.nodeCount = nodeCount;
         this.concurrency = concurrency;
         this.tracker = tracker;
         this.centerSamplingFactor = centerSamplingFactor;
         this.contextSamplingExponent = contextSamplingExponent;
 
-        computeFrequencies();
         computeCenterProbabilities();
         computeContextDistribution();
     }
 
+    /**
+     * Estimates the node frequencies without materializing the walks.
+     * Every node starts {@code walksPerNode} walks and the remaining steps are distributed
+     * proportional to the degree, which is the stationary distribution of a first-order walk.
+     */
+    static ProbabilityComputer fromDegrees(
+        Graph graph,
+        int walksPerNode,
+        int walkLength,
+        double centerSamplingFactor,
+        double contextSamplingExponent,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        var nodeFrequencies = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        long degreeSum = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeIdStream -> nodeIdStream.map(graph::degree).reduce(0, Math::addExact)
+        );
+        double stepsPerDegree = degreeSum == 0 ? 0 : ((double) nodeCount * walksPerNode * walkLength) / degreeSum;
+        ParallelUtil.parallelStreamConsume(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeIdStream -> nodeIdStream.forEach(nodeId -> nodeFrequencies.set(
+                nodeId,
+                walksPerNode + Math.round(graph.degree(nodeId) * stepsPerDegree)
+            ))
+        );
+        return new ProbabilityComputer(
+            nodeFrequencies,
+            nodeCount,
+            centerSamplingFactor,
+            contextSamplingExponent,
+            concurrency,
+            tracker
+        );
+    }
+
     HugeDoubleArray getCenterNodeProbabilities() {
         return centerProbabilities;
     }
@@ -71,8 +131,13 @@ public class ProbabilityComputer {
         return contextDistribution;
     }
 
-    private void computeFrequencies() {
-        nodeFrequencies = HugeAtomicLongArray.newArray(nodeCount, tracker);
+    private static HugeAtomicLongArray computeFrequencies(
+        HugeObjectArray<long[]> walks,
+        long nodeCount,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        var nodeFrequencies = HugeAtomicLongArray.newArray(nodeCount, tracker);
         ParallelUtil.parallelStreamConsume(
             LongStream.range(0, walks.size()),
             concurrency,
@@ -83,6 +148,7 @@ public class ProbabilityComputer {
                 }
             })
         );
+        return nodeFrequencies;
     }
 
     private void computeCenterProbabilities() {
@@ -19,18 +19,27 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.config.ConcurrencyConfig;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
+import org.neo4j.graphalgo.impl.walking.Node2VecSampler;
+import org.neo4j.graphalgo.utils.ExceptionUtil;
+import org.neo4j.internal.helpers.NamedThreadFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -66,6 +75,7 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         int timeout = 100;
         BlockingQueue<long[]> walks = new ArrayBlockingQueue<>(queueSize);
         long[] TOMB = new long[0];
+        var closed = new AtomicBoolean(false);
 
         long batchSize = ParallelUtil.adjustedBatchSize(graph.nodeCount(), concurrency, minBatchSize);
         ArrayList<Runnable> tasks = new ArrayList<>();
@@ -74,18 +84,38 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
             var stop = Math.min(start + batchSize, graph.nodeCount());
             tasks.add(
                 () -> {
-                    for (var j = start; j < stop; j++) {
-                        doWalk(j).forEach(walk -> put(walks, walk));
+                    for (var j = start; j < stop && !closed.get(); j++) {
+                        doWalk(j).forEach(walk -> put(walks, walk, closed));
                     }
                 }
             );
         }
-        new Thread(() -> {
-            ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
-            put(walks, TOMB);
+        // The consumer of the walks usually submits its work to the default pool,
+        // so the producers get their own threads in order to never block the consumer.
+        var producerFailure = new AtomicReference<Throwable>();
+        NamedThreadFactory.daemon("gds-walks-producer").newThread(() -> {
+            var producers = Executors.newFixedThreadPool(concurrency, NamedThreadFactory.daemon("gds-walks"));
+            try {
+                ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, producers);
+            } catch (Throwable e) {
+                producerFailure.set(e);
+            } finally {
+                producers.shutdown();
+                put(walks, TOMB, closed);
+            }
         }).start();
-        QueueBasedSpliterator<long[]> spliterator = new QueueBasedSpliterator<>(walks, TOMB, terminationFlag, timeout);
-        return StreamSupport.stream(spliterator, false);
+        // A failed producer still ends the queue with the tombstone, which is where the consumer learns about it.
+        QueueBasedSpliterator<long[]> spliterator = new QueueBasedSpliterator<>(walks, TOMB, terminationFlag, timeout) {
+            @Override
+            public boolean tryAdvance(Consumer<? super long[]> action) {
+                boolean hasNext = super.tryAdvance(action);
+                if (!hasNext) {
+                    rethrow(producerFailure.get());
+                }
+                return hasNext;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> closed.set(true));
     }
 
     @Override
@@ -121,136 +151,49 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         return currentNodeId == -1 ? -1 : graph.toOriginalNodeId(currentNodeId);
     }
 
-    private static <T> void put(BlockingQueue<T> queue, T items) {
+    private static void rethrow(@Nullable Throwable producerFailure) {
+        if (producerFailure != null) {
+            ExceptionUtil.throwIfUnchecked(producerFailure);
+            throw new RuntimeException(producerFailure);
+        }
+    }
+
+    /**
+     * Blocks until the queue accepts the items, unless the stream of walks has been closed in the meantime.
+     */
+    private static <T> void put(BlockingQueue<T> queue, T items, AtomicBoolean closed) {
         try {
-            queue.put(items);
-        } catch (InterruptedException e) {}
+            while (!closed.get() && !queue.offer(items, 100, TimeUnit.MILLISECONDS)) {
+                // wait for the consumer
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     public static class NextNodeStrategy {
-        private final Graph graph;
-        private final double returnParam;
-        private final double inOutParam;
-
+        private final Node2VecSampler sampler;
 
         public NextNodeStrategy(Graph graph, double returnParam, double inOutParam) {
-            this.graph = graph;
-            this.returnParam = returnParam;
-            this.inOutParam = inOutParam;
-        }
-
-        public long getNextNode(long currentNode, long previousNode) {
-            Graph threadLocalGraph = graph.concurrentCopy();
-
-            int degree = threadLocalGraph.degree(currentNode);
-            if (degree == 0) {
-                return -1;
-            }
-
-            double[] distribution = buildProbabilityDistribution(
-                threadLocalGraph,
-                currentNode,
-                previousNode,
-                returnParam,
-                inOutParam,
-                degree
-            );
-            int neighbourIndex = pickIndexFromDistribution(distribution, ThreadLocalRandom.current().nextDouble());
-
-            return threadLocalGraph.getTarget(currentNode, neighbourIndex);
+            this(graph, returnParam, inOutParam, ConcurrencyConfig.DEFAULT_CONCURRENCY, AllocationTracker.EMPTY);
         }
 
-        private double[] buildProbabilityDistribution(
-            Graph threadLocalGraph,
-            long currentNodeId,
-            long previousNodeId,
+        public NextNodeStrategy(
+            Graph graph,
             double returnParam,
             double inOutParam,
-            int degree
+            int concurrency,
+            AllocationTracker tracker
         ) {
-            ProbabilityDistributionComputer consumer = new ProbabilityDistributionComputer(
-                threadLocalGraph.concurrentCopy(),
-                degree,
-                currentNodeId,
-                previousNodeId,
-                returnParam,
-                inOutParam
-            );
-            threadLocalGraph.forEachRelationship(currentNodeId, consumer);
-            return consumer.probabilities();
+            this.sampler = Node2VecSampler.create(graph, returnParam, inOutParam, concurrency, tracker);
         }
 
-        private static double[] normalizeDistribution(double[] array, double sum) {
-            for (int i = 0; i < array.length; i++) {
-                array[i] /= sum;
-            }
-            return array;
-        }
-
-        private static int pickIndexFromDistribution(double[] normalizedDistribution, double randomThreshold) {
-            double cumulativeProbability = 0.0;
-            for (int i = 0; i < normalizedDistribution.length; i++) {
-                cumulativeProbability += normalizedDistribution[i];
-                if (randomThreshold <= cumulativeProbability) {
-                    return i;
-                }
-            }
-            return normalizedDistribution.length - 1;
+        public long getNextNode(long currentNode, long previousNode) {
+            return sampler.nextNode(currentNode, previousNode, ThreadLocalRandom.current());
         }
 
-        private class ProbabilityDistributionComputer implements RelationshipConsumer {
-            private final Graph threadLocalGraph;
-            final double[] probabilities;
-            private final long currentNodeId;
-            private final long previousNodeId;
-            private final double returnParam;
-            private final double inOutParam;
-            double probSum;
-            int index;
-
-            public ProbabilityDistributionComputer(
-                Graph threadLocalGraph,
-                int degree,
-                long currentNodeId,
-                long previousNodeId,
-                double returnParam,
-                double inOutParam
-            ) {
-                this.threadLocalGraph = threadLocalGraph;
-                this.currentNodeId = currentNodeId;
-                this.previousNodeId = previousNodeId;
-                this.returnParam = returnParam;
-                this.inOutParam = inOutParam;
-                probabilities = new double[degree];
-                probSum = 0;
-                index = 0;
-            }
-
-            @Override
-            public boolean accept(long start, long end) {
-                long neighbourId = start == currentNodeId ? end : start;
-
-                double probability;
-
-                if (neighbourId == previousNodeId) {
-                    // node is previous node
-                    probability = 1D / returnParam;
-                } else if (threadLocalGraph.exists(previousNodeId, neighbourId)) {
-                    // node is also adjacent to previous node --> distance to previous node is 1
-                    probability = 1D;
-                } else {
-                    // node is not adjacent to previous node --> distance to previous node is 2
-                    probability = 1D / inOutParam;
-                }
-                probabilities[index] = probability;
-                probSum += probability;
-                index++;
-                return true;
-            }
-
-            private double[] probabilities() {
-                return normalizeDistribution(probabilities, probSum);
-            }
+        public void release() {
+            sampler.release();
         }
     }
 }
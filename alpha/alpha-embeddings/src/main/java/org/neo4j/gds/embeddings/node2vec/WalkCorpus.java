@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.Optional;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * The random walks Node2Vec is trained on, which are either kept in memory,
+ * regenerated for every iteration or replayed from a {@link WalkSpill}.
+ */
+interface WalkCorpus {
+
+    /**
+     * @return the number of walks returned for every iteration
+     */
+    long size();
+
+    /**
+     * @return the walks for the given iteration, which are produced lazily for non-materialized corpora.
+     *     The stream must be closed, as it might hold threads or file handles until it is exhausted.
+     */
+    Stream<long[]> walks(int iteration);
+
+    /**
+     * @return access to the walks by their index, if all walks are kept in memory
+     */
+    Optional<LongFunction<long[]>> indexedWalks();
+
+    static WalkCorpus of(HugeObjectArray<long[]> walks) {
+        return new WalkCorpus() {
+            @Override
+            public long size() {
+                return walks.size();
+            }
+
+            @Override
+            public Stream<long[]> walks(int iteration) {
+                return LongStream.range(0, walks.size()).mapToObj(walks::get);
+            }
+
+            @Override
+            public Optional<LongFunction<long[]>> indexedWalks() {
+                return Optional.of(walks::get);
+            }
+        };
+    }
+
+    /**
+     * @param walks produces a fresh stream of walks for every iteration
+     * @param size  the number of walks produced by every stream
+     */
+    static WalkCorpus streaming(Supplier<Stream<long[]>> walks, long size) {
+        return new WalkCorpus() {
+            @Override
+            public long size() {
+                return size;
+            }
+
+            @Override
+            public Stream<long[]> walks(int iteration) {
+                return walks.get();
+            }
+
+            @Override
+            public Optional<LongFunction<long[]>> indexedWalks() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    static WalkCorpus spilled(WalkSpill spill) {
+        return new WalkCorpus() {
+            @Override
+            public long size() {
+                return spill.walkCount();
+            }
+
+            @Override
+            public Stream<long[]> walks(int iteration) {
+                return spill.walks();
+            }
+
+            @Override
+            public Optional<LongFunction<long[]>> indexedWalks() {
+                return Optional.empty();
+            }
+        };
+    }
+}
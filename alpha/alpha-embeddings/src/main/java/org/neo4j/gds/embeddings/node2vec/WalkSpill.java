@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import com.carrotsearch.hppc.AbstractIterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.zigZag;
+import static org.neo4j.graphalgo.core.loading.ZigZagLongDecoding.zigZagUncompress;
+
+/**
+ * Spills random walks to a temporary file, so that they can be replayed for every training iteration
+ * without keeping them on the heap.
+ * <p>
+ * Every walk is stored as its length and its number of bytes, followed by the zig-zag encoded
+ * deltas between consecutive nodes, all written as var-longs.
+ * Walks are appended by a single thread and the file is deleted on {@link #close()}.
+ */
+final class WalkSpill implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path file;
+    private final OutputStream out;
+    private final long[] headerValues;
+    private final byte[] header;
+
+    private byte[] bytes;
+    private long[] deltas;
+    private long walkCount;
+
+    static WalkSpill create(Path directory) {
+        try {
+            Path file = Files.createTempFile(directory, "node2vec-walks-", ".bin");
+            return new WalkSpill(file, new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private WalkSpill(Path file, OutputStream out) {
+        this.file = file;
+        this.out = out;
+        // two var-longs of at most 9 bytes each
+        this.headerValues = new long[2];
+        this.header = new byte[18];
+        this.bytes = new byte[0];
+        this.deltas = new long[0];
+    }
+
+    void append(long[] walk) {
+        int length = walk.length;
+        if (deltas.length < length) {
+            deltas = new long[length];
+            bytes = new byte[9 * length];
+        }
+        long previous = 0L;
+        for (int i = 0; i < length; i++) {
+            deltas[i] = zigZag(walk[i] - previous);
+            previous = walk[i];
+        }
+        int byteCount = encodeVLongs(deltas, length, bytes, 0);
+        headerValues[0] = length;
+        headerValues[1] = byteCount;
+        int headerSize = encodeVLongs(headerValues, 2, header, 0);
+        try {
+            out.write(header, 0, headerSize);
+            out.write(bytes, 0, byteCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        walkCount++;
+    }
+
+    long walkCount() {
+        return walkCount;
+    }
+
+    /**
+     * Flushes all appended walks and returns a new stream over them, in the order they were appended.
+     * The file handle is closed once the stream is exhausted or closed.
+     */
+    Stream<long[]> walks() {
+        try {
+            out.flush();
+            var iterator = new WalkIterator(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class WalkIterator extends AbstractIterator<long[]> {
+        private final InputStream in;
+        private byte[] buffer;
+
+        WalkIterator(InputStream in) {
+            this.in = in;
+            this.buffer = new byte[0];
+        }
+
+        @Override
+        protected long[] fetch() {
+            try {
+                int first = in.read();
+                if (first == -1) {
+                    close();
+                    return done();
+                }
+                int length = (int) readVLong(first);
+                int byteCount = (int) readVLong(in.read());
+                if (buffer.length < byteCount) {
+                    buffer = new byte[byteCount];
+                }
+                if (in.readNBytes(buffer, 0, byteCount) != byteCount) {
+                    throw new EOFException("Unexpected end of spilled walks");
+                }
+                long[] walk = new long[length];
+                zigZagUncompress(buffer, 0, byteCount, walk);
+                return walk;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private long readVLong(int firstByte) throws IOException {
+            long value = 0L;
+            int shift = 0;
+            int input = firstByte;
+            while (true) {
+                if (input == -1) {
+                    throw new EOFException("Unexpected end of spilled walks");
+                }
+                value += (input & 127L) << shift;
+                if ((input & 128) == 128) {
+                    return value;
+                }
+                shift += 7;
+                input = in.read();
+            }
+        }
+    }
+}
@@ -21,33 +21,36 @@ package org.neo4j.gds.embeddings.randomprojections;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NeighborCursor;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.concurrency.WorkStealing;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
-import org.neo4j.graphalgo.utils.CloseableThreadLocal;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public class RandomProjection extends Algorithm<RandomProjection, RandomProjection> {
 
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
     private final Graph graph;
     private final int concurrency;
     private final boolean normalizeL2;
     private final float normalizationStrength;
-    private final HugeObjectArray<float[]> embeddings;
-    private final HugeObjectArray<float[]> embeddingA;
-    private final HugeObjectArray<float[]> embeddingB;
+    private final HugeFloatMatrix embeddings;
+    private final HugeFloatMatrix embeddingA;
+    private final HugeFloatMatrix embeddingB;
 
     private final int embeddingSize;
     private final int sparsity;
     private final int iterations;
     private final List<Double> iterationWeights;
+    private final long seed;
 
     public RandomProjection(
         Graph graph,
@@ -58,10 +61,6 @@ public class RandomProjection extends Algorithm<RandomProjection, RandomProjecti
         this.graph = graph;
         this.progressLogger = progressLogger;
 
-        this.embeddings = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingA = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingB = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-
         this.embeddingSize = config.embeddingSize();
         this.sparsity = config.sparsity();
         this.iterations = config.maxIterations();
@@ -69,9 +68,17 @@ public class RandomProjection extends Algorithm<RandomProjection, RandomProjecti
         this.normalizationStrength = config.normalizationStrength();
         this.normalizeL2 = config.normalizeL2();
         this.concurrency = config.concurrency();
+        this.seed = config.randomSeed().orElseGet(() -> ThreadLocalRandom.current().nextLong());
 
-        int embeddingSize = iterationWeights.isEmpty() ? this.embeddingSize * iterations : this.embeddingSize;
-        this.embeddings.setAll((i) -> new float[embeddingSize]);
+        this.embeddings = HugeFloatMatrix.newMatrix(graph.nodeCount(), outputDimension(config), tracker);
+        this.embeddingA = HugeFloatMatrix.newMatrix(graph.nodeCount(), embeddingSize, tracker);
+        this.embeddingB = HugeFloatMatrix.newMatrix(graph.nodeCount(), embeddingSize, tracker);
+    }
+
+    static int outputDimension(RandomProjectionBaseConfig config) {
+        return config.iterationWeights().isEmpty()
+            ? config.embeddingSize() * config.maxIterations()
+            : config.embeddingSize();
     }
 
     @Override
@@ -81,11 +88,11 @@ public class RandomProjection extends Algorithm<RandomProjection, RandomProjecti
         return me();
     }
 
-    public HugeObjectArray<float[]> embeddings() {
+    public HugeFloatMatrix embeddings() {
         return this.embeddings;
     }
 
-    HugeObjectArray<float[]> currentEmbedding(int iteration) {
+    HugeFloatMatrix currentEmbedding(int iteration) {
         return iteration % 2 == 0
             ? this.embeddingA
             : this.embeddingB;
@@ -102,6 +109,10 @@ public class RandomProjection extends Algorithm<RandomProjection, RandomProjecti
         this.embeddingB.release();
     }
 
+    /**
+     * Every entry of a random vector is a pure function of the node id, the dimension and the seed,
+     * so the vectors need no per-node state and can be computed in any order.
+     */
     void initRandomVectors() {
         double probability = 1.0f / (2.0f * sparsity);
         float sqrtSparsity = (float) Math.sqrt(sparsity);
@@ -111,15 +122,13 @@ public class RandomProjection extends Algorithm<RandomProjection, RandomProjecti
         ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
             progressLogger.logProgress();
 
-            ThreadLocal<Random> random = ThreadLocal.withInitial(HighQualityRandom::new);
             int degree = graph.degree(nodeId);
             float scaling = degree == 0
                 ? 1.0f
                 : (float) Math.pow(degree, normalizationStrength);
 
             float entryValue = scaling * sqrtSparsity / sqrtEmbeddingSize;
-            float[] randomVector = computeRandomVector(random.get(), probability, entryValue);
-            embeddingB.set(nodeId, randomVector);
+            computeRandomVector(nodeId, probability, entryValue, embeddingB.page(nodeId), embeddingB.offset(nodeId));
         });
     }
 
@@ -131,52 +140,75 @@ public class RandomProjection extends Algorithm<RandomProjection, RandomProjecti
             var localCurrent = i % 2 == 0 ? embeddingA : embeddingB;
             var localPrevious = i % 2 == 0 ? embeddingB : embeddingA;
 
-            try (var concurrentGraphCopy = CloseableThreadLocal.withInitial(graph::concurrentCopy)) {
-                ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
-                    float[] currentEmbedding = new float[embeddingSize];
-                    localCurrent.set(nodeId, currentEmbedding);
-                    concurrentGraphCopy.get().forEachRelationship(nodeId, (source, target) -> {
-                        addArrayValues(currentEmbedding, localPrevious.get(target));
-                        return true;
-                    });
-                    progressLogger.logProgress(graph.degree(nodeId));
-
-                    int degree = graph.degree(nodeId) == 0 ? 1 : graph.degree(nodeId);
-                    double degreeScale = 1.0f / degree;
-                    multiplyArrayValues(currentEmbedding, degreeScale);
-                });
-            }
+            // the work is proportional to the degree, so hub-heavy ranges are stolen by idle workers
+            WorkStealing.forEachNodeRange(
+                graph,
+                concurrency,
+                ParallelUtil.DEFAULT_BATCH_SIZE,
+                terminationFlag,
+                Pools.DEFAULT,
+                () -> graph.concurrentCopy().neighborCursor(0D),
+                (neighbors, startNode, endNode) -> {
+                    long[] targets = new long[NeighborCursor.BLOCK_SIZE];
+                    for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                        float[] currentPage = localCurrent.page(nodeId);
+                        int currentOffset = localCurrent.offset(nodeId);
+                        clear(currentPage, currentOffset, embeddingSize);
+                        neighbors.init(nodeId);
+                        int length;
+                        while ((length = neighbors.nextBlock(targets)) > 0) {
+                            for (int j = 0; j < length; j++) {
+                                long target = targets[j];
+                                addArrayValues(
+                                    currentPage,
+                                    currentOffset,
+                                    localPrevious.page(target),
+                                    localPrevious.offset(target),
+                                    embeddingSize
+                                );
+                            }
+                        }
+                        progressLogger.logProgress(graph.degree(nodeId));
+
+                        int degree = graph.degree(nodeId) == 0 ? 1 : graph.degree(nodeId);
+                        double degreeScale = 1.0f / degree;
+                        multiplyArrayValues(currentPage, currentOffset, embeddingSize, degreeScale);
+                    }
+                }
+            );
 
             int offset = embeddingSize * i;
             double weight = iterationWeights.isEmpty()
                 ? Double.NaN
                 : iterationWeights.get(i);
             ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
-                float[] embedding = embeddings.get(nodeId);
+                float[] embeddingPage = embeddings.page(nodeId);
+                int embeddingOffset = embeddings.offset(nodeId);
 
-                float[] newEmbedding = localCurrent.get(nodeId);
+                float[] newEmbeddingPage = localCurrent.page(nodeId);
+                int newEmbeddingOffset = localCurrent.offset(nodeId);
                 if (normalizeL2) {
-                    l2Normalize(newEmbedding);
+                    l2Normalize(newEmbeddingPage, newEmbeddingOffset, embeddingSize);
                 }
                 if (iterationWeights.isEmpty()) {
-                    System.arraycopy(newEmbedding, 0, embedding, offset, embeddingSize);
+                    System.arraycopy(newEmbeddingPage, newEmbeddingOffset, embeddingPage, embeddingOffset + offset, embeddingSize);
                 } else {
-                    updateEmbeddings(weight, embedding, newEmbedding);
+                    multiplyArrayValues(newEmbeddingPage, newEmbeddingOffset, embeddingSize, weight);
+                    addArrayValues(embeddingPage, embeddingOffset, newEmbeddingPage, newEmbeddingOffset, embeddingSize);
                 }
             });
         }
     }
 
-    private float[] computeRandomVector(Random random, double probability, float entryValue) {
-        float[] randomVector = new float[embeddingSize];
+    private void computeRandomVector(long nodeId, double probability, float entryValue, float[] target, int targetOffset) {
+        long nodeSeed = mix64(seed + nodeId * GOLDEN_GAMMA);
         for (int i = 0; i < embeddingSize; i++) {
-            randomVector[i] = computeRandomEntry(random, probability, entryValue);
+            target[targetOffset + i] = computeRandomEntry(nodeSeed + (i + 1) * GOLDEN_GAMMA, probability, entryValue);
         }
-        return randomVector;
     }
 
-    private float computeRandomEntry(Random random, double probability, float entryValue) {
-        double randomValue = random.nextDouble();
+    private static float computeRandomEntry(long entrySeed, double probability, float entryValue) {
+        double randomValue = (mix64(entrySeed) >>> 11) * 0x1.0p-53;
 
         if (randomValue < probability) {
             return entryValue;
@@ -187,76 +219,41 @@ public class RandomProjection extends Algorithm<RandomProjection, RandomProjecti
         }
     }
 
-    private void updateEmbeddings(double weight, float[] embedding, float[] newEmbedding) {
-        multiplyArrayValues(newEmbedding, weight);
-        addArrayValues(embedding, newEmbedding);
+    /**
+     * The finalizer of SplitMix64, which turns consecutive inputs into uniformly distributed outputs.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
     }
 
-    private void addArrayValues(float[] lhs, float[] rhs) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] += rhs[i];
+    private static void clear(float[] array, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            array[offset + i] = 0.0f;
         }
     }
 
-    private void multiplyArrayValues(float[] lhs, double scalar) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] *= scalar;
+    private static void addArrayValues(float[] lhs, int lhsOffset, float[] rhs, int rhsOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            lhs[lhsOffset + i] += rhs[rhsOffset + i];
         }
     }
 
-    private void l2Normalize(float[] array) {
+    private static void multiplyArrayValues(float[] lhs, int offset, int length, double scalar) {
+        for (int i = 0; i < length; i++) {
+            lhs[offset + i] *= scalar;
+        }
+    }
+
+    private static void l2Normalize(float[] array, int offset, int length) {
         double sum = 0.0f;
-        for (double value : array) {
+        for (int i = 0; i < length; i++) {
+            double value = array[offset + i];
             sum += value * value;
         }
         double sqrtSum = sum == 0 ? 1 : Math.sqrt(sum);
         double scaling = 1 / sqrtSum;
-        for (int i = 0; i < array.length; i++) {
-            array[i] *= scaling;
-        }
-    }
-
-    public class HighQualityRandom extends Random {
-        private Lock l = new ReentrantLock();
-        private long u;
-        private long v = 4101842887655102017L;
-        private long w = 1;
-
-        public HighQualityRandom() {
-            this(System.nanoTime());
-        }
-
-        public HighQualityRandom(long seed) {
-            l.lock();
-            u = seed ^ v;
-            nextLong();
-            v = u;
-            nextLong();
-            w = v;
-            nextLong();
-            l.unlock();
-        }
-
-        public long nextLong() {
-            l.lock();
-            try {
-                u = u * 2862933555777941757L + 7046029254386353087L;
-                v ^= v >>> 17;
-                v ^= v << 31;
-                v ^= v >>> 8;
-                w = 4294957665L * (w & 0xffffffff) + (w >>> 32);
-                long x = u ^ (u << 21);
-                x ^= x >>> 35;
-                x ^= x << 4;
-                long ret = (x + v) ^ w;
-                return ret;
-            } finally {
-                l.unlock();
-            }
-        }
-
-        protected int next(int bits) {
-            return (int) (nextLong() >>> (64-bits));
-        }
+        multiplyArrayValues(array, offset, length, scaling);
     }
 }
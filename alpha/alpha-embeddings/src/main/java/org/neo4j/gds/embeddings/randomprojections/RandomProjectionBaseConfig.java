@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.config.IterationsConfig;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
@@ -58,6 +59,8 @@ public interface RandomProjectionBaseConfig extends AlgoBaseConfig, IterationsCo
         return false;
     }
 
+    Optional<Long> randomSeed();
+
     @Value.Check
     default void validate() {
         if (!iterationWeights().isEmpty()) {
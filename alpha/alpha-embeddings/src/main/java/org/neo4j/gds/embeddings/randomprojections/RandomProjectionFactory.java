@@ -23,8 +23,9 @@ import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.exceptions.MemoryEstimationNotImplementedException;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.logging.Log;
 
 public class RandomProjectionFactory<CONFIG extends RandomProjectionBaseConfig> extends AlgorithmFactory<RandomProjection, CONFIG> {
@@ -45,6 +46,11 @@ public class RandomProjectionFactory<CONFIG extends RandomProjectionBaseConfig>
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG configuration) {
-        throw new MemoryEstimationNotImplementedException();
+        int outputDimension = RandomProjection.outputDimension(configuration);
+        return MemoryEstimations.builder(RandomProjection.class)
+            .perNode("embeddings", nodeCount -> HugeFloatMatrix.memoryEstimation(nodeCount, outputDimension))
+            .perNode("embeddingA", nodeCount -> HugeFloatMatrix.memoryEstimation(nodeCount, configuration.embeddingSize()))
+            .perNode("embeddingB", nodeCount -> HugeFloatMatrix.memoryEstimation(nodeCount, configuration.embeddingSize()))
+            .build();
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.randomprojections;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.MutateProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.TypedNodeProperties;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+import org.neo4j.values.storable.NumberType;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class RandomProjectionMutateProc extends MutateProc<RandomProjection, RandomProjection, RandomProjectionMutateProc.MutateResult, RandomProjectionMutateConfig> {
+
+    @Procedure(value = "gds.alpha.randomProjection.mutate", mode = READ)
+    @Description("Random Projection produces node embeddings via the fastrp algorithm")
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<RandomProjection, RandomProjection, RandomProjectionMutateConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        return mutate(computationResult);
+    }
+
+    @Override
+    protected RandomProjectionMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return RandomProjectionMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<RandomProjection, RandomProjectionMutateConfig> algorithmFactory(RandomProjectionMutateConfig config) {
+        return new RandomProjectionFactory<>();
+    }
+
+    @Override
+    protected PropertyTranslator<RandomProjection> nodePropertyTranslator(ComputationResult<RandomProjection, RandomProjection, RandomProjectionMutateConfig> computationResult) {
+        return (PropertyTranslator.OfFloatArray<RandomProjection>) (data, nodeId) -> data.embeddings().row(nodeId);
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<RandomProjection, RandomProjection, RandomProjectionMutateConfig> computationResult) {
+        // the embeddings are not released together with the algorithm and can be handed over as they are
+        return TypedNodeProperties.ofFloatArrays(computationResult.result().embeddings());
+    }
+
+    @Override
+    protected NumberType nodePropertyType(ComputationResult<RandomProjection, RandomProjection, RandomProjectionMutateConfig> computationResult) {
+        return NumberType.NO_NUMBER;
+    }
+
+    @Override
+    protected AbstractResultBuilder<MutateResult> resultBuilder(ComputationResult<RandomProjection, RandomProjection, RandomProjectionMutateConfig> computeResult) {
+        return new MutateResult.Builder();
+    }
+
+    public static final class MutateResult {
+
+        public final long nodeCount;
+        public final long nodePropertiesWritten;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final Map<String, Object> configuration;
+
+        MutateResult(
+            long nodeCount,
+            long nodePropertiesWritten,
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            Map<String, Object> configuration
+        ) {
+            this.nodeCount = nodeCount;
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.configuration = configuration;
+        }
+
+        static class Builder extends AbstractResultBuilder<MutateResult> {
+
+            @Override
+            public MutateResult build() {
+                return new MutateResult(
+                    nodeCount,
+                    nodePropertiesWritten,
+                    createMillis,
+                    computeMillis,
+                    mutateMillis,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
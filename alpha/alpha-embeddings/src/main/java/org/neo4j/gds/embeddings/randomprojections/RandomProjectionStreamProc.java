@@ -77,8 +77,9 @@ public class RandomProjectionStreamProc extends StreamProc<RandomProjection, Ran
             .map((nodeId) -> {
                 RandomProjection randomProjection = computationResult.result();
 
-                return new StreamResult(graph.toOriginalNodeId(nodeId), randomProjection.embeddings().get(nodeId));
-            });
+                return new StreamResult(graph.toOriginalNodeId(nodeId), randomProjection.embeddings().row(nodeId));
+            })
+            .onClose(computationResult::close);
     }
 
     @Override
@@ -21,12 +21,15 @@ package org.neo4j.gds.embeddings.graphsage;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.neo4j.gds.embeddings.graphsage.algo.ImmutableGraphSageStreamConfig;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.FiniteDifferenceTest;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Tensor;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
@@ -37,7 +40,11 @@ import org.neo4j.logging.Level;
 import org.neo4j.logging.Log;
 
 import java.util.List;
+import java.util.Optional;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -155,21 +162,86 @@ class GraphSageModelTest implements FiniteDifferenceTest {
         GraphSageModel miniBatchModel = new GraphSageModel(CONCURRENCY, 5, List.of(mockLayer1, mockLayer2), log);
         GraphSageModel singleBatchModel =
             new GraphSageModel(CONCURRENCY, (int) graph.nodeCount(), List.of(mockLayer1, mockLayer2), log);
-        HugeObjectArray<double[]> singleBatchResult = smokeTestEmbeddingHelper(miniBatchModel);
-        HugeObjectArray<double[]> miniBatchResult = smokeTestEmbeddingHelper(singleBatchModel);
+        HugeFloatMatrix singleBatchResult = smokeTestEmbeddingHelper(miniBatchModel);
+        HugeFloatMatrix miniBatchResult = smokeTestEmbeddingHelper(singleBatchModel);
         for (int i = 0; i < 9; i++) {
-            assertArrayEquals(singleBatchResult.get(i), miniBatchResult.get(i));
+            assertArrayEquals(singleBatchResult.row(i), miniBatchResult.row(i));
         }
     }
 
-    HugeObjectArray<double[]> smokeTestEmbeddingHelper(GraphSageModel model) {
-        HugeObjectArray<double[]> result = model.makeEmbeddings(graph, features);
+    @Test
+    void shouldNotDependOnInferenceBatchSize() {
+        GraphSageModel model = new GraphSageModel(CONCURRENCY, 3, List.of(mockLayer1, mockLayer2), new TestLog());
 
-        assertNotNull(result);
-        assertEquals(9, result.size());
-        for (int i = 0; i < result.size(); i++) {
-            assertEquals(3, result.get(i).length);
+        HugeFloatMatrix expected = model.makeEmbeddings(graph, features, 1, AllocationTracker.EMPTY);
+        for (int batchSize : new int[]{2, 4, (int) graph.nodeCount()}) {
+            HugeFloatMatrix actual = model.makeEmbeddings(graph, features, batchSize, AllocationTracker.EMPTY);
+            for (int i = 0; i < graph.nodeCount(); i++) {
+                assertArrayEquals(expected.row(i), actual.row(i));
+            }
         }
+    }
+
+    @Test
+    void shouldTuneInferenceBatchSizeToFreeMemory() {
+        var config = ImmutableGraphSageStreamConfig.builder()
+            .degreeAsProperty(true)
+            .concurrency(2)
+            .build();
+        long nodeCount = 1_000_000;
+
+        int batchSize = GraphSageModel.inferenceBatchSize(config, nodeCount, 100 * 1024 * 1024);
+        long batchMemory = GraphSageModel.inferenceBatchMemory(config, nodeCount, batchSize);
+
+        assertThat(batchSize, greaterThan(1));
+        assertThat(2 * batchMemory, lessThanOrEqualTo(50L * 1024 * 1024));
+        assertThat(
+            2 * GraphSageModel.inferenceBatchMemory(config, nodeCount, batchSize + 1),
+            greaterThan(50L * 1024 * 1024)
+        );
+        assertEquals(
+            nodeCount / 2,
+            GraphSageModel.inferenceBatchSize(config, nodeCount, Long.MAX_VALUE)
+        );
+        assertEquals(
+            42,
+            GraphSageModel.inferenceBatchSize(
+                ImmutableGraphSageStreamConfig.builder().from(config).inferenceBatchSize(42L).build(),
+                nodeCount,
+                0
+            )
+        );
+    }
+
+    @Test
+    void shouldCapInferenceBatchSizeToTheArrayLimit() {
+        var config = ImmutableGraphSageStreamConfig.builder()
+            .degreeAsProperty(true)
+            .embeddingSize(1024)
+            .inferenceBatchSize((long) Integer.MAX_VALUE)
+            .build();
+        long nodeCount = 10_000_000_000L;
+        long arrayLimit = Integer.MAX_VALUE - 8;
+
+        int configuredBatchSize = GraphSageModel.inferenceBatchSize(config, nodeCount, 0);
+        int tunedBatchSize = GraphSageModel.inferenceBatchSize(
+            ImmutableGraphSageStreamConfig.builder().from(config).inferenceBatchSize(Optional.empty()).build(),
+            nodeCount,
+            Long.MAX_VALUE
+        );
+
+        for (int batchSize : new int[]{configuredBatchSize, tunedBatchSize}) {
+            assertThat(GraphSageModel.largestBatchTensor(config, nodeCount, batchSize), lessThanOrEqualTo(arrayLimit));
+            assertThat(GraphSageModel.largestBatchTensor(config, nodeCount, batchSize + 1), greaterThan(arrayLimit));
+        }
+    }
+
+    HugeFloatMatrix smokeTestEmbeddingHelper(GraphSageModel model) {
+        HugeFloatMatrix result = model.makeEmbeddings(graph, features);
+
+        assertNotNull(result);
+        assertEquals(9, result.rows());
+        assertEquals(3, result.columns());
 
         return result;
     }
@@ -94,7 +94,7 @@ class GraphSageModelTrainEmbedTest extends BaseProcTest {
         var randomProjections = randomProjection.compute().embeddings();
         LongStream.range(0, nodeCount).forEach(n -> {
             double[] doubleFeatures = IntStream.range(0, FEATURES_PER_NODE)
-                .mapToDouble(i -> randomProjections.get(n)[i]).toArray();
+                .mapToDouble(i -> randomProjections.get(n, i)).toArray();
             features.set(n, doubleFeatures);
         });
 
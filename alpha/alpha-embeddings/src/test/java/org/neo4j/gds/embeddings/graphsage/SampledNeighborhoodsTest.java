@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@GdlExtension
+class SampledNeighborhoodsTest {
+
+    @GdlGraph
+    private static final String GRAPH =
+        "(x)-[]->(y)-[]->(z), (a)-[]->(b)-[]->(c), (x)-[]->(d)-[]->(e), (a)-[]->(f) , (a)-[]->(g), (a)-[]->(h)";
+
+    @Inject
+    private Graph graph;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldStoreTheSampleOfEveryNode(int concurrency) {
+        int sampleSize = 2;
+        long randomState = 1337L;
+        var neighborhoods = SampledNeighborhoods.create(
+            graph,
+            sampleSize,
+            randomState,
+            concurrency,
+            AllocationTracker.EMPTY
+        );
+
+        long[] buffer = new long[sampleSize];
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            long[] expected = UniformNeighborhoodSampler.sample(graph, nodeId, sampleSize, randomState);
+
+            assertEquals(Math.min(sampleSize, graph.degree(nodeId)), neighborhoods.sampleCount(nodeId));
+            assertArrayEquals(expected, neighborhoods.apply(graph, nodeId));
+            assertEquals(expected.length, neighborhoods.neighbors(nodeId, buffer));
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], buffer[i]);
+            }
+        }
+    }
+}
@@ -20,16 +20,18 @@
 package org.neo4j.gds.embeddings.graphsage;
 
 import org.junit.jupiter.api.Test;
-import org.neo4j.gds.embeddings.graphsage.UniformNeighborhoodSampler;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @GdlExtension
 class UniformNeighborhoodSamplerTest {
@@ -43,26 +45,50 @@ class UniformNeighborhoodSamplerTest {
 
     @Test
     void shouldSampleSubsetOfNeighbors() {
-
-        UniformNeighborhoodSampler sampler = new UniformNeighborhoodSampler();
         int numberOfSamples = 3;
-        List<Long> sample = sampler.sample(graph, 3L, numberOfSamples, 0);
+        long[] sample = UniformNeighborhoodSampler.sample(graph, 3L, numberOfSamples, 0);
 
         assertNotNull(sample);
-        assertEquals(numberOfSamples, sample.size());
-        // keep non-neighbors
-        sample.retainAll(List.of(0, 1, 2, 3, 5, 6, 7));
-        assertEquals(0, sample.size());
-
+        assertEquals(numberOfSamples, sample.length);
+        for (long neighbor : sample) {
+            assertTrue(List.of(4L, 8L, 9L, 10L).contains(neighbor));
+        }
+        assertEquals(numberOfSamples, Arrays.stream(sample).distinct().count());
     }
 
     @Test
     void shouldSampleAllNeighborsWhenNumberOfSamplesAreGreater() {
-        UniformNeighborhoodSampler sampler = new UniformNeighborhoodSampler();
         int numberOfSamples = 19;
-        List<Long> sample = sampler.sample(graph, 3L, numberOfSamples, 0);
+        long[] sample = UniformNeighborhoodSampler.sample(graph, 3L, numberOfSamples, 0);
 
         assertNotNull(sample);
-        assertEquals(4, sample.size());
+        assertEquals(4, sample.length);
+    }
+
+    @Test
+    void shouldWriteIntoBuffer() {
+        long[] buffer = new long[]{-1, -1, -1, -1, -1};
+
+        int sampled = UniformNeighborhoodSampler.sample(graph, 3L, 2, 42, buffer);
+
+        assertEquals(2, sampled);
+        assertArrayEquals(UniformNeighborhoodSampler.sample(graph, 3L, 2, 42), Arrays.copyOf(buffer, sampled));
+        assertEquals(-1, buffer[2]);
+        assertEquals(0, UniformNeighborhoodSampler.sample(graph, 2L, 2, 42, buffer));
+    }
+
+    @Test
+    void shouldSampleUniformly() {
+        int[] counts = new int[(int) graph.nodeCount()];
+        int runs = 10_000;
+        for (int randomState = 0; randomState < runs; randomState++) {
+            for (long neighbor : UniformNeighborhoodSampler.sample(graph, 3L, 2, randomState)) {
+                counts[(int) neighbor]++;
+            }
+        }
+
+        for (long neighbor : new long[]{4L, 8L, 9L, 10L}) {
+            assertEquals(0.5, counts[(int) neighbor] / (double) runs, 0.03);
+        }
     }
-}
\ No newline at end of file
+}
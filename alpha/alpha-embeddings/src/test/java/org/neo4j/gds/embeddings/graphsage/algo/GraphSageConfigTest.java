@@ -37,4 +37,11 @@ class GraphSageConfigTest {
         var throwable = assertThrows(IllegalArgumentException.class, () -> GraphSageStreamConfig.of("", Optional.empty(), Optional.empty(), mapWrapper));
         assertEquals(expectedMessage, throwable.getMessage());
     }
+
+    @Test
+    void shouldThrowIfInferenceBatchSizeIsNotPositive() {
+        var mapWrapper = CypherMapWrapper.create(Map.of("degreeAsProperty", true, "inferenceBatchSize", 0L));
+        var throwable = assertThrows(IllegalArgumentException.class, () -> GraphSageStreamConfig.of("", Optional.empty(), Optional.empty(), mapWrapper));
+        assertEquals("Value for `inferenceBatchSize` must be within [1, 2147483647], but got 0.", throwable.getMessage());
+    }
 }
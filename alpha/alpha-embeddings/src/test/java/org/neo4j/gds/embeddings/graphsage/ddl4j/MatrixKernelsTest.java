@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class MatrixKernelsTest {
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 1", "2, 3, 4", "70, 130, 65", "128, 64, 200"})
+    void shouldMatchNaiveProducts(int m, int k, int n) {
+        var random = new SplittableRandom(42);
+        double[] a = random.doubles((long) m * k).toArray();
+        double[] b = random.doubles((long) k * n).toArray();
+        double[] bTransposed = transpose(b, k, n);
+        double[] aTransposed = transpose(a, m, k);
+        double[] expected = naiveMultiply(a, b, m, k, n);
+
+        double[] result = new double[m * n];
+        MatrixKernels.multiply(a, b, result, m, k, n);
+        assertArrayEquals(expected, result);
+
+        result = new double[m * n];
+        MatrixKernels.multiplyTransB(a, bTransposed, result, m, k, n);
+        assertArrayEquals(expected, result);
+
+        result = new double[m * n];
+        MatrixKernels.multiplyTransA(aTransposed, b, result, m, k, n);
+        assertArrayEquals(expected, result);
+    }
+
+    private static double[] naiveMultiply(double[] a, double[] b, int m, int k, int n) {
+        double[] result = new double[m * n];
+        for (int row = 0; row < m; row++) {
+            for (int col = 0; col < n; col++) {
+                double sum = 0;
+                for (int shared = 0; shared < k; shared++) {
+                    sum += a[row * k + shared] * b[shared * n + col];
+                }
+                result[row * n + col] = sum;
+            }
+        }
+        return result;
+    }
+
+    private static double[] transpose(double[] matrix, int rows, int cols) {
+        double[] result = new double[rows * cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                result[col * rows + row] = matrix[row * cols + col];
+            }
+        }
+        return result;
+    }
+}
@@ -32,6 +32,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class VariableTest {
     @Test
@@ -72,4 +73,33 @@ class VariableTest {
         }
 
     }
+
+    @Test
+    void shouldReuseBuffersAfterReset() {
+        ComputationContext ctx = new ComputationContext();
+        int[] dimensions = {5};
+        var x = new Weights(Tensor.constant(5, dimensions));
+        var y = new Constant(Tensor.constant(4, dimensions));
+        var z = new TensorAdd(List.of(x, y), dimensions);
+        var w = new Sum(List.of(z));
+
+        ctx.forward(w);
+        ctx.backward(w);
+        double[] firstSum = ctx.data(z).data;
+
+        ctx.reset();
+        assertNull(ctx.data(z), "Data should be null after reset");
+        assertNull(ctx.gradient(x), "Gradient should be null after reset");
+
+        x.data().data[0] = 6;
+        ctx.forward(w);
+        ctx.backward(w);
+
+        assertSame(firstSum, ctx.data(z).data);
+        assertEquals(46D, ctx.data(w).getAtIndex(0));
+        assertEquals(10D, ctx.data(z).getAtIndex(0));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1D, ctx.gradient(x).getAtIndex(i));
+        }
+    }
 }
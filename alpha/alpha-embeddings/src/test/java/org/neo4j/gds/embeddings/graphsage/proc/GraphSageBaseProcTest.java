@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphStreamNodePropertiesProc;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 
 import java.util.stream.Stream;
@@ -74,6 +75,8 @@ class GraphSageBaseProcTest extends BaseProcTest {
     void setup() throws Exception {
         registerProcedures(
             GraphCreateProc.class,
+            GraphStreamNodePropertiesProc.class,
+            GraphSageMutateProc.class,
             GraphSageStreamProc.class,
             GraphSageWriteProc.class
         );
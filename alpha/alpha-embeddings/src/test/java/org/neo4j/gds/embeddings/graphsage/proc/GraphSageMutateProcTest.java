@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.proc;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.gds.embeddings.graphsage.ActivationFunction;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class GraphSageMutateProcTest extends GraphSageBaseProcTest {
+
+    @ParameterizedTest
+    @MethodSource("org.neo4j.gds.embeddings.graphsage.proc.GraphSageBaseProcTest#configVariations")
+    void testMutating(int embeddingSize, String aggregator, ActivationFunction activationFunction) {
+
+        String query = GdsCypher.call().explicitCreation("embeddingsGraph")
+            .algo("gds.alpha.graphSage")
+            .mutateMode()
+            .addParameter("mutateProperty", "embedding")
+            .addParameter("nodePropertyNames", List.of("age", "birth_year", "death_year"))
+            .addParameter("aggregator", aggregator)
+            .addParameter("activationFunction", activationFunction)
+            .addParameter("embeddingSize", embeddingSize)
+            .addParameter("degreeAsProperty", true)
+            .yields();
+
+        runQueryWithRowConsumer(query, row -> {
+            assertNotNull(row.get("startLoss"));
+            assertNotNull(row.get("epochLosses"));
+            assertEquals(15L, row.getNumber("nodePropertiesWritten").longValue());
+            assertNotNull(row.get("mutateMillis"));
+            assertNotNull(row.get("configuration"));
+        });
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), "embeddingsGraph").graphStore();
+        NodeProperties embeddings = graphStore.nodePropertyValues("embedding");
+
+        assertEquals(embeddingSize, embeddings.dimension());
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertEquals(embeddingSize, embeddings.floatArrayValue(nodeId).length);
+        }
+
+        runQueryWithRowConsumer(
+            "CALL gds.graph.streamNodeProperty('embeddingsGraph', 'embedding') YIELD propertyValue " +
+            "RETURN size(propertyValue) AS size",
+            row -> assertEquals(embeddingSize, row.getNumber("size").intValue())
+        );
+    }
+}
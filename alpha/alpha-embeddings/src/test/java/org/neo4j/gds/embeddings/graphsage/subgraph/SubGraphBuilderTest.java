@@ -61,13 +61,11 @@ class SubGraphBuilderTest {
     @Inject
     private Graph graph;
 
-    private UniformNeighborhoodSampler sampler;
     private NeighborhoodFunction neighborhoodFunction;
 
     @BeforeEach
     void setup() {
-        sampler = new UniformNeighborhoodSampler();
-        neighborhoodFunction = (graph, nodeId) -> sampler.sample(graph, nodeId, 100, 42);
+        neighborhoodFunction = (graph, nodeId) -> UniformNeighborhoodSampler.sample(graph, nodeId, 100, 42);
     }
 
     @Test
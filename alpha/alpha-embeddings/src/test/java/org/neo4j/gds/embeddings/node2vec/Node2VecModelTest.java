@@ -89,11 +89,10 @@ class Node2VecModelTest {
                     .flatMap(nodeId ->
                         LongStream.range(0, clusterSize)
                             .mapToObj(ignore -> {
-                                var e1 = word2Vec.getEmbeddings().get(nodeId).data();
+                                var e1 = word2Vec.getEmbeddings().row(nodeId);
                                 var e2 = word2Vec
                                     .getEmbeddings()
-                                    .get(random.nextInt(clusterSize) + (clusterId * clusterSize))
-                                    .data();
+                                    .row(random.nextInt(clusterSize) + (clusterId * clusterSize));
                                 return Intersections.cosine(e1, e2, e1.length);
                             })
                     )
@@ -116,11 +115,10 @@ class Node2VecModelTest {
                         LongStream.range(0, clusterSize)
                             .mapToObj(ignore -> {
                                 long otherClusterId = (clusterId + random.nextInt(numberOfClusters - 1) + 1) % numberOfClusters;
-                                var e1 = word2Vec.getEmbeddings().get(nodeId).data();
+                                var e1 = word2Vec.getEmbeddings().row(nodeId);
                                 var e2 = word2Vec
                                     .getEmbeddings()
-                                    .get(random.nextInt(clusterSize) + (otherClusterId * clusterSize))
-                                    .data();
+                                    .row(random.nextInt(clusterSize) + (otherClusterId * clusterSize));
                                 return Intersections.cosine(e1, e2, e1.length);
                             })
                     )
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphStreamNodePropertiesProc;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class Node2VecMutateProcTest extends Node2VecProcTest<Node2VecMutateConfig> {
+
+    @Test
+    void shouldMutateEmbeddingsAndStreamThem() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphStreamNodePropertiesProc.class);
+        runQuery(GdsCypher.call().loadEverything().graphCreate("embeddingsGraph").yields());
+
+        int embeddingSize = 42;
+        String query = GdsCypher.call().explicitCreation("embeddingsGraph")
+            .algo("gds.alpha.node2vec")
+            .mutateMode()
+            .addParameter("mutateProperty", "embedding")
+            .addParameter("embeddingSize", embeddingSize)
+            .yields();
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(5L, row.getNumber("nodePropertiesWritten").longValue());
+            assertNotNull(row.get("mutateMillis"));
+            assertNotNull(row.get("configuration"));
+        });
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), "embeddingsGraph").graphStore();
+        NodeProperties embeddings = graphStore.nodePropertyValues("embedding");
+        assertEquals(embeddingSize, embeddings.dimension());
+
+        runQueryWithRowConsumer(
+            "CALL gds.graph.streamNodeProperty('embeddingsGraph', 'embedding') YIELD propertyValue " +
+            "RETURN size(propertyValue) AS size",
+            row -> assertEquals(embeddingSize, row.getNumber("size").intValue())
+        );
+    }
+
+    @Override
+    public Class<? extends AlgoBaseProc<Node2Vec, HugeFloatMatrix, Node2VecMutateConfig>> getProcedureClazz() {
+        return Node2VecMutateProc.class;
+    }
+
+    @Override
+    public Node2VecMutateConfig createConfig(CypherMapWrapper userInput) {
+        return Node2VecMutateConfig.of(getUsername(), Optional.empty(), Optional.empty(), userInput);
+    }
+
+    @Override
+    public CypherMapWrapper createMinimalConfig(CypherMapWrapper userInput) {
+        if (!userInput.containsKey("mutateProperty")) {
+            return userInput.withString("mutateProperty", "embedding");
+        }
+        return userInput;
+    }
+}
@@ -22,12 +22,12 @@ package org.neo4j.gds.embeddings.node2vec;
 import org.junit.jupiter.api.BeforeEach;
 import org.neo4j.graphalgo.AlgoBaseProcTest;
 import org.neo4j.graphalgo.BaseProcTest;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-public abstract class Node2VecProcTest<CONFIG extends Node2VecBaseConfig> extends BaseProcTest implements AlgoBaseProcTest<Node2Vec, CONFIG, HugeObjectArray<Vector>> {
+public abstract class Node2VecProcTest<CONFIG extends Node2VecBaseConfig> extends BaseProcTest implements AlgoBaseProcTest<Node2Vec, CONFIG, HugeFloatMatrix> {
 
     private static final String DB_CYPHER =
         "CREATE" +
@@ -53,8 +53,8 @@ public abstract class Node2VecProcTest<CONFIG extends Node2VecBaseConfig> extend
         return db;
     }
 
-    public void assertResultEquals(HugeObjectArray<Vector> result1, HugeObjectArray<Vector> result2) {
+    public void assertResultEquals(HugeFloatMatrix result1, HugeFloatMatrix result2) {
         // TODO: This just tests that the dimensions are the same for node 0, it's not a very good equality test
-        assertEquals(result1.get(0).data().length, result2.get(0).data().length);
+        assertEquals(result1.columns(), result2.columns());
     }
 }
@@ -21,6 +21,7 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -30,13 +31,16 @@ import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Node2VecTest extends AlgoTestBase {
@@ -70,7 +74,7 @@ class Node2VecTest extends AlgoTestBase {
             .graph();
 
         int embeddingSize = 128;
-        HugeObjectArray<Vector> node2Vec = new Node2Vec(
+        HugeFloatMatrix node2Vec = new Node2Vec(
             graph,
             ImmutableNode2VecStreamConfig.builder().embeddingSize(embeddingSize).build(),
             progressLogger,
@@ -78,7 +82,7 @@ class Node2VecTest extends AlgoTestBase {
         ).compute();
 
         graph.forEachNode(node -> {
-                assertEquals(embeddingSize, node2Vec.get(node).data().length);
+                assertEquals(embeddingSize, node2Vec.row(node).length);
                 return true;
             }
         );
@@ -115,6 +119,61 @@ class Node2VecTest extends AlgoTestBase {
         assertTrue(testLogger.containsMessage(TestLog.INFO, ":: Finished"));
     }
 
+    @Test
+    void shouldTrainOnStreamedWalks(@TempDir Path spillDirectory) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .build()
+            .graph();
+
+        int embeddingSize = 16;
+        var streamingConfig = ImmutableNode2VecStreamConfig.builder()
+            .embeddingSize(embeddingSize)
+            .iterations(2)
+            .streamWalks(true)
+            .walkBufferSize(2)
+            .build();
+        var spillingConfig = ImmutableNode2VecStreamConfig.builder()
+            .from(streamingConfig)
+            .walkSpillDirectory(spillDirectory.toString())
+            .build();
+
+        for (Node2VecStreamConfig config : List.of(streamingConfig, spillingConfig)) {
+            HugeFloatMatrix embeddings = new Node2Vec(graph, config, progressLogger, AllocationTracker.EMPTY).compute();
+
+            assertEquals(graph.nodeCount(), embeddings.rows());
+            assertEquals(embeddingSize, embeddings.columns());
+        }
+    }
+
+    @Test
+    void shouldNotDeadlockWithMoreWalkProducersThanPoolThreads() {
+        // 4000 nodes result in 40 producer tasks, which all block on the single slot walk buffer
+        runQuery("UNWIND range(1, 2000) AS i CREATE (a:Chain)-[:REL]->(b:Chain)-[:REL]->(a)");
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Chain")
+            .build()
+            .graph();
+
+        var config = ImmutableNode2VecStreamConfig.builder()
+            .embeddingSize(8)
+            .iterations(1)
+            .walksPerNode(2)
+            .walkLength(5)
+            .concurrency(4)
+            .streamWalks(true)
+            .walkBufferSize(1)
+            .build();
+
+        HugeFloatMatrix embeddings = assertTimeoutPreemptively(
+            Duration.ofMinutes(1),
+            () -> new Node2Vec(graph, config, progressLogger, AllocationTracker.EMPTY).compute()
+        );
+
+        assertEquals(graph.nodeCount(), embeddings.rows());
+    }
+
     static Stream<Arguments> graphs() {
         return Stream.of(
             Arguments.of("All Labels", List.of()),
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.TestSupport.FactoryType.NATIVE;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -72,6 +73,23 @@ class RandomWalkTest extends AlgoTestBase {
         assertEquals(expectedStepsInWalkForNode0, walkForNodeZero.length);
     }
 
+    @Test
+    void shouldFailTheStreamWhenAWalkFails() {
+        runQuery(DEFAULT_DB_CYPHER);
+        Graph graph = TestGraphLoader.from(db).graph(NATIVE);
+        var failingStrategy = new RandomWalk.NextNodeStrategy(graph, 1, 1) {
+            @Override
+            public long getNextNode(long currentNode, long previousNode) {
+                throw new IllegalStateException("walk failed");
+            }
+        };
+        RandomWalk randomWalk = new RandomWalk(graph, 10, failingStrategy, 4, 10, 1000);
+
+        var walks = randomWalk.compute();
+        var exception = assertThrows(IllegalStateException.class, walks::count);
+        assertEquals("walk failed", exception.getMessage());
+    }
+
     @Test
     void returnFactorShouldMakeWalksIncludeStartNodeMoreOften() {
         runQuery("CREATE (a:Node)" +
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WalkSpillTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReplayWalks() throws IOException {
+        var walks = List.of(
+            new long[]{0, 1, 2, 1, 0},
+            new long[]{42},
+            new long[]{},
+            new long[]{1L << 40, 3, (1L << 40) + 7, 1L << 40}
+        );
+
+        try (var spill = WalkSpill.create(tempDir)) {
+            walks.forEach(spill::append);
+            assertEquals(walks.size(), spill.walkCount());
+
+            for (int iteration = 0; iteration < 2; iteration++) {
+                List<long[]> replayed;
+                try (var replayedWalks = spill.walks()) {
+                    replayed = replayedWalks.collect(Collectors.toList());
+                }
+
+                assertEquals(walks.size(), replayed.size());
+                for (int i = 0; i < walks.size(); i++) {
+                    assertArrayEquals(walks.get(i), replayed.get(i));
+                }
+            }
+        }
+
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
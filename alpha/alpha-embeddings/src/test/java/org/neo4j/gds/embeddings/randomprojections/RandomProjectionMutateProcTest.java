@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.randomprojections;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphStreamNodePropertiesProc;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class RandomProjectionMutateProcTest extends RandomProjectionProcTest<RandomProjectionMutateConfig> {
+
+    @Test
+    void shouldMutateEmbeddingsAndStreamThem() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphStreamNodePropertiesProc.class);
+        runQuery(GdsCypher.call()
+            .withNodeLabel("Node")
+            .withRelationshipType("REL", Orientation.UNDIRECTED)
+            .graphCreate("embeddingsGraph")
+            .yields()
+        );
+
+        int embeddingSize = 128;
+        String query = GdsCypher.call().explicitCreation("embeddingsGraph")
+            .algo("gds.alpha.randomProjection")
+            .mutateMode()
+            .addParameter("mutateProperty", "embedding")
+            .addParameter("embeddingSize", embeddingSize)
+            .addParameter("maxIterations", 1)
+            .yields();
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(2L, row.getNumber("nodePropertiesWritten").longValue());
+            assertNotNull(row.get("mutateMillis"));
+            assertNotNull(row.get("configuration"));
+        });
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), "embeddingsGraph").graphStore();
+        NodeProperties embeddings = graphStore.nodePropertyValues("embedding");
+        assertEquals(embeddingSize, embeddings.dimension());
+
+        runQueryWithRowConsumer(
+            "CALL gds.graph.streamNodeProperty('embeddingsGraph', 'embedding') YIELD propertyValue " +
+            "RETURN size(propertyValue) AS size",
+            row -> assertEquals(embeddingSize, row.getNumber("size").intValue())
+        );
+    }
+
+    @Override
+    public Class<? extends AlgoBaseProc<RandomProjection, RandomProjection, RandomProjectionMutateConfig>> getProcedureClazz() {
+        return RandomProjectionMutateProc.class;
+    }
+
+    @Override
+    public RandomProjectionMutateConfig createConfig(CypherMapWrapper userInput) {
+        return RandomProjectionMutateConfig.of(getUsername(), Optional.empty(), Optional.empty(), userInput);
+    }
+
+    @Override
+    public CypherMapWrapper createMinimalConfig(CypherMapWrapper userInput) {
+        CypherMapWrapper minimalConfig = super.createMinimalConfig(userInput);
+
+        if (!minimalConfig.containsKey("mutateProperty")) {
+            return minimalConfig.withString("mutateProperty", "embedding");
+        }
+        return minimalConfig;
+    }
+}
@@ -26,8 +26,9 @@ import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -74,14 +75,16 @@ class RandomProjectionTest extends AlgoTestBase {
         );
 
         randomProjection.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 2, AllocationTracker.EMPTY);
-        randomProjection.currentEmbedding(-1).copyTo(randomVectors, 2);
+        float[][] randomVectors = new float[2][];
+        for (int nodeId = 0; nodeId < 2; nodeId++) {
+            randomVectors[nodeId] = randomProjection.currentEmbedding(-1).row(nodeId);
+        }
         randomProjection.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = randomProjection.embeddings();
+        HugeFloatMatrix embeddings = randomProjection.embeddings();
 
         boolean isEqual = true;
         for (int i = 0; i < 128; i++) {
-            isEqual &= embeddings.get(0)[i] == randomVectors.get(1)[i];
+            isEqual &= embeddings.get(0, i) == randomVectors[1][i];
         }
         assertTrue(isEqual);
     }
@@ -104,14 +107,16 @@ class RandomProjectionTest extends AlgoTestBase {
         );
 
         randomProjection.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 3, AllocationTracker.EMPTY);
-        randomProjection.currentEmbedding(-1).copyTo(randomVectors, 3);
+        float[][] randomVectors = new float[3][];
+        for (int nodeId = 0; nodeId < 3; nodeId++) {
+            randomVectors[nodeId] = randomProjection.currentEmbedding(-1).row(nodeId);
+        }
         randomProjection.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = randomProjection.embeddings();
+        HugeFloatMatrix embeddings = randomProjection.embeddings();
 
         boolean isEqual = true;
         for (int i = 0; i < 128; i++) {
-            isEqual &= embeddings.get(0)[i] == (randomVectors.get(1)[i] + randomVectors.get(2)[i]) / 2.0f;
+            isEqual &= embeddings.get(0, i) == (randomVectors[1][i] + randomVectors[2][i]) / 2.0f;
         }
         assertTrue(isEqual);
     }
@@ -140,9 +145,9 @@ class RandomProjectionTest extends AlgoTestBase {
         double p = 1D / 6D;
         int maxNumPositive = (int) ((p + 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D); // 1:30.000.000 chance of failing :P
         int minNumPositive = (int) ((p - 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D);
-        HugeObjectArray<float[]> randomVectors = randomProjection.currentEmbedding(-1);
+        HugeFloatMatrix randomVectors = randomProjection.currentEmbedding(-1);
         for (int i = 0; i < graph.nodeCount(); i++) {
-            float[] embedding = randomVectors.get(i);
+            float[] embedding = randomVectors.row(i);
             int numZeros = 0;
             int numPositive = 0;
             for (int j = 0; j < 512; j++) {
@@ -180,12 +185,41 @@ class RandomProjectionTest extends AlgoTestBase {
         );
 
         RandomProjection computeResult = randomProjection.compute();
-        HugeObjectArray<float[]> embeddings = computeResult.embeddings();
-        for (int i = 0; i < embeddings.size(); i++) {
-            float[] embedding = embeddings.get(i);
+        HugeFloatMatrix embeddings = computeResult.embeddings();
+        for (int i = 0; i < embeddings.rows(); i++) {
+            float[] embedding = embeddings.row(i);
             for (double embeddingValue : embedding) {
                 assertEquals(0.0f, embeddingValue);
             }
         }
     }
+
+    @Test
+    void shouldComputeTheSameRandomVectorsForTheSameSeed() {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .build()
+            .graph();
+
+        var config = ImmutableRandomProjectionBaseConfig.builder()
+            .from(DEFAULT_CONFIG)
+            .randomSeed(42L)
+            .concurrency(4)
+            .build();
+        var singleThreadedConfig = ImmutableRandomProjectionBaseConfig.builder()
+            .from(config)
+            .concurrency(1)
+            .build();
+
+        HugeFloatMatrix embeddings = new RandomProjection(graph, config, progressLogger, AllocationTracker.EMPTY)
+            .compute()
+            .embeddings();
+        HugeFloatMatrix otherEmbeddings = new RandomProjection(graph, singleThreadedConfig, progressLogger, AllocationTracker.EMPTY)
+            .compute()
+            .embeddings();
+
+        for (int nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertArrayEquals(embeddings.row(nodeId), otherEmbeddings.row(nodeId));
+        }
+    }
 }
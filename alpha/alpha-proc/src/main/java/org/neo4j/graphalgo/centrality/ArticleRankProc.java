@@ -63,36 +63,38 @@ public final class ArticleRankProc extends AlgoBaseProc<PageRank, PageRank, Arti
     ) {
         ComputationResult<PageRank, PageRank, ArticleRankConfig> computationResult = compute(graphNameOrConfig, configuration);
 
-        PageRank algo = computationResult.algorithm();
-        ArticleRankConfig config = computationResult.config();
-        AllocationTracker tracker = computationResult.tracker();
-        Graph graph = computationResult.graph();
+        try (computationResult) {
+            PageRank algo = computationResult.algorithm();
+            ArticleRankConfig config = computationResult.config();
+            AllocationTracker tracker = computationResult.tracker();
+            Graph graph = computationResult.graph();
+
+            AbstractResultBuilder<PageRankScore.Stats> statsBuilder = new PageRankScore.Stats.Builder()
+                .withConfig(config)
+                .withCreateMillis(computationResult.createMillis())
+                .withComputeMillis(computationResult.computeMillis());
+
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(statsBuilder.build());
+            }
 
-        AbstractResultBuilder<PageRankScore.Stats> statsBuilder = new PageRankScore.Stats.Builder()
-            .withConfig(config)
-            .withCreateMillis(computationResult.createMillis())
-            .withComputeMillis(computationResult.computeMillis());
+            log.info("ArticleRank: overall memory usage: %s", tracker.getUsageString());
+
+            // NOTE: could not use `writeNodeProperties` just yet, as this requires changes to
+            //  the Page Rank class and therefore to all product Page Rank procs as well.
+            try(ProgressTimer ignore = ProgressTimer.start(statsBuilder::withWriteMillis)) {
+                NodePropertyExporter exporter = NodePropertyExporter
+                    .builder(api, graph, algo.getTerminationFlag())
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, config.writeConcurrency())
+                    .build();
+                algo.result().export(config.writeProperty(), exporter);
+            }
 
-        if (graph.isEmpty()) {
             graph.release();
             return Stream.of(statsBuilder.build());
         }
-
-        log.info("ArticleRank: overall memory usage: %s", tracker.getUsageString());
-
-        // NOTE: could not use `writeNodeProperties` just yet, as this requires changes to
-        //  the Page Rank class and therefore to all product Page Rank procs as well.
-        try(ProgressTimer ignore = ProgressTimer.start(statsBuilder::withWriteMillis)) {
-            NodePropertyExporter exporter = NodePropertyExporter
-                .builder(api, graph, algo.getTerminationFlag())
-                .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
-                .build();
-            algo.result().export(config.writeProperty(), exporter);
-        }
-
-        graph.release();
-        return Stream.of(statsBuilder.build());
     }
 
     @Procedure(value = "gds.alpha.articleRank.stream", mode = READ)
@@ -108,12 +110,13 @@ public final class ArticleRankProc extends AlgoBaseProc<PageRank, PageRank, Arti
         Graph graph = computationResult.graph();
 
         if (computationResult.graph().isEmpty()) {
+            computationResult.close();
             return Stream.empty();
         }
 
         log.info("ArticleRank: overall memory usage: %s", tracker.getUsageString());
 
-        return CentralityUtils.streamResults(graph, algo.result());
+        return CentralityUtils.streamResults(graph, algo.result()).onClose(computationResult::close);
     }
 
     @Override
@@ -33,6 +33,7 @@ import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.impl.closeness.CentralitySampling;
 import org.neo4j.graphalgo.impl.closeness.ClosenessCentralityConfig;
 import org.neo4j.graphalgo.impl.closeness.MSClosenessCentrality;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
@@ -71,11 +72,12 @@ public class ClosenessCentralityProc extends AlgoBaseProc<MSClosenessCentrality,
 
         if (graph.isEmpty()) {
             graph.release();
+            computationResult.close();
             return Stream.empty();
         }
 
         graph.release();
-        return algorithm.resultStream();
+        return algorithm.resultStream().onClose(computationResult::close);
     }
 
     @Procedure(value = "gds.alpha.closeness.write", mode = WRITE)
@@ -89,31 +91,33 @@ public class ClosenessCentralityProc extends AlgoBaseProc<MSClosenessCentrality,
             configuration
         );
 
-        MSClosenessCentrality algorithm = computationResult.algorithm();
-        ClosenessCentralityConfig config = computationResult.config();
-        Graph graph = computationResult.graph();
+        try (computationResult) {
+            MSClosenessCentrality algorithm = computationResult.algorithm();
+            ClosenessCentralityConfig config = computationResult.config();
+            Graph graph = computationResult.graph();
 
-        AbstractResultBuilder<CentralityScore.Stats> builder = new CentralityScore.Stats.Builder()
-            .withNodeCount(graph.nodeCount())
-            .withConfig(config)
-            .withComputeMillis(computationResult.computeMillis())
-            .withCreateMillis(computationResult.createMillis());
+            AbstractResultBuilder<CentralityScore.Stats> builder = new CentralityScore.Stats.Builder()
+                .withNodeCount(graph.nodeCount())
+                .withConfig(config)
+                .withComputeMillis(computationResult.computeMillis())
+                .withCreateMillis(computationResult.createMillis());
+
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(builder.build());
+            }
+
+            try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+                NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, computationResult.config().writeConcurrency())
+                    .build();
+                algorithm.export(config.writeProperty(), exporter);
+            }
 
-        if (graph.isEmpty()) {
             graph.release();
             return Stream.of(builder.build());
         }
-
-        try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
-            NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
-                .withLog(log)
-                .parallel(Pools.DEFAULT, computationResult.config().writeConcurrency())
-                .build();
-            algorithm.export(config.writeProperty(), exporter);
-        }
-
-        graph.release();
-        return Stream.of(builder.build());
     }
 
     @Override
@@ -157,7 +161,9 @@ public class ClosenessCentralityProc extends AlgoBaseProc<MSClosenessCentrality,
                     graph,
                     tracker,
                     configuration.concurrency(),
-                    Pools.DEFAULT, configuration.improved()
+                    Pools.DEFAULT,
+                    configuration.improved(),
+                    CentralitySampling.pivots(graph, configuration)
                 );
             }
         };
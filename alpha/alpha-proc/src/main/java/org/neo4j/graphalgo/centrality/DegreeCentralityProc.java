@@ -70,7 +70,9 @@ public class DegreeCentralityProc extends AlgoBaseProc<DegreeCentrality, DegreeC
             graphNameOrConfig,
             configuration
         );
-        return CentralityUtils.streamResults(computeResult.graph(), computeResult.algorithm().result());
+        return CentralityUtils
+            .streamResults(computeResult.graph(), computeResult.algorithm().result())
+            .onClose(computeResult::close);
     }
 
     private Stream<CentralityScore.Stats> write(
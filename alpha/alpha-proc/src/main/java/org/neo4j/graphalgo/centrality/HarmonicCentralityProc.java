@@ -34,6 +34,7 @@ import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.impl.closeness.CentralitySampling;
 import org.neo4j.graphalgo.impl.closeness.HarmonicCentralityConfig;
 import org.neo4j.graphalgo.impl.harmonic.HarmonicCentrality;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
@@ -70,12 +71,14 @@ public class HarmonicCentralityProc extends AlgoBaseProc<HarmonicCentrality, Har
 
         if (graph.isEmpty()) {
             graph.release();
+            computationResult.close();
             return Stream.empty();
         }
 
         return LongStream.range(0, graph.nodeCount())
             .boxed()
-            .map(nodeId -> new StreamResult(graph.toOriginalNodeId(nodeId), algorithm.getCentralityScore(nodeId)));
+            .map(nodeId -> new StreamResult(graph.toOriginalNodeId(nodeId), algorithm.getCentralityScore(nodeId)))
+            .onClose(computationResult::close);
     }
 
     @Procedure(value = "gds.alpha.closeness.harmonic.write", mode = WRITE)
@@ -86,37 +89,39 @@ public class HarmonicCentralityProc extends AlgoBaseProc<HarmonicCentrality, Har
     ) {
         var computationResult = compute(graphNameOrConfig, configuration);
 
-        var algorithm = computationResult.algorithm();
-        var config = computationResult.config();
-        var graph = computationResult.graph();
+        try (computationResult) {
+            var algorithm = computationResult.algorithm();
+            var config = computationResult.config();
+            var graph = computationResult.graph();
 
-        AbstractResultBuilder<CentralityScore.Stats> builder = new CentralityScore.Stats.Builder()
-            .withNodeCount(graph.nodeCount())
-            .withConfig(config)
-            .withComputeMillis(computationResult.computeMillis())
-            .withCreateMillis(computationResult.createMillis());
+            AbstractResultBuilder<CentralityScore.Stats> builder = new CentralityScore.Stats.Builder()
+                .withNodeCount(graph.nodeCount())
+                .withConfig(config)
+                .withComputeMillis(computationResult.computeMillis())
+                .withCreateMillis(computationResult.createMillis());
 
-        if (graph.isEmpty()) {
-            graph.release();
-            return Stream.of(builder.build());
-        }
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(builder.build());
+            }
 
-        try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
-            NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
-                .withLog(log)
-                .parallel(Pools.DEFAULT, computationResult.config().writeConcurrency())
-                .build();
+            try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+                NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, computationResult.config().writeConcurrency())
+                    .build();
 
-            PropertyTranslator.OfDouble<HarmonicCentrality> translator = HarmonicCentrality::getCentralityScore;
+                PropertyTranslator.OfDouble<HarmonicCentrality> translator = HarmonicCentrality::getCentralityScore;
 
-            exporter.write(
-                config.writeProperty(),
-                computationResult.result(),
-                translator
-            );
-        }
+                exporter.write(
+                    config.writeProperty(),
+                    computationResult.result(),
+                    translator
+                );
+            }
 
-        return Stream.of(builder.build());
+            return Stream.of(builder.build());
+        }
     }
 
     @Override
@@ -155,7 +160,8 @@ public class HarmonicCentralityProc extends AlgoBaseProc<HarmonicCentrality, Har
                     graph,
                     tracker,
                     configuration.concurrency(),
-                    Pools.DEFAULT
+                    Pools.DEFAULT,
+                    CentralitySampling.pivots(graph, configuration)
                 );
             }
         };
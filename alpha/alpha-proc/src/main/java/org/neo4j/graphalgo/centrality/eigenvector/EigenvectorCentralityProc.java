@@ -60,37 +60,39 @@ public final class EigenvectorCentralityProc extends AlgoBaseProc<PageRank, Page
             graphNameOrConfig,
             configuration
         );
-        PageRank algorithm = computationResult.algorithm();
-        Graph graph = computationResult.graph();
-        CentralityResultWithStatistics stats = CentralityResultWithStatistics.of(algorithm.result(), computationResult.config().concurrency());
-        EigenvectorCentralityConfig config = computationResult.config();
-        CentralityResult normalizedResults = normalization(config.normalization()).apply(stats);
+        try (computationResult) {
+            PageRank algorithm = computationResult.algorithm();
+            Graph graph = computationResult.graph();
+            CentralityResultWithStatistics stats = CentralityResultWithStatistics.of(algorithm.result(), computationResult.config().concurrency());
+            EigenvectorCentralityConfig config = computationResult.config();
+            CentralityResult normalizedResults = normalization(config.normalization()).apply(stats);
 
-        AbstractResultBuilder<PageRankScore.Stats> statsBuilder = new PageRankScore.Stats.Builder()
-            .withIterations(algorithm.iterations())
-            .withDampingFactor(algorithm.dampingFactor())
-            .withConfig(config)
-            .withCreateMillis(computationResult.createMillis())
-            .withComputeMillis(computationResult.computeMillis());
+            AbstractResultBuilder<PageRankScore.Stats> statsBuilder = new PageRankScore.Stats.Builder()
+                .withIterations(algorithm.iterations())
+                .withDampingFactor(algorithm.dampingFactor())
+                .withConfig(config)
+                .withCreateMillis(computationResult.createMillis())
+                .withComputeMillis(computationResult.computeMillis());
+
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(statsBuilder.build());
+            }
+
+            // NOTE: could not use `writeNodeProperties` just yet, as this requires changes to
+            //  the Page Rank class and therefore to all product Page Rank procs as well.
+            try(ProgressTimer ignore = ProgressTimer.start(statsBuilder::withWriteMillis)) {
+                NodePropertyExporter exporter = NodePropertyExporter
+                    .builder(api, computationResult.graph(), algorithm.getTerminationFlag())
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, config.writeConcurrency())
+                    .build();
+                normalizedResults.export(config.writeProperty(), exporter);
+            }
 
-        if (graph.isEmpty()) {
             graph.release();
             return Stream.of(statsBuilder.build());
         }
-
-        // NOTE: could not use `writeNodeProperties` just yet, as this requires changes to
-        //  the Page Rank class and therefore to all product Page Rank procs as well.
-        try(ProgressTimer ignore = ProgressTimer.start(statsBuilder::withWriteMillis)) {
-            NodePropertyExporter exporter = NodePropertyExporter
-                .builder(api, computationResult.graph(), algorithm.getTerminationFlag())
-                .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
-                .build();
-            normalizedResults.export(config.writeProperty(), exporter);
-        }
-
-        graph.release();
-        return Stream.of(statsBuilder.build());
     }
 
     @Procedure(name = "gds.alpha.eigenvector.stream", mode = READ)
@@ -105,7 +107,9 @@ public final class EigenvectorCentralityProc extends AlgoBaseProc<PageRank, Page
         );
         CentralityResultWithStatistics centralityResult = CentralityResultWithStatistics.of(computationResult.result().result(), computationResult.config().concurrency());
         String normalization = computationResult.config().normalization();
-        return CentralityUtils.streamResults(computationResult.graph(), normalization(normalization).apply(centralityResult));
+        return CentralityUtils
+            .streamResults(computationResult.graph(), normalization(normalization).apply(centralityResult))
+            .onClose(computationResult::close);
     }
 
 
@@ -64,48 +64,50 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
     ) {
         ComputationResult<SccAlgorithm, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
 
-        SccAlgorithm algorithm = computationResult.algorithm();
-        HugeLongArray components = computationResult.result();
-        SccConfig config = computationResult.config();
-        AllocationTracker tracker = computationResult.tracker();
-        Graph graph = computationResult.graph();
+        try (computationResult) {
+            SccAlgorithm algorithm = computationResult.algorithm();
+            HugeLongArray components = computationResult.result();
+            SccConfig config = computationResult.config();
+            AllocationTracker tracker = computationResult.tracker();
+            Graph graph = computationResult.graph();
 
-        AbstractResultBuilder<SccResult> writeBuilder = new SccResultBuilder(
-            callContext,
-            computationResult.tracker()
-        )
-            .buildCommunityCount(true)
-            .buildHistogram(true)
-            .withCommunityFunction(components != null ? components::get : null)
-            .withNodeCount(graph.nodeCount())
-            .withConfig(config)
-            .withCreateMillis(computationResult.createMillis())
-            .withComputeMillis(computationResult.computeMillis());
+            AbstractResultBuilder<SccResult> writeBuilder = new SccResultBuilder(
+                callContext,
+                computationResult.tracker()
+            )
+                .buildCommunityCount(true)
+                .buildHistogram(true)
+                .withCommunityFunction(components != null ? components::get : null)
+                .withNodeCount(graph.nodeCount())
+                .withConfig(config)
+                .withCreateMillis(computationResult.createMillis())
+                .withComputeMillis(computationResult.computeMillis());
 
-        if (graph.isEmpty()) {
-            graph.release();
-            return Stream.of(writeBuilder.build());
-        }
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(writeBuilder.build());
+            }
 
-        log.info("Scc: overall memory usage: %s", tracker.getUsageString());
+            log.info("Scc: overall memory usage: %s", tracker.getUsageString());
 
-        try (ProgressTimer ignored = ProgressTimer.start(writeBuilder::withWriteMillis)) {
-            NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
-                .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
-                .build();
-            exporter
-                .write(
-                    config.writeProperty(),
-                    components,
-                    HugeLongArray.Translator.INSTANCE
-                );
+            try (ProgressTimer ignored = ProgressTimer.start(writeBuilder::withWriteMillis)) {
+                NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, config.writeConcurrency())
+                    .build();
+                exporter
+                    .write(
+                        config.writeProperty(),
+                        components,
+                        HugeLongArray.Translator.INSTANCE
+                    );
 
-            writeBuilder.withNodePropertiesWritten(exporter.propertiesWritten());
-        }
+                writeBuilder.withNodePropertiesWritten(exporter.propertiesWritten());
+            }
 
-        graph.release();
-        return Stream.of(writeBuilder.build());
+            graph.release();
+            return Stream.of(writeBuilder.build());
+        }
     }
 
     @Procedure(value = "gds.alpha.scc.stream", mode = READ)
@@ -122,6 +124,7 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
 
         if (graph.isEmpty()) {
             graph.release();
+            computationResult.close();
             return Stream.empty();
         }
 
@@ -130,7 +133,8 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
 
         return LongStream.range(0, graph.nodeCount())
                 .filter(i -> components.get(i) != -1)
-                .mapToObj(i -> new SccAlgorithm.StreamResult(graph.toOriginalNodeId(i), components.get(i)));
+                .mapToObj(i -> new SccAlgorithm.StreamResult(graph.toOriginalNodeId(i), components.get(i)))
+                .onClose(computationResult::close);
     }
 
     @Override
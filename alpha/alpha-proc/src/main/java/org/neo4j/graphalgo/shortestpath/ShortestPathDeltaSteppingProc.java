@@ -76,10 +76,11 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
         );
 
         if (computationResult.graph().isEmpty()) {
+            computationResult.close();
             return Stream.empty();
         }
 
-        return computationResult.result().resultStream();
+        return computationResult.result().resultStream().onClose(computationResult::close);
     }
 
     @Procedure(value = "gds.alpha.shortestPath.deltaStepping.write", mode = WRITE)
@@ -93,31 +94,33 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
             configuration
         );
 
-        Graph graph = computationResult.graph();
-        ShortestPathDeltaStepping algorithm = computationResult.algorithm();
-        ShortestPathDeltaSteppingConfig config = computationResult.config();
+        try (computationResult) {
+            Graph graph = computationResult.graph();
+            ShortestPathDeltaStepping algorithm = computationResult.algorithm();
+            ShortestPathDeltaSteppingConfig config = computationResult.config();
 
-        AbstractResultBuilder<DeltaSteppingProcResult> builder = DeltaSteppingProcResult.builder()
-            .withNodeCount(graph.nodeCount());
+            AbstractResultBuilder<DeltaSteppingProcResult> builder = DeltaSteppingProcResult.builder()
+                .withNodeCount(graph.nodeCount());
 
-        if (graph.isEmpty()) {
-            return Stream.empty();
-        }
+            if (graph.isEmpty()) {
+                return Stream.empty();
+            }
 
-        try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
-            NodePropertyExporter
-                .builder(api, graph, algorithm.getTerminationFlag())
-                .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
-                .build()
-                .write(
-                    config.writeProperty(),
-                    algorithm.getShortestPaths(),
-                    Translators.DOUBLE_ARRAY_TRANSLATOR
-                );
-        }
+            try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+                NodePropertyExporter
+                    .builder(api, graph, algorithm.getTerminationFlag())
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, config.writeConcurrency())
+                    .build()
+                    .write(
+                        config.writeProperty(),
+                        algorithm.getShortestPaths(),
+                        Translators.DOUBLE_ARRAY_TRANSLATOR
+                    );
+            }
 
-        return Stream.of(builder.build());
+            return Stream.of(builder.build());
+        }
     }
 
     @Override
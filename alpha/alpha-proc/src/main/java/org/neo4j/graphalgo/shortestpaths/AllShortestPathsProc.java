@@ -57,10 +57,11 @@ public class AllShortestPathsProc extends AlgoBaseProc<MSBFSASPAlgorithm, Stream
 
         if (computationResult.isGraphEmpty()) {
             computationResult.graph().release();
+            computationResult.close();
             return Stream.empty();
         }
 
-        return computationResult.result();
+        return computationResult.result().onClose(computationResult::close);
     }
 
     @Override
@@ -70,7 +70,7 @@ public class DijkstraProc extends AlgoBaseProc<ShortestPathDijkstra, ShortestPat
             graphNameOrConfig,
             configuration
         );
-        return computationResult.algorithm().resultStream();
+        return computationResult.algorithm().resultStream().onClose(computationResult::close);
     }
 
     @Procedure(value = "gds.alpha.shortestPath.write", mode = WRITE)
@@ -84,39 +84,41 @@ public class DijkstraProc extends AlgoBaseProc<ShortestPathDijkstra, ShortestPat
             graphNameOrConfig,
             configuration
         );
-        DijkstraResult.Builder builder = DijkstraResult.builder();
-        builder.withCreateMillis(computationResult.createMillis());
-        builder.withComputeMillis(computationResult.computeMillis());
+        try (computationResult) {
+            DijkstraResult.Builder builder = DijkstraResult.builder();
+            builder.withCreateMillis(computationResult.createMillis());
+            builder.withComputeMillis(computationResult.computeMillis());
 
-        Graph graph = computationResult.graph();
-        ShortestPathDijkstra dijkstra = computationResult.algorithm();
+            Graph graph = computationResult.graph();
+            ShortestPathDijkstra dijkstra = computationResult.algorithm();
+
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(builder.build());
+            }
+
+            builder.withNodeCount(dijkstra.getPathLength())
+                   .withTotalCosts(dijkstra.getTotalCost());
+
+            try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+                final IntArrayDeque finalPath = dijkstra.getFinalPath();
+                final double[] finalPathCost = dijkstra.getFinalPathCosts();
+                dijkstra.release();
+
+                DequeMapping mapping = new DequeMapping(graph, finalPath);
+                NodePropertyExporter.builder(api, mapping, dijkstra.getTerminationFlag())
+                    .withLog(log)
+                    .build()
+                    .write(
+                        computationResult.config().writeProperty(),
+                        finalPathCost,
+                        Translators.DOUBLE_ARRAY_TRANSLATOR
+                    );
+            }
 
-        if (graph.isEmpty()) {
             graph.release();
             return Stream.of(builder.build());
         }
-
-        builder.withNodeCount(dijkstra.getPathLength())
-               .withTotalCosts(dijkstra.getTotalCost());
-
-        try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
-            final IntArrayDeque finalPath = dijkstra.getFinalPath();
-            final double[] finalPathCost = dijkstra.getFinalPathCosts();
-            dijkstra.release();
-
-            DequeMapping mapping = new DequeMapping(graph, finalPath);
-            NodePropertyExporter.builder(api, mapping, dijkstra.getTerminationFlag())
-                .withLog(log)
-                .build()
-                .write(
-                    computationResult.config().writeProperty(),
-                    finalPathCost,
-                    Translators.DOUBLE_ARRAY_TRANSLATOR
-                );
-        }
-
-        graph.release();
-        return Stream.of(builder.build());
     }
 
     @Override
@@ -90,6 +90,7 @@ public class KShortestPathsProc extends AlgoBaseProc<YensKShortestPaths, YensKSh
 
         if (graph.isEmpty() || algorithm == null) {
             graph.release();
+            computationResult.close();
             return Stream.empty();
         }
 
@@ -124,7 +125,7 @@ public class KShortestPathsProc extends AlgoBaseProc<YensKShortestPaths, YensKSh
             }
 
             return new KspStreamResult(counter.v++, nodeIds, path, costs);
-        });
+        }).onClose(computationResult::close);
     }
 
     @Override
@@ -146,33 +147,35 @@ public class KShortestPathsProc extends AlgoBaseProc<YensKShortestPaths, YensKSh
             configuration
         );
 
-        KspResult.Builder builder = new KspResult.Builder();
-        builder.withCreateMillis(computationResult.createMillis());
-        builder.withComputeMillis(computationResult.computeMillis());
+        try (computationResult) {
+            KspResult.Builder builder = new KspResult.Builder();
+            builder.withCreateMillis(computationResult.createMillis());
+            builder.withComputeMillis(computationResult.computeMillis());
 
-        Graph graph = computationResult.graph();
-        YensKShortestPaths algorithm = computationResult.algorithm();
-        YensKShortestPathsConfig config = computationResult.config();
+            Graph graph = computationResult.graph();
+            YensKShortestPaths algorithm = computationResult.algorithm();
+            YensKShortestPathsConfig config = computationResult.config();
+
+            if (graph.isEmpty() || algorithm == null) {
+                ReleaseBlockedGraph.runRelease(graph);
+                return Stream.of(builder.build());
+            }
+
+            builder.withResultCount(algorithm.getPaths().size());
+            try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+                new WeightedPathExporter(
+                    SecureTransaction.of(api),
+                    Pools.DEFAULT,
+                    graph,
+                    graph,
+                    config.writePropertyPrefix(),
+                    config.relationshipWriteProperty()
+                ).export(algorithm.getPaths());
+            }
 
-        if (graph.isEmpty() || algorithm == null) {
             ReleaseBlockedGraph.runRelease(graph);
             return Stream.of(builder.build());
         }
-
-        builder.withResultCount(algorithm.getPaths().size());
-        try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
-            new WeightedPathExporter(
-                SecureTransaction.of(api),
-                Pools.DEFAULT,
-                graph,
-                graph,
-                config.writePropertyPrefix(),
-                config.relationshipWriteProperty()
-            ).export(algorithm.getPaths());
-        }
-
-        ReleaseBlockedGraph.runRelease(graph);
-        return Stream.of(builder.build());
     }
 
     @Override
@@ -60,11 +60,12 @@ public class ShortestPathAStarProc extends AlgoBaseProc<ShortestPathAStar, Short
         Graph graph = computationResult.graph();
         if (graph.isEmpty()) {
             graph.release();
+            computationResult.close();
             return Stream.empty();
         }
 
         ShortestPathAStar algo = computationResult.algorithm();
-        return algo.resultStream();
+        return algo.resultStream().onClose(computationResult::close);
     }
 
     @Override
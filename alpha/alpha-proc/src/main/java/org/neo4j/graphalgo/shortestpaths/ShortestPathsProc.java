@@ -62,10 +62,11 @@ public class ShortestPathsProc extends AlgoBaseProc<ShortestPaths, ShortestPaths
         );
 
         if (computationResult.graph().isEmpty()) {
+            computationResult.close();
             return Stream.empty();
         }
 
-        return computationResult.algorithm().resultStream();
+        return computationResult.algorithm().resultStream().onClose(computationResult::close);
     }
 
     @Procedure(value = "gds.alpha.shortestPaths.write", mode = WRITE)
@@ -79,26 +80,28 @@ public class ShortestPathsProc extends AlgoBaseProc<ShortestPaths, ShortestPaths
             configuration
         );
 
-        final ShortestPaths algorithm = computationResult.algorithm();
+        try (computationResult) {
+            final ShortestPaths algorithm = computationResult.algorithm();
 
-        ShortestPathResult.Builder builder = ShortestPathResult.builder();
-        try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
-            IntDoubleMap shortestPaths = algorithm.getShortestPaths();
-            algorithm.release();
+            ShortestPathResult.Builder builder = ShortestPathResult.builder();
+            try(ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+                IntDoubleMap shortestPaths = algorithm.getShortestPaths();
+                algorithm.release();
 
-            ShortestPathsConfig config = computationResult.config();
-            NodePropertyExporter.builder(api, computationResult.graph(), algorithm.getTerminationFlag())
-                .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
-                .build()
-                .write(
-                    config.writeProperty(),
-                    shortestPaths,
-                    Translators.INT_DOUBLE_MAP_TRANSLATOR
-                );
-        }
+                ShortestPathsConfig config = computationResult.config();
+                NodePropertyExporter.builder(api, computationResult.graph(), algorithm.getTerminationFlag())
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, config.writeConcurrency())
+                    .build()
+                    .write(
+                        config.writeProperty(),
+                        shortestPaths,
+                        Translators.INT_DOUBLE_MAP_TRANSLATOR
+                    );
+            }
 
-        return Stream.of(builder.build());
+            return Stream.of(builder.build());
+        }
     }
 
     @Override
@@ -140,15 +140,17 @@ public class ApproxNearestNeighborsProc extends SimilarityProc<ApproxNearestNeig
             configuration
         );
 
-        ApproximateNearestNeighborsConfig config = computationResult.config();
-        SimilarityAlgorithmResult result = computationResult.result();
-        assert result != null;
+        try (computationResult) {
+            ApproximateNearestNeighborsConfig config = computationResult.config();
+            SimilarityAlgorithmResult result = computationResult.result();
+            assert result != null;
 
-        if (result.isEmpty()) {
-            return emptyStreamResult(result, config, computationResult.algorithm());
-        }
+            if (result.isEmpty()) {
+                return emptyStreamResult(result, config, computationResult.algorithm());
+            }
 
-        return writeAndAggregateANNResults(result, config, computationResult.algorithm());
+            return writeAndAggregateANNResults(result, config, computationResult.algorithm());
+        }
     }
 
     private Stream<ApproxSimilaritySummaryResult> emptyStreamResult(
@@ -73,7 +73,7 @@ abstract class SimilarityProc
         SimilarityAlgorithmResult result = compute.result();
         assert result != null;
 
-        return result.stream();
+        return result.stream().onClose(compute::close);
     }
 
     Stream<SimilaritySummaryResult> write(
@@ -85,15 +85,17 @@ abstract class SimilarityProc
             configuration
         );
 
-        CONFIG config = compute.config();
-        SimilarityAlgorithmResult result = compute.result();
-        assert result != null;
+        try (compute) {
+            CONFIG config = compute.config();
+            SimilarityAlgorithmResult result = compute.result();
+            assert result != null;
 
-        if (result.isEmpty()) {
-            return emptyStream(config.writeRelationshipType(), config.writeProperty());
-        }
+            if (result.isEmpty()) {
+                return emptyStream(config.writeRelationshipType(), config.writeProperty());
+            }
 
-        return writeAndAggregateResults(result, config, compute.algorithm().getTerminationFlag());
+            return writeAndAggregateResults(result, config, compute.algorithm().getTerminationFlag());
+        }
     }
 
     Stream<SimilarityStatsResult> stats(
@@ -105,34 +107,36 @@ abstract class SimilarityProc
             configuration
         );
 
-        SimilarityAlgorithmResult result = compute.result();
-        assert result != null;
+        try (compute) {
+            SimilarityAlgorithmResult result = compute.result();
+            assert result != null;
+
+            if (result.isEmpty()) {
+                return Stream.of(SimilarityStatsResult.from(
+                    0,
+                    0,
+                    0,
+                    new AtomicLong(0),
+                    -1,
+                    new DoubleHistogram(HISTOGRAM_PRECISION_DEFAULT)
+                ));
+            }
 
-        if (result.isEmpty()) {
+            AtomicLong similarityPairs = new AtomicLong();
+            DoubleHistogram histogram = new DoubleHistogram(HISTOGRAM_PRECISION_DEFAULT);
+            result.stream().forEach(recorder -> {
+                recorder.record(histogram);
+                similarityPairs.getAndIncrement();
+            });
             return Stream.of(SimilarityStatsResult.from(
-                0,
-                0,
-                0,
-                new AtomicLong(0),
-                -1,
-                new DoubleHistogram(HISTOGRAM_PRECISION_DEFAULT)
+                result.nodes(),
+                result.sourceIdsLength(),
+                result.targetIdsLength(),
+                similarityPairs,
+                result.computations().map(Computations::count).orElse(-1L),
+                histogram
             ));
         }
-
-        AtomicLong similarityPairs = new AtomicLong();
-        DoubleHistogram histogram = new DoubleHistogram(HISTOGRAM_PRECISION_DEFAULT);
-        result.stream().forEach(recorder -> {
-            recorder.record(histogram);
-            similarityPairs.getAndIncrement();
-        });
-        return Stream.of(SimilarityStatsResult.from(
-            result.nodes(),
-            result.sourceIdsLength(),
-            result.targetIdsLength(),
-            similarityPairs,
-            result.computations().map(Computations::count).orElse(-1L),
-            histogram
-        ));
     }
     abstract ALGO newAlgo(CONFIG config);
 
@@ -83,36 +83,38 @@ public class KSpanningTreeProc extends AlgoBaseProc<KSpanningTree, SpanningTree,
     public Stream<Prim.Result> computeAndWrite(Object graphNameOrConfig, Map<String, Object> configuration) {
         ComputationResult<KSpanningTree, SpanningTree, KSpanningTreeConfig> computationResult = compute(graphNameOrConfig, configuration);
 
-        Graph graph = computationResult.graph();
-        SpanningTree spanningTree = computationResult.result();
-        KSpanningTreeConfig config = computationResult.config();
+        try (computationResult) {
+            Graph graph = computationResult.graph();
+            SpanningTree spanningTree = computationResult.result();
+            KSpanningTreeConfig config = computationResult.config();
 
-        Prim.Builder builder = new Prim.Builder();
+            Prim.Builder builder = new Prim.Builder();
 
-        if (graph.isEmpty()) {
-            graph.release();
-            return Stream.of(builder.build());
-        }
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(builder.build());
+            }
 
-        builder.withEffectiveNodeCount(spanningTree.effectiveNodeCount);
-        try (ProgressTimer ignored = ProgressTimer.start(builder::withWriteMillis)) {
-            final NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, TerminationFlag.wrap(transaction))
-                .withLog(log)
-                .parallel(Pools.DEFAULT, config.writeConcurrency())
-                .build();
+            builder.withEffectiveNodeCount(spanningTree.effectiveNodeCount);
+            try (ProgressTimer ignored = ProgressTimer.start(builder::withWriteMillis)) {
+                final NodePropertyExporter exporter = NodePropertyExporter.builder(api, graph, TerminationFlag.wrap(transaction))
+                    .withLog(log)
+                    .parallel(Pools.DEFAULT, config.writeConcurrency())
+                    .build();
 
-            exporter.write(
-                config.writeProperty(),
-                spanningTree,
-                SpanningTree.TRANSLATOR
-            );
+                exporter.write(
+                    config.writeProperty(),
+                    spanningTree,
+                    SpanningTree.TRANSLATOR
+                );
 
-            builder.withNodePropertiesWritten(exporter.propertiesWritten());
-        }
+                builder.withNodePropertiesWritten(exporter.propertiesWritten());
+            }
 
-        builder.withComputeMillis(computationResult.computeMillis());
-        builder.withCreateMillis(computationResult.createMillis());
-        return Stream.of(builder.build());
+            builder.withComputeMillis(computationResult.computeMillis());
+            builder.withCreateMillis(computationResult.createMillis());
+            return Stream.of(builder.build());
+        }
     }
 
     @Override
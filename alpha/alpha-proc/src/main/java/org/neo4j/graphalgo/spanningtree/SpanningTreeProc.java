@@ -90,33 +90,35 @@ public class SpanningTreeProc extends AlgoBaseProc<Prim, SpanningTree, SpanningT
     private Stream<Prim.Result> computeAndWrite(Object graphNameOrConfig, Map<String, Object> configuration) {
         ComputationResult<Prim, SpanningTree, SpanningTreeConfig> computationResult = compute(graphNameOrConfig, configuration);
 
-        Graph graph = computationResult.graph();
-        Prim prim = computationResult.algorithm();
-        SpanningTree spanningTree = computationResult.result();
-        SpanningTreeConfig config = computationResult.config();
+        try (computationResult) {
+            Graph graph = computationResult.graph();
+            Prim prim = computationResult.algorithm();
+            SpanningTree spanningTree = computationResult.result();
+            SpanningTreeConfig config = computationResult.config();
 
-        Prim.Builder builder = new Prim.Builder();
+            Prim.Builder builder = new Prim.Builder();
 
-        if (graph.isEmpty()) {
-            graph.release();
-            return Stream.of(builder.build());
-        }
+            if (graph.isEmpty()) {
+                graph.release();
+                return Stream.of(builder.build());
+            }
 
-        builder.withEffectiveNodeCount(spanningTree.effectiveNodeCount);
-        try (ProgressTimer ignored = ProgressTimer.start(builder::withWriteMillis)) {
-            RelationshipExporter.of(
-                api,
-                new SpanningGraph(graph, spanningTree),
-                prim.getTerminationFlag()
-            )
-                .withLog(log)
-                .build()
-                .write(config.writeProperty(), config.weightWriteProperty());
+            builder.withEffectiveNodeCount(spanningTree.effectiveNodeCount);
+            try (ProgressTimer ignored = ProgressTimer.start(builder::withWriteMillis)) {
+                RelationshipExporter.of(
+                    api,
+                    new SpanningGraph(graph, spanningTree),
+                    prim.getTerminationFlag()
+                )
+                    .withLog(log)
+                    .build()
+                    .write(config.writeProperty(), config.weightWriteProperty());
 
+            }
+            builder.withComputeMillis(computationResult.computeMillis());
+            builder.withCreateMillis(computationResult.createMillis());
+            return Stream.of(builder.build());
         }
-        builder.withComputeMillis(computationResult.computeMillis());
-        builder.withCreateMillis(computationResult.createMillis());
-        return Stream.of(builder.build());
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.AlphaAlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.impl.traverse.Traverse;
 import org.neo4j.graphalgo.impl.traverse.TraverseConfig;
@@ -87,6 +88,23 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
         return new AlphaAlgorithmFactory<Traverse, TraverseConfig>() {
             @Override
             public Traverse buildAlphaAlgo(Graph graph, TraverseConfig configuration, AllocationTracker tracker, Log log) {
+                validateStartNode(config.startNode(), graph);
+                config.targetNodes().stream().forEach(neoId -> validateEndNode(neoId, graph));
+
+                boolean hasMaxCost = config.relationshipWeightProperty() != null && !Double.isNaN(config.maxCost());
+                // plain and depth limited BFS can run level-synchronously in parallel
+                if (isBfs && config.targetNodes().isEmpty() && (config.maxDepth() != -1 || !hasMaxCost)) {
+                    return Traverse.parallelBfs(
+                        graph,
+                        null,
+                        config.startNode(),
+                        config.maxDepth(),
+                        config.concurrency(),
+                        Pools.DEFAULT,
+                        tracker
+                    );
+                }
+
                 Traverse.ExitPredicate exitFunction;
                 Traverse.Aggregator aggregatorFunction;
                 // target node given; terminate if target is reached
@@ -101,7 +119,7 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
                     exitFunction = (s, t, w) -> w >  config.maxDepth() ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
                     aggregatorFunction = (s, t, w) -> w + 1.;
                     // maxCost & weightProperty given; aggregate nodes with lower cost then maxCost
-                } else if (config.relationshipWeightProperty() != null && !Double.isNaN(config.maxCost())) {
+                } else if (hasMaxCost) {
                     double maxCost = config.maxCost();
                     exitFunction = (s, t, w) -> w > maxCost ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
                     aggregatorFunction = (s, t, w) -> w + graph.relationshipProperty(s, t, 0.0D);
@@ -111,9 +129,6 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
                     aggregatorFunction = (s, t, w) -> .0;
                 }
 
-                validateStartNode(config.startNode(), graph);
-                config.targetNodes().stream().forEach(neoId -> validateEndNode(neoId, graph));
-
                 return isBfs
                     ? Traverse.bfs(graph, config.startNode(), exitFunction, aggregatorFunction)
                     : Traverse.dfs(graph, config.startNode(), exitFunction, aggregatorFunction);
@@ -127,12 +142,14 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
             configuration
         );
 
-        if (computationResult.graph().isEmpty()) {
-            return Stream.empty();
-        }
+        try (computationResult) {
+            if (computationResult.graph().isEmpty()) {
+                return Stream.empty();
+            }
 
-        Traverse traverse = computationResult.algorithm();
-        long[] nodes = traverse.resultNodes();
-        return Stream.of(new WalkResult(nodes, WalkPath.toPath(transaction, nodes)));
+            Traverse traverse = computationResult.algorithm();
+            long[] nodes = traverse.resultNodes();
+            return Stream.of(new WalkResult(nodes, WalkPath.toPath(transaction, nodes)));
+        }
     }
 }
@@ -62,10 +62,11 @@ public class TriangleProc extends AlgoBaseProc<TriangleStream, Stream<TriangleSt
 
         if (graph.isEmpty()) {
             graph.release();
+            computationResult.close();
             return Stream.empty();
         }
 
-        return computationResult.result();
+        return computationResult.result().onClose(computationResult::close);
     }
 
     @Override
@@ -27,7 +27,10 @@ import org.neo4j.graphalgo.compat.Neo4jProxy;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.walking.Node2VecSampler;
 import org.neo4j.graphalgo.impl.walking.RandomWalk;
 import org.neo4j.graphalgo.impl.walking.RandomWalkConfig;
 import org.neo4j.graphalgo.impl.walking.WalkPath;
@@ -67,6 +70,7 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
 
         if (computationResult.graph().isEmpty()) {
             computationResult.graph().release();
+            computationResult.close();
             return Stream.empty();
         }
 
@@ -74,7 +78,8 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
             .map(nodes -> new WalkResult(
                 nodes,
                 computationResult.config().path() ? WalkPath.toPath(transaction, nodes) : null
-            ));
+            ))
+            .onClose(computationResult::close);
     }
 
     @Override
@@ -97,7 +102,14 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
 
                 RandomWalk.NextNodeStrategy strategy = config.mode().equalsIgnoreCase("random") ?
                     new RandomWalk.RandomNextNodeStrategy(graph, graph) :
-                    new RandomWalk.Node2VecStrategy(graph, graph, returnParam.doubleValue(), inOut.doubleValue());
+                    new RandomWalk.Node2VecStrategy(
+                        graph,
+                        graph,
+                        returnParam.doubleValue(),
+                        inOut.doubleValue(),
+                        configuration.concurrency(),
+                        tracker
+                    );
 
                 int limit = (config.walks() == -1)
                     ? Math.toIntExact(graph.nodeCount())
@@ -119,6 +131,16 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
                 )
                     .withTerminationFlag(TerminationFlag.wrap(transaction));
             }
+
+            @Override
+            public MemoryEstimation memoryEstimation(RandomWalkConfig configuration) {
+                if (configuration.mode().equalsIgnoreCase("random")) {
+                    return MemoryEstimations.empty();
+                }
+                return MemoryEstimations.builder(RandomWalk.class)
+                    .add("sampler", Node2VecSampler.memoryEstimation())
+                    .build();
+            }
         };
     }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j;
+
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Constant;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.L2Norm;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.MatrixMultiplyWithTransposedSecondOperand;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.MatrixVectorSum;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.MultiMean;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.NormalizeRows;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Sigmoid;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward and backward pass over a single mean-aggregating GraphSage layer,
+ * either with a fresh context per pass or with a context that is reset and reused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ComputationContextBenchmark {
+
+    private static final int NEIGHBORS = 10;
+
+    @Param({"100", "1000"})
+    int batchSize;
+
+    @Param({"64"})
+    int dimension;
+
+    private Variable loss;
+    private ComputationContext reusedContext;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        int nodeCount = batchSize * (NEIGHBORS + 1);
+
+        int[][] adjacency = new int[batchSize][];
+        int[] selfAdjacency = new int[batchSize];
+        for (int node = 0; node < batchSize; node++) {
+            selfAdjacency[node] = node;
+            adjacency[node] = random.ints(NEIGHBORS, batchSize, nodeCount).toArray();
+        }
+
+        var features = Constant.matrix(random.doubles((long) nodeCount * dimension).toArray(), nodeCount, dimension);
+        var weights = new Weights(Tensor.matrix(random.doubles((long) dimension * dimension).toArray(), dimension, dimension));
+        var bias = new Weights(Tensor.vector(new double[dimension]));
+
+        var means = new MultiMean(features, adjacency, selfAdjacency);
+        var product = MatrixMultiplyWithTransposedSecondOperand.of(means, weights);
+        var activations = new Sigmoid(new MatrixVectorSum(product, bias));
+        loss = new L2Norm(new NormalizeRows(activations));
+
+        reusedContext = new ComputationContext();
+    }
+
+    @Benchmark
+    public Tensor freshContext() {
+        var ctx = new ComputationContext();
+        ctx.forward(loss);
+        ctx.backward(loss);
+        return ctx.data(loss);
+    }
+
+    @Benchmark
+    public Tensor reusedContext() {
+        reusedContext.reset();
+        reusedContext.forward(loss);
+        reusedContext.backward(loss);
+        return reusedContext.data(loss);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MatrixKernelsBenchmark {
+
+    // a batch of node representations times a square weight matrix, as in a GraphSage layer
+    @Param({"100", "1000"})
+    int rows;
+
+    @Param({"64", "256"})
+    int dimension;
+
+    private double[] activations;
+    private double[] weights;
+    private double[] gradient;
+    private double[] result;
+    private double[] weightGradient;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        activations = random.doubles((long) rows * dimension).toArray();
+        weights = random.doubles((long) dimension * dimension).toArray();
+        gradient = random.doubles((long) rows * dimension).toArray();
+        result = new double[rows * dimension];
+        weightGradient = new double[dimension * dimension];
+    }
+
+    @Benchmark
+    public double[] multiplyTransB() {
+        Arrays.fill(result, 0D);
+        MatrixKernels.multiplyTransB(activations, weights, result, rows, dimension, dimension);
+        return result;
+    }
+
+    @Benchmark
+    public double[] multiply() {
+        Arrays.fill(result, 0D);
+        MatrixKernels.multiply(gradient, weights, result, rows, dimension, dimension);
+        return result;
+    }
+
+    @Benchmark
+    public double[] multiplyTransA() {
+        Arrays.fill(weightGradient, 0D);
+        MatrixKernels.multiplyTransA(gradient, activations, weightGradient, dimension, rows, dimension);
+        return weightGradient;
+    }
+}
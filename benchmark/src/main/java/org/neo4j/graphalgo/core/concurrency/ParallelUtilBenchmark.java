@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the scheduling overhead of running many small tasks, each task only burns a few CPU cycles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelUtilBenchmark {
+
+    @Param({"100", "10000"})
+    int taskCount;
+
+    @Param({"1", "4"})
+    int concurrency;
+
+    // how many tokens each task consumes, see Blackhole#consumeCPU
+    @Param({"10", "1000"})
+    int taskWork;
+
+    private List<Runnable> tasks;
+
+    @Setup
+    public void setup() {
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(() -> Blackhole.consumeCPU(taskWork));
+        }
+    }
+
+    @Benchmark
+    public void runWithConcurrency() {
+        ParallelUtil.runWithConcurrency(
+            concurrency,
+            tasks,
+            Long.MAX_VALUE,
+            1L,
+            MICROSECONDS,
+            TerminationFlag.RUNNING_TRUE,
+            Pools.DEFAULT
+        );
+    }
+
+    @Benchmark
+    public void runAll() {
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+    }
+
+    @Benchmark
+    public void runSequential() {
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+}
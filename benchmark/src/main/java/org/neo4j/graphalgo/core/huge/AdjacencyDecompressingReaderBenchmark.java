@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.core.loading.MutableIntValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AdjacencyDecompressingReaderBenchmark {
+
+    @Param({"16", "1024", "100000"})
+    int degree;
+
+    // the average gap between consecutive targets, small gaps encode into a single byte
+    @Param({"4", "100000"})
+    int averageGap;
+
+    private byte[] page;
+    private long middleTarget;
+    private AdjacencyDecompressingReader reader;
+    private MutableIntValue consumed;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        long[] deltas = new long[degree];
+        long target = 0L;
+        for (int i = 0; i < degree; i++) {
+            deltas[i] = 1L + random.nextInt(2 * averageGap);
+            target += deltas[i];
+            if (i == degree / 2) {
+                middleTarget = target;
+            }
+        }
+
+        // the same layout as the adjacency pages: the degree as a little endian int, followed by the delta encoded targets
+        page = new byte[Integer.BYTES + 10 * degree];
+        page[0] = (byte) degree;
+        page[1] = (byte) (degree >>> 8);
+        page[2] = (byte) (degree >>> 16);
+        page[3] = (byte) (degree >>> 24);
+        encodeVLongs(deltas, degree, page, Integer.BYTES);
+
+        reader = new AdjacencyDecompressingReader();
+        consumed = new MutableIntValue() {};
+    }
+
+    @Benchmark
+    public long decodeAll() {
+        int degree = reader.reset(page, 0);
+        long sum = 0L;
+        for (int remaining = degree; remaining > 0; remaining--) {
+            sum += reader.next(remaining);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long skipUntilMiddle() {
+        int degree = reader.reset(page, 0);
+        return reader.skipUntil(middleTarget, degree, consumed);
+    }
+
+    @Benchmark
+    public long advanceToMiddle() {
+        int degree = reader.reset(page, 0);
+        return reader.advance(middleTarget, degree, consumed);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.generator.RelationshipPropertyProducer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HugeGraphBenchmark {
+
+    @Param({"100000", "1000000"})
+    int nodeCount;
+
+    @Param({"10"})
+    int averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    RelationshipDistribution distribution;
+
+    private Graph graph;
+    private RelationshipIterator relationships;
+
+    @Setup
+    public void setup() {
+        graph = new RandomGraphGenerator(
+            nodeCount,
+            averageDegree,
+            distribution,
+            42L,
+            Optional.of(RelationshipPropertyProducer.random("weight", 0, 1)),
+            AllocationTracker.EMPTY
+        ).generate();
+        relationships = graph.concurrentCopy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    @Benchmark
+    public long forEachRelationship() {
+        long[] sum = {0L};
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            relationships.forEachRelationship(nodeId, (source, target) -> {
+                sum[0] += target;
+                return true;
+            });
+        }
+        return sum[0];
+    }
+
+    @Benchmark
+    public double forEachRelationshipWithProperty() {
+        double[] sum = {0D};
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            relationships.forEachRelationship(nodeId, 1D, (source, target, property) -> {
+                sum[0] += property;
+                return true;
+            });
+        }
+        return sum[0];
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Maps random ids in both directions through a {@link RangeIdMap}, whose runs of original ids
+ * are laid out in shuffled order with gaps in between. Every invocation maps a batch of ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RangeIdMapBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1", "64", "1024"})
+    int runCount;
+
+    @Param({"1048576", "100000000"})
+    long nodeCount;
+
+    private RangeIdMap idMap;
+    private long[] mappedIds;
+    private long[] originalIds;
+
+    @Setup
+    public void setup() {
+        long runLength = nodeCount / runCount;
+        List<Integer> runOrder = IntStream.range(0, runCount).boxed().collect(Collectors.toList());
+        Collections.shuffle(runOrder, new Random(42));
+
+        HugeLongArray graphIds = HugeLongArray.newArray(runLength * runCount, AllocationTracker.EMPTY);
+        for (int i = 0; i < runCount; i++) {
+            // every run is followed by a gap of its length
+            long originalStart = runOrder.get(i) * 2 * runLength;
+            long internalStart = i * runLength;
+            for (long offset = 0; offset < runLength; offset++) {
+                graphIds.set(internalStart + offset, originalStart + offset);
+            }
+        }
+        idMap = RangeIdMap.of(graphIds, LabelIndex.EMPTY, graphIds.size());
+
+        var random = new SplittableRandom(42);
+        mappedIds = new long[BATCH_SIZE];
+        originalIds = new long[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            mappedIds[i] = random.nextLong(graphIds.size());
+            originalIds[i] = graphIds.get(random.nextLong(graphIds.size()));
+        }
+    }
+
+    @Benchmark
+    public long toMappedNodeId() {
+        long sum = 0L;
+        for (long originalId : originalIds) {
+            sum += idMap.toMappedNodeId(originalId);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long toOriginalNodeId() {
+        long sum = 0L;
+        for (long mappedId : mappedIds) {
+            sum += idMap.toOriginalNodeId(mappedId);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.QueryRunner;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.EnterpriseLicensingExtension;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+
+/**
+ * Loads a graph from an impermanent database, i.e. the store scan, relationship batching,
+ * sorting and compression of {@link ScanningRelationshipsImporter}, together with the node import it depends on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ScanningRelationshipsImporterBenchmark {
+
+    @Param({"100000"})
+    int nodeCount;
+
+    @Param({"10"})
+    int averageDegree;
+
+    @Param({"1", "4"})
+    int concurrency;
+
+    @Param({"false", "true"})
+    boolean loadProperty;
+
+    private DatabaseManagementService dbms;
+    private GraphDatabaseAPI db;
+
+    @Setup
+    public void setup() {
+        dbms = new TestDatabaseManagementServiceBuilder()
+            .impermanent()
+            .noOpSystemGraphInitializer()
+            .addExtension(new EnterpriseLicensingExtension())
+            .build();
+        db = (GraphDatabaseAPI) dbms.database(DEFAULT_DATABASE_NAME);
+
+        QueryRunner.runQuery(
+            db,
+            "UNWIND range(0, $nodeCount - 1) AS id CREATE (:Node)",
+            Map.of("nodeCount", nodeCount)
+        );
+        // deterministic pseudo random targets, so that every run loads the same graph
+        QueryRunner.runQuery(
+            db,
+            "MATCH (n:Node) WITH collect(n) AS nodes " +
+            "UNWIND range(0, size(nodes) * $averageDegree - 1) AS i " +
+            "WITH nodes[i % size(nodes)] AS source, nodes[(i * 7919 + 13) % size(nodes)] AS target, i " +
+            "CREATE (source)-[:REL {weight: toFloat(i % 100)}]->(target)",
+            Map.of("averageDegree", averageDegree)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        dbms.shutdown();
+    }
+
+    @Benchmark
+    public GraphStore load() {
+        var builder = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .concurrency(concurrency);
+        if (loadProperty) {
+            builder.addRelationshipProperty(PropertyMapping.of("weight", 1D));
+        }
+        return builder.build().graphStore();
+    }
+}
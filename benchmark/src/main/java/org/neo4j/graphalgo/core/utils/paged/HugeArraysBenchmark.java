@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HugeArraysBenchmark {
+
+    // below and above a single page
+    @Param({"10000", "10000000"})
+    long size;
+
+    private static final int ACCESSES = 10_000;
+
+    private HugeLongArray longs;
+    private HugeAtomicDoubleArray doubles;
+    private long[] randomIndices;
+
+    @Setup
+    public void setup() {
+        longs = HugeLongArray.newArray(size, AllocationTracker.EMPTY);
+        longs.setAll(index -> index);
+        doubles = HugeAtomicDoubleArray.newArray(size, AllocationTracker.EMPTY);
+
+        var random = new SplittableRandom(42);
+        randomIndices = random.longs(ACCESSES, 0, size).toArray();
+    }
+
+    @Benchmark
+    public long longSequentialGet() {
+        long sum = 0L;
+        for (long i = 0; i < size; i++) {
+            sum += longs.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long longSequentialCursor() {
+        long sum = 0L;
+        try (HugeCursor<long[]> cursor = longs.initCursor(longs.newCursor())) {
+            while (cursor.next()) {
+                long[] page = cursor.array;
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    sum += page[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long longRandomGet() {
+        long sum = 0L;
+        for (long index : randomIndices) {
+            sum += longs.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void longRandomSet() {
+        for (long index : randomIndices) {
+            longs.set(index, index);
+        }
+    }
+
+    @Benchmark
+    public void atomicDoubleRandomUpdate() {
+        for (long index : randomIndices) {
+            doubles.update(index, value -> value + 1D);
+        }
+    }
+
+    // all threads update the same random indices, which is the worst case for the compare and set loop
+    @Benchmark
+    @Threads(4)
+    public void atomicDoubleContendedUpdate() {
+        for (long index : randomIndices) {
+            doubles.update(index, value -> value + 1D);
+        }
+    }
+}
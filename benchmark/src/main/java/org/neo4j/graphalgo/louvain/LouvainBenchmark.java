@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.louvain;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LouvainBenchmark {
+
+    @Param({"100000", "1000000"})
+    int nodeCount;
+
+    @Param({"10"})
+    int averageDegree;
+
+    @Param({"1", "4"})
+    int concurrency;
+
+    private Graph graph;
+    private LouvainStreamConfig config;
+
+    @Setup
+    public void setup() {
+        // Louvain is defined on undirected graphs
+        graph = new RandomGraphGenerator(
+            nodeCount,
+            averageDegree,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            Orientation.UNDIRECTED,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+        config = ImmutableLouvainStreamConfig.builder()
+            .maxLevels(10)
+            .maxIterations(10)
+            .concurrency(concurrency)
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    @Benchmark
+    public Louvain louvain() {
+        return new Louvain(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.api;
+
+import java.util.Arrays;
+
+/**
+ * Fallback {@link NeighborCursor} for iterators without a native block representation.
+ * Collects all relationships of a node via {@link RelationshipIterator#forEachRelationship(long, double, RelationshipWithPropertyConsumer)}
+ * and hands them out in blocks.
+ */
+final class BufferedNeighborCursor implements NeighborCursor, RelationshipWithPropertyConsumer {
+
+    private final RelationshipIterator iterator;
+    private final double fallbackValue;
+
+    private long[] targets;
+    private double[] properties;
+    private int length;
+    private int position;
+
+    BufferedNeighborCursor(RelationshipIterator iterator, double fallbackValue) {
+        this.iterator = iterator;
+        this.fallbackValue = fallbackValue;
+        this.targets = new long[BLOCK_SIZE];
+        this.properties = new double[BLOCK_SIZE];
+    }
+
+    @Override
+    public void init(long nodeId) {
+        length = 0;
+        position = 0;
+        iterator.forEachRelationship(nodeId, fallbackValue, this);
+    }
+
+    @Override
+    public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+        if (length == targets.length) {
+            targets = Arrays.copyOf(targets, length << 1);
+            properties = Arrays.copyOf(properties, length << 1);
+        }
+        targets[length] = targetNodeId;
+        properties[length] = property;
+        length++;
+        return true;
+    }
+
+    @Override
+    public int nextBlock(long[] targets) {
+        int count = Math.min(targets.length, length - position);
+        System.arraycopy(this.targets, position, targets, 0, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int nextBlock(long[] targets, double[] properties) {
+        int count = Math.min(targets.length, length - position);
+        System.arraycopy(this.targets, position, targets, 0, count);
+        System.arraycopy(this.properties, position, properties, 0, count);
+        position += count;
+        return count;
+    }
+}
@@ -174,4 +174,32 @@ public interface GraphStore {
     void canRelease(boolean canRelease);
 
     void release();
+
+    /**
+     * Drops the decoded form of all compressed relationship properties that are not pinned by a computation,
+     * see {@link #pinRelationshipProperties()}.
+     * They are decoded again when the properties are accessed the next time.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    default long evictRelationshipProperties() {
+        return 0L;
+    }
+
+    /**
+     * Prevents the currently decoded relationship properties from being evicted while a computation reads them.
+     *
+     * @return a handle that releases the properties again when it is closed
+     */
+    default RelationshipPropertyPin pinRelationshipProperties() {
+        return RelationshipPropertyPin.NONE;
+    }
+
+    interface RelationshipPropertyPin extends AutoCloseable {
+
+        RelationshipPropertyPin NONE = () -> {};
+
+        @Override
+        void close();
+    }
 }
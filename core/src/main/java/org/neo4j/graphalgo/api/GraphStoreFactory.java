@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.api;
 
 import com.carrotsearch.hppc.ObjectLongMap;
+import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipType;
@@ -32,7 +33,10 @@ import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.ImmutablePropertyCSR;
 import org.neo4j.graphalgo.core.huge.ImmutableTopologyCSR;
 import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.IdMap;
 import org.neo4j.graphalgo.core.loading.IdsAndProperties;
+import org.neo4j.graphalgo.core.loading.NodeOrdering;
+import org.neo4j.graphalgo.core.loading.NodeReordering;
 import org.neo4j.graphalgo.core.loading.RelationshipsBuilder;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.Assessable;
@@ -43,6 +47,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 /**
  * The Abstract Factory defines the construction of the graph
  */
@@ -117,21 +123,49 @@ public abstract class GraphStoreFactory<CONFIG extends GraphCreateConfig> implem
                     .enumerate()
                     .collect(Collectors.toMap(
                         propertyIndexAndMapping -> propertyIndexAndMapping.getTwo().propertyKey(),
-                        propertyIndexAndMapping -> ImmutablePropertyCSR.of(
-                            relationshipsBuilder.properties(propertyIndexAndMapping.getOne()),
-                            relationshipsBuilder.globalPropertyOffsets(propertyIndexAndMapping.getOne()),
-                            relationshipCount,
-                            projection.orientation(),
-                            propertyIndexAndMapping.getTwo().defaultValue()
-                        )
+                        propertyIndexAndMapping -> {
+                            int propertyIndex = propertyIndexAndMapping.getOne();
+                            AdjacencyOffsets propertyOffsets = relationshipsBuilder.globalPropertyOffsets(propertyIndex);
+                            // property columns are kept compressed and only decoded once an algorithm reads them
+                            AdjacencyList properties = AdjacencyList.compressProperties(
+                                relationshipsBuilder.properties(propertyIndex),
+                                propertyOffsets,
+                                idsAndProperties.idMap().nodeCount(),
+                                tracker
+                            );
+                            return ImmutablePropertyCSR.of(
+                                properties,
+                                propertyOffsets,
+                                relationshipCount,
+                                projection.orientation(),
+                                propertyIndexAndMapping.getTwo().defaultValue()
+                            );
+                        }
                     ));
                 relationshipProperties.put(relationshipType, propertyMap);
             }
         });
 
+        IdMap idMap = idsAndProperties.idMap();
+        Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = idsAndProperties.properties();
+
+        if (graphCreateConfig.nodeOrdering() != NodeOrdering.NONE) {
+            progressLogger.logMessage(formatWithLocale(":: Reordering nodes by %s", graphCreateConfig.nodeOrdering()));
+            NodeReordering reordering = NodeReordering.of(
+                graphCreateConfig.nodeOrdering(),
+                idMap,
+                relationships,
+                graphCreateConfig.readConcurrency(),
+                tracker
+            );
+            reordering.reorderRelationships(relationships, relationshipProperties);
+            nodeProperties = reordering.nodeProperties(nodeProperties);
+            idMap = reordering.idMap();
+        }
+
         return CSRGraphStore.of(
-            idsAndProperties.idMap(),
-            idsAndProperties.properties(),
+            idMap,
+            nodeProperties,
             relationships,
             relationshipProperties,
             graphCreateConfig.readConcurrency(),
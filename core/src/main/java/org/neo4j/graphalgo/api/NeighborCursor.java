@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.api;
+
+/**
+ * Reads the relationships of a node in blocks of primitive arrays, so that algorithms can process
+ * their neighbors in a tight loop instead of a call to a consumer per relationship.
+ * <p>
+ * A cursor is created once per thread via {@link RelationshipIterator#neighborCursor(double)}
+ * and re-used for every node:
+ * <pre>
+ * long[] targets = new long[NeighborCursor.BLOCK_SIZE];
+ * cursor.init(nodeId);
+ * int length;
+ * while ((length = cursor.nextBlock(targets)) > 0) {
+ *     for (int i = 0; i &lt; length; i++) {
+ *         // use targets[i]
+ *     }
+ * }
+ * </pre>
+ * Cursors are not thread-safe.
+ */
+public interface NeighborCursor {
+
+    /**
+     * The recommended buffer length, it matches the block size of the compressed adjacency lists.
+     */
+    int BLOCK_SIZE = 64;
+
+    /**
+     * Positions the cursor before the first relationship of the given node.
+     */
+    void init(long nodeId);
+
+    /**
+     * Copies the targets of the next relationships into {@code targets}, starting at index 0.
+     *
+     * @return the number of copied targets, at most {@code targets.length}, and 0 iff all relationships have been read
+     */
+    int nextBlock(long[] targets);
+
+    /**
+     * Copies the targets and property values of the next relationships into {@code targets} and {@code properties},
+     * starting at index 0. If the graph has no relationship property, the fallback value of the cursor is used.
+     *
+     * @return the number of copied relationships, at most {@code targets.length}, and 0 iff all relationships have been read
+     */
+    int nextBlock(long[] targets, double[] properties);
+}
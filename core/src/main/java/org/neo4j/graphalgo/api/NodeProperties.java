@@ -21,6 +21,8 @@ package org.neo4j.graphalgo.api;
 
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.values.storable.NumberType;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import java.util.OptionalLong;
 
@@ -40,6 +42,72 @@ public interface NodeProperties {
         return nodeProperty(nodeId);
     }
 
+    /**
+     * Returns the property value for a node as a {@code long}.
+     * Integral properties return the exact value, which might not be representable as a {@code double}.
+     */
+    default long longValue(long nodeId) {
+        return (long) nodeProperty(nodeId);
+    }
+
+    /**
+     * Returns the array value for a node.
+     * Implementations might return their internal storage, callers must not modify the returned array.
+     *
+     * @throws UnsupportedOperationException if the property does not hold {@code float} arrays
+     */
+    default float[] floatArrayValue(long nodeId) {
+        throw new UnsupportedOperationException("Can not read a float array from a scalar node property.");
+    }
+
+    /**
+     * Returns the array value for a node.
+     * Implementations might return their internal storage, callers must not modify the returned array.
+     *
+     * @throws UnsupportedOperationException if the property does not hold {@code double} arrays
+     */
+    default double[] doubleArrayValue(long nodeId) {
+        throw new UnsupportedOperationException("Can not read a double array from a scalar node property.");
+    }
+
+    /**
+     * Returns the array value for a node.
+     *
+     * @throws UnsupportedOperationException if the property does not hold {@code long} arrays
+     */
+    default long[] longArrayValue(long nodeId) {
+        throw new UnsupportedOperationException("Can not read a long array from a scalar node property.");
+    }
+
+    /**
+     * Copies the array value for a node into the given buffer, which must have a length of {@link #dimension()}.
+     */
+    default void copyFloatArrayValue(long nodeId, float[] target) {
+        System.arraycopy(floatArrayValue(nodeId), 0, target, 0, target.length);
+    }
+
+    /**
+     * Copies the array value for a node into the given buffer, which must have a length of {@link #dimension()}.
+     */
+    default void copyDoubleArrayValue(long nodeId, double[] target) {
+        System.arraycopy(doubleArrayValue(nodeId), 0, target, 0, target.length);
+    }
+
+    /**
+     * @return the number of values per node, which is {@code 1} for scalar properties.
+     */
+    default int dimension() {
+        return 1;
+    }
+
+    /**
+     * Returns the property value for a node as a Neo4j value, or {@code null} if the node has no value.
+     */
+    default Value value(long nodeId) {
+        double value = nodeProperty(nodeId);
+        return Double.isNaN(value) ? null : Values.doubleValue(value);
+    }
+
     /**
      * @return the maximum value contained in the mapping or an empty {@link OptionalLong} if the mapping is
      *         empty or the feature is not supported.
@@ -68,9 +136,25 @@ public interface NodeProperties {
         if (numberType == NumberType.FLOATING_POINT) {
             return (PropertyTranslator.OfDouble<NodeProperties>) NodeProperties::nodeProperty;
         } else if (numberType == NumberType.INTEGRAL) {
-            return (PropertyTranslator.OfLong<NodeProperties>) (data, nodeId) -> (long) data.nodeProperty(nodeId);
+            return (PropertyTranslator.OfLong<NodeProperties>) NodeProperties::longValue;
         } else {
-            throw new UnsupportedOperationException("Can not provide a property translator for non-numeric types.");
+            // array properties
+            return new PropertyTranslator<>() {
+                @Override
+                public Value toProperty(int propertyId, NodeProperties data, long nodeId) {
+                    return data.value(nodeId);
+                }
+
+                @Override
+                public NumberType numberType() {
+                    return NumberType.NO_NUMBER;
+                }
+
+                @Override
+                public double toDouble(NodeProperties data, long nodeId) {
+                    throw new UnsupportedOperationException("Can not translate list property to single double value.");
+                }
+            };
         }
     }
 }
@@ -45,6 +45,19 @@ public interface RelationshipIterator extends RelationshipPredicate {
 
     Stream<RelationshipCursor> streamRelationships(long nodeId, double fallbackValue);
 
+    /**
+     * Returns a new cursor that reads the relationships of a node in blocks, see {@link NeighborCursor}.
+     * The cursor is independent from other iterations of this iterator, but must not be shared between threads.
+     * <p>
+     * The default implementation buffers the relationships of every node from
+     * {@link #forEachRelationship(long, double, RelationshipWithPropertyConsumer)}.
+     *
+     * @param fallbackValue value used as relationship property if no properties were loaded
+     */
+    default NeighborCursor neighborCursor(double fallbackValue) {
+        return new BufferedNeighborCursor(this, fallbackValue);
+    }
+
     /**
      * @return a copy of this iterator that reuses new cursors internally,
      *         so that iterations happen independent from other iterations.
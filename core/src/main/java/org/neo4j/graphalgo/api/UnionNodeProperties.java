@@ -19,7 +19,9 @@
  */
 package org.neo4j.graphalgo.api;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.values.storable.Value;
 
 import java.util.Map;
 
@@ -36,6 +38,46 @@ public class UnionNodeProperties implements NodeProperties {
 
     @Override
     public double nodeProperty(long nodeId) {
+        NodeProperties nodeProperties = propertiesFor(nodeId);
+        return nodeProperties == null ? Double.NaN : nodeProperties.nodeProperty(nodeId);
+    }
+
+    @Override
+    public long longValue(long nodeId) {
+        NodeProperties nodeProperties = propertiesFor(nodeId);
+        return nodeProperties == null ? 0L : nodeProperties.longValue(nodeId);
+    }
+
+    @Override
+    public float[] floatArrayValue(long nodeId) {
+        NodeProperties nodeProperties = propertiesFor(nodeId);
+        return nodeProperties == null ? null : nodeProperties.floatArrayValue(nodeId);
+    }
+
+    @Override
+    public double[] doubleArrayValue(long nodeId) {
+        NodeProperties nodeProperties = propertiesFor(nodeId);
+        return nodeProperties == null ? null : nodeProperties.doubleArrayValue(nodeId);
+    }
+
+    @Override
+    public long[] longArrayValue(long nodeId) {
+        NodeProperties nodeProperties = propertiesFor(nodeId);
+        return nodeProperties == null ? null : nodeProperties.longArrayValue(nodeId);
+    }
+
+    @Override
+    public int dimension() {
+        return labelToNodePropertiesMap.values().stream().mapToInt(NodeProperties::dimension).findFirst().orElse(1);
+    }
+
+    @Override
+    public Value value(long nodeId) {
+        NodeProperties nodeProperties = propertiesFor(nodeId);
+        return nodeProperties == null ? null : nodeProperties.value(nodeId);
+    }
+
+    private @Nullable NodeProperties propertiesFor(long nodeId) {
         for (NodeLabel label : nodeMapping.availableNodeLabels()) {
             if (nodeMapping.hasLabel(nodeId, label)) {
                 NodeProperties nodeProperties = labelToNodePropertiesMap.get(label);
@@ -44,12 +86,11 @@ public class UnionNodeProperties implements NodeProperties {
                     // If there are multiple labels with the same property key, but different values,
                     // this might lead to issues.
                     // TODO: find out if this is an actual problem
-                    return nodeProperties.nodeProperty(nodeId);
+                    return nodeProperties;
                 }
             }
         }
-
-        return Double.NaN;
+        return null;
     }
 
     @Override
@@ -27,10 +27,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 @SuppressWarnings("immutables:subtype")
 public interface BaseConfig {
 
     String SUDO_KEY = "sudo";
+    String MEMORY_WAIT_SECONDS_KEY = "memoryWaitSeconds";
+    String MEMORY_PRIORITY_KEY = "memoryPriority";
 
     @Configuration.Parameter
     @Value.Default
@@ -45,6 +49,38 @@ public interface BaseConfig {
         return false;
     }
 
+    /**
+     * How long the procedure may wait for memory reserved by other procedures to be released.
+     * By default, the procedure fails immediately if not enough memory is available.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.Key(MEMORY_WAIT_SECONDS_KEY)
+    default long memoryWaitSeconds() {
+        return 0L;
+    }
+
+    /**
+     * Procedures with a higher priority are admitted first when waiting for memory.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.Key(MEMORY_PRIORITY_KEY)
+    default int memoryPriority() {
+        return 0;
+    }
+
+    @Value.Check
+    default void validateMemoryWaitSeconds() {
+        if (memoryWaitSeconds() < 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The value of `%s` must not be negative, but got %d.",
+                MEMORY_WAIT_SECONDS_KEY,
+                memoryWaitSeconds()
+            ));
+        }
+    }
+
     @Configuration.CollectKeys
     @Value.Auxiliary
     @Value.Default
@@ -23,6 +23,7 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.NodeOrdering;
 import org.neo4j.graphalgo.core.utils.TimeUtil;
 
 import java.time.ZonedDateTime;
@@ -75,6 +76,13 @@ public interface GraphCreateConfig extends BaseConfig {
         return false;
     }
 
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.loading.NodeOrdering#parse")
+    default NodeOrdering nodeOrdering() {
+        return NodeOrdering.NONE;
+    }
+
     @Configuration.Ignore
     GraphStoreFactory.Supplier graphStoreFactory();
 
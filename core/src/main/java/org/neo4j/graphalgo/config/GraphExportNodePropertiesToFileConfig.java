@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.config;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.export.NodePropertiesFileExport;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+@ValueClass
+@Configuration("GraphExportNodePropertiesToFileConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface GraphExportNodePropertiesToFileConfig extends GraphExportNodePropertiesConfig {
+
+    String fileName();
+
+    @Value.Default
+    default String format() {
+        return "csv";
+    }
+
+    @Value.Default
+    default int batchSize() {
+        return ParallelUtil.DEFAULT_BATCH_SIZE;
+    }
+
+    @Configuration.Ignore
+    default NodePropertiesFileExport.Format exportFormat() {
+        return NodePropertiesFileExport.Format.parse(format());
+    }
+
+    @Value.Check
+    default void validateExport() {
+        if (fileName().isBlank() || fileName().contains("/") || fileName().contains("\\") || fileName().startsWith(".")) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The file name `%s` must not be empty, start with a `.` or contain path separators.",
+                fileName()
+            ));
+        }
+        if (batchSize() <= 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The batch size must be positive, but got %d.",
+                batchSize()
+            ));
+        }
+        exportFormat();
+    }
+
+    static GraphExportNodePropertiesToFileConfig of(
+        String userName,
+        String graphName,
+        List<String> nodeProperties,
+        List<String> nodeLabels,
+        CypherMapWrapper config
+    ) {
+        return new GraphExportNodePropertiesToFileConfigImpl(
+            Optional.of(graphName),
+            nodeProperties,
+            nodeLabels,
+            userName,
+            config
+        );
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.neo4j.graphalgo.utils.ExceptionUtil.throwIfUnchecked;
+
+/**
+ * Splits the node id space into batches, produces the batches in parallel and streams them in node id order.
+ * <p>
+ * Producers are meant to fill primitive columns for a range of nodes, e.g. original node ids and property values,
+ * so that the per-node work happens on the worker threads and the consumer only has to turn the columns into rows.
+ * At most {@code 2 * concurrency} batches are produced ahead of the consumer, so that a slow consumer does not
+ * cause the whole result to be materialized. Closing the stream cancels the batches that have not been consumed.
+ */
+public final class ParallelBatchStream {
+
+    @FunctionalInterface
+    public interface BatchProducer<B> {
+        /**
+         * Produces the batch for the nodes {@code startNode} (inclusive) to {@code endNode} (exclusive).
+         * Called concurrently for different ranges.
+         */
+        B produce(long startNode, long endNode);
+    }
+
+    private ParallelBatchStream() {}
+
+    public static <B> Stream<B> stream(
+        long nodeCount,
+        int batchSize,
+        int concurrency,
+        ExecutorService executor,
+        BatchProducer<B> producer
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+        return stream(
+            nodeCount,
+            startNode -> Math.min(nodeCount, startNode + batchSize),
+            nodeCount > batchSize ? concurrency : 1,
+            executor,
+            producer
+        );
+    }
+
+    /**
+     * Like {@link #stream(long, int, int, ExecutorService, BatchProducer)}, but the batches end where
+     * {@code batchEnd} decides, e.g. to bound the number of relationships per batch.
+     *
+     * @param batchEnd returns the end (exclusive) of the batch that starts at the given node,
+     *                 it must be larger than the start and is only called from the consuming thread
+     */
+    public static <B> Stream<B> stream(
+        long nodeCount,
+        LongUnaryOperator batchEnd,
+        int concurrency,
+        ExecutorService executor,
+        BatchProducer<B> producer
+    ) {
+        OrderedBatchIterator<B> iterator = concurrency > 1
+            ? new OrderedBatchIterator<>(nodeCount, batchEnd, 2 * concurrency, executor, producer)
+            : new OrderedBatchIterator<>(nodeCount, batchEnd, 0, null, producer);
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::cancel);
+    }
+
+    private static final class OrderedBatchIterator<B> implements Iterator<B> {
+        private final long nodeCount;
+        private final LongUnaryOperator batchEnd;
+        private final int capacity;
+        private final ExecutorService executor;
+        private final BatchProducer<B> producer;
+        private final ArrayDeque<Future<B>> pending;
+
+        private long nextStart;
+
+        OrderedBatchIterator(
+            long nodeCount,
+            LongUnaryOperator batchEnd,
+            int capacity,
+            ExecutorService executor,
+            BatchProducer<B> producer
+        ) {
+            this.nodeCount = nodeCount;
+            this.batchEnd = batchEnd;
+            this.capacity = capacity;
+            this.executor = executor;
+            this.producer = producer;
+            this.pending = new ArrayDeque<>(Math.max(1, capacity));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty() || nextStart < nodeCount;
+        }
+
+        @Override
+        public B next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (executor == null) {
+                long start = nextStart;
+                nextStart = batchEnd.applyAsLong(start);
+                return producer.produce(start, nextStart);
+            }
+            submitBatches();
+            B batch = await(pending.poll());
+            submitBatches();
+            return batch;
+        }
+
+        private void submitBatches() {
+            while (pending.size() < capacity && nextStart < nodeCount) {
+                long start = nextStart;
+                long end = batchEnd.applyAsLong(start);
+                pending.add(executor.submit(() -> producer.produce(start, end)));
+                nextStart = end;
+            }
+        }
+
+        private B await(Future<B> future) {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                cancel();
+                throwIfUnchecked(e.getCause());
+                throw new RuntimeException(e.getCause());
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        void cancel() {
+            nextStart = nodeCount;
+            Future<B> future;
+            while ((future = pending.poll()) != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.LazyMappingCollection;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
 import org.neo4j.graphalgo.utils.ExceptionUtil;
 
 import java.util.ArrayList;
@@ -333,8 +334,9 @@ public final class ParallelUtil {
             futures.clear();
         }
 
+        RunTelemetry telemetry = RunTelemetry.current();
         for (Runnable task : tasks) {
-            futures.add(executor.submit(task));
+            futures.add(executor.submit(telemetry.instrument(task)));
         }
 
         return futures;
@@ -368,8 +370,9 @@ public final class ParallelUtil {
             futures.clear();
         }
 
+        RunTelemetry telemetry = RunTelemetry.current();
         for (Runnable task : tasks) {
-            futures.add(executor.submit(task));
+            futures.add(executor.submit(telemetry.instrument(task)));
         }
 
         awaitTermination(futures);
@@ -939,6 +942,7 @@ public final class ParallelUtil {
      */
     private static final class CompletionService {
         private final Executor executor;
+        private final RunTelemetry telemetry;
         private final ThreadPoolExecutor pool;
         private final int availableConcurrency;
         private final Set<Future<Void>> running;
@@ -977,6 +981,7 @@ public final class ParallelUtil {
             }
 
             this.executor = executor;
+            this.telemetry = RunTelemetry.current();
             this.running = Collections.newSetFromMap(new ConcurrentHashMap<>());
         }
 
@@ -994,7 +999,7 @@ public final class ParallelUtil {
         boolean submit(final Runnable task) {
             Objects.requireNonNull(task);
             if (canSubmit()) {
-                executor.execute(new QueueingFuture(task));
+                executor.execute(new QueueingFuture(telemetry.instrument(task)));
                 return true;
             }
             return false;
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Runs a computation over all nodes of a graph on the given executor, so that idle workers steal work
+ * from busy ones instead of waiting for the slowest batch.
+ * <p>
+ * The node id space is cut into partitions of roughly the same number of relationships,
+ * as in {@link PartitionUtils#degreePartition(Graph, long)}, so that hub-heavy ranges are short.
+ * Every worker owns a contiguous share of the partitions and processes it from the front.
+ * A worker that runs out of partitions splits the remaining share of the worker with the most remaining ones
+ * and takes the upper half as its own share, which can be split again by the next idle worker.
+ * Work therefore moves in large chunks while there is a lot left and in single partitions towards the end.
+ * At most {@code concurrency} workers are submitted to the executor, no additional threads are created.
+ * <p>
+ * Every worker gets its own state, e.g. a {@link Graph#concurrentCopy()} and local buffers,
+ * created once per worker from the given supplier.
+ * The termination flag is checked before every range, and the first failure stops all ranges that
+ * have not been started yet. Unlike {@link ParallelUtil#runWithConcurrency}, there is no polling involved.
+ */
+public final class WorkStealing {
+
+    /**
+     * The number of partitions per worker, more partitions allow for better balancing.
+     */
+    private static final int PARTITIONS_PER_THREAD = 16;
+
+    @FunctionalInterface
+    public interface NodeRangeConsumer<S> {
+        /**
+         * Processes the nodes {@code startNode} (inclusive) to {@code endNode} (exclusive).
+         * Called concurrently for different ranges, but never concurrently for the same state.
+         */
+        void accept(S state, long startNode, long endNode);
+    }
+
+    private WorkStealing() {}
+
+    /**
+     * Calls the consumer for disjoint node ranges that together cover all nodes of the graph.
+     * <p>
+     * {@code minBatchSize} is the smallest number of relationships per partition.
+     * Graphs with at most {@code minBatchSize} nodes, a concurrency of 1, or an executor that cannot
+     * run tasks in parallel are processed on the calling thread as a single range.
+     */
+    public static <S> void forEachNodeRange(
+        Graph graph,
+        int concurrency,
+        long minBatchSize,
+        TerminationFlag terminationFlag,
+        ExecutorService executor,
+        Supplier<S> stateSupplier,
+        NodeRangeConsumer<S> consumer
+    ) {
+        long nodeCount = graph.nodeCount();
+        if (nodeCount == 0) {
+            return;
+        }
+        if (concurrency <= 1 || nodeCount <= minBatchSize || !ParallelUtil.canRunInParallel(executor)) {
+            terminationFlag.assertRunning();
+            consumer.accept(stateSupplier.get(), 0, nodeCount);
+            return;
+        }
+
+        long relationshipsPerPartition = Math.max(
+            Math.max(1L, minBatchSize),
+            graph.relationshipCount() / ((long) concurrency * PARTITIONS_PER_THREAD)
+        );
+        List<Partition> partitions = PartitionUtils.degreePartition(graph, relationshipsPerPartition);
+        int workerCount = Math.min(concurrency, partitions.size());
+
+        var context = new Context<>(
+            partitions,
+            workerCount,
+            terminationFlag,
+            consumer
+        );
+
+        RunTelemetry telemetry = RunTelemetry.current();
+        Collection<Future<?>> futures = new ArrayList<>(workerCount);
+        for (int worker = 0; worker < workerCount; worker++) {
+            int workerId = worker;
+            futures.add(executor.submit(telemetry.instrument(() -> context.work(workerId, stateSupplier.get()))));
+        }
+        ParallelUtil.awaitTermination(futures);
+    }
+
+    static final class Context<S> {
+        final List<Partition> partitions;
+        final TerminationFlag terminationFlag;
+        final NodeRangeConsumer<S> consumer;
+        // the partitions [next, end) of every worker, packed as next << 32 | end
+        final AtomicLongArray queues;
+        volatile boolean failed;
+
+        Context(
+            List<Partition> partitions,
+            int workerCount,
+            TerminationFlag terminationFlag,
+            NodeRangeConsumer<S> consumer
+        ) {
+            this.partitions = partitions;
+            this.terminationFlag = terminationFlag;
+            this.consumer = consumer;
+            this.queues = new AtomicLongArray(workerCount);
+            int partitionCount = partitions.size();
+            for (int worker = 0; worker < workerCount; worker++) {
+                long next = (long) partitionCount * worker / workerCount;
+                long end = (long) partitionCount * (worker + 1) / workerCount;
+                queues.set(worker, next << 32 | end);
+            }
+        }
+
+        void work(int workerId, S state) {
+            int partitionIndex;
+            while (!failed && ((partitionIndex = takeFirst(workerId)) >= 0 || (partitionIndex = steal(workerId)) >= 0)) {
+                Partition partition = partitions.get(partitionIndex);
+                run(state, partition.startNode, partition.startNode + partition.nodeCount);
+            }
+        }
+
+        int takeFirst(int workerId) {
+            while (true) {
+                long queue = queues.get(workerId);
+                int next = (int) (queue >>> 32);
+                int end = (int) queue;
+                if (next >= end) {
+                    return -1;
+                }
+                if (queues.compareAndSet(workerId, queue, (long) (next + 1) << 32 | end)) {
+                    return next;
+                }
+            }
+        }
+
+        /**
+         * Moves the upper half of the largest remaining share to the thief, whose own share must be empty.
+         * Only the owner ever replaces an empty share, so a packed share is never seen twice and
+         * a successful CAS on the victim's share cannot hand out a partition twice.
+         *
+         * @return the first of the stolen partitions, or {@code -1} if there is nothing left to steal
+         */
+        int steal(int thiefId) {
+            while (true) {
+                int victim = -1;
+                int mostRemaining = 0;
+                for (int worker = 0; worker < queues.length(); worker++) {
+                    long queue = queues.get(worker);
+                    int remaining = (int) queue - (int) (queue >>> 32);
+                    if (remaining > mostRemaining) {
+                        victim = worker;
+                        mostRemaining = remaining;
+                    }
+                }
+                if (victim < 0) {
+                    return -1;
+                }
+                long queue = queues.get(victim);
+                int next = (int) (queue >>> 32);
+                int end = (int) queue;
+                if (next >= end) {
+                    continue;
+                }
+                // the victim keeps the lower half, which it is already working on
+                int split = end - Math.max(1, (end - next) / 2);
+                if (queues.compareAndSet(victim, queue, (long) next << 32 | split)) {
+                    queues.set(thiefId, (long) (split + 1) << 32 | end);
+                    return split;
+                }
+            }
+        }
+
+        private void run(S state, long startNode, long endNode) {
+            try {
+                terminationFlag.assertRunning();
+                consumer.accept(state, startNode, endNode);
+            } catch (RuntimeException | Error e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+}
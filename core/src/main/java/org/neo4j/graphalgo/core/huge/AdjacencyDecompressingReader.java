@@ -89,6 +89,22 @@ final class AdjacencyDecompressingReader {
         return block[0];
     }
 
+    /**
+     * Copies the next at most {@code length} ids of the current block into {@code out} and
+     * decodes the next block first if the current one is exhausted.
+     * Returns the number of copied ids, which is less than {@code length} at the end of a block.
+     */
+    int nextBlock(long[] out, int length, int remaining) {
+        if (pos >= CHUNK_SIZE) {
+            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
+            pos = 0;
+        }
+        int count = Math.min(length, CHUNK_SIZE - pos);
+        System.arraycopy(block, pos, out, 0, count);
+        pos += count;
+        return count;
+    }
+
     long skipUntil(long target, int remaining, MutableIntValue consumed) {
         int pos = this.pos;
         long[] block = this.block;
@@ -19,12 +19,15 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
@@ -40,7 +43,11 @@ public final class AdjacencyList {
     public static final long PAGE_MASK = PAGE_SIZE - 1;
 
     private final long allocatedMemory;
-    private byte[][] pages;
+    private volatile byte[][] pages;
+    // only set for lazily decoded property lists, see #compressProperties
+    private volatile @Nullable CompressedProperties compressed;
+    // the number of running computations that use this list, see #pin
+    private int users;
 
     public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount) {
         // Best case scenario:
@@ -95,18 +102,45 @@ public final class AdjacencyList {
             .builder(AdjacencyList.class)
             .perGraphDimension("pages", (dimensions, concurrency) -> {
                 long nodeCount = dimensions.nodeCount();
-                long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
-                long relCount = undirected ? relCountForType * 2 : relCountForType;
+                long relCount = relationshipCount(dimensions, relationshipType, undirected);
+                return MemoryRange.of(memoryOfPagedBytes(relCount * Long.BYTES + nodeCount * Integer.BYTES));
+            })
+            .build();
+    }
 
-                long uncompressedAdjacencySize = relCount * Long.BYTES + nodeCount * Integer.BYTES;
-                int pages = PageUtil.numPagesFor(uncompressedAdjacencySize, PAGE_SHIFT, PAGE_MASK);
-                long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
+    /**
+     * Estimates a property list that is compressed after loading, see {@link #compressProperties}.
+     * The lower bound is a dictionary encoded list whose values are not decoded.
+     * The upper bound is a list that is not compressible or a compressed list together with its decoded pages.
+     */
+    public static MemoryEstimation compressedPropertiesMemoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations
+            .builder(AdjacencyList.class)
+            .perGraphDimension("pages", (dimensions, concurrency) -> {
+                long nodeCount = dimensions.nodeCount();
+                long relCount = relationshipCount(dimensions, relationshipType, undirected);
 
-                return MemoryRange.of(pages * bytesPerPage + MemoryUsage.sizeOfObjectArray(pages));
+                // one byte for the degree of each list and one byte for each value
+                long dictionaryEncoded = memoryOfPagedBytes(nodeCount + relCount);
+                // the compressed form is only kept if it is smaller than the uncompressed pages
+                long uncompressed = memoryOfPagedBytes(relCount * Long.BYTES + nodeCount * Integer.BYTES);
+
+                return MemoryRange.of(dictionaryEncoded, 2 * uncompressed);
             })
             .build();
     }
 
+    private static long relationshipCount(GraphDimensions dimensions, RelationshipType relationshipType, boolean undirected) {
+        long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+        return undirected ? relCountForType * 2 : relCountForType;
+    }
+
+    private static long memoryOfPagedBytes(long size) {
+        int pages = PageUtil.numPagesFor(size, PAGE_SHIFT, PAGE_MASK);
+        long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
+        return pages * bytesPerPage + MemoryUsage.sizeOfObjectArray(pages);
+    }
+
     /* test private */
     static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
         long firstAdjacencyIdAvgByteSize = (avgDegree > 0) ? ceilDiv(encodedVLongSize(nodeCount), 2) : 0L;
@@ -121,7 +155,105 @@ public final class AdjacencyList {
         this.allocatedMemory = memoryOfPages(pages);
     }
 
-    private static long memoryOfPages(byte[][] pages) {
+    private AdjacencyList(CompressedProperties compressed) {
+        this.pages = null;
+        this.compressed = compressed;
+        this.allocatedMemory = compressed.decodedMemory();
+    }
+
+    /**
+     * Compresses a list of relationship properties, i.e. a list that stores a {@code double} per target.
+     * <p>
+     * The returned list keeps the values in the smallest encoding that can represent all of them exactly
+     * and decodes them on first access. The decoded pages can be dropped again with {@link #evict()}.
+     * The pages of the given list are not used anymore and their memory is removed from the tracker.
+     * If no encoding is smaller than the uncompressed values, the given list is returned as is.
+     *
+     * @param properties the uncompressed property list
+     * @param offsets    the offsets of the property list, they must be kept alive as long as the returned list
+     * @param nodeCount  the number of nodes that have an entry in {@code offsets}
+     */
+    public static AdjacencyList compressProperties(
+        AdjacencyList properties,
+        AdjacencyOffsets offsets,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        CompressedProperties compressed = CompressedProperties.compress(properties.pages, offsets, nodeCount, tracker);
+        if (compressed == null) {
+            return properties;
+        }
+        tracker.remove(properties.release());
+        return new AdjacencyList(compressed);
+    }
+
+    /**
+     * @return true iff this list is compressed and its values are decoded only on demand
+     */
+    public boolean isCompressed() {
+        return compressed != null;
+    }
+
+    /**
+     * @return true iff the uncompressed pages of this list are currently held in memory
+     */
+    public boolean isResident() {
+        return pages != null;
+    }
+
+    /**
+     * @return the amount of memory used by the uncompressed pages, if they are resident, in bytes
+     */
+    public long residentMemory() {
+        return pages != null ? allocatedMemory : 0L;
+    }
+
+    /**
+     * Marks the list as used by a computation, it will not be evicted until {@link #unpin()} is called.
+     */
+    public synchronized void pin() {
+        users++;
+    }
+
+    public synchronized void unpin() {
+        if (users > 0) {
+            users--;
+        }
+    }
+
+    /**
+     * Drops the uncompressed pages of a compressed list, they will be decoded again on the next access.
+     * Does nothing for lists that are not compressed or that are pinned by a computation,
+     * as the cursors of that computation would keep the pages alive.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    public synchronized long evict() {
+        if (compressed == null || pages == null || users > 0) {
+            return 0L;
+        }
+        pages = null;
+        compressed.tracker().remove(allocatedMemory);
+        return allocatedMemory;
+    }
+
+    private byte[][] pages() {
+        byte[][] pages = this.pages;
+        if (pages == null && compressed != null) {
+            return decode();
+        }
+        return pages;
+    }
+
+    private synchronized byte[][] decode() {
+        if (pages == null && compressed != null) {
+            compressed.tracker().add(allocatedMemory);
+            pages = compressed.decode();
+        }
+        return pages;
+    }
+
+    static long memoryOfPages(byte[][] pages) {
         long memory = MemoryUsage.sizeOfObjectArray(pages.length);
         for (byte[] page : pages) {
             if (page != null) {
@@ -133,29 +265,41 @@ public final class AdjacencyList {
 
     int getDegree(long index) {
         return AdjacencyDecompressingReader.readInt(
-                pages[pageIndex(index, PAGE_SHIFT)],
+                pages()[pageIndex(index, PAGE_SHIFT)],
                 indexInPage(index, PAGE_MASK));
     }
 
-    public final long release() {
-        if (pages == null) {
-            return 0L;
+    public final synchronized long release() {
+        long released = 0L;
+        if (compressed != null) {
+            released += compressed.release();
+            compressed = null;
         }
-        pages = null;
-        return allocatedMemory;
+        if (pages != null) {
+            pages = null;
+            released += allocatedMemory;
+        }
+        return released;
     }
 
     // Cursors
 
     Cursor cursor(long offset) {
-        return new Cursor(pages).init(offset);
+        return rawCursor().init(offset);
+    }
+
+    /**
+     * Returns a new, uninitialized cursor. Call {@link Cursor#init(long)}.
+     */
+    Cursor rawCursor() {
+        return new Cursor(pages());
     }
 
     /**
      * Returns a new, uninitialized delta cursor. Call {@link DecompressingCursor#init(long)}.
      */
     DecompressingCursor rawDecompressingCursor() {
-        return new DecompressingCursor(pages);
+        return new DecompressingCursor(pages());
     }
 
     /**
@@ -274,6 +418,20 @@ public final class AdjacencyList {
             return decompress.next(remaining);
         }
 
+        /**
+         * Read and decode the next target ids into {@code out}, at most {@code out.length} and at most until the end of
+         * the current compressed block. Return the number of decoded ids, which is 0 iff there are no more targets.
+         */
+        int nextVLongs(long[] out) {
+            int remaining = maxTargets - currentTarget;
+            if (remaining <= 0) {
+                return 0;
+            }
+            int count = decompress.nextBlock(out, Math.min(out.length, remaining), remaining);
+            currentTarget += count;
+            return count;
+        }
+
         /**
          * Read and decode target ids until it is strictly larger than (`>`) the provided {@code target}.
          * Might return an id that is less than or equal to {@code target} iff the cursor did exhaust before finding an
@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import static org.neo4j.graphalgo.core.huge.AdjacencyList.PAGE_MASK;
+import static org.neo4j.graphalgo.core.huge.AdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.huge.AdjacencyList.PAGE_SIZE;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.zigZag;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * The compressed form of a relationship property {@link AdjacencyList}.
+ * <p>
+ * The property lists are visited in node order and written to a dense byte stream,
+ * every list as its var-long encoded degree, followed by its values in one of the {@link Encoding}s.
+ * The stream does not contain the offsets, {@link #decode()} re-creates the original pages
+ * at the offsets of the property {@link AdjacencyOffsets}, so that those can be shared
+ * between the compressed and the decoded form.
+ */
+final class CompressedProperties {
+
+    static final int MAX_DICTIONARY_SIZE = 256;
+
+    // the largest magnitude for which every integral double is exact
+    private static final double MAX_INTEGRAL_VALUE = 1L << 53;
+
+    enum Encoding {
+        /**
+         * One byte per value, indexing into a dictionary of at most {@link #MAX_DICTIONARY_SIZE} distinct values.
+         */
+        DICTIONARY,
+        /**
+         * Four bytes per value, for values that can be represented exactly as {@code float}.
+         */
+        FLOAT,
+        /**
+         * Zig-zag var-longs of the difference to the previous value of the same list, for integral values.
+         */
+        DELTA
+    }
+
+    private final Encoding encoding;
+    private final double[] dictionary;
+    private final int[] pageLengths;
+    private final AdjacencyOffsets offsets;
+    private final long nodeCount;
+    private final AllocationTracker tracker;
+    private final long decodedMemory;
+    private final long memoryUsed;
+    private byte[][] data;
+
+    /**
+     * Compresses the given property pages.
+     *
+     * @return the compressed properties or {@code null} if no encoding is smaller than the uncompressed pages
+     */
+    static CompressedProperties compress(
+        byte[][] pages,
+        AdjacencyOffsets offsets,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        var stats = new Statistics();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long offset = offsets.get(nodeId);
+            if (offset != 0L) {
+                stats.accept(pages, offset);
+            }
+        }
+
+        Encoding encoding = stats.bestEncoding();
+        if (encoding == null) {
+            return null;
+        }
+
+        double[] dictionary = encoding == Encoding.DICTIONARY ? stats.dictionary() : null;
+        var dictionaryIndex = new LongIntHashMap();
+        if (dictionary != null) {
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionaryIndex.put(Double.doubleToRawLongBits(dictionary[i]), i);
+            }
+        }
+        long size = stats.degreeBytes + stats.valueBytes(encoding);
+        var writer = new Writer(size);
+        var values = new ListReader();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long offset = offsets.get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            int degree = values.init(pages, offset);
+            writer.writeVLong(degree);
+            long previous = 0L;
+            for (int i = 0; i < degree; i++) {
+                long bits = values.next();
+                switch (encoding) {
+                    case DICTIONARY:
+                        writer.writeByte((byte) dictionaryIndex.get(bits));
+                        break;
+                    case FLOAT:
+                        writer.writeInt(Float.floatToRawIntBits((float) Double.longBitsToDouble(bits)));
+                        break;
+                    case DELTA:
+                        long value = (long) Double.longBitsToDouble(bits);
+                        writer.writeVLong(zigZag(value - previous));
+                        previous = value;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected encoding: " + encoding);
+                }
+            }
+        }
+
+        int[] pageLengths = new int[pages.length];
+        for (int i = 0; i < pages.length; i++) {
+            pageLengths[i] = pages[i] == null ? -1 : pages[i].length;
+        }
+
+        long memoryUsed = writer.memoryUsed()
+                          + MemoryUsage.sizeOfIntArray(pageLengths.length)
+                          + (dictionary == null ? 0L : MemoryUsage.sizeOfDoubleArray(dictionary.length));
+        tracker.add(memoryUsed);
+
+        return new CompressedProperties(
+            encoding,
+            dictionary,
+            writer.pages,
+            pageLengths,
+            offsets,
+            nodeCount,
+            tracker,
+            AdjacencyList.memoryOfPages(pages),
+            memoryUsed
+        );
+    }
+
+    private CompressedProperties(
+        Encoding encoding,
+        double[] dictionary,
+        byte[][] data,
+        int[] pageLengths,
+        AdjacencyOffsets offsets,
+        long nodeCount,
+        AllocationTracker tracker,
+        long decodedMemory,
+        long memoryUsed
+    ) {
+        this.encoding = encoding;
+        this.dictionary = dictionary;
+        this.data = data;
+        this.pageLengths = pageLengths;
+        this.offsets = offsets;
+        this.nodeCount = nodeCount;
+        this.tracker = tracker;
+        this.decodedMemory = decodedMemory;
+        this.memoryUsed = memoryUsed;
+    }
+
+    Encoding encoding() {
+        return encoding;
+    }
+
+    AllocationTracker tracker() {
+        return tracker;
+    }
+
+    /**
+     * @return the amount of memory the decoded pages occupy, in bytes
+     */
+    long decodedMemory() {
+        return decodedMemory;
+    }
+
+    /**
+     * @return the amount of memory used by the compressed form, in bytes
+     */
+    long sizeOf() {
+        return memoryUsed;
+    }
+
+    /**
+     * Re-creates the uncompressed property pages.
+     * The caller is responsible for tracking the {@link #decodedMemory()}.
+     */
+    byte[][] decode() {
+        byte[][] pages = new byte[pageLengths.length][];
+        for (int i = 0; i < pageLengths.length; i++) {
+            if (pageLengths[i] >= 0) {
+                pages[i] = new byte[pageLengths[i]];
+            }
+        }
+
+        var reader = new Reader(data);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long offset = offsets.get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            byte[] page = pages[pageIndex(offset, PAGE_SHIFT)];
+            int into = indexInPage(offset, PAGE_MASK);
+            int degree = (int) reader.readVLong();
+            into = writeInt(page, into, degree);
+            long previous = 0L;
+            for (int i = 0; i < degree; i++) {
+                double value;
+                switch (encoding) {
+                    case DICTIONARY:
+                        value = dictionary[reader.readByte() & 0xFF];
+                        break;
+                    case FLOAT:
+                        value = Float.intBitsToFloat(reader.readInt());
+                        break;
+                    case DELTA:
+                        long encoded = reader.readVLong();
+                        previous += (encoded >>> 1) ^ -(encoded & 1L);
+                        value = previous;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected encoding: " + encoding);
+                }
+                into = writeLong(page, into, Double.doubleToRawLongBits(value));
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Destroys the compressed data.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    long release() {
+        if (data == null) {
+            return 0L;
+        }
+        data = null;
+        return memoryUsed;
+    }
+
+    //@formatter:off
+    private static int writeInt(byte[] page, int offset, int value) {
+        page[    offset] = (byte) value;
+        page[1 + offset] = (byte) (value >>> 8);
+        page[2 + offset] = (byte) (value >>> 16);
+        page[3 + offset] = (byte) (value >>> 24);
+        return offset + Integer.BYTES;
+    }
+
+    private static int writeLong(byte[] page, int offset, long value) {
+        page[    offset] = (byte) value;
+        page[1 + offset] = (byte) (value >>> 8);
+        page[2 + offset] = (byte) (value >>> 16);
+        page[3 + offset] = (byte) (value >>> 24);
+        page[4 + offset] = (byte) (value >>> 32);
+        page[5 + offset] = (byte) (value >>> 40);
+        page[6 + offset] = (byte) (value >>> 48);
+        page[7 + offset] = (byte) (value >>> 56);
+        return offset + Long.BYTES;
+    }
+    //@formatter:on
+
+    private static final class ListReader {
+        private byte[] page;
+        private int offset;
+
+        int init(byte[][] pages, long fromIndex) {
+            this.page = pages[pageIndex(fromIndex, PAGE_SHIFT)];
+            this.offset = indexInPage(fromIndex, PAGE_MASK);
+            int degree = AdjacencyDecompressingReader.readInt(page, offset);
+            this.offset += Integer.BYTES;
+            return degree;
+        }
+
+        long next() {
+            long value = AdjacencyDecompressingReader.readLong(page, offset);
+            offset += Long.BYTES;
+            return value;
+        }
+    }
+
+    private static final class Statistics {
+        private final ListReader values = new ListReader();
+        private final LongHashSet distinct = new LongHashSet();
+        private boolean floats = true;
+        private boolean integral = true;
+        private boolean fitsDictionary = true;
+        private long valueCount;
+        private long degreeBytes;
+        private long deltaBytes;
+
+        void accept(byte[][] pages, long offset) {
+            int degree = values.init(pages, offset);
+            degreeBytes += encodedVLongSize(degree);
+            valueCount += degree;
+            long previous = 0L;
+            for (int i = 0; i < degree; i++) {
+                long bits = values.next();
+                double value = Double.longBitsToDouble(bits);
+                if (fitsDictionary) {
+                    distinct.add(bits);
+                    fitsDictionary = distinct.size() <= MAX_DICTIONARY_SIZE;
+                }
+                if (floats) {
+                    floats = Double.doubleToRawLongBits((float) value) == bits;
+                }
+                if (integral) {
+                    integral = Math.abs(value) <= MAX_INTEGRAL_VALUE
+                               && Double.doubleToRawLongBits((long) value) == bits;
+                    if (integral) {
+                        deltaBytes += encodedVLongSize(zigZag((long) value - previous));
+                        previous = (long) value;
+                    }
+                }
+            }
+        }
+
+        Encoding bestEncoding() {
+            Encoding best = null;
+            long bestSize = valueCount * Long.BYTES;
+            for (Encoding encoding : Encoding.values()) {
+                long size = valueBytes(encoding);
+                if (size < bestSize) {
+                    best = encoding;
+                    bestSize = size;
+                }
+            }
+            return best;
+        }
+
+        long valueBytes(Encoding encoding) {
+            switch (encoding) {
+                case DICTIONARY:
+                    return fitsDictionary ? valueCount : Long.MAX_VALUE;
+                case FLOAT:
+                    return floats ? valueCount * Float.BYTES : Long.MAX_VALUE;
+                case DELTA:
+                    return integral ? deltaBytes : Long.MAX_VALUE;
+                default:
+                    throw new IllegalStateException("Unexpected encoding: " + encoding);
+            }
+        }
+
+        double[] dictionary() {
+            double[] dictionary = new double[distinct.size()];
+            int i = 0;
+            for (var cursor : distinct) {
+                dictionary[i++] = Double.longBitsToDouble(cursor.value);
+            }
+            return dictionary;
+        }
+    }
+
+    private static final class Writer {
+        private final byte[][] pages;
+        private byte[] page;
+        private int pageIndex;
+        private int offset;
+
+        Writer(long size) {
+            int numPages = PageUtil.numPagesFor(size, PAGE_SHIFT, PAGE_MASK);
+            this.pages = new byte[numPages][];
+            for (int i = 0; i < numPages; i++) {
+                long remaining = size - ((long) i << PAGE_SHIFT);
+                pages[i] = new byte[(int) Math.min(PAGE_SIZE, remaining)];
+            }
+            this.page = numPages > 0 ? pages[0] : new byte[0];
+        }
+
+        void writeByte(byte value) {
+            if (offset == page.length) {
+                page = pages[++pageIndex];
+                offset = 0;
+            }
+            page[offset++] = value;
+        }
+
+        void writeInt(int value) {
+            writeByte((byte) value);
+            writeByte((byte) (value >>> 8));
+            writeByte((byte) (value >>> 16));
+            writeByte((byte) (value >>> 24));
+        }
+
+        void writeVLong(long value) {
+            while (value >= 128L) {
+                writeByte((byte) (value & 127L));
+                value >>>= 7;
+            }
+            writeByte((byte) (value | 128L));
+        }
+
+        long memoryUsed() {
+            long memory = MemoryUsage.sizeOfObjectArray(pages.length);
+            for (byte[] page : pages) {
+                memory += MemoryUsage.sizeOfByteArray(page.length);
+            }
+            return memory;
+        }
+    }
+
+    private static final class Reader {
+        private final byte[][] pages;
+        private byte[] page;
+        private int pageIndex;
+        private int offset;
+
+        Reader(byte[][] pages) {
+            this.pages = pages;
+            this.page = pages.length > 0 ? pages[0] : new byte[0];
+        }
+
+        byte readByte() {
+            if (offset == page.length) {
+                page = pages[++pageIndex];
+                offset = 0;
+            }
+            return page[offset++];
+        }
+
+        int readInt() {
+            return readByte() & 255
+                   | (readByte() & 255) << 8
+                   | (readByte() & 255) << 16
+                   | (readByte() & 255) << 24;
+        }
+
+        long readVLong() {
+            long value = 0L;
+            int shift = 0;
+            while (true) {
+                long input = readByte();
+                value += (input & 127L) << shift;
+                if ((input & 128L) == 128L) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+    }
+}
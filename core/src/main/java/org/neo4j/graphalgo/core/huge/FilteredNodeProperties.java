@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.core.huge;
 import org.apache.commons.lang3.mutable.MutableDouble;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.values.storable.Value;
 
 import java.util.OptionalLong;
 
@@ -44,6 +45,46 @@ public class FilteredNodeProperties implements NodeProperties {
         return properties.nodeProperty(idMap.toOriginalNodeId(nodeId), defaultValue);
     }
 
+    @Override
+    public long longValue(long nodeId) {
+        return properties.longValue(idMap.toOriginalNodeId(nodeId));
+    }
+
+    @Override
+    public float[] floatArrayValue(long nodeId) {
+        return properties.floatArrayValue(idMap.toOriginalNodeId(nodeId));
+    }
+
+    @Override
+    public double[] doubleArrayValue(long nodeId) {
+        return properties.doubleArrayValue(idMap.toOriginalNodeId(nodeId));
+    }
+
+    @Override
+    public long[] longArrayValue(long nodeId) {
+        return properties.longArrayValue(idMap.toOriginalNodeId(nodeId));
+    }
+
+    @Override
+    public void copyFloatArrayValue(long nodeId, float[] target) {
+        properties.copyFloatArrayValue(idMap.toOriginalNodeId(nodeId), target);
+    }
+
+    @Override
+    public void copyDoubleArrayValue(long nodeId, double[] target) {
+        properties.copyDoubleArrayValue(idMap.toOriginalNodeId(nodeId), target);
+    }
+
+    @Override
+    public int dimension() {
+        return properties.dimension();
+    }
+
+    @Override
+    public Value value(long nodeId) {
+        return properties.value(idMap.toOriginalNodeId(nodeId));
+    }
+
     @Override
     public OptionalLong getMaxPropertyValue() {
         MutableDouble currentMax = new MutableDouble(Double.NEGATIVE_INFINITY);
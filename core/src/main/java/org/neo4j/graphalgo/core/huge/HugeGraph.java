@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NeighborCursor;
 import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
@@ -34,6 +35,7 @@ import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -262,6 +264,11 @@ public class HugeGraph implements Graph {
         return StreamSupport.stream(spliterator, false);
     }
 
+    @Override
+    public NeighborCursor neighborCursor(double fallbackValue) {
+        return new HugeNeighborCursor(fallbackValue);
+    }
+
     @Override
     public int degree(long node) {
         if (adjacencyOffsets == null) {
@@ -462,6 +469,55 @@ public class HugeGraph implements Graph {
         }
     }
 
+    /**
+     * Copies the decompressed blocks of the adjacency list directly into the caller's buffer.
+     * Uses its own cursors, so that it does not interfere with {@link #forEachRelationship}.
+     */
+    private final class HugeNeighborCursor implements NeighborCursor {
+        private final AdjacencyList.DecompressingCursor adjacencyCursor;
+        private final @Nullable AdjacencyList.Cursor propertyCursor;
+        private final double fallbackValue;
+        private boolean exhausted;
+
+        HugeNeighborCursor(double fallbackValue) {
+            this.adjacencyCursor = newAdjacencyCursor(adjacencyList);
+            this.propertyCursor = hasRelationshipProperty ? properties.rawCursor() : null;
+            this.fallbackValue = fallbackValue;
+            this.exhausted = true;
+        }
+
+        @Override
+        public void init(long nodeId) {
+            long offset = adjacencyOffsets.get(nodeId);
+            exhausted = offset == 0L;
+            if (exhausted) {
+                return;
+            }
+            adjacencyCursor.init(offset);
+            if (propertyCursor != null) {
+                propertyCursor.init(propertyOffsets.get(nodeId));
+            }
+        }
+
+        @Override
+        public int nextBlock(long[] targets) {
+            return exhausted ? 0 : adjacencyCursor.nextVLongs(targets);
+        }
+
+        @Override
+        public int nextBlock(long[] targets, double[] properties) {
+            int length = nextBlock(targets);
+            if (propertyCursor == null) {
+                Arrays.fill(properties, 0, length, fallbackValue);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    properties[i] = Double.longBitsToDouble(propertyCursor.nextLong());
+                }
+            }
+            return length;
+        }
+    }
+
     public static class GetTargetConsumer implements RelationshipConsumer {
         static final long TARGET_NOT_FOUND = -1L;
 
@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.core.huge;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.api.FilterGraph;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NeighborCursor;
 import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
@@ -127,6 +128,11 @@ public class NodeFilteredGraph extends FilterGraph {
         return super.relationshipProperty(filteredIdMap.toOriginalNodeId(sourceNodeId), filteredIdMap.toOriginalNodeId(targetNodeId));
     }
 
+    @Override
+    public NeighborCursor neighborCursor(double fallbackValue) {
+        return new FilteredNeighborCursor(graph.neighborCursor(fallbackValue));
+    }
+
     @Override
     public Graph concurrentCopy() {
         return new NodeFilteredGraph(graph.concurrentCopy(), filteredIdMap);
@@ -178,4 +184,58 @@ public class NodeFilteredGraph extends FilterGraph {
         }
         return true;
     }
+
+    /**
+     * Drops the targets that are not part of the filtered graph from every block of the underlying cursor
+     * and maps the remaining ones to filtered ids in place.
+     */
+    private final class FilteredNeighborCursor implements NeighborCursor {
+        private final NeighborCursor cursor;
+
+        FilteredNeighborCursor(NeighborCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void init(long nodeId) {
+            cursor.init(filteredIdMap.toOriginalNodeId(nodeId));
+        }
+
+        @Override
+        public int nextBlock(long[] targets) {
+            int length;
+            while ((length = cursor.nextBlock(targets)) > 0) {
+                int filtered = 0;
+                for (int i = 0; i < length; i++) {
+                    long target = targets[i];
+                    if (filteredIdMap.contains(target)) {
+                        targets[filtered++] = filteredIdMap.toMappedNodeId(target);
+                    }
+                }
+                if (filtered > 0) {
+                    return filtered;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public int nextBlock(long[] targets, double[] properties) {
+            int length;
+            while ((length = cursor.nextBlock(targets, properties)) > 0) {
+                int filtered = 0;
+                for (int i = 0; i < length; i++) {
+                    long target = targets[i];
+                    if (filteredIdMap.contains(target)) {
+                        properties[filtered] = properties[i];
+                        targets[filtered++] = filteredIdMap.toMappedNodeId(target);
+                    }
+                }
+                if (filtered > 0) {
+                    return filtered;
+                }
+            }
+            return 0;
+        }
+    }
 }
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.core.huge;
 
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NeighborCursor;
 import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
@@ -141,6 +142,13 @@ public final class UnionGraph implements Graph {
             .flatMap(graph -> graph.streamRelationships(nodeId, fallbackValue));
     }
 
+    @Override
+    public NeighborCursor neighborCursor(double fallbackValue) {
+        return new UnionNeighborCursor(graphs.stream()
+            .map(graph -> graph.neighborCursor(fallbackValue))
+            .toArray(NeighborCursor[]::new));
+    }
+
     @Override
     public int degree(long nodeId) {
         return Math.toIntExact(graphs.stream().mapToLong(g -> g.degree(nodeId)).sum());
@@ -206,4 +214,43 @@ public final class UnionGraph implements Graph {
     public boolean isUndirected() {
         return graphs.stream().allMatch(Graph::isUndirected);
     }
+
+    private static final class UnionNeighborCursor implements NeighborCursor {
+        private final NeighborCursor[] cursors;
+        private int current;
+
+        UnionNeighborCursor(NeighborCursor[] cursors) {
+            this.cursors = cursors;
+        }
+
+        @Override
+        public void init(long nodeId) {
+            for (NeighborCursor cursor : cursors) {
+                cursor.init(nodeId);
+            }
+            current = 0;
+        }
+
+        @Override
+        public int nextBlock(long[] targets) {
+            for (; current < cursors.length; current++) {
+                int length = cursors[current].nextBlock(targets);
+                if (length > 0) {
+                    return length;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public int nextBlock(long[] targets, double[] properties) {
+            for (; current < cursors.length; current++) {
+                int length = cursors[current].nextBlock(targets, properties);
+                if (length > 0) {
+                    return length;
+                }
+            }
+            return 0;
+        }
+    }
 }
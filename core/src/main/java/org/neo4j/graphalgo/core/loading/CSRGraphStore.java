@@ -32,6 +32,7 @@ import org.neo4j.graphalgo.api.schema.GraphStoreSchema;
 import org.neo4j.graphalgo.api.schema.NodeSchema;
 import org.neo4j.graphalgo.api.schema.RelationshipSchema;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
 import org.neo4j.graphalgo.core.huge.UnionGraph;
@@ -50,8 +51,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -61,23 +66,28 @@ import static java.util.stream.Collectors.toMap;
 import static org.neo4j.graphalgo.NodeLabel.ALL_NODES;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
+/**
+ * The node properties and the relationships of a graph store are kept in immutable snapshots,
+ * which are replaced atomically on every update (copy-on-write).
+ * Readers never block and always see a consistent state, even while mutate procedures
+ * add properties or relationship types concurrently. Concurrent updates retry on the
+ * latest snapshot, which only copies the small per-label and per-type maps, never the data.
+ */
 public final class CSRGraphStore implements GraphStore {
 
     private final int concurrency;
 
     private final IdMap nodes;
 
-    private final Map<NodeLabel, NodePropertyStore> nodeProperties;
-
-    private final Map<RelationshipType, HugeGraph.TopologyCSR> relationships;
+    private final AtomicReference<NodePropertySnapshot> nodeProperties;
 
-    private final Map<RelationshipType, RelationshipPropertyStore> relationshipProperties;
+    private final AtomicReference<RelationshipSnapshot> relationships;
 
     private final Set<Graph> createdGraphs;
 
     private final AllocationTracker tracker;
 
-    private ZonedDateTime modificationTime;
+    private volatile ZonedDateTime modificationTime;
 
     public static GraphStore of(
         IdMap nodes,
@@ -157,11 +167,10 @@ public final class CSRGraphStore implements GraphStore {
         AllocationTracker tracker
     ) {
         this.nodes = nodes;
-        this.nodeProperties = nodeProperties;
-        this.relationships = relationships;
-        this.relationshipProperties = relationshipProperties;
+        this.nodeProperties = new AtomicReference<>(new NodePropertySnapshot(nodeProperties));
+        this.relationships = new AtomicReference<>(new RelationshipSnapshot(relationships, relationshipProperties));
         this.concurrency = concurrency;
-        this.createdGraphs = new HashSet<>();
+        this.createdGraphs = ConcurrentHashMap.newKeySet();
         this.modificationTime = TimeUtil.now();
         this.tracker = tracker;
     }
@@ -188,7 +197,7 @@ public final class CSRGraphStore implements GraphStore {
 
     @Override
     public Set<String> nodePropertyKeys(NodeLabel label) {
-        return new HashSet<>(nodeProperties.getOrDefault(label, NodePropertyStore.empty()).keySet());
+        return new HashSet<>(nodeProperties.get().store(label).keySet());
     }
 
     @Override
@@ -199,16 +208,17 @@ public final class CSRGraphStore implements GraphStore {
     @Override
     public long nodePropertyCount() {
         // TODO: This is not the correct value. We would need to look into the bitsets in order to retrieve the correct value.
-        return nodeProperties.values().stream()
+        return nodeProperties.get().stores.values().stream()
                    .mapToLong(nodePropertyStore -> nodePropertyStore.keySet().size())
                    .sum() * nodeCount();
     }
 
     @Override
     public boolean hasNodeProperty(Collection<NodeLabel> labels, String propertyKey) {
+        NodePropertySnapshot snapshot = nodeProperties.get();
         return labels
             .stream()
-            .allMatch(label -> nodeProperties.containsKey(label) && nodeProperties.get(label).containsKey(propertyKey));
+            .allMatch(label -> snapshot.store(label).containsKey(propertyKey));
     }
 
     @Override
@@ -225,32 +235,39 @@ public final class CSRGraphStore implements GraphStore {
                 StringJoining.join(nodeLabels().stream().map(NodeLabel::name))
             ));
         }
-        updateGraphStore((graphStore) -> graphStore.nodeProperties.compute(nodeLabel, (k, nodePropertyStore) -> {
+        var nodeProperty = NodeProperty.of(propertyKey, propertyType, PropertyState.TRANSIENT, propertyValues);
+        updateNodeProperties(stores -> {
+            if (stores.containsKey(nodeLabel) && stores.get(nodeLabel).containsKey(propertyKey)) {
+                return stores;
+            }
             NodePropertyStore.Builder storeBuilder = NodePropertyStore.builder();
-            if (nodePropertyStore != null) {
-                storeBuilder.from(nodePropertyStore);
+            if (stores.containsKey(nodeLabel)) {
+                storeBuilder.from(stores.get(nodeLabel));
             }
-            return storeBuilder
-                .putIfAbsent(propertyKey, NodeProperty.of(propertyKey, propertyType, PropertyState.TRANSIENT, propertyValues))
-                .build();
-        }));
+            var updatedStores = new HashMap<>(stores);
+            updatedStores.put(nodeLabel, storeBuilder.putIfAbsent(propertyKey, nodeProperty).build());
+            return updatedStores;
+        });
     }
 
     @Override
     public void removeNodeProperty(NodeLabel nodeLabel, String propertyKey) {
-        updateGraphStore(graphStore -> {
-            if (graphStore.nodeProperties.containsKey(nodeLabel)) {
-                NodePropertyStore updatedNodePropertyStore = NodePropertyStore.builder()
-                    .from(graphStore.nodeProperties.get(nodeLabel))
-                    .removeProperty(propertyKey)
-                    .build();
-
-                if (updatedNodePropertyStore.isEmpty()) {
-                    graphStore.nodeProperties.remove(nodeLabel);
-                } else {
-                    graphStore.nodeProperties.replace(nodeLabel, updatedNodePropertyStore);
-                }
+        updateNodeProperties(stores -> {
+            if (!stores.containsKey(nodeLabel) || !stores.get(nodeLabel).containsKey(propertyKey)) {
+                return stores;
+            }
+            NodePropertyStore updatedNodePropertyStore = NodePropertyStore.builder()
+                .from(stores.get(nodeLabel))
+                .removeProperty(propertyKey)
+                .build();
+
+            var updatedStores = new HashMap<>(stores);
+            if (updatedNodePropertyStore.isEmpty()) {
+                updatedStores.remove(nodeLabel);
+            } else {
+                updatedStores.put(nodeLabel, updatedNodePropertyStore);
             }
+            return updatedStores;
         });
     }
 
@@ -276,36 +293,37 @@ public final class CSRGraphStore implements GraphStore {
 
     @Override
     public Set<RelationshipType> relationshipTypes() {
-        return relationships.keySet();
+        return relationships.get().topologies.keySet();
     }
 
     @Override
     public boolean hasRelationshipType(RelationshipType relationshipType) {
-        return relationships.containsKey(relationshipType);
+        return relationships.get().topologies.containsKey(relationshipType);
     }
 
     @Override
     public long relationshipCount() {
-        return relationships.values().stream()
+        return relationships.get().topologies.values().stream()
             .mapToLong(HugeGraph.TopologyCSR::elementCount)
             .sum();
     }
 
     @Override
     public long relationshipCount(RelationshipType relationshipType) {
-        return relationships.get(relationshipType).elementCount();
+        return relationships.get().topologies.get(relationshipType).elementCount();
     }
 
     @Override
     public boolean hasRelationshipProperty(Collection<RelationshipType> relTypes, String propertyKey) {
+        RelationshipSnapshot snapshot = relationships.get();
         return relTypes
             .stream()
-            .allMatch(relType -> relationshipProperties.containsKey(relType) && relationshipProperties.get(relType).containsKey(propertyKey));
+            .allMatch(relType -> snapshot.propertyStore(relType).containsKey(propertyKey));
     }
 
     @Override
     public NumberType relationshipPropertyType(String propertyKey) {
-        return relationshipProperties.values().stream()
+        return relationships.get().properties.values().stream()
             .filter(propertyStore -> propertyStore.containsKey(propertyKey))
             .map(propertyStore -> propertyStore.get(propertyKey).type())
             .findFirst()
@@ -314,7 +332,7 @@ public final class CSRGraphStore implements GraphStore {
 
     @Override
     public long relationshipPropertyCount() {
-        return relationshipProperties
+        return relationships.get().properties
             .values()
             .stream()
             .flatMapToLong(relationshipPropertyStore -> relationshipPropertyStore
@@ -327,7 +345,7 @@ public final class CSRGraphStore implements GraphStore {
 
     @Override
     public Set<String> relationshipPropertyKeys() {
-        return relationshipProperties
+        return relationships.get().properties
             .values()
             .stream()
             .flatMap(relationshipPropertyStore -> relationshipPropertyStore.keySet().stream())
@@ -336,7 +354,7 @@ public final class CSRGraphStore implements GraphStore {
 
     @Override
     public Set<String> relationshipPropertyKeys(RelationshipType relationshipType) {
-        return relationshipProperties.getOrDefault(relationshipType, RelationshipPropertyStore.empty()).keySet();
+        return relationships.get().propertyStore(relationshipType).keySet();
     }
 
     @Override
@@ -346,39 +364,51 @@ public final class CSRGraphStore implements GraphStore {
         Optional<NumberType> relationshipPropertyType,
         HugeGraph.Relationships relationships
     ) {
-        updateGraphStore(graphStore -> {
-            if (!hasRelationshipType(relationshipType)) {
-                graphStore.relationships.put(relationshipType, relationships.topology());
-
-                if (relationshipPropertyKey.isPresent()
-                    && relationshipPropertyType.isPresent()
-                    && relationships.properties().isPresent()) {
-                    addRelationshipProperty(
-                        relationshipType,
+        updateRelationships(snapshot -> {
+            if (snapshot.topologies.containsKey(relationshipType)) {
+                return snapshot;
+            }
+            var topologies = new HashMap<>(snapshot.topologies);
+            topologies.put(relationshipType, relationships.topology());
+
+            var properties = new HashMap<>(snapshot.properties);
+            if (relationshipPropertyKey.isPresent()
+                && relationshipPropertyType.isPresent()
+                && relationships.properties().isPresent()) {
+                properties.put(relationshipType, RelationshipPropertyStore.builder()
+                    .from(snapshot.propertyStore(relationshipType))
+                    .putIfAbsent(
                         relationshipPropertyKey.get(),
-                        relationshipPropertyType.get(),
-                        relationships.properties().get(),
-                        graphStore
-                    );
-                }
+                        RelationshipProperty.of(
+                            relationshipPropertyKey.get(),
+                            relationshipPropertyType.get(),
+                            PropertyState.TRANSIENT,
+                            relationships.properties().get()
+                        )
+                    )
+                    .build());
             }
+            return new RelationshipSnapshot(topologies, properties);
         });
     }
 
     @Override
     public DeletionResult deleteRelationships(RelationshipType relationshipType) {
-        return DeletionResult.of(builder ->
-            updateGraphStore(graphStore -> {
-                builder.deletedRelationships(graphStore.relationships.get(relationshipType).elementCount());
-                graphStore.relationshipProperties
-                    .getOrDefault(relationshipType, RelationshipPropertyStore.empty())
-                    .relationshipProperties().values().forEach(property -> {
-                    builder.putDeletedProperty(property.key(), property.values().elementCount());
-                });
-                graphStore.relationships.remove(relationshipType);
-                graphStore.relationshipProperties.remove(relationshipType);
-            })
-        );
+        RelationshipSnapshot previous = updateRelationships(snapshot -> {
+            var topologies = new HashMap<>(snapshot.topologies);
+            var properties = new HashMap<>(snapshot.properties);
+            topologies.remove(relationshipType);
+            properties.remove(relationshipType);
+            return new RelationshipSnapshot(topologies, properties);
+        });
+        return DeletionResult.of(builder -> {
+            builder.deletedRelationships(previous.topologies.get(relationshipType).elementCount());
+            previous
+                .propertyStore(relationshipType)
+                .relationshipProperties().values().forEach(property -> {
+                builder.putDeletedProperty(property.key(), property.values().elementCount());
+            });
+        });
     }
 
     @Override
@@ -388,23 +418,24 @@ public final class CSRGraphStore implements GraphStore {
         Optional<String> maybeRelationshipProperty
     ) {
         validateInput(relationshipTypes, maybeRelationshipProperty);
-        return createGraph(nodeLabels, relationshipTypes, maybeRelationshipProperty);
+        return createGraph(nodeLabels, relationshipTypes, maybeRelationshipProperty, relationships.get());
     }
 
     @Override
     public Graph getUnion() {
-        return UnionGraph.of(relationships
+        RelationshipSnapshot snapshot = relationships.get();
+        return UnionGraph.of(snapshot.topologies
             .keySet()
             .stream()
             .flatMap(relationshipType -> {
-                if (relationshipProperties.containsKey(relationshipType)) {
-                    return relationshipProperties
+                if (snapshot.properties.containsKey(relationshipType)) {
+                    return snapshot.properties
                         .get(relationshipType)
                         .keySet()
                         .stream()
-                        .map(propertyKey -> createGraph(nodeLabels(), relationshipType, Optional.of(propertyKey)));
+                        .map(propertyKey -> createGraph(nodeLabels(), singletonList(relationshipType), Optional.of(propertyKey), snapshot));
                 } else {
-                    return Stream.of(createGraph(nodeLabels(), relationshipType, Optional.empty()));
+                    return Stream.of(createGraph(nodeLabels(), singletonList(relationshipType), Optional.empty(), snapshot));
                 }
             })
             .collect(Collectors.toList()));
@@ -420,18 +451,76 @@ public final class CSRGraphStore implements GraphStore {
         createdGraphs.forEach(Graph::release);
     }
 
+    @Override
+    public long evictRelationshipProperties() {
+        return relationships.get().properties.values().stream().mapToLong(RelationshipPropertyStore::evict).sum();
+    }
+
+    @Override
+    public RelationshipPropertyPin pinRelationshipProperties() {
+        List<AdjacencyList> propertyLists = relationships.get().properties.values()
+            .stream()
+            .flatMap(propertyStore -> propertyStore.values().stream())
+            .map(property -> property.values().list())
+            .collect(Collectors.toList());
+        propertyLists.forEach(AdjacencyList::pin);
+
+        AtomicBoolean pinned = new AtomicBoolean(true);
+        return () -> {
+            if (pinned.getAndSet(false)) {
+                propertyLists.forEach(AdjacencyList::unpin);
+            }
+        };
+    }
+
+    /**
+     * @return the amount of memory used by decoded relationship property columns, in bytes
+     */
+    public long residentRelationshipPropertyMemory() {
+        return relationships.get().properties.values().stream().mapToLong(RelationshipPropertyStore::residentMemory).sum();
+    }
+
     @Override
     public long nodeCount() {
         return nodes.nodeCount();
     }
 
-    private synchronized void updateGraphStore(Consumer<CSRGraphStore> updateFunction) {
-        updateFunction.accept(this);
+    /**
+     * Replaces the node property stores with the result of the given function.
+     * The function may be called more than once if other updates happen concurrently, and must not modify its input.
+     */
+    private void updateNodeProperties(UnaryOperator<Map<NodeLabel, NodePropertyStore>> updateFunction) {
+        NodePropertySnapshot previous, updated;
+        do {
+            previous = nodeProperties.get();
+            Map<NodeLabel, NodePropertyStore> stores = updateFunction.apply(previous.stores);
+            if (stores == previous.stores) {
+                return;
+            }
+            updated = new NodePropertySnapshot(stores);
+        } while (!nodeProperties.compareAndSet(previous, updated));
+        this.modificationTime = TimeUtil.now();
+    }
+
+    /**
+     * Replaces the relationships with the result of the given function and returns the replaced snapshot.
+     * The function may be called more than once if other updates happen concurrently.
+     */
+    private RelationshipSnapshot updateRelationships(UnaryOperator<RelationshipSnapshot> updateFunction) {
+        RelationshipSnapshot previous, updated;
+        do {
+            previous = relationships.get();
+            updated = updateFunction.apply(previous);
+            if (updated == previous) {
+                return previous;
+            }
+        } while (!relationships.compareAndSet(previous, updated));
         this.modificationTime = TimeUtil.now();
+        return previous;
     }
 
     private NodeProperty nodeProperty(NodeLabel label, String propertyKey) {
-        return this.nodeProperties.getOrDefault(label, NodePropertyStore.empty()).get(propertyKey);
+        return nodeProperties.get().store(label).get(propertyKey);
     }
 
     private NodeProperty nodeProperty(String propertyKey) {
@@ -440,7 +529,7 @@ public final class CSRGraphStore implements GraphStore {
             var unionType = NumberType.NO_NUMBER;
             var unionOrigin = PropertyState.PERSISTENT;
 
-            for (var labelAndPropertyStore : nodeProperties.entrySet()) {
+            for (var labelAndPropertyStore : nodeProperties.get().stores.entrySet()) {
                 var nodeLabel = labelAndPropertyStore.getKey();
                 var nodePropertyStore = labelAndPropertyStore.getValue();
                 if (nodePropertyStore.containsKey(propertyKey)) {
@@ -458,41 +547,15 @@ public final class CSRGraphStore implements GraphStore {
                 new UnionNodeProperties(nodes, unionValues)
             );
         } else {
-            return nodeProperties.get(nodes.availableNodeLabels().iterator().next()).get(propertyKey);
+            return nodeProperty(nodes.availableNodeLabels().iterator().next(), propertyKey);
         }
     }
 
-    private void addRelationshipProperty(
-        RelationshipType relationshipType,
-        String propertyKey,
-        NumberType propertyType,
-        HugeGraph.PropertyCSR propertyCSR,
-        CSRGraphStore graphStore
-    ) {
-        graphStore.relationshipProperties.compute(relationshipType, (relType, propertyStore) -> {
-            RelationshipPropertyStore.Builder builder = RelationshipPropertyStore.builder();
-            if (propertyStore != null) {
-                builder.from(propertyStore);
-            }
-            return builder.putIfAbsent(
-                propertyKey,
-                ImmutableRelationshipProperty.of(propertyKey, propertyType, PropertyState.TRANSIENT, propertyCSR)
-            ).build();
-        });
-    }
-
-    private Graph createGraph(
-        Collection<NodeLabel> nodeLabels,
-        RelationshipType relationshipType,
-        Optional<String> maybeRelationshipProperty
-    ) {
-        return createGraph(nodeLabels, singletonList(relationshipType), maybeRelationshipProperty);
-    }
-
     private Graph createGraph(
         Collection<NodeLabel> filteredLabels,
         Collection<RelationshipType> relationshipTypes,
-        Optional<String> maybeRelationshipProperty
+        Optional<String> maybeRelationshipProperty,
+        RelationshipSnapshot relationshipSnapshot
     ) {
         boolean loadAllNodes = filteredLabels.containsAll(nodeLabels());
 
@@ -500,17 +563,20 @@ public final class CSRGraphStore implements GraphStore {
             ? Optional.empty()
             : Optional.of(nodes.withFilteredLabels(filteredLabels, concurrency));
 
-        List<Graph> filteredGraphs = relationships.entrySet().stream()
+        Map<String, NodeProperties> filteredNodeProperties = nodeProperties.get().filteredProperties(
+            filteredLabels,
+            this::filterNodeProperties
+        );
+
+        List<Graph> filteredGraphs = relationshipSnapshot.topologies.entrySet().stream()
             .filter(relTypeAndCSR -> relationshipTypes.contains(relTypeAndCSR.getKey()))
             .map(relTypeAndCSR -> {
-                Map<String, NodeProperties> filteredNodeProperties = filterNodeProperties(filteredLabels);
-
                 HugeGraph initialGraph = HugeGraph.create(
                     nodes,
                     filteredNodeProperties,
                     relTypeAndCSR.getValue(),
-                    maybeRelationshipProperty.map(propertyKey -> relationshipProperties
-                        .get(relTypeAndCSR.getKey())
+                    maybeRelationshipProperty.map(propertyKey -> relationshipSnapshot
+                        .propertyStore(relTypeAndCSR.getKey())
                         .get(propertyKey).values()),
                     tracker
                 );
@@ -528,12 +594,15 @@ public final class CSRGraphStore implements GraphStore {
         return UnionGraph.of(filteredGraphs);
     }
 
-    private Map<String, NodeProperties> filterNodeProperties(Collection<NodeLabel> labels) {
-        if (this.nodeProperties.isEmpty()) {
+    private Map<String, NodeProperties> filterNodeProperties(
+        Map<NodeLabel, NodePropertyStore> nodeProperties,
+        Collection<NodeLabel> labels
+    ) {
+        if (nodeProperties.isEmpty()) {
             return Collections.emptyMap();
         }
         if (labels.size() == 1 || nodes.containsOnlyAllNodesLabel()) {
-            return this.nodeProperties.getOrDefault(labels.iterator().next(), NodePropertyStore.empty()).nodePropertyValues();
+            return nodeProperties.getOrDefault(labels.iterator().next(), NodePropertyStore.empty()).nodePropertyValues();
         }
 
         Map<String, Map<NodeLabel, NodeProperties>> invertedNodeProperties = new HashMap<>();
@@ -568,7 +637,7 @@ public final class CSRGraphStore implements GraphStore {
         }
 
         relationshipTypes.forEach(relationshipType -> {
-            if (!relationships.containsKey(relationshipType)) {
+            if (!hasRelationshipType(relationshipType)) {
                 throw new IllegalArgumentException(formatWithLocale(
                     "No relationships have been loaded for relationship type '%s'",
                     relationshipType
@@ -590,7 +659,7 @@ public final class CSRGraphStore implements GraphStore {
     private NodeSchema nodeSchema() {
         NodeSchema.Builder nodePropsBuilder = NodeSchema.builder();
 
-        nodeProperties.forEach((label, propertyStore) ->
+        nodeProperties.get().stores.forEach((label, propertyStore) ->
             propertyStore.nodeProperties().forEach((propertyName, nodeProperty) -> {
                 nodePropsBuilder.addPropertyAndTypeForLabel(label, propertyName, nodeProperty.type());
             }));
@@ -604,7 +673,7 @@ public final class CSRGraphStore implements GraphStore {
     private RelationshipSchema relationshipTypeSchema() {
         RelationshipSchema.Builder relationshipPropsBuilder = RelationshipSchema.builder();
 
-        relationshipProperties.forEach((type, propertyStore) -> {
+        relationships.get().properties.forEach((type, propertyStore) -> {
             propertyStore.relationshipProperties().forEach((propertyName, relationshipProperty) -> {
                 relationshipPropsBuilder.addPropertyAndTypeForRelationshipType(
                     type,
@@ -620,6 +689,56 @@ public final class CSRGraphStore implements GraphStore {
         return relationshipPropsBuilder.build();
     }
 
+    /**
+     * An immutable view of the node property stores.
+     * Filtered and unioned node properties are cached per label combination, which is valid
+     * for as long as the snapshot is current, since every update publishes a new snapshot.
+     */
+    private static final class NodePropertySnapshot {
+        final Map<NodeLabel, NodePropertyStore> stores;
+        private final Map<Set<NodeLabel>, Map<String, NodeProperties>> filteredProperties;
+
+        NodePropertySnapshot(Map<NodeLabel, NodePropertyStore> stores) {
+            this.stores = Collections.unmodifiableMap(new HashMap<>(stores));
+            this.filteredProperties = new ConcurrentHashMap<>();
+        }
+
+        NodePropertyStore store(NodeLabel label) {
+            return stores.getOrDefault(label, NodePropertyStore.empty());
+        }
+
+        Map<String, NodeProperties> filteredProperties(
+            Collection<NodeLabel> labels,
+            BiFunction<Map<NodeLabel, NodePropertyStore>, Collection<NodeLabel>, Map<String, NodeProperties>> filter
+        ) {
+            return filteredProperties.computeIfAbsent(
+                Set.copyOf(labels),
+                ignored -> Collections.unmodifiableMap(filter.apply(stores, labels))
+            );
+        }
+    }
+
+    /**
+     * An immutable view of the relationship topologies and their property stores,
+     * so that a relationship type and its properties are always added and removed together.
+     */
+    private static final class RelationshipSnapshot {
+        final Map<RelationshipType, HugeGraph.TopologyCSR> topologies;
+        final Map<RelationshipType, RelationshipPropertyStore> properties;
+
+        RelationshipSnapshot(
+            Map<RelationshipType, HugeGraph.TopologyCSR> topologies,
+            Map<RelationshipType, RelationshipPropertyStore> properties
+        ) {
+            this.topologies = Collections.unmodifiableMap(new HashMap<>(topologies));
+            this.properties = Collections.unmodifiableMap(new HashMap<>(properties));
+        }
+
+        RelationshipPropertyStore propertyStore(RelationshipType relationshipType) {
+            return properties.getOrDefault(relationshipType, RelationshipPropertyStore.empty());
+        }
+    }
+
     @ValueClass
     interface NodeProperty {
 
@@ -713,6 +832,22 @@ public final class CSRGraphStore implements GraphStore {
             return relationshipProperties().containsKey(propertyKey);
         }
 
+        /**
+         * @return the amount of memory used by the decoded property columns, in bytes
+         */
+        default long residentMemory() {
+            return values().stream().mapToLong(property -> property.values().list().residentMemory()).sum();
+        }
+
+        /**
+         * Drops the decoded form of all compressed property columns.
+         *
+         * @return the amount of memory freed, in bytes.
+         */
+        default long evict() {
+            return values().stream().mapToLong(property -> property.values().list().evict()).sum();
+        }
+
         static RelationshipPropertyStore empty() {
             return ImmutableRelationshipPropertyStore.of(Collections.emptyMap());
         }
@@ -92,7 +92,7 @@ public class CypherFactory extends GraphStoreFactory<GraphCreateFromCypherConfig
             relationshipProjection
         );
 
-        return NativeFactory.getMemoryEstimation(nodeProjections, relationshipProjections);
+        return NativeFactory.getMemoryEstimation(nodeProjections, relationshipProjections, graphCreateConfig.nodeOrdering());
     }
 
     @Override
@@ -36,12 +36,12 @@ import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.ID_MAP_SCOPE;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_PROPERTY_KEY;
 
@@ -70,8 +70,18 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
         this.outerDimensions = outerDimensions;
         this.maxNodeId = 0L;
         this.labelTokenNodeLabelMapping = new IntObjectHashMap<>();
-        this.builder = HugeLongArrayBuilder.of(nodeCount, loadingContext.tracker());
-        this.importer = new NodeImporter(builder, new HashMap<>(), labelTokenNodeLabelMapping);
+        this.builder = HugeLongArrayBuilder.of(nodeCount, loadingContext.tracker().child(ID_MAP_SCOPE));
+        // the labels are only known once the rows that contain them are read
+        this.importer = new NodeImporter(
+            builder,
+            new LabelIndex.Builder(
+                labelTokenNodeLabelMapping,
+                Integer.MAX_VALUE,
+                nodeCount,
+                loadingContext.tracker().child(ID_MAP_SCOPE)
+            ),
+            labelTokenNodeLabelMapping
+        );
     }
 
     @Override
@@ -119,10 +129,10 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
         try {
             idMap = IdMapBuilder.buildChecked(
                 builder,
-                importer.nodeLabelBitSetMapping,
+                importer.labelIndexBuilder.build(builder.size()),
                 maxNodeId,
                 cypherConfig.readConcurrency(),
-                loadingContext.tracker()
+                loadingContext.tracker().child(ID_MAP_SCOPE)
             );
         } catch (DuplicateNodeIdException e) {
             throw new IllegalArgumentException(formatWithLocale(
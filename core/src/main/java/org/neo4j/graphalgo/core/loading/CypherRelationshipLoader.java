@@ -53,6 +53,7 @@ import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
 import static org.neo4j.graphalgo.core.loading.CypherNodePropertyImporter.NO_PROPERTY_VALUE;
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.ADJACENCY_SCOPE;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP_TYPE;
 
 @Value.Enclosing
@@ -263,7 +264,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
                 relationshipType,
                 projection,
                 builder,
-                loadingContext.tracker()
+                loadingContext.tracker().child(ADJACENCY_SCOPE)
             );
 
             relationshipCounters.put(projection, importerBuilder.relationshipCounter());
@@ -295,7 +296,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
                 aggregationsWithDefault
             );
 
-            RelationshipImporter relationshipImporter = new RelationshipImporter(loadingContext.tracker(), adjacencyBuilder);
+            RelationshipImporter relationshipImporter = new RelationshipImporter(tracker, adjacencyBuilder);
             return new SingleTypeRelationshipImporter.Builder(
                 relationshipType,
                 relationshipProjection,
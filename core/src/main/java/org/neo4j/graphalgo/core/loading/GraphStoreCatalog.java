@@ -84,6 +84,21 @@ public final class GraphStoreCatalog {
             .sum();
     }
 
+    /**
+     * Drops the decoded relationship property columns of all graphs in the catalog, for all users.
+     * Columns that are used by a running computation are kept.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    public static long evictRelationshipProperties() {
+        return userCatalogs
+            .values()
+            .stream()
+            .flatMap(userCatalog -> userCatalog.getGraphStores().values().stream())
+            .mapToLong(GraphStore::evictRelationshipProperties)
+            .sum();
+    }
+
     public static UserCatalog getUserCatalog(String username) {
         return userCatalogs.getOrDefault(username, UserCatalog.EMPTY);
     }
@@ -144,11 +159,12 @@ public final class GraphStoreCatalog {
         }
 
         GraphStoreWithConfig get(String graphName) {
-            if (graphsByName.containsKey(graphName)) {
-                return graphsByName.get(graphName);
-            } else {
+            // a single lookup, so that a concurrent drop cannot slip in between the check and the read
+            GraphStoreWithConfig graphStoreWithConfig = graphName == null ? null : graphsByName.get(graphName);
+            if (graphStoreWithConfig == null) {
                 throw new NoSuchElementException(formatWithLocale("Cannot find graph with name '%s'.", graphName));
             }
+            return graphStoreWithConfig;
         }
 
         public Optional<Map<String, Object>> getDegreeDistribution(String graphName) {
@@ -164,7 +180,9 @@ public final class GraphStoreCatalog {
          * This method returns the union of all subgraphs refered to by the given name.
          */
         Optional<Graph> getUnion(String graphName) {
-            return !exists(graphName) ? Optional.empty() : Optional.of(graphsByName.get(graphName).graphStore().getUnion());
+            return Optional
+                .ofNullable(graphName == null ? null : graphsByName.get(graphName))
+                .map(graphStoreWithConfig -> graphStoreWithConfig.graphStore().getUnion());
         }
 
         boolean exists(String graphName) {
@@ -173,13 +191,10 @@ public final class GraphStoreCatalog {
 
         @Nullable
         GraphStoreWithConfig remove(String graphName) {
-            if (!exists(graphName)) {
-                // remove is allowed to return null if the graph does not exist
-                // as it's being used by algo.graph.info or algo.graph.remove,
-                // that can deal with missing graphs
-                return null;
-            }
-            return graphsByName.remove(graphName);
+            // remove is allowed to return null if the graph does not exist
+            // as it's being used by algo.graph.info or algo.graph.remove,
+            // that can deal with missing graphs
+            return graphName == null ? null : graphsByName.remove(graphName);
         }
 
         Map<GraphCreateConfig, GraphStore> getGraphStores() {
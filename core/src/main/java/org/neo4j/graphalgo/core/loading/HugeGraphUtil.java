@@ -151,7 +151,7 @@ public final class HugeGraphUtil {
                     nodeId
                 ));
 
-                idMap = new IdMap(internalToNeo, originalToInternal, labelInformation, internalToNeo.size());
+                idMap = new IdMap(internalToNeo, originalToInternal, labelInformation, internalToNeo.size(), tracker);
             }
             return idMap;
         }
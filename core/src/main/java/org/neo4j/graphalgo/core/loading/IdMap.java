@@ -25,20 +25,19 @@ import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.api.BatchNodeIterable;
 import org.neo4j.graphalgo.api.NodeIterator;
 import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
-import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,18 +62,16 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
                 dimensions.nodeCount()
             )
         )
-        .perGraphDimension(
-            "Node Label BitSets",
-            (dimensions, concurrency) ->
-                MemoryRange.of(dimensions.nodeLabels().size() * MemoryUsage.sizeOfBitset(dimensions.nodeCount()))
-        )
+        // the label set ids are at most one bit per label wide, and shrunk into a copy once all nodes are loaded
+        .perGraphDimension("Node Label Index", (dimensions, concurrency) -> labelIndexMemory(dimensions))
+        .perGraphDimension("Node Label Index while loading", (dimensions, concurrency) -> labelIndexMemory(dimensions))
         .build();
 
     private static final Set<NodeLabel> ALL_NODES_LABELS = Set.of(NodeLabel.ALL_NODES);
 
     private final long nodeCount;
 
-    private final Map<NodeLabel, BitSet> labelInformation;
+    private final LabelIndex labelIndex;
 
     private final HugeLongArray graphIds;
     private final HugeSparseLongArray nodeToGraphIds;
@@ -83,17 +80,42 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         return ESTIMATION;
     }
 
+    // a projection of all nodes without labels does not build a label index
+    private static MemoryRange labelIndexMemory(GraphDimensions dimensions) {
+        Set<NodeLabel> nodeLabels = dimensions.nodeLabels();
+        return nodeLabels.isEmpty() || nodeLabels.equals(ALL_NODES_LABELS)
+            ? MemoryRange.empty()
+            : MemoryRange.of(PackedIntArray.memoryEstimation(
+                dimensions.nodeCount(),
+                PackedIntArray.bitsPerSubset(nodeLabels.size())
+            ));
+    }
+
     public IdMap(HugeLongArray graphIds, HugeSparseLongArray nodeToGraphIds, long nodeCount) {
         this(graphIds, nodeToGraphIds, Collections.emptyMap(), nodeCount);
     }
 
+    public IdMap(HugeLongArray graphIds, HugeSparseLongArray nodeToGraphIds, Map<NodeLabel, BitSet> labelInformation, long nodeCount) {
+        this(graphIds, nodeToGraphIds, labelInformation, nodeCount, AllocationTracker.EMPTY);
+    }
+
     /**
-     * initialize the map with pre-built sub arrays
+     * initialize the map with pre-built sub arrays, the label index is allocated with the given tracker
      */
-    public IdMap(HugeLongArray graphIds, HugeSparseLongArray nodeToGraphIds, Map<NodeLabel, BitSet> labelInformation, long nodeCount) {
+    public IdMap(
+        HugeLongArray graphIds,
+        HugeSparseLongArray nodeToGraphIds,
+        Map<NodeLabel, BitSet> labelInformation,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        this(graphIds, nodeToGraphIds, LabelIndex.of(labelInformation, nodeCount, tracker), nodeCount);
+    }
+
+    IdMap(HugeLongArray graphIds, HugeSparseLongArray nodeToGraphIds, LabelIndex labelIndex, long nodeCount) {
         this.graphIds = graphIds;
         this.nodeToGraphIds = nodeToGraphIds;
-        this.labelInformation = labelInformation;
+        this.labelIndex = labelIndex;
         this.nodeCount = nodeCount;
     }
 
@@ -117,6 +139,13 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         return nodeCount;
     }
 
+    /**
+     * The capacity for a mapping from the original ids of this mapping, used to size derived mappings.
+     */
+    long originalIdCapacity() {
+        return nodeToGraphIds.getCapacity();
+    }
+
     @Override
     public void forEachNode(LongPredicate consumer) {
         final long count = nodeCount();
@@ -142,41 +171,31 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
 
     @Override
     public Set<NodeLabel> availableNodeLabels() {
-        return labelInformation.isEmpty()
+        return labelIndex.isEmpty()
             ? ALL_NODES_LABELS
-            : labelInformation.keySet();
+            : labelIndex.availableLabels();
     }
 
     @Override
     public Set<NodeLabel> nodeLabels(long nodeId) {
-        if (labelInformation.isEmpty()) {
-            return ALL_NODES_LABELS;
-        } else {
-            Set<NodeLabel> set = new HashSet<>();
-            for (var labelAndBitSet : labelInformation.entrySet()) {
-                if (labelAndBitSet.getValue().get(nodeId)) {
-                    set.add(labelAndBitSet.getKey());
-                }
-            }
-            return set;
-        }
+        return labelIndex.isEmpty()
+            ? ALL_NODES_LABELS
+            : labelIndex.nodeLabels(nodeId);
     }
 
     @Override
     public boolean hasLabel(long nodeId, NodeLabel label) {
-        BitSet bitSet = labelInformation.get(label);
-        return bitSet != null && bitSet.get(nodeId);
+        return labelIndex.hasLabel(nodeId, label);
     }
 
     IdMap withFilteredLabels(Collection<NodeLabel> nodeLabels, int concurrency) {
-        validateNodeLabelFilter(nodeLabels, labelInformation);
+        validateNodeLabelFilter(nodeLabels, labelIndex.availableLabels());
 
-        if (labelInformation.isEmpty()) {
+        if (labelIndex.isEmpty()) {
             return this;
         }
 
-        BitSet unionBitSet = new BitSet(nodeCount());
-        nodeLabels.forEach(label -> unionBitSet.union(labelInformation.get(label)));
+        BitSet unionBitSet = labelIndex.union(nodeLabels, nodeCount());
 
         if (unionBitSet.cardinality() == nodeCount()) {
             return this;
@@ -194,29 +213,43 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
 
         HugeSparseLongArray newNodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
             newNodeCount,
-            nodeToGraphIds.getCapacity(),
+            originalIdCapacity(),
             concurrency,
             IdMapBuilder.add(newGraphIds),
             AllocationTracker.EMPTY
         );
 
-        Map<NodeLabel, BitSet> newLabelInformation = nodeLabels
-            .stream()
-            .collect(Collectors.toMap(nodeLabel -> nodeLabel, labelInformation::get));
+        return new FilteredIdMap(newGraphIds, newNodeToGraphIds, labelIndex.withLabels(nodeLabels), newNodeCount);
+    }
+
+    /**
+     * Returns a copy of this mapping in which the node with the internal id {@code newToOld.get(i)} has the internal id {@code i}.
+     */
+    IdMap reorder(HugeLongArray newToOld, int concurrency, AllocationTracker tracker) {
+        HugeLongArray newGraphIds = HugeLongArray.newArray(nodeCount, tracker);
+        newGraphIds.setAll(nodeId -> toOriginalNodeId(newToOld.get(nodeId)));
+
+        HugeSparseLongArray newNodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+            nodeCount,
+            originalIdCapacity(),
+            concurrency,
+            IdMapBuilder.add(newGraphIds),
+            tracker
+        );
 
-        return new FilteredIdMap(newGraphIds, newNodeToGraphIds, newLabelInformation, newNodeCount);
+        return new IdMap(newGraphIds, newNodeToGraphIds, labelIndex.reorder(newToOld, tracker), nodeCount);
     }
 
-    private void validateNodeLabelFilter(Collection<NodeLabel> nodeLabels, Map<NodeLabel, BitSet> labelInformation) {
+    private void validateNodeLabelFilter(Collection<NodeLabel> nodeLabels, Set<NodeLabel> availableLabels) {
         List<ElementIdentifier> invalidLabels = nodeLabels
             .stream()
-            .filter(label -> !new HashSet<>(labelInformation.keySet()).contains(label))
+            .filter(label -> !availableLabels.contains(label))
             .collect(Collectors.toList());
         if (!invalidLabels.isEmpty()) {
             throw new IllegalArgumentException(formatWithLocale(
                 "Specified labels %s do not correspond to any of the node projections %s.",
                 invalidLabels,
-                labelInformation.keySet()
+                availableLabels
             ));
         }
     }
@@ -267,10 +300,10 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         FilteredIdMap(
             HugeLongArray graphIds,
             HugeSparseLongArray nodeToGraphIds,
-            Map<NodeLabel, BitSet> filteredLabelMap,
+            LabelIndex filteredLabelIndex,
             long nodeCount
         ) {
-            super(graphIds, nodeToGraphIds, filteredLabelMap, nodeCount);
+            super(graphIds, nodeToGraphIds, filteredLabelIndex, nodeCount);
         }
 
         @Override
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import com.carrotsearch.hppc.BitSet;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
@@ -42,8 +43,28 @@ public final class IdMapBuilder {
         long highestNodeId,
         int concurrency,
         AllocationTracker tracker
+    ) {
+        return build(
+            idMapBuilder,
+            LabelIndex.of(labelInformation, idMapBuilder.size(), tracker),
+            highestNodeId,
+            concurrency,
+            tracker
+        );
+    }
+
+    static IdMap build(
+        HugeLongArrayBuilder idMapBuilder,
+        LabelIndex labelIndex,
+        long highestNodeId,
+        int concurrency,
+        AllocationTracker tracker
     ) {
         HugeLongArray graphIds = idMapBuilder.build();
+        IdMap rangeIdMap = rangeIdMap(graphIds, labelIndex, idMapBuilder.size(), tracker);
+        if (rangeIdMap != null) {
+            return rangeIdMap;
+        }
         HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
             idMapBuilder.size(),
             highestNodeId,
@@ -51,17 +72,21 @@ public final class IdMapBuilder {
             add(graphIds),
             tracker
         );
-        return new IdMap(graphIds, nodeToGraphIds, labelInformation, idMapBuilder.size());
+        return new IdMap(graphIds, nodeToGraphIds, labelIndex, idMapBuilder.size());
     }
 
     static IdMap buildChecked(
         HugeLongArrayBuilder idMapBuilder,
-        Map<NodeLabel, BitSet> labelInformation,
+        LabelIndex labelIndex,
         long highestNodeId,
         int concurrency,
         AllocationTracker tracker
     ) throws DuplicateNodeIdException {
         HugeLongArray graphIds = idMapBuilder.build();
+        IdMap rangeIdMap = rangeIdMap(graphIds, labelIndex, idMapBuilder.size(), tracker);
+        if (rangeIdMap != null) {
+            return rangeIdMap;
+        }
         HugeSparseLongArray nodeToGraphIds = buildSparseNodeMapping(
             idMapBuilder.size(),
             highestNodeId,
@@ -69,7 +94,24 @@ public final class IdMapBuilder {
             addChecked(graphIds),
             tracker
         );
-        return new IdMap(graphIds, nodeToGraphIds, labelInformation, idMapBuilder.size());
+        return new IdMap(graphIds, nodeToGraphIds, labelIndex, idMapBuilder.size());
+    }
+
+    /**
+     * Uses arithmetic on contiguous runs of original ids instead of the id arrays, if the ids allow for it.
+     * The original ids are released in that case, and duplicate ids always fall back to the sparse mapping.
+     */
+    private static @Nullable IdMap rangeIdMap(
+        HugeLongArray graphIds,
+        LabelIndex labelIndex,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        RangeIdMap idMap = RangeIdMap.of(graphIds, labelIndex, nodeCount);
+        if (idMap != null) {
+            tracker.remove(graphIds.release());
+        }
+        return idMap;
     }
 
     @NotNull
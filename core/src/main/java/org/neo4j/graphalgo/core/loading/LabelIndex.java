@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.IntObjectMap;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.ObjectIntHashMap;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.neo4j.graphalgo.core.GraphDimensions.ANY_LABEL;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Stores the labels of all nodes as one interned label set per node.
+ * <p>
+ * Nodes usually share few distinct combinations of labels, so every node only carries the id of its
+ * label set, packed into as many bits as the number of distinct label sets needs, instead of one bit
+ * per node for every label. Projections where all nodes have the same labels need no bits per node at all.
+ * The label sets are resolved once, so that {@link #nodeLabels(long)} and {@link #hasLabel(long, NodeLabel)}
+ * are constant time and do not allocate.
+ */
+final class LabelIndex {
+
+    static final LabelIndex EMPTY = new LabelIndex(
+        new ObjectIntHashMap<>(),
+        Collections.emptySet(),
+        PackedIntArray.of(0, 0, AllocationTracker.EMPTY),
+        new BitSet[0],
+        List.of()
+    );
+
+    private final ObjectIntHashMap<NodeLabel> labelIds;
+    private final Set<NodeLabel> availableLabels;
+    private final PackedIntArray labelSetIds;
+    private final BitSet[] labelSetMembers;
+    private final List<Set<NodeLabel>> labelSets;
+
+    /**
+     * Interns the label sets of the nodes {@code 0} (inclusive) to {@code nodeCount} (exclusive) from one bit set per label.
+     */
+    static LabelIndex of(Map<NodeLabel, BitSet> labelInformation, long nodeCount, AllocationTracker tracker) {
+        if (labelInformation.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<NodeLabel> labels = new ArrayList<>(labelInformation.keySet());
+
+        // every node starts with the empty label set, and is moved along one transition per label it has;
+        // labels are added in a fixed order, so every distinct label set is reached by exactly one path
+        PackedIntArray labelSetIds = PackedIntArray.of(nodeCount, PackedIntArray.bitsPerSubset(labels.size()), tracker);
+        List<BitSet> labelSetMembers = new ArrayList<>();
+        labelSetMembers.add(new BitSet(labels.size()));
+        LongIntHashMap transitions = new LongIntHashMap();
+
+        for (int labelId = 0; labelId < labels.size(); labelId++) {
+            BitSet bitSet = labelInformation.get(labels.get(labelId));
+            int lastSetId = -1;
+            int lastNextSetId = -1;
+            for (long nodeId = bitSet.nextSetBit(0L); nodeId != -1L && nodeId < nodeCount; nodeId = bitSet.nextSetBit(nodeId + 1)) {
+                int setId = labelSetIds.get(nodeId);
+                if (setId != lastSetId) {
+                    long transition = ((long) setId << 32) | labelId;
+                    int nextSetId = transitions.getOrDefault(transition, -1);
+                    if (nextSetId == -1) {
+                        BitSet members = (BitSet) labelSetMembers.get(setId).clone();
+                        members.set(labelId);
+                        nextSetId = nextLabelSetId(labelSetMembers, labelSetIds);
+                        labelSetMembers.add(members);
+                        transitions.put(transition, nextSetId);
+                    }
+                    lastSetId = setId;
+                    lastNextSetId = nextSetId;
+                }
+                labelSetIds.set(nodeId, lastNextSetId);
+            }
+        }
+
+        return of(labels, labelSetIds, labelSetMembers, nodeCount, tracker);
+    }
+
+    private static int nextLabelSetId(List<BitSet> labelSetMembers, PackedIntArray labelSetIds) {
+        int labelSetId = labelSetMembers.size();
+        if (labelSetId > labelSetIds.maxValue()) {
+            throw new IllegalStateException(formatWithLocale(
+                "The nodes have more than %d distinct combinations of labels.",
+                labelSetIds.maxValue() + 1L
+            ));
+        }
+        return labelSetId;
+    }
+
+    /**
+     * Creates the index once all nodes have their label set, and shrinks the label set ids to the width
+     * that the number of distinct label sets needs.
+     */
+    private static LabelIndex of(
+        List<NodeLabel> labels,
+        PackedIntArray labelSetIds,
+        List<BitSet> labelSetMembers,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        int bitsPerLabelSet = PackedIntArray.bitsPerValue(labelSetMembers.size() - 1);
+        if (bitsPerLabelSet < labelSetIds.bitsPerValue() || nodeCount < labelSetIds.size()) {
+            PackedIntArray compactLabelSetIds = labelSetIds.copyOf(nodeCount, bitsPerLabelSet, tracker);
+            tracker.remove(labelSetIds.release());
+            labelSetIds = compactLabelSetIds;
+        }
+
+        ObjectIntHashMap<NodeLabel> labelIds = new ObjectIntHashMap<>(labels.size());
+        for (int labelId = 0; labelId < labels.size(); labelId++) {
+            labelIds.put(labels.get(labelId), labelId);
+        }
+        return new LabelIndex(
+            labelIds,
+            Collections.unmodifiableSet(new LinkedHashSet<>(labels)),
+            labelSetIds,
+            labelSetMembers.toArray(new BitSet[0]),
+            labelSets(labelSetMembers, labels, labelIds)
+        );
+    }
+
+    private static List<Set<NodeLabel>> labelSets(
+        List<BitSet> labelSetMembers,
+        List<NodeLabel> labels,
+        ObjectIntHashMap<NodeLabel> visibleLabels
+    ) {
+        List<Set<NodeLabel>> labelSets = new ArrayList<>(labelSetMembers.size());
+        for (int setId = 0; setId < labelSetMembers.size(); setId++) {
+            BitSet members = labelSetMembers.get(setId);
+            Set<NodeLabel> labelSet = new LinkedHashSet<>();
+            for (int labelId = members.nextSetBit(0); labelId != -1; labelId = members.nextSetBit(labelId + 1)) {
+                NodeLabel label = labels.get(labelId);
+                if (visibleLabels.containsKey(label)) {
+                    labelSet.add(label);
+                }
+            }
+            labelSets.add(Collections.unmodifiableSet(labelSet));
+        }
+        return labelSets;
+    }
+
+    private LabelIndex(
+        ObjectIntHashMap<NodeLabel> labelIds,
+        Set<NodeLabel> availableLabels,
+        PackedIntArray labelSetIds,
+        BitSet[] labelSetMembers,
+        List<Set<NodeLabel>> labelSets
+    ) {
+        this.labelIds = labelIds;
+        this.availableLabels = availableLabels;
+        this.labelSetIds = labelSetIds;
+        this.labelSetMembers = labelSetMembers;
+        this.labelSets = labelSets;
+    }
+
+    boolean isEmpty() {
+        return availableLabels.isEmpty();
+    }
+
+    Set<NodeLabel> availableLabels() {
+        return availableLabels;
+    }
+
+    Set<NodeLabel> nodeLabels(long nodeId) {
+        return labelSets.get(labelSetIds.get(nodeId));
+    }
+
+    boolean hasLabel(long nodeId, NodeLabel label) {
+        int labelId = labelIds.getOrDefault(label, -1);
+        return labelId != -1 && labelSetMembers[labelSetIds.get(nodeId)].get(labelId);
+    }
+
+    /**
+     * Returns the nodes that have at least one of the given labels.
+     */
+    BitSet union(Collection<NodeLabel> labels, long nodeCount) {
+        boolean[] matches = new boolean[labelSetMembers.length];
+        for (NodeLabel label : labels) {
+            int labelId = labelIds.getOrDefault(label, -1);
+            if (labelId != -1) {
+                for (int setId = 0; setId < matches.length; setId++) {
+                    matches[setId] |= labelSetMembers[setId].get(labelId);
+                }
+            }
+        }
+        BitSet union = new BitSet(nodeCount);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (matches[labelSetIds.get(nodeId)]) {
+                union.set(nodeId);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Returns an index over the same nodes in which only the given labels are visible.
+     */
+    LabelIndex withLabels(Collection<NodeLabel> labels) {
+        ObjectIntHashMap<NodeLabel> visibleLabels = new ObjectIntHashMap<>(labels.size());
+        List<NodeLabel> labelsById = new ArrayList<>(Collections.nCopies(labelIds.size(), null));
+        for (var cursor : labelIds) {
+            labelsById.set(cursor.value, cursor.key);
+        }
+        for (NodeLabel label : labels) {
+            visibleLabels.put(label, labelIds.get(label));
+        }
+        return new LabelIndex(
+            visibleLabels,
+            Collections.unmodifiableSet(new LinkedHashSet<>(labels)),
+            labelSetIds,
+            labelSetMembers,
+            labelSets(Arrays.asList(labelSetMembers), labelsById, visibleLabels)
+        );
+    }
+
+    /**
+     * Returns a copy of this index in which the node {@code newToOld.get(i)} has the id {@code i}.
+     */
+    LabelIndex reorder(HugeLongArray newToOld, AllocationTracker tracker) {
+        if (isEmpty()) {
+            return this;
+        }
+        PackedIntArray newLabelSetIds = PackedIntArray.of(newToOld.size(), labelSetIds.bitsPerValue(), tracker);
+        for (long nodeId = 0; nodeId < newToOld.size(); nodeId++) {
+            newLabelSetIds.set(nodeId, labelSetIds.get(newToOld.get(nodeId)));
+        }
+        return new LabelIndex(labelIds, availableLabels, newLabelSetIds, labelSetMembers, labelSets);
+    }
+
+    /**
+     * Interns the label sets of the nodes while they are imported, so that no bit set per label is built.
+     * <p>
+     * Batches of nodes can be added concurrently. Every batch resolves the label sets of its nodes through
+     * a local cache and only synchronizes for label sets it has not seen yet. The label set ids are stored
+     * with one bit per label while loading, which is enough for any combination of the labels, and are
+     * shrunk to the number of distinct label sets once all nodes are imported.
+     */
+    static final class Builder {
+
+        private final IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping;
+        private final Map<NodeLabel, Integer> labelIds;
+        private final PackedIntArray labelSetIds;
+        private final AllocationTracker tracker;
+
+        // guarded by this
+        private final List<NodeLabel> labels;
+        private final ObjectIntHashMap<BitSet> labelSetIdsByMembers;
+        private final List<BitSet> labelSetMembers;
+
+        /**
+         * @param labelCount an upper bound for the number of labels, which are all the labels
+         *                   in {@code labelTokenNodeLabelMapping} unless it is filled while loading
+         */
+        Builder(
+            IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping,
+            int labelCount,
+            long nodeCount,
+            AllocationTracker tracker
+        ) {
+            this.labelTokenNodeLabelMapping = labelTokenNodeLabelMapping;
+            this.labelIds = new ConcurrentHashMap<>();
+            this.labelSetIds = PackedIntArray.of(nodeCount, PackedIntArray.bitsPerSubset(labelCount), tracker);
+            this.tracker = tracker;
+            this.labels = new ArrayList<>();
+            this.labelSetIdsByMembers = new ObjectIntHashMap<>();
+            this.labelSetMembers = new ArrayList<>();
+
+            // all projected labels are available, even if no node has them
+            for (var cursor : labelTokenNodeLabelMapping.values()) {
+                cursor.value.forEach(this::labelId);
+            }
+        }
+
+        /**
+         * Sets the label sets of the nodes {@code startIndex} (inclusive) to {@code startIndex + batchLength} (exclusive)
+         * from their label tokens.
+         */
+        void addNodes(long startIndex, long[][] labelTokens, int batchLength) {
+            // '*' projections contain every node
+            BitSet starLabels = new BitSet();
+            for (NodeLabel starLabel : labelTokenNodeLabelMapping.getOrDefault(ANY_LABEL, Collections.emptyList())) {
+                starLabels.set(labelId(starLabel));
+            }
+
+            ObjectIntHashMap<BitSet> batchLabelSetIds = new ObjectIntHashMap<>();
+            BitSet members = new BitSet();
+            int cappedBatchLength = Math.min(labelTokens.length, batchLength);
+            for (int i = 0; i < cappedBatchLength; i++) {
+                members.clear();
+                members.union(starLabels);
+                for (long labelToken : labelTokens[i]) {
+                    List<NodeLabel> nodeLabels = labelTokenNodeLabelMapping.getOrDefault(
+                        (int) labelToken,
+                        Collections.emptyList()
+                    );
+                    for (NodeLabel nodeLabel : nodeLabels) {
+                        members.set(labelId(nodeLabel));
+                    }
+                }
+
+                int labelSetId = batchLabelSetIds.getOrDefault(members, -1);
+                if (labelSetId == -1) {
+                    BitSet batchMembers = (BitSet) members.clone();
+                    labelSetId = labelSetId(batchMembers);
+                    batchLabelSetIds.put(batchMembers, labelSetId);
+                }
+                labelSetIds.set(startIndex + i, labelSetId);
+            }
+        }
+
+        private int labelId(NodeLabel label) {
+            Integer labelId = labelIds.get(label);
+            return labelId != null ? labelId : addLabel(label);
+        }
+
+        private synchronized int addLabel(NodeLabel label) {
+            return labelIds.computeIfAbsent(label, ignore -> {
+                labels.add(label);
+                return labels.size() - 1;
+            });
+        }
+
+        private synchronized int labelSetId(BitSet members) {
+            int labelSetId = labelSetIdsByMembers.getOrDefault(members, -1);
+            if (labelSetId == -1) {
+                labelSetId = nextLabelSetId(labelSetMembers, labelSetIds);
+                labelSetMembers.add(members);
+                labelSetIdsByMembers.put(members, labelSetId);
+            }
+            return labelSetId;
+        }
+
+        /**
+         * Returns the index over the first {@code nodeCount} nodes, once all of them are added.
+         */
+        synchronized LabelIndex build(long nodeCount) {
+            if (labels.isEmpty()) {
+                tracker.remove(labelSetIds.release());
+                return EMPTY;
+            }
+            if (labelSetMembers.isEmpty()) {
+                labelSetMembers.add(new BitSet());
+            }
+            return of(new ArrayList<>(labels), labelSetIds, labelSetMembers, nodeCount, tracker);
+        }
+    }
+}
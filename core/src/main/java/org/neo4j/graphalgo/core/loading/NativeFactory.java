@@ -60,7 +60,30 @@ public final class NativeFactory extends GraphStoreFactory<GraphCreateFromStoreC
 
     @Override
     public MemoryEstimation memoryEstimation() {
-        return getMemoryEstimation(storeConfig.nodeProjections(), storeConfig.relationshipProjections());
+        return getMemoryEstimation(
+            storeConfig.nodeProjections(),
+            storeConfig.relationshipProjections(),
+            storeConfig.nodeOrdering()
+        );
+    }
+
+    /**
+     * Adds the transient memory of reassigning the node ids, if a {@link NodeOrdering} other than
+     * {@link NodeOrdering#NONE} is configured.
+     */
+    public static MemoryEstimation getMemoryEstimation(
+        NodeProjections nodeProjections,
+        RelationshipProjections relationshipProjections,
+        NodeOrdering nodeOrdering
+    ) {
+        MemoryEstimation graph = getMemoryEstimation(nodeProjections, relationshipProjections);
+        if (nodeOrdering == NodeOrdering.NONE) {
+            return graph;
+        }
+        return MemoryEstimations.builder(HugeGraph.class)
+            .add("graph", graph)
+            .add("node reordering", NodeReordering.memoryEstimation(nodeOrdering, graph))
+            .build();
     }
 
     public static MemoryEstimation getMemoryEstimation(NodeProjections nodeProjections, RelationshipProjections relationshipProjections) {
@@ -91,7 +114,7 @@ public final class NativeFactory extends GraphStoreFactory<GraphCreateFromStoreC
             relationshipProjection.properties().mappings().forEach(resolvedPropertyMapping -> {
                 builder.add(
                     formatWithLocale("property '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
-                    AdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
+                    AdjacencyList.compressedPropertiesMemoryEstimation(relationshipType, undirected)
                 );
                 builder.add(
                     formatWithLocale("property offset '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
@@ -26,14 +26,10 @@ import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.api.NodeProperties;
-import org.neo4j.graphalgo.compat.Neo4jProxy;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.Read;
-import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
-import org.neo4j.memory.MemoryTracker;
 import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
@@ -68,24 +64,24 @@ public final class NativeNodePropertyImporter {
         this.containsAnyLabelProjection = containsAnyLabelProjection;
     }
 
+    /**
+     * Reads the property chain of a single node with the given cursor, which is reused for all nodes of a scanner.
+     * Values are only decoded for property keys that are projected for one of the labels of the node.
+     */
     int importProperties(
         long nodeId,
         long neoNodeId,
         long[] labelIds,
         long propertiesReference,
-        CursorFactory cursors,
-        Read read,
-        PageCursorTracer cursorTracer,
-        MemoryTracker memoryTracker
+        PropertyCursor pc,
+        Read read
     ) {
-        try (PropertyCursor pc = Neo4jProxy.allocatePropertyCursor(cursors, cursorTracer, memoryTracker)) {
-            read.nodeProperties(neoNodeId, propertiesReference, pc);
-            int nodePropertiesRead = 0;
-            while (pc.next()) {
-                nodePropertiesRead += importProperty(nodeId, labelIds, pc);
-            }
-            return nodePropertiesRead;
+        read.nodeProperties(neoNodeId, propertiesReference, pc);
+        int nodePropertiesRead = 0;
+        while (pc.next()) {
+            nodePropertiesRead += importProperty(nodeId, labelIds, pc);
         }
+        return nodePropertiesRead;
     }
 
     public Map<NodeLabel, Map<PropertyMapping, NodeProperties>> result() {
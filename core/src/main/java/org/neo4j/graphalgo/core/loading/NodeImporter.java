@@ -19,30 +19,26 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.IntObjectMap;
+import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
-import org.neo4j.internal.kernel.api.CursorFactory;
+import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.Read;
-import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
-import org.neo4j.memory.MemoryTracker;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
-import static org.neo4j.graphalgo.core.GraphDimensions.ANY_LABEL;
-
 public class NodeImporter {
 
     interface PropertyReader {
         int readProperty(long nodeReference, long[] labelIds, long propertiesReference, long internalId);
     }
 
-    final Map<NodeLabel, BitSet> nodeLabelBitSetMapping;
+    final @Nullable LabelIndex.Builder labelIndexBuilder;
     final IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping;
 
     private final HugeLongArrayBuilder idMapBuilder;
@@ -51,22 +47,20 @@ public class NodeImporter {
         this(idMapBuilder, null, null);
     }
 
-    public NodeImporter(
+    NodeImporter(
         HugeLongArrayBuilder idMapBuilder,
-        Map<NodeLabel, BitSet> nodeLabelBitSetMapping,
+        @Nullable LabelIndex.Builder labelIndexBuilder,
         IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping
     ) {
         this.idMapBuilder = idMapBuilder;
-        this.nodeLabelBitSetMapping = nodeLabelBitSetMapping;
+        this.labelIndexBuilder = labelIndexBuilder;
         this.labelTokenNodeLabelMapping = labelTokenNodeLabelMapping;
     }
 
     long importNodes(
         NodesBatchBuffer buffer,
         Read read,
-        CursorFactory cursors,
-        PageCursorTracer cursorTracer,
-        MemoryTracker memoryTracker,
+        @Nullable PropertyCursor propertyCursor,
         @Nullable NativeNodePropertyImporter propertyImporter
     ) {
         return importNodes(buffer, (nodeReference, labelIds, propertiesReference, internalId) -> {
@@ -76,10 +70,8 @@ public class NodeImporter {
                     nodeReference,
                     labelIds,
                     propertiesReference,
-                    cursors,
-                    read,
-                    cursorTracer,
-                    memoryTracker
+                    propertyCursor,
+                    read
                 );
             } else {
                 return 0;
@@ -120,54 +112,48 @@ public class NodeImporter {
 
         long[] batch = buffer.batch();
         long[] properties = buffer.properties();
+        long startIndex = adder.start;
 
-        if (buffer.hasLabelInformation()) {
-            setNodeLabelInformation(batchLength, adder.start, buffer.labelIds());
+        if (buffer.hasLabelInformation() && labelIndexBuilder != null) {
+            labelIndexBuilder.addNodes(startIndex, buffer.labelIds(), batchLength);
         }
 
         int batchOffset = 0;
         while (adder.nextBuffer()) {
             int length = adder.length;
             System.arraycopy(batch, batchOffset, adder.buffer, adder.offset, length);
-
-            if (properties != null) {
-                long start = adder.start;
-                for (int i = 0; i < length; i++) {
-                    long localIndex = start + i;
-                    int batchIndex = batchOffset + i;
-                    importedProperties += reader.readProperty(
-                        batch[batchIndex],
-                        buffer.labelIds()[i],
-                        properties[batchIndex],
-                        localIndex
-                    );
-                }
-            }
             batchOffset += length;
         }
-        return RawValues.combineIntInt(batchLength, importedProperties);
-    }
 
-    private void setNodeLabelInformation(int batchLength, long startIndex, long[][] labelIds) {
-        int cappedBatchLength = Math.min(labelIds.length, batchLength);
-        for (int i = 0; i < cappedBatchLength; i++) {
-            long[] labelIdsForNode = labelIds[i];
-            for (long labelId : labelIdsForNode) {
-                List<NodeLabel> elementIdentifiers = labelTokenNodeLabelMapping.getOrDefault(
-                    (int) labelId,
-                    Collections.emptyList()
-                );
-                for (NodeLabel elementIdentifier : elementIdentifiers) {
-                    nodeLabelBitSetMapping
-                        .computeIfAbsent(elementIdentifier, (ignore) -> new BitSet(batchLength))
-                        .set(startIndex + i);
-                }
-            }
+        if (properties != null) {
+            importedProperties = importProperties(batch, properties, buffer.labelIds(), batchLength, startIndex, reader);
         }
+        return RawValues.combineIntInt(batchLength, importedProperties);
+    }
 
-        // set the whole range for '*' projections
-        for (NodeLabel starLabel : labelTokenNodeLabelMapping.getOrDefault(ANY_LABEL, Collections.emptyList())) {
-            nodeLabelBitSetMapping.get(starLabel).set(startIndex, startIndex + batchLength);
+    /**
+     * Reads the properties of a batch once all its nodes have their internal ids.
+     * The nodes are visited in the order of their first property record, so that the
+     * property store is read page after page instead of jumping around in node order.
+     */
+    private static int importProperties(
+        long[] batch,
+        long[] properties,
+        long[][] labelIds,
+        int batchLength,
+        long startIndex,
+        PropertyReader reader
+    ) {
+        int[] order = IndirectSort.mergesort(0, batchLength, new AscendingLongComparator(properties));
+        int importedProperties = 0;
+        for (int batchIndex : order) {
+            importedProperties += reader.readProperty(
+                batch[batchIndex],
+                labelIds[batchIndex],
+                properties[batchIndex],
+                startIndex + batchIndex
+            );
         }
+        return importedProperties;
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * The order in which internal node ids are assigned when a graph is created, see {@link NodeReordering}.
+ */
+public enum NodeOrdering {
+
+    /**
+     * Keep the order in which nodes have been read from the store or the node query.
+     */
+    NONE,
+    /**
+     * Order nodes by descending degree, so that hubs and the scores of hubs are next to each other.
+     */
+    DEGREE,
+    /**
+     * Order nodes by a breadth-first traversal, so that neighbors get nearby ids.
+     */
+    BFS,
+    /**
+     * Order nodes by the reverse Cuthill-McKee algorithm, a breadth-first traversal that starts at nodes of low degree
+     * and visits neighbors by ascending degree, reversed at the end.
+     */
+    RCM;
+
+    public static NodeOrdering of(String value) {
+        try {
+            return NodeOrdering.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableOrderings = Arrays
+                .stream(NodeOrdering.values())
+                .map(NodeOrdering::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Node ordering `%s` is not supported. Must be one of: %s.",
+                value,
+                availableOrderings));
+        }
+    }
+
+    public static NodeOrdering parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof NodeOrdering) {
+            return (NodeOrdering) object;
+        }
+        return null;
+    }
+}
@@ -20,8 +20,12 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
 
 import java.util.OptionalLong;
@@ -73,6 +77,23 @@ public final class NodePropertyArray implements NodeProperties {
         return bits == -1 ? defaultValue : Double.longBitsToDouble(bits);
     }
 
+    /**
+     * Returns a copy in which the value of the node {@code newToOld.get(i)} is stored for the node {@code i}.
+     */
+    NodePropertyArray reorder(HugeLongArray newToOld, int concurrency, AllocationTracker tracker) {
+        long nodeCount = newToOld.size();
+        HugeSparseLongArray.Builder builder = HugeSparseLongArray.Builder.create(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long bits = properties.get(newToOld.get(nodeId));
+                if (bits != -1) {
+                    builder.set(nodeId, bits);
+                }
+            }
+        });
+        return new NodePropertyArray(defaultValue, maxValue, size, builder.build());
+    }
+
     @Override
     public OptionalLong getMaxPropertyValue() {
         return maxValue;
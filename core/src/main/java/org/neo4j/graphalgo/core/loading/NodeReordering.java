@@ -0,0 +1,693 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongArrayList;
+import org.apache.lucene.util.LongsRef;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NeighborCursor;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.ImmutablePropertyCSR;
+import org.neo4j.graphalgo.core.huge.ImmutableTopologyCSR;
+import org.neo4j.graphalgo.core.huge.UnionGraph;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.ADJACENCY_SCOPE;
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.RELATIONSHIP_PROPERTIES_SCOPE;
+
+/**
+ * Relabels the nodes of a freshly loaded graph, so that nodes that are accessed together have nearby ids.
+ * <p>
+ * Internal ids are assigned in store scan order, which is unrelated to the graph structure.
+ * After reordering, the targets of a node are closer to each other, which improves the ratio of the
+ * delta encoded adjacency lists, and algorithms touch fewer distinct cache lines of their node-indexed arrays.
+ * <p>
+ * The permutation is computed on the union of all relationship types.
+ * Afterwards the id map, the node properties and every relationship type, including its properties,
+ * are rewritten in the new order, in parallel over ranges of new node ids.
+ * Parallel relationships are kept, as the adjacency lists have already been aggregated during the import.
+ */
+public final class NodeReordering {
+
+    private final IdMap idMap;
+    private final HugeLongArray newToOld;
+    private final HugeLongArray oldToNew;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    public static NodeReordering of(
+        NodeOrdering ordering,
+        IdMap idMap,
+        Map<RelationshipType, HugeGraph.TopologyCSR> topologies,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        Graph graph = UnionGraph.of(topologies
+            .values()
+            .stream()
+            .map(topology -> HugeGraph.create(idMap, Collections.emptyMap(), topology, Optional.empty(), tracker))
+            .collect(Collectors.toList()));
+
+        HugeLongArray newToOld;
+        switch (ordering) {
+            case DEGREE:
+                newToOld = degreeOrder(graph, concurrency, tracker);
+                break;
+            case BFS:
+                newToOld = breadthFirstOrder(graph, concurrency, tracker);
+                break;
+            case RCM:
+                newToOld = reverseCuthillMcKeeOrder(graph, concurrency, tracker);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported node ordering: " + ordering);
+        }
+
+        long nodeCount = idMap.nodeCount();
+        HugeLongArray oldToNew = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                oldToNew.set(newToOld.get(nodeId), nodeId);
+            }
+        });
+
+        return new NodeReordering(idMap, newToOld, oldToNew, concurrency, tracker);
+    }
+
+    /**
+     * Estimates the memory that is needed in addition to the loaded graph while its nodes are reordered.
+     * The id map, the node properties and the relationships are rewritten into copies before the originals are released,
+     * so the given estimation of the graph is counted a second time. The copies are counted for all relationship types,
+     * although the old lists of a type are already released once that type has been rewritten.
+     */
+    public static MemoryEstimation memoryEstimation(NodeOrdering ordering, MemoryEstimation graph) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(NodeReordering.class)
+            .perNode("newToOld", HugeLongArray::memoryEstimation)
+            .perNode("oldToNew", HugeLongArray::memoryEstimation);
+        if (ordering == NodeOrdering.DEGREE || ordering == NodeOrdering.RCM) {
+            builder.perNode("degrees", HugeLongArray::memoryEstimation);
+        }
+        if (ordering == NodeOrdering.RCM) {
+            builder.perNode("roots", HugeLongArray::memoryEstimation);
+        }
+        if (ordering == NodeOrdering.BFS || ordering == NodeOrdering.RCM) {
+            builder.perNode("visited", MemoryUsage::sizeOfBitset);
+        }
+        return builder
+            .add("reordered graph", graph)
+            .build();
+    }
+
+    private NodeReordering(
+        IdMap idMap,
+        HugeLongArray newToOld,
+        HugeLongArray oldToNew,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        this.idMap = idMap;
+        this.newToOld = newToOld;
+        this.oldToNew = oldToNew;
+        this.concurrency = concurrency;
+        this.tracker = tracker;
+    }
+
+    public IdMap idMap() {
+        return idMap.reorder(newToOld, concurrency, tracker);
+    }
+
+    public Map<NodeLabel, Map<String, NodeProperties>> nodeProperties(Map<NodeLabel, Map<String, NodeProperties>> nodeProperties) {
+        // the same values might be registered for multiple labels
+        Map<NodeProperties, NodeProperties> reordered = new IdentityHashMap<>();
+        Map<NodeLabel, Map<String, NodeProperties>> result = new HashMap<>();
+        nodeProperties.forEach((label, properties) -> {
+            Map<String, NodeProperties> reorderedProperties = new HashMap<>();
+            properties.forEach((key, values) -> reorderedProperties.put(
+                key,
+                reordered.computeIfAbsent(values, this::reorder)
+            ));
+            result.put(label, reorderedProperties);
+        });
+        return result;
+    }
+
+    /**
+     * Rewrites the adjacency lists of every relationship type and its properties in the new order
+     * and replaces the entries of the given maps.
+     */
+    public void reorderRelationships(
+        Map<RelationshipType, HugeGraph.TopologyCSR> topologies,
+        Map<RelationshipType, Map<String, HugeGraph.PropertyCSR>> properties
+    ) {
+        topologies.replaceAll((relationshipType, topology) -> {
+            Map<String, HugeGraph.PropertyCSR> propertyCSRs = properties.getOrDefault(relationshipType, Collections.emptyMap());
+            List<String> propertyKeys = new ArrayList<>(propertyCSRs.keySet());
+            List<HugeGraph.PropertyCSR> propertyList = propertyKeys.stream().map(propertyCSRs::get).collect(Collectors.toList());
+
+            var rewritten = rewrite(topology, propertyList);
+
+            if (!propertyKeys.isEmpty()) {
+                Map<String, HugeGraph.PropertyCSR> newProperties = new HashMap<>();
+                for (int i = 0; i < propertyKeys.size(); i++) {
+                    newProperties.put(propertyKeys.get(i), rewritten.properties[i]);
+                }
+                properties.put(relationshipType, newProperties);
+            }
+            return rewritten.topology;
+        });
+    }
+
+    private NodeProperties reorder(NodeProperties properties) {
+        if (properties instanceof NodePropertyArray) {
+            return ((NodePropertyArray) properties).reorder(newToOld, concurrency, tracker);
+        }
+        return TypedNodeProperties.copyOf(reorderedTranslator(properties), properties, newToOld.size(), concurrency, tracker);
+    }
+
+    /**
+     * Reads the value of the old node id for every new node id in the type of the given column,
+     * so that integral and array values are not narrowed to a double.
+     */
+    private PropertyTranslator<NodeProperties> reorderedTranslator(NodeProperties properties) {
+        if (properties instanceof TypedNodeProperties.LongColumn) {
+            return (PropertyTranslator.OfLong<NodeProperties>) (data, nodeId) -> data.longValue(newToOld.get(nodeId));
+        } else if (properties instanceof TypedNodeProperties.FloatColumn) {
+            return (PropertyTranslator.OfFloat<NodeProperties>) (data, nodeId) -> (float) data.nodeProperty(newToOld.get(nodeId));
+        } else if (properties instanceof TypedNodeProperties.FloatArrayColumn) {
+            return (PropertyTranslator.OfFloatArray<NodeProperties>) (data, nodeId) -> data.floatArrayValue(newToOld.get(nodeId));
+        } else if (properties instanceof TypedNodeProperties.DoubleArrayColumn) {
+            return (PropertyTranslator.OfDoubleArray<NodeProperties>) (data, nodeId) -> data.doubleArrayValue(newToOld.get(nodeId));
+        } else if (properties instanceof TypedNodeProperties.LongArrayColumn) {
+            return (PropertyTranslator.OfLongArray<NodeProperties>) (data, nodeId) -> data.longArrayValue(newToOld.get(nodeId));
+        }
+        return (PropertyTranslator.OfDouble<NodeProperties>) (data, nodeId) -> data.nodeProperty(newToOld.get(nodeId));
+    }
+
+    private static final class RewrittenRelationships {
+        final HugeGraph.TopologyCSR topology;
+        final HugeGraph.PropertyCSR[] properties;
+
+        RewrittenRelationships(HugeGraph.TopologyCSR topology, HugeGraph.PropertyCSR[] properties) {
+            this.topology = topology;
+            this.properties = properties;
+        }
+    }
+
+    private RewrittenRelationships rewrite(HugeGraph.TopologyCSR topology, List<HugeGraph.PropertyCSR> properties) {
+        long nodeCount = idMap.nodeCount();
+        int propertyCount = properties.size();
+
+        // one graph per property, they all iterate the shared topology in the same order
+        HugeGraph[] graphs = properties.isEmpty()
+            ? new HugeGraph[]{HugeGraph.create(idMap, Collections.emptyMap(), topology, Optional.empty(), tracker)}
+            : properties
+                .stream()
+                .map(property -> HugeGraph.create(idMap, Collections.emptyMap(), topology, Optional.of(property), tracker))
+                .toArray(HugeGraph[]::new);
+
+        AdjacencyListBuilder adjacencyBuilder = AdjacencyListBuilder.newBuilder(tracker.child(ADJACENCY_SCOPE));
+        AdjacencyListBuilder[] propertyBuilders = new AdjacencyListBuilder[propertyCount];
+        if (propertyCount > 0) {
+            AllocationTracker propertyTracker = tracker.child(RELATIONSHIP_PROPERTIES_SCOPE);
+            Arrays.setAll(propertyBuilders, i -> AdjacencyListBuilder.newBuilder(propertyTracker));
+        }
+
+        ImportSizing sizing = ImportSizing.of(concurrency, nodeCount);
+        int pageSize = sizing.pageSize();
+        int pageShift = Integer.numberOfTrailingZeros(pageSize);
+        int numberOfPages = sizing.numberOfPages();
+        long[][] adjacencyOffsets = newOffsetPages(numberOfPages, pageSize);
+        long[][][] propertyOffsets = new long[propertyCount][][];
+        Arrays.setAll(propertyOffsets, i -> newOffsetPages(numberOfPages, pageSize));
+
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> new RangeRewriter(
+            graphs,
+            adjacencyBuilder,
+            propertyBuilders,
+            adjacencyOffsets,
+            propertyOffsets,
+            pageShift,
+            pageSize - 1
+        ).rewrite(start, end));
+
+        AdjacencyOffsets newAdjacencyOffsets = AdjacencyOffsets.of(adjacencyOffsets, pageSize);
+        HugeGraph.TopologyCSR newTopology = ImmutableTopologyCSR.of(
+            adjacencyBuilder.build(),
+            newAdjacencyOffsets,
+            topology.elementCount(),
+            topology.orientation()
+        );
+
+        HugeGraph.PropertyCSR[] newProperties = new HugeGraph.PropertyCSR[propertyCount];
+        for (int i = 0; i < propertyCount; i++) {
+            HugeGraph.PropertyCSR property = properties.get(i);
+            AdjacencyOffsets offsets = AdjacencyOffsets.of(propertyOffsets[i], pageSize);
+            newProperties[i] = ImmutablePropertyCSR.of(
+                AdjacencyList.compressProperties(propertyBuilders[i].build(), offsets, nodeCount, tracker),
+                offsets,
+                property.elementCount(),
+                property.orientation(),
+                property.defaultPropertyValue()
+            );
+            tracker.remove(property.list().release());
+            tracker.remove(property.offsets().release());
+        }
+        tracker.remove(topology.list().release());
+        tracker.remove(topology.offsets().release());
+
+        return new RewrittenRelationships(newTopology, newProperties);
+    }
+
+    private static long[][] newOffsetPages(int numberOfPages, int pageSize) {
+        long[][] pages = new long[numberOfPages][];
+        Arrays.setAll(pages, i -> new long[pageSize]);
+        return pages;
+    }
+
+    /**
+     * Rewrites the adjacency lists of a range of new node ids, owns its cursors, buffers and allocators.
+     */
+    private final class RangeRewriter {
+        private final NeighborCursor[] cursors;
+        private final AdjacencyListBuilder.Allocator adjacencyAllocator;
+        private final AdjacencyListBuilder.Allocator[] propertyAllocators;
+        private final long[][] adjacencyOffsets;
+        private final long[][][] propertyOffsets;
+        private final int pageShift;
+        private final int pageMask;
+        private final Aggregation[] aggregations;
+
+        private final long[] blockTargets;
+        private final double[] blockProperties;
+        private final LongsRef targets;
+        private final long[][] properties;
+        private byte[] compressed;
+
+        RangeRewriter(
+            HugeGraph[] graphs,
+            AdjacencyListBuilder adjacencyBuilder,
+            AdjacencyListBuilder[] propertyBuilders,
+            long[][] adjacencyOffsets,
+            long[][][] propertyOffsets,
+            int pageShift,
+            int pageMask
+        ) {
+            this.cursors = Arrays.stream(graphs).map(graph -> graph.neighborCursor(Double.NaN)).toArray(NeighborCursor[]::new);
+            this.adjacencyAllocator = adjacencyBuilder.newAllocator();
+            this.propertyAllocators = Arrays.stream(propertyBuilders)
+                .map(AdjacencyListBuilder::newAllocator)
+                .toArray(AdjacencyListBuilder.Allocator[]::new);
+            this.adjacencyOffsets = adjacencyOffsets;
+            this.propertyOffsets = propertyOffsets;
+            this.pageShift = pageShift;
+            this.pageMask = pageMask;
+            this.aggregations = new Aggregation[propertyBuilders.length];
+            Arrays.fill(aggregations, Aggregation.NONE);
+
+            this.blockTargets = new long[NeighborCursor.BLOCK_SIZE];
+            this.blockProperties = new double[NeighborCursor.BLOCK_SIZE];
+            this.targets = new LongsRef(0);
+            this.properties = new long[propertyBuilders.length][0];
+            this.compressed = new byte[0];
+
+            adjacencyAllocator.prepare();
+            for (AdjacencyListBuilder.Allocator allocator : propertyAllocators) {
+                allocator.prepare();
+            }
+        }
+
+        void rewrite(long startNode, long endNode) {
+            for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                int degree = read(newToOld.get(nodeId));
+                if (degree == 0) {
+                    continue;
+                }
+
+                int page = (int) (nodeId >>> pageShift);
+                int indexInPage = (int) (nodeId & pageMask);
+
+                if (properties.length == 0) {
+                    AdjacencyCompression.applyDeltaEncoding(targets, Aggregation.NONE);
+                } else {
+                    AdjacencyCompression.applyDeltaEncoding(targets, properties, aggregations, true);
+                }
+                if (compressed.length < 9 * degree) {
+                    compressed = new byte[9 * degree];
+                }
+                int requiredBytes = AdjacencyCompression.compress(targets, compressed);
+                adjacencyOffsets[page][indexInPage] = ThreadLocalRelationshipsBuilder.copyIds(
+                    adjacencyAllocator,
+                    compressed,
+                    requiredBytes,
+                    degree
+                );
+                for (int i = 0; i < properties.length; i++) {
+                    propertyOffsets[i][page][indexInPage] = ThreadLocalRelationshipsBuilder.copyProperties(
+                        properties[i],
+                        degree,
+                        propertyAllocators[i]
+                    );
+                }
+            }
+        }
+
+        /**
+         * Reads the relationships of the given old node id into {@link #targets} and {@link #properties},
+         * with the targets translated to new ids.
+         */
+        private int read(long oldNodeId) {
+            int degree = 0;
+            NeighborCursor cursor = cursors[0];
+            cursor.init(oldNodeId);
+            int length;
+            while ((length = cursor.nextBlock(blockTargets, blockProperties)) > 0) {
+                ensureCapacity(degree + length);
+                for (int i = 0; i < length; i++) {
+                    targets.longs[degree + i] = oldToNew.get(blockTargets[i]);
+                }
+                if (properties.length > 0) {
+                    copyBits(blockProperties, properties[0], degree, length);
+                }
+                degree += length;
+            }
+            for (int p = 1; p < properties.length; p++) {
+                cursor = cursors[p];
+                cursor.init(oldNodeId);
+                int read = 0;
+                while ((length = cursor.nextBlock(blockTargets, blockProperties)) > 0) {
+                    copyBits(blockProperties, properties[p], read, length);
+                    read += length;
+                }
+            }
+            targets.length = degree;
+            return degree;
+        }
+
+        private void ensureCapacity(int length) {
+            if (targets.longs.length < length) {
+                int newLength = Math.max(length, targets.longs.length << 1);
+                targets.longs = Arrays.copyOf(targets.longs, newLength);
+                for (int i = 0; i < properties.length; i++) {
+                    properties[i] = Arrays.copyOf(properties[i], newLength);
+                }
+            }
+        }
+
+        private void copyBits(double[] values, long[] into, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                into[offset + i] = Double.doubleToLongBits(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Orders nodes by descending degree, nodes of the same degree keep their relative order.
+     */
+    private static HugeLongArray degreeOrder(Graph graph, int concurrency, AllocationTracker tracker) {
+        HugeLongArray degrees = degrees(graph, concurrency, tracker);
+        HugeLongArray newToOld = byDescendingDegree(degrees, tracker);
+        tracker.remove(degrees.release());
+        return newToOld;
+    }
+
+    /**
+     * Orders nodes by a breadth-first traversal over the outgoing relationships,
+     * starting a new traversal at the lowest unvisited id once the queue is empty.
+     */
+    private static HugeLongArray breadthFirstOrder(Graph graph, int concurrency, AllocationTracker tracker) {
+        return traversalOrder(graph, null, index -> index, concurrency, tracker);
+    }
+
+    /**
+     * Orders nodes by the reverse Cuthill-McKee algorithm.
+     * Every traversal starts at the unvisited node of the lowest degree and appends the neighbors of a node
+     * by ascending degree. Reversing the resulting order narrows the band of the adjacency matrix further.
+     */
+    private static HugeLongArray reverseCuthillMcKeeOrder(Graph graph, int concurrency, AllocationTracker tracker) {
+        long lastIndex = graph.nodeCount() - 1;
+        HugeLongArray degrees = degrees(graph, concurrency, tracker);
+        HugeLongArray byDescendingDegree = byDescendingDegree(degrees, tracker);
+
+        HugeLongArray newToOld = traversalOrder(
+            graph,
+            degrees,
+            index -> byDescendingDegree.get(lastIndex - index),
+            concurrency,
+            tracker
+        );
+        tracker.remove(degrees.release());
+        tracker.remove(byDescendingDegree.release());
+
+        for (long left = 0L, right = lastIndex; left < right; left++, right--) {
+            long nodeId = newToOld.get(left);
+            newToOld.set(left, newToOld.get(right));
+            newToOld.set(right, nodeId);
+        }
+        return newToOld;
+    }
+
+    private static HugeLongArray degrees(Graph graph, int concurrency, AllocationTracker tracker) {
+        long nodeCount = graph.nodeCount();
+        HugeLongArray degrees = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                degrees.set(nodeId, graph.degree(nodeId));
+            }
+        });
+        return degrees;
+    }
+
+    /**
+     * Sorts the node ids by descending degree with a counting sort, nodes of the same degree keep their relative order.
+     */
+    private static HugeLongArray byDescendingDegree(HugeLongArray degrees, AllocationTracker tracker) {
+        long nodeCount = degrees.size();
+        long maxDegree = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            maxDegree = Math.max(maxDegree, degrees.get(nodeId));
+        }
+
+        // offsets[d] is the next position for a node of degree d
+        HugeLongArray offsets = HugeLongArray.newArray(maxDegree + 1, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.addTo(degrees.get(nodeId), 1L);
+        }
+        long position = 0L;
+        for (long degree = maxDegree; degree >= 0; degree--) {
+            long count = offsets.get(degree);
+            offsets.set(degree, position);
+            position += count;
+        }
+
+        HugeLongArray sorted = HugeLongArray.newArray(nodeCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long degree = degrees.get(nodeId);
+            long index = offsets.get(degree);
+            offsets.set(degree, index + 1);
+            sorted.set(index, nodeId);
+        }
+        tracker.remove(offsets.release());
+        return sorted;
+    }
+
+    /**
+     * Assigns ids in breadth-first order, one level of the traversal at a time.
+     * <p>
+     * The relationships of a level are read in parallel over ranges of the level. Every range collects the targets
+     * that were unvisited when the level started, in the order of the sequential traversal. Appending the collected
+     * targets range by range and skipping the ones that have been appended before yields the same order as a
+     * sequential traversal, only the cheap append runs on the calling thread.
+     *
+     * @param degrees if not null, the targets of every node are appended by ascending degree
+     * @param roots   the candidates for the start of the next traversal, by their rank
+     */
+    private static HugeLongArray traversalOrder(
+        Graph graph,
+        @Nullable HugeLongArray degrees,
+        LongUnaryOperator roots,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        // the result doubles as the queue, nodes are appended in the order they are discovered
+        HugeLongArray newToOld = HugeLongArray.newArray(nodeCount, tracker);
+        BitSet visited = new BitSet(nodeCount);
+        LevelReader[] readers = new LevelReader[Math.max(1, concurrency)];
+        Arrays.setAll(readers, i -> new LevelReader(graph.concurrentCopy(), newToOld, visited, degrees));
+
+        long tail = 0L;
+        long nextRoot = 0L;
+        while (tail < nodeCount) {
+            long root = roots.applyAsLong(nextRoot);
+            while (visited.get(root)) {
+                root = roots.applyAsLong(++nextRoot);
+            }
+            visited.set(root);
+            newToOld.set(tail++, root);
+
+            long levelStart = tail - 1;
+            while (levelStart < tail) {
+                long levelEnd = tail;
+                int usedReaders = readLevel(readers, levelStart, levelEnd, concurrency);
+                for (int i = 0; i < usedReaders; i++) {
+                    tail = readers[i].append(tail);
+                }
+                levelStart = levelEnd;
+            }
+        }
+        return newToOld;
+    }
+
+    /**
+     * @return the number of readers that have read a range of the level
+     */
+    private static int readLevel(LevelReader[] readers, long levelStart, long levelEnd, int concurrency) {
+        long levelSize = levelEnd - levelStart;
+        if (readers.length == 1 || levelSize <= ParallelUtil.DEFAULT_BATCH_SIZE) {
+            readers[0].init(levelStart, levelEnd);
+            readers[0].run();
+            return 1;
+        }
+        long batchSize = Math.max(ParallelUtil.DEFAULT_BATCH_SIZE, ParallelUtil.threadCount(readers.length, levelSize));
+        Collection<Runnable> tasks = new ArrayList<>(readers.length);
+        for (long start = levelStart; start < levelEnd; start += batchSize) {
+            LevelReader reader = readers[tasks.size()];
+            reader.init(start, Math.min(levelEnd, start + batchSize));
+            tasks.add(reader);
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+        return tasks.size();
+    }
+
+    /**
+     * Collects the unvisited targets of a range of the current level.
+     * The visited set is only read while the readers run, it is updated by {@link #append(long)} on the calling thread.
+     */
+    private static final class LevelReader implements Runnable {
+        private final NeighborCursor cursor;
+        private final HugeLongArray queue;
+        private final BitSet visited;
+        private final @Nullable HugeLongArray degrees;
+        private final LongArrayList candidates;
+        private final long[] targets;
+        private long[] sortKeys;
+        private long[] sortBuffer;
+        private long start;
+        private long end;
+
+        LevelReader(Graph graph, HugeLongArray queue, BitSet visited, @Nullable HugeLongArray degrees) {
+            this.cursor = graph.neighborCursor(Double.NaN);
+            this.queue = queue;
+            this.visited = visited;
+            this.degrees = degrees;
+            this.candidates = new LongArrayList();
+            this.targets = new long[NeighborCursor.BLOCK_SIZE];
+            this.sortKeys = new long[0];
+            this.sortBuffer = new long[0];
+        }
+
+        void init(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            candidates.clear();
+            for (long index = start; index < end; index++) {
+                int offset = candidates.size();
+                cursor.init(queue.get(index));
+                int length;
+                while ((length = cursor.nextBlock(targets)) > 0) {
+                    for (int i = 0; i < length; i++) {
+                        if (!visited.get(targets[i])) {
+                            candidates.add(targets[i]);
+                        }
+                    }
+                }
+                if (degrees != null) {
+                    sortByDegree(offset, candidates.size() - offset);
+                }
+            }
+        }
+
+        long append(long tail) {
+            long[] buffer = candidates.buffer;
+            for (int i = 0; i < candidates.size(); i++) {
+                long nodeId = buffer[i];
+                if (!visited.get(nodeId)) {
+                    visited.set(nodeId);
+                    queue.set(tail++, nodeId);
+                }
+            }
+            return tail;
+        }
+
+        /**
+         * Stable sort of the candidates of a single node by ascending degree.
+         * Degrees fit into an int, so every key packs the degree into the upper and the position into the lower half.
+         */
+        private void sortByDegree(int offset, int count) {
+            if (count < 2) {
+                return;
+            }
+            if (sortKeys.length < count) {
+                sortKeys = new long[count];
+                sortBuffer = new long[count];
+            }
+            long[] buffer = candidates.buffer;
+            for (int i = 0; i < count; i++) {
+                sortKeys[i] = (degrees.get(buffer[offset + i]) << 32) | i;
+            }
+            Arrays.sort(sortKeys, 0, count);
+            System.arraycopy(buffer, offset, sortBuffer, 0, count);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = sortBuffer[(int) sortKeys[i]];
+            }
+        }
+    }
+}
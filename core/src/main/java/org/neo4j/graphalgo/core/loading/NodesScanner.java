@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.StatementAction;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.internal.kernel.api.CursorFactory;
+import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.kernel.api.KernelTransaction;
 
@@ -143,7 +144,14 @@ final class NodesScanner extends StatementAction implements RecordScanner {
         CursorFactory cursors = transaction.cursors();
         var cursorTracer = transaction.pageCursorTracer();
         var memoryTracker = Neo4jProxy.memoryTracker(transaction);
-        try (StoreScanner.ScanCursor<NodeReference> cursor = scanner.getCursor(transaction)) {
+        // one property cursor for the whole scan, instead of one per node
+        PropertyCursor propertyCursor = nodePropertyImporter != null
+            ? Neo4jProxy.allocatePropertyCursor(cursors, cursorTracer, memoryTracker)
+            : null;
+        try (
+            StoreScanner.ScanCursor<NodeReference> cursor = scanner.getCursor(transaction);
+            propertyCursor
+        ) {
             NodesBatchBuffer batches = new NodesBatchBufferBuilder()
                 .nodeLabelIds(labels)
                 .capacity(cursor.bufferSize())
@@ -155,9 +163,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
                 long imported = importer.importNodes(
                     batches,
                     read,
-                    cursors,
-                    cursorTracer,
-                    memoryTracker,
+                    propertyCursor,
                     nodePropertyImporter
                 );
                 int batchImportedNodes = RawValues.getHead(imported);
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+
+/**
+ * A fixed size array of non-negative ints that stores every value with the same, configurable number of bits.
+ * <p>
+ * Values are packed back to back into longs and may span two of them. Values at different indices never
+ * share bits, so they can be set concurrently; a width of {@code 0} bits stores nothing and only holds zeros.
+ */
+final class PackedIntArray {
+
+    private static final int MAX_BITS_PER_VALUE = Integer.SIZE - 1;
+
+    private final @Nullable HugeAtomicLongArray words;
+    private final long size;
+    private final int bitsPerValue;
+    private final long mask;
+
+    static PackedIntArray of(long size, int bitsPerValue, AllocationTracker tracker) {
+        assert bitsPerValue >= 0 && bitsPerValue <= MAX_BITS_PER_VALUE;
+        HugeAtomicLongArray words = bitsPerValue == 0
+            ? null
+            : HugeAtomicLongArray.newArray(numberOfWords(size, bitsPerValue), tracker);
+        return new PackedIntArray(words, size, bitsPerValue);
+    }
+
+    static long memoryEstimation(long size, int bitsPerValue) {
+        return bitsPerValue == 0 ? 0L : HugeAtomicLongArray.memoryEstimation(numberOfWords(size, bitsPerValue));
+    }
+
+    /**
+     * Returns the number of bits that are needed to store all values from {@code 0} to {@code maxValue}.
+     */
+    static int bitsPerValue(int maxValue) {
+        assert maxValue >= 0;
+        return Integer.SIZE - Integer.numberOfLeadingZeros(maxValue);
+    }
+
+    /**
+     * Returns the number of bits that are needed to store any subset of {@code elementCount} elements.
+     */
+    static int bitsPerSubset(int elementCount) {
+        return Math.min(elementCount, MAX_BITS_PER_VALUE);
+    }
+
+    private static long numberOfWords(long size, int bitsPerValue) {
+        return BitUtil.ceilDiv(size * bitsPerValue, Long.SIZE);
+    }
+
+    private PackedIntArray(@Nullable HugeAtomicLongArray words, long size, int bitsPerValue) {
+        this.words = words;
+        this.size = size;
+        this.bitsPerValue = bitsPerValue;
+        this.mask = (1L << bitsPerValue) - 1;
+    }
+
+    long size() {
+        return size;
+    }
+
+    int bitsPerValue() {
+        return bitsPerValue;
+    }
+
+    int maxValue() {
+        return (int) mask;
+    }
+
+    int get(long index) {
+        if (words == null) {
+            return 0;
+        }
+        long bitIndex = index * bitsPerValue;
+        long wordIndex = bitIndex >>> 6;
+        int shift = (int) (bitIndex & 63);
+        long value = words.get(wordIndex) >>> shift;
+        if (shift + bitsPerValue > Long.SIZE) {
+            value |= words.get(wordIndex + 1) << (Long.SIZE - shift);
+        }
+        return (int) (value & mask);
+    }
+
+    /**
+     * Sets the value at the given index; concurrent calls for different indices do not interfere.
+     */
+    void set(long index, int value) {
+        assert value >= 0 && value <= mask;
+        if (words == null) {
+            return;
+        }
+        long bitIndex = index * bitsPerValue;
+        long wordIndex = bitIndex >>> 6;
+        int shift = (int) (bitIndex & 63);
+        setBits(wordIndex, mask << shift, (long) value << shift);
+        if (shift + bitsPerValue > Long.SIZE) {
+            int shiftedOut = Long.SIZE - shift;
+            setBits(wordIndex + 1, mask >>> shiftedOut, (long) value >>> shiftedOut);
+        }
+    }
+
+    private void setBits(long wordIndex, long bits, long value) {
+        long word;
+        do {
+            word = words.get(wordIndex);
+        } while (!words.compareAndSet(wordIndex, word, (word & ~bits) | value));
+    }
+
+    /**
+     * Returns a copy of the first {@code size} values with the given width, which has to fit all of them.
+     */
+    PackedIntArray copyOf(long size, int bitsPerValue, AllocationTracker tracker) {
+        PackedIntArray copy = of(size, bitsPerValue, tracker);
+        for (long index = 0; index < size; index++) {
+            copy.set(index, get(index));
+        }
+        return copy;
+    }
+
+    long release() {
+        return words == null ? 0L : words.release();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+
+/**
+ * An {@link IdMap} for original ids that form few contiguous runs, e.g. all nodes of a store
+ * without many deleted nodes, or any range of ids that is loaded in order.
+ * <p>
+ * Every run maps a range of internal ids to a range of original ids by a constant offset,
+ * so that neither the original ids nor the sparse mapping from original ids need to be stored.
+ * A single run, which includes the identity mapping, is resolved with plain arithmetic;
+ * multiple runs are resolved with a {@link RunIndex}, a page table over the run boundaries.
+ */
+final class RangeIdMap extends IdMap {
+
+    /**
+     * The minimum number of nodes per run on average for the runs to be used instead of the sparse mapping.
+     */
+    static final long MIN_AVERAGE_RUN_LENGTH = 1024L;
+
+    private static final long NOT_FOUND = -1L;
+
+    // run i covers the internal ids internalStarts[i] (inclusive) to internalStarts[i + 1] (exclusive)
+    private final long[] internalStarts;
+    private final long[] originalStarts;
+    // the runs in ascending order of their original ids
+    private final int[] runsByOriginal;
+    private final long[] sortedOriginalStarts;
+    private final long highestOriginalId;
+    private final RunIndex internalIndex;
+    private final RunIndex originalIndex;
+
+    /**
+     * Returns a mapping for the given original ids, or {@code null} if they are too fragmented or
+     * contain duplicates, in which case the regular {@link IdMap} has to be used.
+     */
+    static @Nullable RangeIdMap of(
+        HugeLongArray graphIds,
+        LabelIndex labelIndex,
+        long nodeCount
+    ) {
+        if (nodeCount == 0) {
+            return null;
+        }
+        long maxRuns = Math.max(1L, nodeCount / MIN_AVERAGE_RUN_LENGTH);
+        LongArrayList internalStarts = new LongArrayList();
+        LongArrayList originalStarts = new LongArrayList();
+
+        long expected = -1L;
+        try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor(), 0, nodeCount)) {
+            while (cursor.next()) {
+                long[] array = cursor.array;
+                int limit = cursor.limit;
+                long internalId = cursor.base + cursor.offset;
+                for (int i = cursor.offset; i < limit; ++i, ++internalId) {
+                    long originalId = array[i];
+                    if (originalId != expected) {
+                        if (internalStarts.size() == maxRuns) {
+                            return null;
+                        }
+                        internalStarts.add(internalId);
+                        originalStarts.add(originalId);
+                    }
+                    expected = originalId + 1;
+                }
+            }
+        }
+
+        int runCount = internalStarts.size();
+        internalStarts.add(nodeCount);
+        long[] internal = internalStarts.toArray();
+        long[] original = originalStarts.toArray();
+
+        int[] runsByOriginal = IndirectSort.mergesort(0, runCount, new AscendingLongComparator(original));
+        long[] sortedOriginalStarts = new long[runCount];
+        long highestOriginalId = -1L;
+        for (int i = 0; i < runCount; i++) {
+            int run = runsByOriginal[i];
+            if (original[run] <= highestOriginalId) {
+                // overlapping runs contain duplicate ids
+                return null;
+            }
+            sortedOriginalStarts[i] = original[run];
+            highestOriginalId = original[run] + internal[run + 1] - internal[run] - 1;
+        }
+
+        return new RangeIdMap(
+            internal,
+            original,
+            runsByOriginal,
+            sortedOriginalStarts,
+            highestOriginalId,
+            labelIndex,
+            nodeCount
+        );
+    }
+
+    private RangeIdMap(
+        long[] internalStarts,
+        long[] originalStarts,
+        int[] runsByOriginal,
+        long[] sortedOriginalStarts,
+        long highestOriginalId,
+        LabelIndex labelIndex,
+        long nodeCount
+    ) {
+        super(null, null, labelIndex, nodeCount);
+        this.internalStarts = internalStarts;
+        this.originalStarts = originalStarts;
+        this.runsByOriginal = runsByOriginal;
+        this.sortedOriginalStarts = sortedOriginalStarts;
+        this.highestOriginalId = highestOriginalId;
+        this.internalIndex = new RunIndex(internalStarts, originalStarts.length, nodeCount);
+        this.originalIndex = new RunIndex(sortedOriginalStarts, sortedOriginalStarts.length, highestOriginalId + 1);
+    }
+
+    int runCount() {
+        return originalStarts.length;
+    }
+
+    @Override
+    public long toMappedNodeId(long nodeId) {
+        if (originalStarts.length == 1) {
+            long offset = nodeId - originalStarts[0];
+            return offset >= 0 && offset < nodeCount() ? offset : NOT_FOUND;
+        }
+        int index = originalIndex.runOf(nodeId);
+        if (index < 0) {
+            return NOT_FOUND;
+        }
+        int run = runsByOriginal[index];
+        long mappedId = internalStarts[run] + nodeId - sortedOriginalStarts[index];
+        return mappedId < internalStarts[run + 1] ? mappedId : NOT_FOUND;
+    }
+
+    @Override
+    public long toOriginalNodeId(long nodeId) {
+        if (originalStarts.length == 1) {
+            return originalStarts[0] + nodeId;
+        }
+        int run = internalIndex.runOf(nodeId);
+        return originalStarts[run] + nodeId - internalStarts[run];
+    }
+
+    @Override
+    public boolean contains(long nodeId) {
+        return toMappedNodeId(nodeId) != NOT_FOUND;
+    }
+
+    @Override
+    long originalIdCapacity() {
+        return highestOriginalId + 1;
+    }
+
+    /**
+     * Finds the run that contains a value, in constant time if the runs are spread evenly.
+     * <p>
+     * The range of values is split into pages of equal size, there are a few pages per run.
+     * Every page stores the run that contains its first value, so that a lookup only needs to search
+     * the runs that start within the page of the value. These are scanned linearly if there are few of them,
+     * which is the common case, and searched with a binary search otherwise.
+     */
+    static final class RunIndex {
+
+        private static final long PAGES_PER_RUN = 4L;
+        private static final long MAX_PAGES = 1L << 30;
+        private static final int MAX_LINEAR_SCAN = 8;
+
+        private final long[] starts;
+        private final int runCount;
+        private final long base;
+        private final int pageShift;
+        private final int[] firstRunOfPage;
+
+        /**
+         * @param starts   the ascending first values of the runs, may have more than {@code runCount} entries
+         * @param runCount the number of runs
+         * @param end      the value after the last value of the last run
+         */
+        RunIndex(long[] starts, int runCount, long end) {
+            this.starts = starts;
+            this.runCount = runCount;
+            this.base = starts[0];
+
+            long span = end - base;
+            long maxPages = Math.min(PAGES_PER_RUN * runCount, MAX_PAGES);
+            int pageShift = 0;
+            while ((span >>> pageShift) > maxPages) {
+                pageShift++;
+            }
+            this.pageShift = pageShift;
+
+            int pageCount = (int) (((span - 1) >>> pageShift) + 1);
+            this.firstRunOfPage = new int[pageCount];
+            int run = 0;
+            for (int page = 0; page < pageCount; page++) {
+                long pageStart = base + ((long) page << pageShift);
+                while (run + 1 < runCount && starts[run + 1] <= pageStart) {
+                    run++;
+                }
+                firstRunOfPage[page] = run;
+            }
+        }
+
+        /**
+         * @return the index of the last run that starts at or before the given value, or -1 if there is none
+         */
+        int runOf(long value) {
+            long offset = value - base;
+            if (offset < 0) {
+                return -1;
+            }
+            long page = offset >>> pageShift;
+            if (page >= firstRunOfPage.length) {
+                return runCount - 1;
+            }
+            int from = firstRunOfPage[(int) page];
+            int to = page + 1 < firstRunOfPage.length ? firstRunOfPage[(int) page + 1] : runCount - 1;
+            if (to - from <= MAX_LINEAR_SCAN) {
+                while (from < to && starts[from + 1] <= value) {
+                    from++;
+                }
+                return from;
+            }
+            int index = Arrays.binarySearch(starts, from, to + 1, value);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+}
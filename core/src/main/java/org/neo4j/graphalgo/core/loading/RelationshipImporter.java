@@ -19,9 +19,11 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.compat.Neo4jProxy;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.internal.kernel.api.CursorFactory;
@@ -180,14 +182,19 @@ class RelationshipImporter {
         return (batch, batchLength, relationshipProperties, defaultPropertyValues, aggregations, atLeastOnePropertyToLoad) -> {
             long[][] properties = new long[relationshipProperties.length][batchLength / BATCH_ENTRY_SIZE];
             if (atLeastOnePropertyToLoad) {
+                int relationshipCount = batchLength / BATCH_ENTRY_SIZE;
+                long[] propertiesReferences = new long[relationshipCount];
+                for (int propertyPos = 0; propertyPos < relationshipCount; propertyPos++) {
+                    propertiesReferences[propertyPos] = batch[PROPERTIES_REFERENCE_OFFSET + propertyPos * BATCH_ENTRY_SIZE];
+                }
+                // the batch is sorted by source node, visit the property chains in store order instead
+                int[] order = IndirectSort.mergesort(0, relationshipCount, new AscendingLongComparator(propertiesReferences));
                 try (PropertyCursor pc = Neo4jProxy.allocatePropertyCursor(cursors, cursorTracer, memoryTracker)) {
                     double[] relProps = new double[relationshipProperties.length];
-                    for (int i = 0; i < batchLength; i += BATCH_ENTRY_SIZE) {
-                        long relationshipReference = batch[RELATIONSHIP_REFERENCE_OFFSET + i];
-                        long propertiesReference = batch[PROPERTIES_REFERENCE_OFFSET + i];
-                        read.relationshipProperties(relationshipReference, propertiesReference, pc);
+                    for (int propertyPos : order) {
+                        long relationshipReference = batch[RELATIONSHIP_REFERENCE_OFFSET + propertyPos * BATCH_ENTRY_SIZE];
+                        read.relationshipProperties(relationshipReference, propertiesReferences[propertyPos], pc);
                         ReadHelper.readProperties(pc, relationshipProperties, defaultPropertyValues, aggregations, relProps);
-                        int propertyPos = i / BATCH_ENTRY_SIZE;
                         for (int j = 0; j < relProps.length; j++) {
                             properties[j][propertyPos] = Double.doubleToLongBits(relProps[j]);
                         }
@@ -28,6 +28,9 @@ import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
 import java.util.Arrays;
 
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.ADJACENCY_SCOPE;
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.RELATIONSHIP_PROPERTIES_SCOPE;
+
 public class RelationshipsBuilder {
 
     private static final AdjacencyListBuilder[] EMPTY_PROPERTY_BUILDERS = new AdjacencyListBuilder[0];
@@ -45,13 +48,14 @@ public class RelationshipsBuilder {
     ) {
         this.projection = projection;
 
-        adjacencyListBuilder = AdjacencyListBuilder.newBuilder(tracker);
+        adjacencyListBuilder = AdjacencyListBuilder.newBuilder(tracker.child(ADJACENCY_SCOPE));
 
         if (projection.properties().isEmpty()) {
             propertyBuilders = EMPTY_PROPERTY_BUILDERS;
         } else {
             propertyBuilders = new AdjacencyListBuilder[projection.properties().numberOfMappings()];
-            Arrays.setAll(propertyBuilders, i -> AdjacencyListBuilder.newBuilder(tracker));
+            AllocationTracker propertyTracker = tracker.child(RELATIONSHIP_PROPERTIES_SCOPE);
+            Arrays.setAll(propertyBuilders, i -> AdjacencyListBuilder.newBuilder(propertyTracker));
         }
     }
 
@@ -19,9 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.IntObjectMap;
-import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.PropertyMapping;
@@ -34,14 +32,14 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import static org.neo4j.graphalgo.core.GraphDimensions.ANY_LABEL;
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.ID_MAP_SCOPE;
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.NODE_PROPERTIES_SCOPE;
 
 
 final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference, IdsAndProperties> {
@@ -54,7 +52,8 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
     @Nullable
     private NativeNodePropertyImporter nodePropertyImporter;
     private HugeLongArrayBuilder idMapBuilder;
-    private Map<NodeLabel, BitSet> nodeLabelBitSetMapping;
+    @Nullable
+    private LabelIndex.Builder labelIndexBuilder;
 
     ScanningNodesImporter(
         GraphCreateFromStoreConfig graphCreateConfig,
@@ -97,13 +96,18 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
         ImportSizing sizing,
         StoreScanner<NodeReference> scanner
     ) {
-        idMapBuilder = HugeLongArrayBuilder.of(nodeCount, tracker);
+        idMapBuilder = HugeLongArrayBuilder.of(nodeCount, tracker.child(ID_MAP_SCOPE));
 
         IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping = dimensions.tokenNodeLabelMapping();
 
-        nodeLabelBitSetMapping = graphCreateConfig.nodeProjections().allProjections().size() == 1 && labelTokenNodeLabelMapping.containsKey(ANY_LABEL)
-            ? Collections.emptyMap()
-            : initializeLabelBitSets(nodeCount, labelTokenNodeLabelMapping);
+        labelIndexBuilder = graphCreateConfig.nodeProjections().allProjections().size() == 1 && labelTokenNodeLabelMapping.containsKey(ANY_LABEL)
+            ? null
+            : new LabelIndex.Builder(
+                labelTokenNodeLabelMapping,
+                labelCount(labelTokenNodeLabelMapping),
+                nodeCount,
+                tracker.child(ID_MAP_SCOPE)
+            );
 
         nodePropertyImporter = initializeNodePropertyImporter(nodeCount);
 
@@ -114,7 +118,7 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
             progressLogger,
             new NodeImporter(
                 idMapBuilder,
-                nodeLabelBitSetMapping,
+                labelIndexBuilder,
                 labelTokenNodeLabelMapping
             ),
             nodePropertyImporter,
@@ -126,10 +130,10 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
     IdsAndProperties build() {
         IdMap hugeIdMap = IdMapBuilder.build(
             idMapBuilder,
-            nodeLabelBitSetMapping,
+            labelIndexBuilder == null ? LabelIndex.EMPTY : labelIndexBuilder.build(idMapBuilder.size()),
             dimensions.highestNeoId(),
             concurrency,
-            tracker
+            tracker.child(ID_MAP_SCOPE)
         );
 
         Map<NodeLabel, Map<PropertyMapping, NodeProperties>> nodeProperties = nodePropertyImporter == null
@@ -139,18 +143,14 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
         return IdsAndProperties.of(hugeIdMap, nodeProperties);
     }
 
-    @NotNull
-    private Map<NodeLabel, BitSet> initializeLabelBitSets(
-        long nodeCount,
-        IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping
-    ) {
-        return StreamSupport.stream(
+    private static int labelCount(IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMapping) {
+        return (int) StreamSupport.stream(
             labelTokenNodeLabelMapping.values().spliterator(),
             false
         )
             .flatMap(cursor -> cursor.value.stream())
             .distinct()
-            .collect(Collectors.toMap(identifier -> identifier, s -> new BitSet(nodeCount)));
+            .count();
     }
 
     @Nullable
@@ -166,7 +166,7 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeReference,
                 .nodeCount(nodeCount)
                 .dimensions(dimensions)
                 .propertyMappings(propertyMappingsByNodeLabel)
-                .tracker(tracker)
+                .tracker(tracker.child(NODE_PROPERTIES_SCOPE))
                 .build();
         } else {
             return null;
@@ -37,6 +37,8 @@ import java.util.Map;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.ADJACENCY_SCOPE;
+
 
 final class ScanningRelationshipsImporter extends ScanningRecordsImporter<RelationshipReference, ObjectLongMap<RelationshipType>> {
 
@@ -138,14 +140,14 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
             relationshipsBuilder,
             numberOfPages,
             pageSize,
-            tracker,
+            tracker.child(ADJACENCY_SCOPE),
             relationshipCounter,
             propertyKeyIds,
             defaultValues,
             aggregations
         );
 
-        RelationshipImporter importer = new RelationshipImporter(loadingContext.tracker(), adjacencyBuilder);
+        RelationshipImporter importer = new RelationshipImporter(tracker.child(ADJACENCY_SCOPE), adjacencyBuilder);
         int typeId = dimensions.relationshipTypeTokenMapping().get(relationshipType);
         return new SingleTypeRelationshipImporter.Builder(
             relationshipType,
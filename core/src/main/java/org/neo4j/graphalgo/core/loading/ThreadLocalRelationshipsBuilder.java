@@ -127,6 +127,10 @@ class ThreadLocalRelationshipsBuilder {
     }
 
     private long copyIds(byte[] targets, int requiredBytes, int degree) {
+        return copyIds(adjacencyAllocator, targets, requiredBytes, degree);
+    }
+
+    static long copyIds(AdjacencyListBuilder.Allocator adjacencyAllocator, byte[] targets, int requiredBytes, int degree) {
         // sizeOf(degree) + compression bytes
         long address = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
         int offset = adjacencyAllocator.offset;
@@ -145,7 +149,7 @@ class ThreadLocalRelationshipsBuilder {
         }
     }
 
-    private long copyProperties(long[] properties, int degree, AdjacencyListBuilder.Allocator propertiesAllocator) {
+    static long copyProperties(long[] properties, int degree, AdjacencyListBuilder.Allocator propertiesAllocator) {
         // TODO: TODO
         int requiredBytes = degree * Long.BYTES;
         long address = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.values.storable.NumberType;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Compact, typed {@link NodeProperties} columns that are backed by huge arrays,
+ * one value or one fixed-length array per node.
+ * <p>
+ * Integral columns return their exact values from {@link NodeProperties#longValue(long)},
+ * array columns return their values from {@link NodeProperties#floatArrayValue(long)} or
+ * {@link NodeProperties#doubleArrayValue(long)} and report their length as {@link NodeProperties#dimension()}.
+ */
+public final class TypedNodeProperties {
+
+    // the dimension of array columns without any node, the smallest one that all array columns support
+    private static final int EMPTY_DIMENSION = 1;
+
+    private TypedNodeProperties() {}
+
+    public static NodeProperties ofLongs(HugeLongArray values) {
+        return new LongColumn(values);
+    }
+
+    public static NodeProperties ofDoubles(HugeDoubleArray values) {
+        return new DoubleColumn(values);
+    }
+
+    /**
+     * @param floatBits the values as returned by {@link Float#floatToIntBits(float)}
+     */
+    public static NodeProperties ofFloats(HugeIntArray floatBits) {
+        return new FloatColumn(floatBits);
+    }
+
+    /**
+     * Wraps the matrix without copying, every row is the array value of the respective node.
+     */
+    public static NodeProperties ofFloatArrays(HugeFloatMatrix values) {
+        return new FloatArrayColumn(values);
+    }
+
+    /**
+     * @param values    the arrays of all nodes, the array of node {@code n} starts at index {@code n * dimension}
+     * @param dimension the length of every array
+     */
+    public static NodeProperties ofDoubleArrays(HugeDoubleArray values, int dimension) {
+        return new DoubleArrayColumn(values, dimension);
+    }
+
+    /**
+     * @param values    the arrays of all nodes, the array of node {@code n} starts at index {@code n * dimension}
+     * @param dimension the length of every array
+     */
+    public static NodeProperties ofLongArrays(HugeLongArray values, int dimension) {
+        return new LongArrayColumn(values, dimension);
+    }
+
+    /**
+     * Copies the values of the given translator into a column of the matching type.
+     * The returned column does not reference {@code data}.
+     */
+    public static <T> NodeProperties copyOf(
+        PropertyTranslator<T> translator,
+        T data,
+        long nodeCount,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (translator instanceof PropertyTranslator.OfLong) {
+            var ofLong = (PropertyTranslator.OfLong<T>) translator;
+            var values = HugeLongArray.newArray(nodeCount, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> values.set(nodeId, ofLong.toLong(data, nodeId)));
+            return ofLongs(values);
+        } else if (translator instanceof PropertyTranslator.OfInt) {
+            var ofInt = (PropertyTranslator.OfInt<T>) translator;
+            var values = HugeLongArray.newArray(nodeCount, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> values.set(nodeId, ofInt.toInt(data, nodeId)));
+            return ofLongs(values);
+        } else if (translator instanceof PropertyTranslator.OfFloat) {
+            var ofFloat = (PropertyTranslator.OfFloat<T>) translator;
+            var values = HugeIntArray.newArray(nodeCount, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> values.set(nodeId, Float.floatToIntBits(ofFloat.toFloat(data, nodeId))));
+            return ofFloats(values);
+        } else if (translator instanceof PropertyTranslator.OfFloatArray) {
+            var ofFloatArray = (PropertyTranslator.OfFloatArray<T>) translator;
+            int dimension = nodeCount > 0 ? ofFloatArray.toFloatArray(data, 0).length : EMPTY_DIMENSION;
+            var values = HugeFloatMatrix.newMatrix(nodeCount, dimension, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> values.setRow(
+                nodeId,
+                checkDimension(ofFloatArray.toFloatArray(data, nodeId), dimension, nodeId)
+            ));
+            return ofFloatArrays(values);
+        } else if (translator instanceof PropertyTranslator.OfDoubleArray) {
+            var ofDoubleArray = (PropertyTranslator.OfDoubleArray<T>) translator;
+            int dimension = nodeCount > 0 ? ofDoubleArray.toDoubleArray(data, 0).length : EMPTY_DIMENSION;
+            var values = HugeDoubleArray.newArray(nodeCount * dimension, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> {
+                double[] array = checkDimension(ofDoubleArray.toDoubleArray(data, nodeId), dimension, nodeId);
+                for (int i = 0; i < dimension; i++) {
+                    values.set(nodeId * dimension + i, array[i]);
+                }
+            });
+            return ofDoubleArrays(values, dimension);
+        } else if (translator instanceof PropertyTranslator.OfLongArray) {
+            var ofLongArray = (PropertyTranslator.OfLongArray<T>) translator;
+            int dimension = nodeCount > 0 ? ofLongArray.toLongArray(data, 0).length : EMPTY_DIMENSION;
+            var values = HugeLongArray.newArray(nodeCount * dimension, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> {
+                long[] array = checkDimension(ofLongArray.toLongArray(data, nodeId), dimension, nodeId);
+                for (int i = 0; i < dimension; i++) {
+                    values.set(nodeId * dimension + i, array[i]);
+                }
+            });
+            return ofLongArrays(values, dimension);
+        } else if (translator.numberType() == NumberType.INTEGRAL) {
+            var values = HugeLongArray.newArray(nodeCount, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> values.set(nodeId, (long) translator.toDouble(data, nodeId)));
+            return ofLongs(values);
+        } else if (translator.numberType() == NumberType.FLOATING_POINT) {
+            var values = HugeDoubleArray.newArray(nodeCount, tracker);
+            forEachNode(nodeCount, concurrency, nodeId -> values.set(nodeId, translator.toDouble(data, nodeId)));
+            return ofDoubles(values);
+        } else {
+            throw new UnsupportedOperationException(formatWithLocale(
+                "Can not store values of %s as a node property column.",
+                translator.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    private static void forEachNode(long nodeCount, int concurrency, LongConsumer consumer) {
+        ParallelUtil.parallelStreamConsume(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeIds -> nodeIds.forEach(consumer)
+        );
+    }
+
+    private static float[] checkDimension(float[] values, int dimension, long nodeId) {
+        checkDimension(values.length, dimension, nodeId);
+        return values;
+    }
+
+    private static double[] checkDimension(double[] values, int dimension, long nodeId) {
+        checkDimension(values.length, dimension, nodeId);
+        return values;
+    }
+
+    private static long[] checkDimension(long[] values, int dimension, long nodeId) {
+        checkDimension(values.length, dimension, nodeId);
+        return values;
+    }
+
+    private static void checkDimension(int length, int dimension, long nodeId) {
+        if (length != dimension) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "All arrays of a node property column must have the same length, expected %d but got %d for node %d.",
+                dimension,
+                length,
+                nodeId
+            ));
+        }
+    }
+
+    static final class LongColumn implements NodeProperties {
+        private final HugeLongArray values;
+
+        LongColumn(HugeLongArray values) {
+            this.values = values;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            return values.get(nodeId);
+        }
+
+        @Override
+        public long longValue(long nodeId) {
+            return values.get(nodeId);
+        }
+
+        @Override
+        public Value value(long nodeId) {
+            return Values.longValue(values.get(nodeId));
+        }
+
+        @Override
+        public OptionalLong getMaxPropertyValue() {
+            long size = values.size();
+            if (size == 0) {
+                return OptionalLong.empty();
+            }
+            long max = Long.MIN_VALUE;
+            for (long nodeId = 0; nodeId < size; nodeId++) {
+                max = Math.max(max, values.get(nodeId));
+            }
+            return OptionalLong.of(max);
+        }
+
+        @Override
+        public long size() {
+            return values.size();
+        }
+
+        @Override
+        public long release() {
+            return values.release();
+        }
+    }
+
+    static final class DoubleColumn implements NodeProperties {
+        private final HugeDoubleArray values;
+
+        DoubleColumn(HugeDoubleArray values) {
+            this.values = values;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            return values.get(nodeId);
+        }
+
+        @Override
+        public long size() {
+            return values.size();
+        }
+
+        @Override
+        public long release() {
+            return values.release();
+        }
+    }
+
+    static final class FloatColumn implements NodeProperties {
+        private final HugeIntArray floatBits;
+
+        FloatColumn(HugeIntArray floatBits) {
+            this.floatBits = floatBits;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            return Float.intBitsToFloat(floatBits.get(nodeId));
+        }
+
+        @Override
+        public Value value(long nodeId) {
+            float value = Float.intBitsToFloat(floatBits.get(nodeId));
+            return Float.isNaN(value) ? null : Values.floatValue(value);
+        }
+
+        @Override
+        public long size() {
+            return floatBits.size();
+        }
+
+        @Override
+        public long release() {
+            return floatBits.release();
+        }
+    }
+
+    static final class FloatArrayColumn implements NodeProperties {
+        private final HugeFloatMatrix values;
+
+        FloatArrayColumn(HugeFloatMatrix values) {
+            this.values = values;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            throw new UnsupportedOperationException("Can not read a single double value from a float array node property.");
+        }
+
+        @Override
+        public float[] floatArrayValue(long nodeId) {
+            return values.row(nodeId);
+        }
+
+        @Override
+        public void copyFloatArrayValue(long nodeId, float[] target) {
+            values.copyRow(nodeId, target);
+        }
+
+        @Override
+        public double[] doubleArrayValue(long nodeId) {
+            double[] target = new double[values.columns()];
+            copyDoubleArrayValue(nodeId, target);
+            return target;
+        }
+
+        @Override
+        public void copyDoubleArrayValue(long nodeId, double[] target) {
+            float[] page = values.page(nodeId);
+            int offset = values.offset(nodeId);
+            for (int i = 0; i < target.length; i++) {
+                target[i] = page[offset + i];
+            }
+        }
+
+        @Override
+        public int dimension() {
+            return values.columns();
+        }
+
+        @Override
+        public Value value(long nodeId) {
+            return Values.floatArray(values.row(nodeId));
+        }
+
+        @Override
+        public long size() {
+            return values.rows();
+        }
+
+        @Override
+        public long release() {
+            return values.release();
+        }
+    }
+
+    static final class DoubleArrayColumn implements NodeProperties {
+        private final HugeDoubleArray values;
+        private final int dimension;
+
+        DoubleArrayColumn(HugeDoubleArray values, int dimension) {
+            this.values = values;
+            this.dimension = dimension;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            throw new UnsupportedOperationException("Can not read a single double value from a double array node property.");
+        }
+
+        @Override
+        public double[] doubleArrayValue(long nodeId) {
+            double[] target = new double[dimension];
+            copyDoubleArrayValue(nodeId, target);
+            return target;
+        }
+
+        @Override
+        public void copyDoubleArrayValue(long nodeId, double[] target) {
+            long start = nodeId * dimension;
+            for (int i = 0; i < dimension; i++) {
+                target[i] = values.get(start + i);
+            }
+        }
+
+        @Override
+        public int dimension() {
+            return dimension;
+        }
+
+        @Override
+        public Value value(long nodeId) {
+            return Values.doubleArray(doubleArrayValue(nodeId));
+        }
+
+        @Override
+        public long size() {
+            return values.size() / dimension;
+        }
+
+        @Override
+        public long release() {
+            return values.release();
+        }
+    }
+
+    static final class LongArrayColumn implements NodeProperties {
+        private final HugeLongArray values;
+        private final int dimension;
+
+        LongArrayColumn(HugeLongArray values, int dimension) {
+            this.values = values;
+            this.dimension = dimension;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            throw new UnsupportedOperationException("Can not read a single double value from a long array node property.");
+        }
+
+        @Override
+        public long[] longArrayValue(long nodeId) {
+            long[] target = new long[dimension];
+            long start = nodeId * dimension;
+            for (int i = 0; i < dimension; i++) {
+                target[i] = values.get(start + i);
+            }
+            return target;
+        }
+
+        @Override
+        public int dimension() {
+            return dimension;
+        }
+
+        @Override
+        public Value value(long nodeId) {
+            return Values.longArray(longArrayValue(nodeId));
+        }
+
+        @Override
+        public long size() {
+            return values.size() / dimension;
+        }
+
+        @Override
+        public long release() {
+            return values.release();
+        }
+    }
+}
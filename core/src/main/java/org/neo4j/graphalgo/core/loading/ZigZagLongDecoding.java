@@ -19,13 +19,13 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-final class ZigZagLongDecoding {
+public final class ZigZagLongDecoding {
 
     static int zigZagUncompress(byte[] array, int limit, long[] out) {
         return zigZagUncompress(array, 0, limit, out);
     }
 
-    static int zigZagUncompress(byte[] array, int offset, int length, long[] out) {
+    public static int zigZagUncompress(byte[] array, int offset, int length, long[] out) {
         long input, startValue = 0L, value = 0L;
         int into = 0, shift = 0, limit = offset + length;
         while (offset < limit) {
@@ -50,6 +50,8 @@ import org.neo4j.kernel.impl.store.format.RecordFormatSelector;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.logging.internal.NullLogService;
 import org.neo4j.logging.internal.StoreLogService;
+import org.neo4j.values.storable.NumberType;
+import org.neo4j.values.storable.Value;
 
 import java.io.File;
 import java.io.IOException;
@@ -58,6 +60,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.LongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -178,7 +181,7 @@ public class GraphStoreExport {
 
         final NodeMapping nodeLabels;
 
-        final Map<String, Map<String, NodeProperties>> nodeProperties;
+        final Map<String, Map<String, LongFunction<Object>>> nodeProperties;
 
         private final Set<NodeLabel> availableNodeLabels;
 
@@ -186,7 +189,7 @@ public class GraphStoreExport {
             long nodeCount,
             HugeIntArray labelCounts,
             NodeMapping nodeLabels,
-            Map<String, Map<String, NodeProperties>> nodeProperties
+            Map<String, Map<String, LongFunction<Object>>> nodeProperties
         ) {
             this.nodeCount = nodeCount;
             this.labelCounts = labelCounts;
@@ -234,7 +237,7 @@ public class GraphStoreExport {
 
         static NodeStore of(GraphStore graphStore) {
             HugeIntArray labelCounts = null;
-            Map<String, Map<String, NodeProperties>> nodeProperties;
+            Map<String, Map<String, LongFunction<Object>>> nodeProperties;
 
             var nodeLabels = graphStore.nodes();
 
@@ -258,7 +261,10 @@ public class GraphStoreExport {
                     entry -> entry.getKey().name,
                     entry -> entry.getValue().stream().collect(Collectors.toMap(
                         propertyKey -> propertyKey,
-                        propertyKey -> graphStore.nodePropertyValues(entry.getKey(), propertyKey)
+                        propertyKey -> valueReader(
+                            graphStore.nodePropertyType(entry.getKey(), propertyKey),
+                            graphStore.nodePropertyValues(entry.getKey(), propertyKey)
+                        )
                     ))
                 ));
             }
@@ -269,6 +275,24 @@ public class GraphStoreExport {
                 nodeProperties
             );
         }
+
+        /**
+         * Reads the values in the type they are stored in, so that integral values beyond 2^53 stay exact and
+         * array properties can be exported at all. A {@code null} value means that the node has no value.
+         */
+        static LongFunction<Object> valueReader(NumberType numberType, NodeProperties properties) {
+            switch (numberType) {
+                case INTEGRAL:
+                    return properties::longValue;
+                case FLOATING_POINT:
+                    return properties::nodeProperty;
+                default:
+                    return nodeId -> {
+                        Value value = properties.value(nodeId);
+                        return value == null ? null : value.asObjectCopy();
+                    };
+            }
+        }
     }
 
     static class RelationshipStore {
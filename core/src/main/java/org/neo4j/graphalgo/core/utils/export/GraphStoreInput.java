@@ -36,6 +36,7 @@ import org.neo4j.internal.batchimport.input.ReadableGroups;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.function.LongFunction;
 
 import static org.neo4j.graphalgo.NodeLabel.ALL_NODES;
 
@@ -192,20 +193,14 @@ public final class GraphStoreInput implements CompatInput {
                         for (var label : labels) {
                             if (nodeStore.nodeProperties.containsKey(label)) {
                                 for (var propertyKeyAndValue : nodeStore.nodeProperties.get(label).entrySet()) {
-                                    visitor.property(
-                                        propertyKeyAndValue.getKey(),
-                                        propertyKeyAndValue.getValue().nodeProperty(id)
-                                    );
+                                    visitProperty(visitor, propertyKeyAndValue.getKey(), propertyKeyAndValue.getValue());
                                 }
                             }
                         }
                     }
                 } else if (hasProperties) { // no label information, but node properties
                     for (var propertyKeyAndValue : nodeStore.nodeProperties.get(ALL_NODES.name).entrySet()) {
-                        visitor.property(
-                            propertyKeyAndValue.getKey(),
-                            propertyKeyAndValue.getValue().nodeProperty(id)
-                        );
+                        visitProperty(visitor, propertyKeyAndValue.getKey(), propertyKeyAndValue.getValue());
                     }
                 }
 
@@ -215,6 +210,13 @@ public final class GraphStoreInput implements CompatInput {
             }
             return false;
         }
+
+        private void visitProperty(InputEntityVisitor visitor, String propertyKey, LongFunction<Object> valueReader) {
+            Object value = valueReader.apply(id);
+            if (value != null) {
+                visitor.property(propertyKey, value);
+            }
+        }
     }
 
     static class RelationshipChunk extends EntityChunk {
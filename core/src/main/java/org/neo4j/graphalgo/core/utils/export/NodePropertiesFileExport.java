@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export;
+
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelBatchStream;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.values.storable.DoubleArray;
+import org.neo4j.values.storable.FloatArray;
+import org.neo4j.values.storable.NumberType;
+import org.neo4j.values.storable.Value;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.LongStream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes node property columns to a local file, bypassing Cypher result rows.
+ * <p>
+ * The {@link Format#CSV} format has a header line {@code nodeId,<property>,...} followed by one line per node,
+ * array values are separated by {@code ;}. Lines are formatted in parallel batches and written in node order.
+ * <p>
+ * The {@link Format#BINARY} format is columnar. All numbers are big-endian.
+ * The header consists of the magic number {@code GDSC}, the format version (int), the node count (long),
+ * the number of property columns (int) and, for every property column, the length of its UTF-8 encoded name (int),
+ * the name, the column type (byte, see {@link ColumnType}) and the array dimension (int, 1 for scalars).
+ * The header is followed by the original node ids as longs and then by the values of each property column,
+ * {@code nodeCount * dimension} longs, doubles or floats each.
+ * As every value has a fixed position, batches are written in parallel.
+ */
+public final class NodePropertiesFileExport {
+
+    static final int MAGIC = 0x47445343;
+    static final int VERSION = 1;
+
+    public enum Format {
+        CSV, BINARY;
+
+        public static Format parse(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Unknown export format `%s`, expected one of [csv, binary].",
+                    format
+                ));
+            }
+        }
+    }
+
+    enum ColumnType {
+        LONG(Long.BYTES),
+        DOUBLE(Double.BYTES),
+        FLOAT_ARRAY(Float.BYTES),
+        DOUBLE_ARRAY(Double.BYTES);
+
+        final int bytesPerValue;
+
+        ColumnType(int bytesPerValue) {
+            this.bytesPerValue = bytesPerValue;
+        }
+    }
+
+    private final IdMapping idMapping;
+    private final List<String> propertyKeys;
+    private final List<NodeProperties> properties;
+    private final List<ColumnType> columnTypes;
+    private final int batchSize;
+    private final int concurrency;
+
+    public NodePropertiesFileExport(
+        IdMapping idMapping,
+        List<String> propertyKeys,
+        List<NodeProperties> properties,
+        List<NumberType> propertyTypes,
+        int batchSize,
+        int concurrency
+    ) {
+        this.idMapping = idMapping;
+        this.propertyKeys = propertyKeys;
+        this.properties = properties;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.columnTypes = new ArrayList<>(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            columnTypes.add(columnType(propertyKeys.get(i), properties.get(i), propertyTypes.get(i), idMapping.nodeCount()));
+        }
+    }
+
+    /**
+     * Writes the properties to a new file, existing files are not overwritten.
+     *
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the file already exists
+     */
+    public long write(Path file, Format format) {
+        try {
+            return format == Format.CSV ? writeCsv(file) : writeBinary(file);
+        } catch (FileAlreadyExistsException e) {
+            throw new IllegalArgumentException(formatWithLocale("The export file `%s` already exists.", file), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeCsv(Path file) throws IOException {
+        long bytesWritten = 0L;
+        try (OutputStream out = new BufferedOutputStream(
+            Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+            1 << 16
+        )) {
+            var header = new StringBuilder("nodeId");
+            propertyKeys.forEach(key -> header.append(',').append(key));
+            byte[] headerBytes = header.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+            out.write(headerBytes);
+            bytesWritten += headerBytes.length;
+
+            try (var batches = ParallelBatchStream.stream(
+                idMapping.nodeCount(),
+                batchSize,
+                concurrency,
+                Pools.DEFAULT,
+                this::csvLines
+            )) {
+                var iterator = batches.iterator();
+                while (iterator.hasNext()) {
+                    byte[] lines = iterator.next();
+                    out.write(lines);
+                    bytesWritten += lines.length;
+                }
+            }
+        }
+        return bytesWritten;
+    }
+
+    private byte[] csvLines(long startNode, long endNode) {
+        var lines = new StringBuilder();
+        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+            lines.append(idMapping.toOriginalNodeId(nodeId));
+            for (int column = 0; column < properties.size(); column++) {
+                lines.append(',');
+                appendCsvValue(lines, column, nodeId);
+            }
+            lines.append('\n');
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendCsvValue(StringBuilder line, int column, long nodeId) {
+        NodeProperties values = properties.get(column);
+        switch (columnTypes.get(column)) {
+            case LONG:
+                line.append(values.longValue(nodeId));
+                break;
+            case DOUBLE:
+                double value = values.nodeProperty(nodeId);
+                if (!Double.isNaN(value)) {
+                    line.append(value);
+                }
+                break;
+            case FLOAT_ARRAY:
+                float[] floats = values.floatArrayValue(nodeId);
+                for (int i = 0; floats != null && i < floats.length; i++) {
+                    line.append(i == 0 ? "" : ";").append(floats[i]);
+                }
+                break;
+            case DOUBLE_ARRAY:
+                double[] doubles = values.doubleArrayValue(nodeId);
+                for (int i = 0; doubles != null && i < doubles.length; i++) {
+                    line.append(i == 0 ? "" : ";").append(doubles[i]);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected column type " + columnTypes.get(column));
+        }
+    }
+
+    private long writeBinary(Path file) throws IOException {
+        long nodeCount = idMapping.nodeCount();
+        try (FileChannel channel = FileChannel.open(
+            file,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE
+        )) {
+            ByteBuffer header = binaryHeader(nodeCount);
+            writeFully(channel, header, 0L);
+
+            // section 0 holds the original node ids, section i + 1 the values of property column i
+            long[] sectionOffsets = new long[properties.size() + 2];
+            sectionOffsets[0] = header.limit();
+            for (int section = 0; section <= properties.size(); section++) {
+                sectionOffsets[section + 1] = sectionOffsets[section] + nodeCount * bytesPerNode(section);
+            }
+
+            long batchCount = ParallelUtil.threadCount(batchSize, nodeCount);
+            ParallelUtil.parallelStreamConsume(
+                LongStream.range(0, batchCount),
+                concurrency,
+                batches -> batches.forEach(batch -> writeBinaryBatch(
+                    channel,
+                    sectionOffsets,
+                    batch * batchSize,
+                    Math.min(nodeCount, (batch + 1) * batchSize)
+                ))
+            );
+            return sectionOffsets[properties.size() + 1];
+        }
+    }
+
+    private ByteBuffer binaryHeader(long nodeCount) {
+        List<byte[]> names = new ArrayList<>(propertyKeys.size());
+        int size = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+        for (String propertyKey : propertyKeys) {
+            byte[] name = propertyKey.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += Integer.BYTES + name.length + Byte.BYTES + Integer.BYTES;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(size)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(nodeCount)
+            .putInt(properties.size());
+        for (int column = 0; column < properties.size(); column++) {
+            header
+                .putInt(names.get(column).length)
+                .put(names.get(column))
+                .put((byte) columnTypes.get(column).ordinal())
+                .putInt(properties.get(column).dimension());
+        }
+        return header.flip();
+    }
+
+    private int bytesPerNode(int section) {
+        if (section == 0) {
+            return Long.BYTES;
+        }
+        ColumnType columnType = columnTypes.get(section - 1);
+        return columnType.bytesPerValue * properties.get(section - 1).dimension();
+    }
+
+    private void writeBinaryBatch(FileChannel channel, long[] sectionOffsets, long startNode, long endNode) {
+        int nodes = Math.toIntExact(endNode - startNode);
+
+        ByteBuffer ids = ByteBuffer.allocate(nodes * Long.BYTES);
+        for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+            ids.putLong(idMapping.toOriginalNodeId(nodeId));
+        }
+        writeFully(channel, ids.flip(), sectionOffsets[0] + startNode * Long.BYTES);
+
+        for (int column = 0; column < properties.size(); column++) {
+            int bytesPerNode = bytesPerNode(column + 1);
+            NodeProperties values = properties.get(column);
+            ByteBuffer buffer = ByteBuffer.allocate(Math.multiplyExact(nodes, bytesPerNode));
+            switch (columnTypes.get(column)) {
+                case LONG:
+                    for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                        buffer.putLong(values.longValue(nodeId));
+                    }
+                    break;
+                case DOUBLE:
+                    for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                        buffer.putDouble(values.nodeProperty(nodeId));
+                    }
+                    break;
+                case FLOAT_ARRAY:
+                    float[] floats = new float[values.dimension()];
+                    for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                        values.copyFloatArrayValue(nodeId, floats);
+                        for (float value : floats) {
+                            buffer.putFloat(value);
+                        }
+                    }
+                    break;
+                case DOUBLE_ARRAY:
+                    double[] doubles = new double[values.dimension()];
+                    for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                        values.copyDoubleArrayValue(nodeId, doubles);
+                        for (double value : doubles) {
+                            buffer.putDouble(value);
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected column type " + columnTypes.get(column));
+            }
+            writeFully(channel, buffer.flip(), sectionOffsets[column + 1] + startNode * bytesPerNode);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ColumnType columnType(String propertyKey, NodeProperties properties, NumberType type, long nodeCount) {
+        switch (type) {
+            case INTEGRAL:
+                return ColumnType.LONG;
+            case FLOATING_POINT:
+                return ColumnType.DOUBLE;
+            default:
+                Value value = nodeCount > 0 ? properties.value(0) : null;
+                if (value instanceof FloatArray) {
+                    return ColumnType.FLOAT_ARRAY;
+                } else if (value instanceof DoubleArray) {
+                    return ColumnType.DOUBLE_ARRAY;
+                }
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Can not export node property `%s` with values of type %s.",
+                    propertyKey,
+                    value == null ? type : value.getClass().getSimpleName()
+                ));
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.mem;
+
+import org.neo4j.graphalgo.core.utils.TimeUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Process-wide bookkeeping of the memory that running jobs are expected to use.
+ * <p>
+ * A job is admitted if the minimum of its estimated memory range fits into the unreserved budget,
+ * which is the free heap as reported after the last GC minus all current reservations.
+ * Admitted jobs reserve their estimated maximum, capped at the unreserved budget, so that concurrently
+ * started jobs cannot all be admitted against the same free memory.
+ * <p>
+ * Jobs that do not fit can wait in a bounded queue, ordered by priority and then by arrival.
+ * Only the head of the queue is admitted, and new jobs are only admitted directly if no job
+ * with the same or a higher priority is waiting. The budget is re-checked on every release and
+ * periodically, since the free heap also changes with garbage collection.
+ */
+public final class MemoryLedger {
+
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 64;
+
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final MemoryLedger GLOBAL = new MemoryLedger(GcListenerExtension::freeMemory, DEFAULT_MAX_QUEUE_SIZE);
+
+    public static MemoryLedger global() {
+        return GLOBAL;
+    }
+
+    private final LongSupplier freeMemory;
+    private final int maxQueueSize;
+
+    private final ReentrantLock lock;
+    private final Condition budgetChanged;
+    // all fields below are guarded by the lock
+    private final Set<Reservation> reservations;
+    private final PriorityQueue<Waiter> queue;
+    private long reservedBytes;
+    private long reclaimedBytes;
+    private long retainedBytes;
+    private long lastFreeMemory;
+    private long nextSequence;
+
+    public MemoryLedger(LongSupplier freeMemory, int maxQueueSize) {
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("The maximum queue size must not be negative, but got " + maxQueueSize);
+        }
+        this.freeMemory = freeMemory;
+        this.maxQueueSize = maxQueueSize;
+        this.lock = new ReentrantLock();
+        this.budgetChanged = lock.newCondition();
+        this.reservations = new LinkedHashSet<>();
+        this.queue = new PriorityQueue<>(Comparator
+            .comparingInt((Waiter waiter) -> -waiter.priority)
+            .thenComparingLong(waiter -> waiter.sequence));
+        this.lastFreeMemory = -1L;
+    }
+
+    /**
+     * Tries to reserve memory for a job with the given estimated memory range.
+     *
+     * @param maxWait  how long the job may wait in the queue for memory to become available,
+     *                 {@link Duration#ZERO} fails immediately
+     * @param priority jobs with a higher priority are admitted first
+     * @return the reservation, or an empty optional if the job could not be admitted in time
+     * @throws IllegalStateException if the job would have to wait, but the queue is full
+     */
+    public Optional<Reservation> reserve(
+        String jobName,
+        String username,
+        MemoryRange estimate,
+        Duration maxWait,
+        int priority
+    ) {
+        lock.lock();
+        try {
+            if (queue.isEmpty() || priority > queue.peek().priority) {
+                Reservation reservation = tryAdmit(jobName, username, estimate);
+                if (reservation != null) {
+                    return Optional.of(reservation);
+                }
+            }
+            if (maxWait.isZero() || maxWait.isNegative()) {
+                return Optional.empty();
+            }
+            if (queue.size() >= maxQueueSize) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Cannot queue job `%s` since %d jobs are already waiting for memory.",
+                    jobName,
+                    queue.size()
+                ));
+            }
+            return awaitAdmission(new Waiter(jobName, username, estimate, priority, nextSequence++), maxWait);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<Reservation> awaitAdmission(Waiter waiter, Duration maxWait) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        queue.add(waiter);
+        try {
+            while (true) {
+                if (queue.peek() == waiter) {
+                    Reservation reservation = tryAdmit(waiter.jobName, waiter.username, waiter.estimate);
+                    if (reservation != null) {
+                        return Optional.of(reservation);
+                    }
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return Optional.empty();
+                }
+                budgetChanged.awaitNanos(Math.min(remaining, POLL_INTERVAL_NANOS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            queue.remove(waiter);
+            // the next job in the queue might fit
+            budgetChanged.signalAll();
+        }
+    }
+
+    private Reservation tryAdmit(String jobName, String username, MemoryRange estimate) {
+        long available = availableBytesLocked();
+        if (estimate.min > available) {
+            return null;
+        }
+        long bytes = Math.max(estimate.min, Math.min(estimate.max, available));
+        var reservation = new Reservation(this, jobName, username, bytes);
+        reservations.add(reservation);
+        reservedBytes += bytes;
+        return reservation;
+    }
+
+    /**
+     * Accounts for memory that has been freed explicitly, e.g. by evicting caches,
+     * but that is not yet reflected in the free memory as measured after the last GC.
+     * The credit is dropped as soon as the next measurement is available.
+     */
+    public void reclaimed(long bytes) {
+        lock.lock();
+        try {
+            updateFreeMemory();
+            reclaimedBytes += bytes;
+            budgetChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Accounts for memory that stays allocated after a job has released its reservation,
+     * e.g. a graph that has been loaded into the catalog, but that is not yet reflected
+     * in the free memory as measured after the last GC.
+     * The charge is dropped as soon as the next measurement is available.
+     */
+    public void retained(long bytes) {
+        lock.lock();
+        try {
+            updateFreeMemory();
+            retainedBytes += bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the memory that can still be reserved, in bytes
+     */
+    public long availableBytes() {
+        lock.lock();
+        try {
+            return availableBytesLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long availableBytesLocked() {
+        long free = updateFreeMemory();
+        return Math.max(0L, free + reclaimedBytes - retainedBytes - reservedBytes);
+    }
+
+    private long updateFreeMemory() {
+        long free = freeMemory.getAsLong();
+        if (free != lastFreeMemory) {
+            lastFreeMemory = free;
+            reclaimedBytes = 0L;
+            retainedBytes = 0L;
+        }
+        return free;
+    }
+
+    private void release(Reservation reservation) {
+        lock.lock();
+        try {
+            if (reservations.remove(reservation)) {
+                reservedBytes -= reservation.bytes;
+                budgetChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>(reservations.size() + queue.size());
+            for (Reservation reservation : reservations) {
+                entries.add(new Entry(
+                    reservation.jobName,
+                    reservation.username,
+                    State.RESERVED,
+                    reservation.bytes,
+                    0,
+                    reservation.since,
+                    reservation.tracker
+                ));
+            }
+            queue.stream()
+                .sorted(queue.comparator())
+                .forEach(waiter -> entries.add(new Entry(
+                    waiter.jobName,
+                    waiter.username,
+                    State.WAITING,
+                    waiter.estimate.min,
+                    waiter.priority,
+                    waiter.since,
+                    AllocationTracker.EMPTY
+                )));
+            return new Snapshot(updateFreeMemory(), reservedBytes, availableBytesLocked(), entries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static final class Reservation implements AutoCloseable {
+
+        /**
+         * A reservation of nothing, e.g. for jobs that skip the memory check.
+         */
+        public static final Reservation NONE = new Reservation(null, "", "", 0L);
+
+        private final MemoryLedger ledger;
+        private final String jobName;
+        private final String username;
+        private final long bytes;
+        private final ZonedDateTime since;
+        private final AtomicBoolean released;
+        private volatile AllocationTracker tracker;
+
+        private Reservation(MemoryLedger ledger, String jobName, String username, long bytes) {
+            this.ledger = ledger;
+            this.jobName = jobName;
+            this.username = username;
+            this.bytes = bytes;
+            this.since = TimeUtil.now();
+            this.released = new AtomicBoolean(false);
+            this.tracker = AllocationTracker.EMPTY;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        /**
+         * Attaches the tracker of the job, so that the actually allocated memory can be compared with the reservation.
+         */
+        public void track(AllocationTracker tracker) {
+            if (ledger != null) {
+                this.tracker = tracker;
+            }
+        }
+
+        /**
+         * Returns the reserved memory to the ledger. Calling this more than once has no effect.
+         */
+        public void release() {
+            if (ledger != null && released.compareAndSet(false, true)) {
+                ledger.release(this);
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+
+    public enum State {
+        RESERVED, WAITING
+    }
+
+    public static final class Entry {
+        public final String jobName;
+        public final String username;
+        public final State state;
+        /**
+         * The reserved memory for running jobs, the minimum required memory for waiting jobs.
+         */
+        public final long bytes;
+        public final int priority;
+        public final ZonedDateTime since;
+        /**
+         * The memory tracked by the job so far, empty if the job does not track its allocations.
+         */
+        public final AllocationTracker tracker;
+
+        Entry(
+            String jobName,
+            String username,
+            State state,
+            long bytes,
+            int priority,
+            ZonedDateTime since,
+            AllocationTracker tracker
+        ) {
+            this.jobName = jobName;
+            this.username = username;
+            this.state = state;
+            this.bytes = bytes;
+            this.priority = priority;
+            this.since = since;
+            this.tracker = tracker;
+        }
+    }
+
+    public static final class Snapshot {
+        public final long freeMemory;
+        public final long reservedMemory;
+        public final long availableMemory;
+        public final List<Entry> entries;
+
+        Snapshot(long freeMemory, long reservedMemory, long availableMemory, List<Entry> entries) {
+            this.freeMemory = freeMemory;
+            this.reservedMemory = reservedMemory;
+            this.availableMemory = availableMemory;
+            this.entries = entries;
+        }
+    }
+
+    private static final class Waiter {
+        final String jobName;
+        final String username;
+        final MemoryRange estimate;
+        final int priority;
+        final long sequence;
+        final ZonedDateTime since;
+
+        Waiter(String jobName, String username, MemoryRange estimate, int priority, long sequence) {
+            this.jobName = jobName;
+            this.username = username;
+            this.estimate = estimate;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.since = TimeUtil.now();
+        }
+    }
+}
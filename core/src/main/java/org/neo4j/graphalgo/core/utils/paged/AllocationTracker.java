@@ -19,13 +19,40 @@
  */
 package org.neo4j.graphalgo.core.utils.paged;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.humanReadable;
 
+/**
+ * Tracks the memory allocated by huge data structures.
+ * <p>
+ * Allocations are counted with striped counters, so that many threads can track their allocations without
+ * contending on a single counter. A tracker can have named child scopes, e.g. for the id map or the adjacency list;
+ * allocations in a child scope are also counted by all of its ancestors.
+ * <p>
+ * Every scope records its high-water mark. As memory is only freed via {@link #remove(long)}, the peak is always
+ * reached right before a removal or is the current value, so the mark is only updated on removals and the hot
+ * allocation path does not need to synchronize. Under concurrent updates, the mark is an approximation.
+ */
 public class AllocationTracker implements Supplier<String> {
-    public static final AllocationTracker EMPTY = new AllocationTracker() {
+
+    // names of the child scopes used during graph loading and algorithm execution
+    public static final String ID_MAP_SCOPE = "idMap";
+    public static final String NODE_PROPERTIES_SCOPE = "nodeProperties";
+    public static final String ADJACENCY_SCOPE = "adjacency";
+    public static final String RELATIONSHIP_PROPERTIES_SCOPE = "relationshipProperties";
+    public static final String ALGORITHM_SCOPE = "algorithm";
+
+    public static final AllocationTracker EMPTY = new AllocationTracker(null, "") {
         @Override
         public void add(long delta) {
         }
@@ -39,6 +66,16 @@ public class AllocationTracker implements Supplier<String> {
             return 0L;
         }
 
+        @Override
+        public long highWaterMark() {
+            return 0L;
+        }
+
+        @Override
+        public AllocationTracker child(String name) {
+            return this;
+        }
+
         @Override
         public String get() {
             return "";
@@ -53,20 +90,68 @@ public class AllocationTracker implements Supplier<String> {
         public String getUsageString(String label) {
             return "";
         }
+
+        @Override
+        public String getUsageTree() {
+            return "";
+        }
+
+        @Override
+        public Map<String, Object> toMap() {
+            return Collections.emptyMap();
+        }
     };
 
-    private final AtomicLong count = new AtomicLong();
+    private static final String ROOT_NAME = "total";
+
+    private final AllocationTracker parent;
+    private final String name;
+    private final LongAdder count;
+    private final AtomicLong highWaterMark;
+    private final ConcurrentMap<String, AllocationTracker> children;
+
+    private AllocationTracker(AllocationTracker parent, String name) {
+        this.parent = parent;
+        this.name = name;
+        this.count = new LongAdder();
+        this.highWaterMark = new AtomicLong();
+        this.children = new ConcurrentHashMap<>();
+    }
 
     public void add(long delta) {
-        count.addAndGet(delta);
+        count.add(delta);
+        if (parent != null) {
+            parent.add(delta);
+        }
     }
 
     public void remove(long delta) {
-        count.addAndGet(-delta);
+        long current = count.sum();
+        if (current > highWaterMark.get()) {
+            highWaterMark.accumulateAndGet(current, Math::max);
+        }
+        count.add(-delta);
+        if (parent != null) {
+            parent.remove(delta);
+        }
     }
 
     public long tracked() {
-        return count.get();
+        return count.sum();
+    }
+
+    /**
+     * @return the highest amount of memory tracked at any point in time, in bytes
+     */
+    public long highWaterMark() {
+        return Math.max(highWaterMark.get(), tracked());
+    }
+
+    /**
+     * Returns the child scope with the given name, creating it if it does not exist yet.
+     */
+    public AllocationTracker child(String name) {
+        return children.computeIfAbsent(name, childName -> new AllocationTracker(this, childName));
     }
 
     public String getUsageString() {
@@ -77,13 +162,57 @@ public class AllocationTracker implements Supplier<String> {
         return label + humanReadable(tracked());
     }
 
+    /**
+     * @return the current and peak usage of this tracker and all of its child scopes, one scope per line
+     */
+    public String getUsageTree() {
+        var builder = new StringBuilder();
+        appendUsageTree(builder, 0);
+        return builder.toString();
+    }
+
+    private void appendUsageTree(StringBuilder builder, int depth) {
+        if (depth > 0) {
+            builder.append(System.lineSeparator());
+        }
+        builder
+            .append("  ".repeat(depth))
+            .append(name)
+            .append(": ")
+            .append(humanReadable(tracked()))
+            .append(" (peak ")
+            .append(humanReadable(highWaterMark()))
+            .append(')');
+        sortedChildren().forEach(child -> child.appendUsageTree(builder, depth + 1));
+    }
+
+    /**
+     * @return the current and peak usage of this tracker and all of its child scopes, in bytes
+     */
+    public Map<String, Object> toMap() {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("name", name);
+        map.put("tracked", tracked());
+        map.put("peak", highWaterMark());
+        map.put("children", sortedChildren().stream().map(AllocationTracker::toMap).collect(Collectors.toList()));
+        return map;
+    }
+
+    private List<AllocationTracker> sortedChildren() {
+        return children
+            .values()
+            .stream()
+            .sorted((left, right) -> left.name.compareTo(right.name))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public String get() {
         return getUsageString("Memory usage: ");
     }
 
     public static AllocationTracker create() {
-        return new AllocationTracker();
+        return new AllocationTracker(null, ROOT_NAME);
     }
 
     public static boolean isTracking(AllocationTracker tracker) {
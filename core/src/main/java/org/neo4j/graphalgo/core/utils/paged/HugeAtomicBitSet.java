@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+
+/**
+ * A fixed size bit set that allows concurrent setting of bits, backed by a {@link HugeAtomicLongArray}.
+ * <p>
+ * {@link #get(long)}, {@link #set(long)} and {@link #getAndSet(long)} are safe to call from multiple threads,
+ * {@link #clear()} must not run concurrently with any other method.
+ */
+public final class HugeAtomicBitSet {
+
+    private static final int NUM_BITS = Long.SIZE;
+
+    private final HugeAtomicLongArray bits;
+    private final long numBits;
+
+    public static HugeAtomicBitSet create(long size, AllocationTracker tracker) {
+        long wordsSize = BitUtil.ceilDiv(size, NUM_BITS);
+        tracker.add(sizeOfInstance(HugeAtomicBitSet.class));
+        return new HugeAtomicBitSet(HugeAtomicLongArray.newArray(wordsSize, tracker), size);
+    }
+
+    public static long memoryEstimation(long size) {
+        long wordsSize = BitUtil.ceilDiv(size, NUM_BITS);
+        return sizeOfInstance(HugeAtomicBitSet.class) + HugeAtomicLongArray.memoryEstimation(wordsSize);
+    }
+
+    private HugeAtomicBitSet(HugeAtomicLongArray bits, long numBits) {
+        this.bits = bits;
+        this.numBits = numBits;
+    }
+
+    public boolean get(long index) {
+        assert index < numBits;
+        long word = bits.get(index >>> 6);
+        return (word & (1L << index)) != 0;
+    }
+
+    public void set(long index) {
+        getAndSet(index);
+    }
+
+    /**
+     * Sets the bit at the given index.
+     *
+     * @return {@code true} if the bit was already set, i.e. if another thread won the race to set it
+     */
+    public boolean getAndSet(long index) {
+        assert index < numBits;
+        long wordIndex = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long word = bits.get(wordIndex);
+            if ((word & mask) != 0) {
+                return true;
+            }
+            if (bits.compareAndSet(wordIndex, word, word | mask)) {
+                return false;
+            }
+        }
+    }
+
+    public long cardinality() {
+        long setBits = 0L;
+        for (long wordIndex = 0; wordIndex < bits.size(); wordIndex++) {
+            setBits += Long.bitCount(bits.get(wordIndex));
+        }
+        return setBits;
+    }
+
+    public void clear() {
+        for (long wordIndex = 0; wordIndex < bits.size(); wordIndex++) {
+            bits.set(wordIndex, 0L);
+        }
+    }
+
+    public long size() {
+        return numBits;
+    }
+
+    public long release() {
+        return bits.release();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfFloatArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * A dense, row-major matrix of floats with a fixed number of columns, e.g. one embedding per node.
+ * <p>
+ * The matrix is paged like the other huge arrays, but pages always hold a whole number of rows,
+ * so that a row never spans two pages. The values of row {@code r} are stored in
+ * {@code page(r)[offset(r)]} to {@code page(r)[offset(r) + columns() - 1]}, which allows
+ * hot loops to work on plain float arrays without per-row objects.
+ * <p>
+ * Concurrent writes to different rows are safe, concurrent writes to the same row are not synchronized.
+ */
+public final class HugeFloatMatrix {
+
+    private final long rows;
+    private final int columns;
+    private final int rowShift;
+    private final long rowMask;
+    private final long memoryUsed;
+    private float[][] pages;
+
+    public static HugeFloatMatrix newMatrix(long rows, int columns, AllocationTracker tracker) {
+        if (columns <= 0) {
+            throw new IllegalArgumentException("The number of columns must be positive, but got " + columns);
+        }
+        int rowsPerPage = rowsPerPage(columns);
+        int rowShift = Integer.numberOfTrailingZeros(rowsPerPage);
+        int numPages = PageUtil.numPagesFor(rows, rowShift, rowsPerPage - 1);
+
+        float[][] pages = new float[numPages][];
+        long memoryUsed = sizeOfObjectArray(numPages);
+        for (int i = 0; i < numPages; i++) {
+            long rowsInPage = Math.min(rowsPerPage, rows - ((long) i << rowShift));
+            pages[i] = new float[Math.toIntExact(rowsInPage * columns)];
+            memoryUsed += sizeOfFloatArray(pages[i].length);
+        }
+        tracker.add(memoryUsed);
+
+        return new HugeFloatMatrix(rows, columns, rowShift, pages, memoryUsed);
+    }
+
+    public static long memoryEstimation(long rows, int columns) {
+        int rowsPerPage = rowsPerPage(columns);
+        int rowShift = Integer.numberOfTrailingZeros(rowsPerPage);
+        int numPages = PageUtil.numPagesFor(rows, rowShift, rowsPerPage - 1);
+
+        long memoryUsed = sizeOfInstance(HugeFloatMatrix.class) + sizeOfObjectArray(numPages);
+        if (numPages > 0) {
+            long lastPageRows = rows - ((long) (numPages - 1) << rowShift);
+            memoryUsed += (numPages - 1) * sizeOfFloatArray((long) rowsPerPage * columns);
+            memoryUsed += sizeOfFloatArray(lastPageRows * columns);
+        }
+        return memoryUsed;
+    }
+
+    private static int rowsPerPage(int columns) {
+        int pageSize = PageUtil.pageSizeFor(Float.BYTES);
+        return Math.max(1, BitUtil.previousPowerOfTwo(pageSize / columns));
+    }
+
+    private HugeFloatMatrix(long rows, int columns, int rowShift, float[][] pages, long memoryUsed) {
+        this.rows = rows;
+        this.columns = columns;
+        this.rowShift = rowShift;
+        this.rowMask = (1L << rowShift) - 1;
+        this.pages = pages;
+        this.memoryUsed = memoryUsed;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * @return the page that stores the given row
+     */
+    public float[] page(long row) {
+        assert row < rows;
+        return pages[(int) (row >>> rowShift)];
+    }
+
+    /**
+     * @return the index of the first value of the given row within {@link #page(long)}
+     */
+    public int offset(long row) {
+        assert row < rows;
+        return (int) (row & rowMask) * columns;
+    }
+
+    public float get(long row, int column) {
+        assert column < columns;
+        return page(row)[offset(row) + column];
+    }
+
+    public void set(long row, int column, float value) {
+        assert column < columns;
+        page(row)[offset(row) + column] = value;
+    }
+
+    public void addTo(long row, int column, float value) {
+        assert column < columns;
+        page(row)[offset(row) + column] += value;
+    }
+
+    /**
+     * @return a copy of the given row
+     */
+    public float[] row(long row) {
+        int offset = offset(row);
+        return Arrays.copyOfRange(page(row), offset, offset + columns);
+    }
+
+    public void copyRow(long row, float[] target) {
+        System.arraycopy(page(row), offset(row), target, 0, columns);
+    }
+
+    public void setRow(long row, float[] values) {
+        assert values.length == columns;
+        System.arraycopy(values, 0, page(row), offset(row), columns);
+    }
+
+    public void fill(float value) {
+        for (float[] page : pages) {
+            Arrays.fill(page, value);
+        }
+    }
+
+    /**
+     * @return the amount of memory used by the pages of this matrix, in bytes
+     */
+    public long sizeOf() {
+        return memoryUsed;
+    }
+
+    /**
+     * Destroys the data, allowing the underlying storage arrays to be collected as garbage.
+     * The matrix is unusable after calling this method and will throw {@link NullPointerException}s on virtually every method invocation.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    public long release() {
+        if (pages != null) {
+            pages = null;
+            return memoryUsed;
+        }
+        return 0L;
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.telemetry;
+
+import org.neo4j.graphalgo.core.utils.TimeUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structured timings and counters of a single procedure run.
+ * <p>
+ * A run is made of named phases, e.g. loading, computing and writing, and collects the relationships
+ * traversed, the busy time of every worker thread, the estimated and the allocated memory and the
+ * garbage collection activity while it was running.
+ * <p>
+ * The run is bound to the procedure thread with {@link #bind()} and is propagated to worker threads
+ * by {@link org.neo4j.graphalgo.core.concurrency.ParallelUtil} and
+ * {@link org.neo4j.graphalgo.core.concurrency.WorkStealing}, so that algorithms can report to
+ * {@link #current()} without having a reference to the run.
+ * Algorithms are expected to count relationships in local variables and report them once per batch,
+ * counters are only aggregated at phase boundaries and when the run is listed.
+ * <p>
+ * {@link #NONE} ignores everything and is returned by {@link #current()} outside of a run.
+ */
+public final class RunTelemetry {
+
+    public static final RunTelemetry NONE = new RunTelemetry(null, -1L, "", "");
+
+    private static final ThreadLocal<RunTelemetry> CURRENT = new ThreadLocal<>();
+
+    private static final Scope NO_SCOPE = () -> {};
+
+    private final TelemetryRegistry registry;
+    private final long id;
+    private final String jobName;
+    private final String username;
+    private final ZonedDateTime startTime;
+    private final long startNanos;
+    private final long gcCountAtStart;
+    private final long gcMillisAtStart;
+
+    private final ConcurrentLinkedQueue<PhaseTiming> phases;
+    private final LongAdder relationships;
+    private final ConcurrentHashMap<Long, ThreadTiming> busyNanosByThread;
+
+    private volatile long endNanos;
+    private volatile long gcCount;
+    private volatile long gcMillis;
+    private volatile long estimatedBytes;
+    private volatile AllocationTracker tracker;
+
+    RunTelemetry(TelemetryRegistry registry, long id, String jobName, String username) {
+        this.registry = registry;
+        this.id = id;
+        this.jobName = jobName;
+        this.username = username;
+        this.startTime = registry == null ? null : TimeUtil.now();
+        this.startNanos = System.nanoTime();
+        this.gcCountAtStart = registry == null ? 0L : totalGcCount();
+        this.gcMillisAtStart = registry == null ? 0L : totalGcMillis();
+        this.phases = new ConcurrentLinkedQueue<>();
+        this.relationships = new LongAdder();
+        this.busyNanosByThread = new ConcurrentHashMap<>();
+        this.tracker = AllocationTracker.EMPTY;
+    }
+
+    /**
+     * @return the run that is bound to the current thread, or {@link #NONE}
+     */
+    public static RunTelemetry current() {
+        RunTelemetry telemetry = CURRENT.get();
+        return telemetry == null ? NONE : telemetry;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public String jobName() {
+        return jobName;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public boolean isEnabled() {
+        return this != NONE;
+    }
+
+    public boolean isRunning() {
+        return isEnabled() && endNanos == 0L;
+    }
+
+    /**
+     * Binds this run to the current thread until the returned scope is closed.
+     */
+    public Scope bind() {
+        if (!isEnabled()) {
+            return NO_SCOPE;
+        }
+        RunTelemetry previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> CURRENT.set(previous);
+    }
+
+    /**
+     * Starts a phase that ends when the returned scope is closed.
+     * Phases can be nested and repeated, e.g. one phase per iteration within the compute phase.
+     */
+    public Scope phase(String name) {
+        if (!isEnabled()) {
+            return NO_SCOPE;
+        }
+        long start = System.nanoTime();
+        long relationshipsAtStart = relationships.sum();
+        return () -> phases.add(new PhaseTiming(
+            name,
+            System.nanoTime() - start,
+            relationships.sum() - relationshipsAtStart
+        ));
+    }
+
+    /**
+     * Binds this run to the current worker thread and counts the time until the returned scope is closed
+     * as busy time of that thread.
+     */
+    public Scope work() {
+        if (!isEnabled()) {
+            return NO_SCOPE;
+        }
+        RunTelemetry previous = CURRENT.get();
+        CURRENT.set(this);
+        long start = System.nanoTime();
+        return () -> {
+            // thread names are not unique, e.g. every pool names its threads the same way
+            Thread thread = Thread.currentThread();
+            busyNanosByThread
+                .computeIfAbsent(thread.getId(), ignore -> new ThreadTiming(thread.getName()))
+                .busyNanos
+                .add(System.nanoTime() - start);
+            CURRENT.set(previous);
+        };
+    }
+
+    /**
+     * Wraps the task so that it runs within {@link #work()}.
+     */
+    public Runnable instrument(Runnable task) {
+        if (!isEnabled()) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = work()) {
+                task.run();
+            }
+        };
+    }
+
+    public void relationshipsTraversed(long count) {
+        if (isEnabled()) {
+            relationships.add(count);
+        }
+    }
+
+    /**
+     * Compares the allocations of the given tracker with the estimated memory of the run.
+     */
+    public void trackMemory(long estimatedBytes, AllocationTracker tracker) {
+        if (isEnabled()) {
+            this.estimatedBytes = estimatedBytes;
+            this.tracker = tracker;
+        }
+    }
+
+    /**
+     * Ends the run and moves it to the history of its registry.
+     * Procedures end their runs once the results have been streamed, written or mutated.
+     * Phases that end afterwards are still added to the run.
+     */
+    public void finish() {
+        if (!isRunning()) {
+            return;
+        }
+        gcCount = totalGcCount() - gcCountAtStart;
+        gcMillis = totalGcMillis() - gcMillisAtStart;
+        endNanos = System.nanoTime();
+        registry.finished(this);
+    }
+
+    public ZonedDateTime startTime() {
+        return startTime;
+    }
+
+    public long durationMillis() {
+        long end = isRunning() ? System.nanoTime() : endNanos;
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    /**
+     * @return the name, duration and relationships traversed of every finished phase, in the order they finished
+     */
+    public List<Map<String, Object>> phases() {
+        List<Map<String, Object>> phaseList = new ArrayList<>();
+        for (PhaseTiming phase : phases) {
+            phaseList.add(phase.toMap());
+        }
+        return phaseList;
+    }
+
+    public long relationshipsTraversed() {
+        return relationships.sum();
+    }
+
+    public long relationshipsPerSecond() {
+        return perSecond(relationshipsTraversed(), durationMillis());
+    }
+
+    /**
+     * @return the name, busy and idle time of every worker thread by thread id, idle being the rest of the run duration
+     */
+    public Map<String, Object> threads() {
+        long durationMillis = durationMillis();
+        Map<String, Object> threads = new LinkedHashMap<>();
+        new TreeMap<>(busyNanosByThread).forEach((threadId, timing) -> {
+            long busyMillis = TimeUnit.NANOSECONDS.toMillis(timing.busyNanos.sum());
+            Map<String, Object> times = new LinkedHashMap<>();
+            times.put("name", timing.name);
+            times.put("busyMillis", busyMillis);
+            times.put("idleMillis", Math.max(0L, durationMillis - busyMillis));
+            threads.put(String.valueOf(threadId), times);
+        });
+        return threads;
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long allocatedBytes() {
+        return tracker.highWaterMark();
+    }
+
+    public long gcCount() {
+        return isRunning() ? totalGcCount() - gcCountAtStart : gcCount;
+    }
+
+    public long gcMillis() {
+        return isRunning() ? totalGcMillis() - gcMillisAtStart : gcMillis;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", id);
+        map.put("jobName", jobName);
+        map.put("username", username);
+        map.put("startTime", startTime);
+        map.put("running", isRunning());
+        map.put("durationMillis", durationMillis());
+        map.put("phases", phases());
+        map.put("relationshipsTraversed", relationshipsTraversed());
+        map.put("relationshipsPerSecond", relationshipsPerSecond());
+        map.put("threads", threads());
+        map.put("estimatedBytes", estimatedBytes());
+        map.put("allocatedBytes", allocatedBytes());
+        map.put("gcCount", gcCount());
+        map.put("gcMillis", gcMillis());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private static long perSecond(long count, long millis) {
+        return millis == 0L ? count : count * 1000L / millis;
+    }
+
+    // Collection counts and times are accumulated by the JVM and are also available on VMs
+    //  on which the HotSpot specific GC listener cannot be installed.
+    // They are JVM wide, concurrent runs see the collections of each other.
+    private static long totalGcCount() {
+        long count = 0L;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0L, gcBean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcMillis() {
+        long millis = 0L;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0L, gcBean.getCollectionTime());
+        }
+        return millis;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class ThreadTiming {
+        private final String name;
+        private final LongAdder busyNanos;
+
+        ThreadTiming(String name) {
+            this.name = name;
+            this.busyNanos = new LongAdder();
+        }
+    }
+
+    private static final class PhaseTiming {
+        private final String name;
+        private final long nanos;
+        private final long relationships;
+
+        PhaseTiming(String name, long nanos, long relationships) {
+            this.name = name;
+            this.nanos = nanos;
+            this.relationships = relationships;
+        }
+
+        Map<String, Object> toMap() {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("millis", millis);
+            map.put("relationshipsTraversed", relationships);
+            map.put("relationshipsPerSecond", perSecond(relationships, millis));
+            return map;
+        }
+    }
+}
@@ -17,27 +17,29 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package org.neo4j.graphalgo.labelpropagation;
+package org.neo4j.graphalgo.core.utils.telemetry;
 
-final class StepRunner implements Runnable {
+/**
+ * JMX view of the {@link TelemetryRegistry}, registered as {@value TelemetryRegistry#OBJECT_NAME}.
+ */
+public interface TelemetryMXBean {
 
-    Step current;
+    int getRunningRuns();
 
-    StepRunner(final Step current) {
-        this.current = current;
-    }
+    long getFinishedRuns();
 
-    public boolean didConverge() {
-        return this.current.didConverge();
-    }
+    /**
+     * @return the relationships traversed by all finished runs
+     */
+    long getRelationshipsTraversed();
 
-    @Override
-    public void run() {
-        current.run();
-        current = current.next();
-    }
+    /**
+     * @return the time spent in garbage collection while finished runs were running
+     */
+    long getGcMillis();
 
-    public void release() {
-        current.release();
-    }
+    /**
+     * @return a summary of every run that is running or in the history, newest first
+     */
+    String[] getRuns();
 }
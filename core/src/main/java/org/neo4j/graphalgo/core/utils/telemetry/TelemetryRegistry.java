@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.telemetry;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the {@link RunTelemetry} of running procedures and a bounded history of finished ones.
+ * <p>
+ * The {@link #global()} registry is also exposed over JMX.
+ */
+public final class TelemetryRegistry implements TelemetryMXBean {
+
+    public static final String OBJECT_NAME = "org.neo4j.gds:type=Telemetry";
+
+    public static final int DEFAULT_HISTORY_SIZE = 100;
+
+    private static final TelemetryRegistry GLOBAL = registerGlobal();
+
+    private final int historySize;
+    private final AtomicLong nextId;
+    private final ConcurrentHashMap<Long, RunTelemetry> running;
+    private final ArrayDeque<RunTelemetry> history;
+    private final LongAdder finishedRuns;
+    private final LongAdder relationshipsTraversed;
+    private final LongAdder gcMillis;
+
+    public static TelemetryRegistry global() {
+        return GLOBAL;
+    }
+
+    private static TelemetryRegistry registerGlobal() {
+        TelemetryRegistry registry = new TelemetryRegistry(DEFAULT_HISTORY_SIZE);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(registry, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException ignored) {
+            // Telemetry is still available through the procedure,
+            //  we don't want to fail the procedures if the bean cannot be registered.
+        }
+        return registry;
+    }
+
+    public TelemetryRegistry(int historySize) {
+        this.historySize = historySize;
+        this.nextId = new AtomicLong();
+        this.running = new ConcurrentHashMap<>();
+        this.history = new ArrayDeque<>(historySize);
+        this.finishedRuns = new LongAdder();
+        this.relationshipsTraversed = new LongAdder();
+        this.gcMillis = new LongAdder();
+    }
+
+    public RunTelemetry start(String jobName, String username) {
+        RunTelemetry telemetry = new RunTelemetry(this, nextId.incrementAndGet(), jobName, username);
+        running.put(telemetry.id(), telemetry);
+        return telemetry;
+    }
+
+    void finished(RunTelemetry telemetry) {
+        running.remove(telemetry.id());
+        finishedRuns.increment();
+        relationshipsTraversed.add(telemetry.relationshipsTraversed());
+        gcMillis.add(telemetry.gcMillis());
+        synchronized (history) {
+            if (history.size() == historySize) {
+                history.removeFirst();
+            }
+            history.addLast(telemetry);
+        }
+    }
+
+    /**
+     * @return the running and the recently finished runs, newest first
+     */
+    public List<RunTelemetry> runs() {
+        // a run that finishes while we are listing could be seen twice
+        Map<Long, RunTelemetry> runs = new TreeMap<>(Comparator.reverseOrder());
+        running.forEach(runs::put);
+        synchronized (history) {
+            history.forEach(run -> runs.put(run.id(), run));
+        }
+        return new ArrayList<>(runs.values());
+    }
+
+    @Override
+    public int getRunningRuns() {
+        return running.size();
+    }
+
+    @Override
+    public long getFinishedRuns() {
+        return finishedRuns.sum();
+    }
+
+    @Override
+    public long getRelationshipsTraversed() {
+        return relationshipsTraversed.sum();
+    }
+
+    @Override
+    public long getGcMillis() {
+        return gcMillis.sum();
+    }
+
+    @Override
+    public String[] getRuns() {
+        return runs().stream().map(RunTelemetry::toString).toArray(String[]::new);
+    }
+}
@@ -104,6 +104,32 @@ public interface PropertyTranslator<T> {
         }
     }
 
+    interface OfFloat<T> extends PropertyTranslator<T> {
+        float toFloat(final T data, final long nodeId);
+
+        @Override
+        default NumberType numberType() {
+            return NumberType.FLOATING_POINT;
+        }
+
+        @Override
+        default double toDouble(final T data, final long nodeId) {
+            return toFloat(data, nodeId);
+        }
+
+        @Override
+        default Value toProperty(
+                int propertyId,
+                T data,
+                long nodeId) {
+            float floatValue = toFloat(data, nodeId);
+            if (Float.isNaN(floatValue)) {
+                return null;
+            }
+            return Values.floatValue(floatValue);
+        }
+    }
+
     interface OfLongArray<T> extends PropertyTranslator<T> {
         long[] toLongArray(final T data, final long nodeId);
 
@@ -180,7 +206,7 @@ public interface PropertyTranslator<T> {
 
     }
 
-    final class OfLongIfChanged<T> implements PropertyTranslator<T> {
+    final class OfLongIfChanged<T> implements OfLong<T> {
 
         private final NodeProperties currentProperties;
         private final DataAccessFunction<T> newPropertiesFn;
@@ -200,20 +226,17 @@ public interface PropertyTranslator<T> {
         }
 
         @Override
-        public double toDouble(final T data, final long nodeId) {
+        public long toLong(final T data, final long nodeId) {
             return newPropertiesFn.getValue(data, nodeId);
         }
 
-        @Override
-        public NumberType numberType() {
-            return NumberType.INTEGRAL;
-        }
-
         @Override
         public Value toProperty(int propertyId, T data, long nodeId) {
             double seedValue = currentProperties.nodeProperty(nodeId, Double.NaN);
             long computedValue = newPropertiesFn.getValue(data, nodeId);
-            return Double.isNaN(seedValue) || ((long) seedValue != computedValue) ? Values.longValue(computedValue) : null;
+            return Double.isNaN(seedValue) || (currentProperties.longValue(nodeId) != computedValue)
+                ? Values.longValue(computedValue)
+                : null;
         }
     }
 
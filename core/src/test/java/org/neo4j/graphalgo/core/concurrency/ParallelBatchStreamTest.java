@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelBatchStreamTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldStreamBatchesInNodeOrder(int concurrency) {
+        var nodes = ParallelBatchStream
+            .stream(10_007, 100, concurrency, Pools.DEFAULT, LongStream::range)
+            .flatMap(LongStream::boxed)
+            .collect(Collectors.toList());
+
+        assertEquals(LongStream.range(0, 10_007).boxed().collect(Collectors.toList()), nodes);
+    }
+
+    @Test
+    void shouldEndBatchesWhereRequested() {
+        var batches = ParallelBatchStream
+            .stream(100, start -> start < 90 ? start + 30 : 100, 4, Pools.DEFAULT, (start, end) -> end - start)
+            .collect(Collectors.toList());
+
+        assertEquals(List.of(30L, 30L, 30L, 10L), batches);
+    }
+
+    @Test
+    void shouldProduceBatchesLazily() {
+        var producedBatches = new AtomicInteger();
+        var firstBatch = ParallelBatchStream
+            .stream(1_000_000, 10, 2, Pools.DEFAULT, (start, end) -> {
+                producedBatches.incrementAndGet();
+                return start;
+            })
+            .findFirst();
+
+        assertEquals(0L, firstBatch.orElseThrow());
+        // at most 2 * concurrency batches are produced ahead of the consumer
+        assertTrue(producedBatches.get() <= 1 + 2 * 2);
+    }
+
+    @Test
+    void shouldRethrowProducerExceptions() {
+        var stream = ParallelBatchStream.stream(100, 10, 4, Pools.DEFAULT, (start, end) -> {
+            if (start == 50) {
+                throw new IllegalStateException("boom");
+            }
+            return start;
+        });
+
+        var exception = assertThrows(IllegalStateException.class, () -> stream.forEach(ignore -> {}));
+        assertEquals("boom", exception.getMessage());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkStealingTest {
+
+    private static final int NODE_COUNT = 10_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldVisitEveryNodeExactlyOnce(int concurrency) {
+        Graph graph = starGraph();
+        var visits = new AtomicIntegerArray(NODE_COUNT);
+
+        WorkStealing.forEachNodeRange(
+            graph,
+            concurrency,
+            10,
+            TerminationFlag.RUNNING_TRUE,
+            Pools.DEFAULT,
+            () -> null,
+            (state, startNode, endNode) -> {
+                for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                    visits.incrementAndGet((int) nodeId);
+                }
+            }
+        );
+
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            assertEquals(1, visits.get(nodeId), "node " + nodeId);
+        }
+    }
+
+    @Test
+    void shouldCreateStatePerThread() {
+        Graph graph = starGraph();
+        var createdStates = new AtomicLong();
+        Set<Object> usedStates = ConcurrentHashMap.newKeySet();
+
+        WorkStealing.forEachNodeRange(
+            graph,
+            4,
+            10,
+            TerminationFlag.RUNNING_TRUE,
+            Pools.DEFAULT,
+            () -> {
+                createdStates.incrementAndGet();
+                return new Object();
+            },
+            (state, startNode, endNode) -> usedStates.add(state)
+        );
+
+        assertTrue(createdStates.get() <= 4);
+        assertEquals(createdStates.get(), usedStates.size());
+    }
+
+    @Test
+    void shouldRunOnCallingThreadWithoutConcurrency() {
+        Graph graph = starGraph();
+        var caller = Thread.currentThread();
+
+        WorkStealing.forEachNodeRange(
+            graph,
+            1,
+            10,
+            TerminationFlag.RUNNING_TRUE,
+            Pools.DEFAULT,
+            () -> null,
+            (state, startNode, endNode) -> {
+                assertEquals(caller, Thread.currentThread());
+                assertEquals(0, startNode);
+                assertEquals(NODE_COUNT, endNode);
+            }
+        );
+    }
+
+    @Test
+    void shouldRunOnCallingThreadWithoutExecutor() {
+        Graph graph = starGraph();
+        var caller = Thread.currentThread();
+
+        WorkStealing.forEachNodeRange(
+            graph,
+            4,
+            10,
+            TerminationFlag.RUNNING_TRUE,
+            null,
+            () -> null,
+            (state, startNode, endNode) -> {
+                assertEquals(caller, Thread.currentThread());
+                assertEquals(0, startNode);
+                assertEquals(NODE_COUNT, endNode);
+            }
+        );
+    }
+
+    @Test
+    void shouldRethrowConsumerExceptions() {
+        Graph graph = starGraph();
+
+        var exception = assertThrows(IllegalStateException.class, () -> WorkStealing.forEachNodeRange(
+            graph,
+            4,
+            10,
+            TerminationFlag.RUNNING_TRUE,
+            Pools.DEFAULT,
+            () -> null,
+            (state, startNode, endNode) -> {
+                throw new IllegalStateException("boom");
+            }
+        ));
+        assertEquals("boom", exception.getMessage());
+    }
+
+    @Test
+    void shouldStopWhenTerminated() {
+        Graph graph = starGraph();
+
+        assertThrows(RuntimeException.class, () -> WorkStealing.forEachNodeRange(
+            graph,
+            4,
+            10,
+            () -> false,
+            Pools.DEFAULT,
+            () -> null,
+            (state, startNode, endNode) -> {}
+        ));
+    }
+
+    @Test
+    void shouldStealHalfOfTheLargestRemainingShare() {
+        var partitions = LongStream.range(0, 16)
+            .mapToObj(partition -> new Partition(partition * 10, 10))
+            .collect(Collectors.toList());
+        var context = new WorkStealing.Context<>(
+            partitions,
+            2,
+            TerminationFlag.RUNNING_TRUE,
+            (state, startNode, endNode) -> {}
+        );
+        // worker 0 owns [0, 8) and is busy, worker 1 has finished [8, 16)
+        assertEquals(0, context.takeFirst(0));
+        for (int partition = 8; partition < 16; partition++) {
+            assertEquals(partition, context.takeFirst(1));
+        }
+        assertEquals(-1, context.takeFirst(1));
+
+        // worker 1 takes the upper half of [1, 8), worker 0 keeps [1, 5)
+        assertEquals(5, context.steal(1));
+        assertEquals(6, context.takeFirst(1));
+        assertEquals(7, context.takeFirst(1));
+        assertEquals(-1, context.takeFirst(1));
+
+        // the stolen share can be split again, until single partitions are left
+        assertEquals(3, context.steal(1));
+        assertEquals(4, context.takeFirst(1));
+        assertEquals(2, context.steal(1));
+        assertEquals(-1, context.takeFirst(1));
+        assertEquals(1, context.takeFirst(0));
+        assertEquals(-1, context.takeFirst(0));
+        assertEquals(-1, context.steal(1));
+    }
+
+    // node 0 is a hub connected to every other node, so that degree partitioning has to isolate it
+    private static Graph starGraph() {
+        var tracker = AllocationTracker.EMPTY;
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(NODE_COUNT, Pools.DEFAULT, tracker);
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            idMapBuilder.addNode(nodeId);
+        }
+        IdMap idMap = idMapBuilder.build();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            false,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            tracker
+        );
+        for (long nodeId = 1; nodeId < NODE_COUNT; nodeId++) {
+            relationshipsBuilder.add(0, nodeId);
+            relationshipsBuilder.add(nodeId, (nodeId + 1) % NODE_COUNT);
+        }
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), tracker);
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.core.huge;
 
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.BitUtil;
@@ -126,6 +127,32 @@ class AdjacencyListTest {
         assertEquals(expected, memRec.memoryUsage());
     }
 
+    @Test
+    void shouldComputeCompressedPropertiesMemoryEstimation() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(1_000_000_000L)
+            .build();
+
+        MemoryTree memRec = AdjacencyList
+            .compressedPropertiesMemoryEstimation(RelationshipType.ALL_RELATIONSHIPS, false)
+            .estimate(dimensions, 1);
+
+        long classSize = 24;
+        long dictionaryEncodedSize = 1_100_000_000L;
+        long uncompressedSize = 8_400_000_000L;
+
+        int minPages = PageUtil.numPagesFor(dictionaryEncodedSize, PAGE_SHIFT, PAGE_MASK);
+        int maxPages = PageUtil.numPagesFor(uncompressedSize, PAGE_SHIFT, PAGE_MASK);
+        long bytesPerPage = BitUtil.align(16 + 262144L, 8);
+        long minMemoryReqs = minPages * bytesPerPage + BitUtil.align(16 + minPages * 4, 8);
+        long maxMemoryReqs = 2 * (maxPages * bytesPerPage + BitUtil.align(16 + maxPages * 4, 8));
+
+        MemoryRange expected = MemoryRange.of(minMemoryReqs + classSize, maxMemoryReqs + classSize);
+
+        assertEquals(expected, memRec.memoryUsage());
+    }
+
     @Test
     void shouldComputeAdjacencyByteSize() {
         long avgDegree = 1000;
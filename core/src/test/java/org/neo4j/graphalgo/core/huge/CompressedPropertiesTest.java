@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedPropertiesTest {
+
+    private static final int NODE_COUNT = 100;
+    private static final int DEGREE = 10;
+
+    @Test
+    void shouldUseDictionaryForFewDistinctValues() {
+        assertRoundTrip(i -> (i % 3) * 0.1, CompressedProperties.Encoding.DICTIONARY);
+    }
+
+    @Test
+    void shouldUseFloatsForExactFloatValues() {
+        assertRoundTrip(i -> i + 0.5f, CompressedProperties.Encoding.FLOAT);
+    }
+
+    @Test
+    void shouldUseDeltasForIntegralValues() {
+        assertRoundTrip(i -> 1_000_000 - i, CompressedProperties.Encoding.DELTA);
+    }
+
+    @Test
+    void shouldKeepValuesThatCannotBeCompressed() {
+        var random = new Random(42);
+        var properties = properties(i -> random.nextDouble());
+
+        var compressed = CompressedProperties.compress(properties.pages, properties.offsets, NODE_COUNT, AllocationTracker.EMPTY);
+        assertNull(compressed);
+
+        var list = AdjacencyList.compressProperties(properties.list, properties.offsets, NODE_COUNT, AllocationTracker.EMPTY);
+        assertSame(properties.list, list);
+        assertFalse(list.isCompressed());
+    }
+
+    @Test
+    void shouldDecodeOnDemandAndEvict() {
+        var properties = properties(i -> i % 7);
+        var tracker = AllocationTracker.create();
+        tracker.add(AdjacencyList.memoryOfPages(properties.pages));
+
+        var list = AdjacencyList.compressProperties(properties.list, properties.offsets, NODE_COUNT, tracker);
+        assertTrue(list.isCompressed());
+        assertFalse(list.isResident());
+        long compressedMemory = tracker.tracked();
+        assertTrue(compressedMemory > 0);
+
+        assertValues(list, properties, i -> i % 7);
+        assertTrue(list.isResident());
+        assertEquals(compressedMemory + list.residentMemory(), tracker.tracked());
+
+        long evicted = list.evict();
+        assertTrue(evicted > 0);
+        assertFalse(list.isResident());
+        assertEquals(compressedMemory, tracker.tracked());
+        assertEquals(0L, list.evict());
+
+        assertValues(list, properties, i -> i % 7);
+        assertTrue(list.isResident());
+    }
+
+    @Test
+    void shouldNotEvictPinnedLists() {
+        var properties = properties(i -> i % 7);
+        var list = AdjacencyList.compressProperties(properties.list, properties.offsets, NODE_COUNT, AllocationTracker.EMPTY);
+
+        list.pin();
+        assertValues(list, properties, i -> i % 7);
+        assertEquals(0L, list.evict());
+        assertTrue(list.isResident());
+
+        list.unpin();
+        assertTrue(list.evict() > 0);
+        assertFalse(list.isResident());
+    }
+
+    private static void assertRoundTrip(IntToDoubleFunction values, CompressedProperties.Encoding expectedEncoding) {
+        var properties = properties(values);
+        var compressed = CompressedProperties.compress(properties.pages, properties.offsets, NODE_COUNT, AllocationTracker.EMPTY);
+        assertEquals(expectedEncoding, compressed.encoding());
+        assertTrue(compressed.sizeOf() < compressed.decodedMemory());
+
+        var list = AdjacencyList.compressProperties(properties.list, properties.offsets, NODE_COUNT, AllocationTracker.EMPTY);
+        assertValues(list, properties, values);
+    }
+
+    private static void assertValues(AdjacencyList list, Properties properties, IntToDoubleFunction values) {
+        int index = 0;
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            long offset = properties.offsets.get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            var cursor = list.cursor(offset);
+            assertEquals(DEGREE, cursor.length());
+            while (cursor.hasNextLong()) {
+                assertEquals(values.applyAsDouble(index++), Double.longBitsToDouble(cursor.nextLong()));
+            }
+        }
+    }
+
+    // every other node has DEGREE properties, the other nodes have no properties
+    private static Properties properties(IntToDoubleFunction values) {
+        byte[] page = new byte[1 + (NODE_COUNT / 2) * (Integer.BYTES + DEGREE * Long.BYTES)];
+        long[] offsets = new long[NODE_COUNT];
+        int offset = 1;
+        int index = 0;
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId += 2) {
+            offsets[nodeId] = offset;
+            offset = writeLittleEndian(page, offset, DEGREE, Integer.BYTES);
+            for (int i = 0; i < DEGREE; i++) {
+                long bits = Double.doubleToRawLongBits(values.applyAsDouble(index++));
+                offset = writeLittleEndian(page, offset, bits, Long.BYTES);
+            }
+        }
+        return new Properties(new byte[][]{page}, AdjacencyOffsets.of(offsets));
+    }
+
+    private static int writeLittleEndian(byte[] page, int offset, long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            page[offset++] = (byte) (value >>> (8 * i));
+        }
+        return offset;
+    }
+
+    private static final class Properties {
+        final byte[][] pages;
+        final AdjacencyOffsets offsets;
+        final AdjacencyList list;
+
+        Properties(byte[][] pages, AdjacencyOffsets offsets) {
+            this.pages = pages;
+            this.offsets = offsets;
+            this.list = new AdjacencyList(pages);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NeighborCursor;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.TestSupport.crossArguments;
+import static org.neo4j.graphalgo.TestSupport.toArguments;
+
+class NeighborCursorTest {
+
+    private static final double FALLBACK = 42.0;
+
+    // more relationships than fit into a single compressed block
+    private static final int HUB_DEGREE = 150;
+
+    static Stream<Arguments> graphs() {
+        GraphStore graphStore = GdlFactory.of(gdl()).build().graphStore();
+        var types = List.of(RelationshipType.of("T1"), RelationshipType.of("T2"));
+        return Stream.of(
+            Arguments.of("huge", graphStore.getGraph(RelationshipType.of("T1"))),
+            Arguments.of("huge with property", graphStore.getGraph(RelationshipType.of("T1"), Optional.of("w"))),
+            Arguments.of("union", graphStore.getGraph(types, Optional.of("w"))),
+            Arguments.of("node filtered", graphStore.getGraph(List.of(NodeLabel.of("A")), types, Optional.of("w")))
+        );
+    }
+
+    static Stream<Arguments> graphsAndBufferSizes() {
+        return crossArguments(NeighborCursorTest::graphs, toArguments(() -> Stream.of(1, 7, 64, 100)));
+    }
+
+    @ParameterizedTest(name = "{0}, buffer size {2}")
+    @MethodSource("graphsAndBufferSizes")
+    void readsTheSameRelationshipsAsTheConsumer(String description, Graph graph, int bufferSize) {
+        NeighborCursor cursor = graph.neighborCursor(FALLBACK);
+        long[] targets = new long[bufferSize];
+        double[] properties = new double[bufferSize];
+
+        graph.forEachNode(nodeId -> {
+            var expectedTargets = new LongArrayList();
+            var expectedProperties = new DoubleArrayList();
+            graph.forEachRelationship(nodeId, FALLBACK, (source, target, property) -> {
+                expectedTargets.add(target);
+                expectedProperties.add(property);
+                return true;
+            });
+
+            var actualTargets = new LongArrayList();
+            cursor.init(nodeId);
+            int length;
+            while ((length = cursor.nextBlock(targets)) > 0) {
+                actualTargets.add(targets, 0, length);
+            }
+            assertArrayEquals(expectedTargets.toArray(), actualTargets.toArray());
+
+            actualTargets.clear();
+            var actualProperties = new DoubleArrayList();
+            cursor.init(nodeId);
+            while ((length = cursor.nextBlock(targets, properties)) > 0) {
+                actualTargets.add(targets, 0, length);
+                actualProperties.add(properties, 0, length);
+            }
+            assertArrayEquals(expectedTargets.toArray(), actualTargets.toArray());
+            assertArrayEquals(expectedProperties.toArray(), actualProperties.toArray());
+            return true;
+        });
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("graphs")
+    void cursorIsIndependentFromConsumerIteration(String description, Graph graph) {
+        NeighborCursor cursor = graph.neighborCursor(FALLBACK);
+        long[] targets = new long[NeighborCursor.BLOCK_SIZE];
+
+        cursor.init(0);
+        int first = cursor.nextBlock(targets);
+        graph.forEachRelationship(0, (source, target) -> true);
+
+        int total = first;
+        int length;
+        while ((length = cursor.nextBlock(targets)) > 0) {
+            total += length;
+        }
+        assertEquals(graph.degree(0), total);
+    }
+
+    private static String gdl() {
+        var gdl = new StringBuilder("(hub:A)");
+        for (int i = 0; i < HUB_DEGREE; i++) {
+            gdl.append(", (n").append(i).append(i % 3 == 0 ? ":B" : ":A").append(")");
+            gdl.append(", (hub)-[:T1 {w: ").append(i).append(".0}]->(n").append(i).append(")");
+            if (i % 2 == 0) {
+                gdl.append(", (hub)-[:T2 {w: ").append(1000 + i).append(".0}]->(n").append(i).append(")");
+            }
+        }
+        return gdl.toString();
+    }
+}
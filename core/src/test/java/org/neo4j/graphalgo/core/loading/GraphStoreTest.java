@@ -48,6 +48,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
@@ -197,6 +198,32 @@ class GraphStoreTest extends BaseTest {
         assertFalse(graphStore.hasNodeProperty(Collections.singletonList(ALL_NODES), "nodeProp"));
     }
 
+    @Test
+    void testConcurrentNodePropertyUpdates() {
+        GraphStore graphStore = new StoreLoaderBuilder()
+            .api(db)
+            .build()
+            .graphStore();
+
+        Graph graphBeforeUpdates = graphStore.getUnion();
+
+        IntStream.range(0, 100).parallel().forEach(i -> graphStore.addNodeProperty(
+            ALL_NODES,
+            "prop" + i,
+            FLOATING_POINT,
+            new NullPropertyMap(i)
+        ));
+
+        assertEquals(100, graphStore.nodePropertyKeys(ALL_NODES).size());
+        IntStream.range(0, 100).forEach(i -> assertTrue(graphStore.hasNodeProperty(singletonList(ALL_NODES), "prop" + i)));
+        assertEquals(100, graphStore.getUnion().availableNodeProperties().size());
+        assertTrue(graphBeforeUpdates.availableNodeProperties().isEmpty());
+
+        IntStream.range(0, 100).parallel().forEach(i -> graphStore.removeNodeProperty(ALL_NODES, "prop" + i));
+
+        assertTrue(graphStore.nodePropertyKeys(ALL_NODES).isEmpty());
+    }
+
     @Test
     void deleteRelationshipsAndProperties() {
         runQuery("CREATE ()-[:REL {p: 2}]->(), ()-[:LER {p: 1}]->(), ()-[:LER {p: 2}]->(), ()-[:LER {q: 2}]->()");
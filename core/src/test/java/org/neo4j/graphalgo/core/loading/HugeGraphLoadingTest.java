@@ -21,8 +21,11 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.NodeProjection;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
@@ -95,6 +98,45 @@ final class HugeGraphLoadingTest extends BaseTest {
         }
     }
 
+    @Test
+    void testPagedLabelSpecificPropertyLoading() {
+        // with pages of 16384 elements, a batch spans multiple pages of the id map,
+        // so the labels of a node must be looked up by its index in the batch and not in the page
+        System.setProperty("org.neo4j.graphalgo.core.utils.ArrayUtil.maxArrayLengthShift", "14");
+        int nodeCount = 60_000;
+        Label labelA = Label.label("A");
+        Label labelB = Label.label("B");
+        runInTransaction(db, tx -> {
+            for (int j = 0; j < nodeCount; j++) {
+                Node node = j % 3 == 0 ? tx.createNode(labelA, labelB) : tx.createNode(labelB);
+                node.setProperty("a", node.getId());
+            }
+        });
+
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeProjection(NodeProjection
+                .builder()
+                .label("A")
+                .properties(PropertyMappings.of(PropertyMapping.of("a", -1.0)))
+                .build()
+            )
+            .addNodeProjection(NodeProjection.of("B"))
+            .build()
+            .graph();
+
+        NodeProperties nodeProperties = graph.nodeProperties("a");
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long neoId = graph.toOriginalNodeId(nodeId);
+            double expected = graph.nodeLabels(nodeId).contains(NodeLabel.of("A")) ? neoId : -1.0;
+            assertEquals(
+                expected,
+                nodeProperties.nodeProperty(nodeId),
+                formatWithLocale("Wrong property for node %d (neo = %d).", nodeId, neoId)
+            );
+        }
+    }
+
     @Test
     void testFullPageLoading() {
         final int recordsPerPage = 546;
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.IntObjectHashMap;
 import com.carrotsearch.hppc.IntObjectMap;
 import org.junit.jupiter.api.Test;
@@ -27,12 +28,25 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class IdMapTest {
 
@@ -65,12 +79,137 @@ class IdMapTest {
         dimensions = ImmutableGraphDimensions.builder().nodeCount(100L).highestNeoId(100L)
             .tokenNodeLabelMapping(labelTokenNodeLabelMappings).build();
         memRec = IdMap.memoryEstimation().estimate(dimensions, 1);
-        assertEquals(MemoryRange.of(32L + 840L + 32832L + 56L), memRec.memoryUsage());
+        assertEquals(MemoryRange.of(32L + 840L + 32832L + 2 * PackedIntArray.memoryEstimation(100L, 1)), memRec.memoryUsage());
 
         labelTokenNodeLabelMappings.put(2, Arrays.asList(NodeLabel.of("A"), NodeLabel.of("B")));
         dimensions = ImmutableGraphDimensions.builder().nodeCount(100L).highestNeoId(100L)
             .tokenNodeLabelMapping(labelTokenNodeLabelMappings).build();
         memRec = IdMap.memoryEstimation().estimate(dimensions, 1);
-        assertEquals(MemoryRange.of(32L + 840L + 32832L + 112L), memRec.memoryUsage());
+        assertEquals(MemoryRange.of(32L + 840L + 32832L + 2 * PackedIntArray.memoryEstimation(100L, 2)), memRec.memoryUsage());
+    }
+
+    @Test
+    void shouldTrackTheLabelIndex() {
+        BitSet labelA = new BitSet(4096);
+        labelA.set(0, 2048);
+        var tracker = AllocationTracker.create();
+
+        new IdMap(null, null, Map.of(NodeLabel.of("A"), labelA), 4096, tracker);
+
+        // two label sets, with and without A, need one bit per node
+        assertEquals(MemoryUsage.sizeOfLongArray(4096 / Long.SIZE), tracker.tracked());
+    }
+
+    @Test
+    void shouldNotTrackALabelIndexForASingleLabelSet() {
+        BitSet labelA = new BitSet(4096);
+        labelA.set(0, 4096);
+        var tracker = AllocationTracker.create();
+
+        IdMap idMap = new IdMap(null, null, Map.of(NodeLabel.of("A"), labelA), 4096, tracker);
+
+        assertEquals(0L, tracker.tracked());
+        assertTrue(idMap.hasLabel(4095, NodeLabel.of("A")));
+    }
+
+    @Test
+    void shouldMapDenseIdsArithmetically() {
+        IdMap idMap = build(LongStream.range(0, 4096));
+
+        assertTrue(idMap instanceof RangeIdMap);
+        assertEquals(1, ((RangeIdMap) idMap).runCount());
+        for (long nodeId = 0; nodeId < 4096; nodeId++) {
+            assertEquals(nodeId, idMap.toMappedNodeId(nodeId));
+            assertEquals(nodeId, idMap.toOriginalNodeId(nodeId));
+        }
+        assertFalse(idMap.contains(4096));
+        assertEquals(-1L, idMap.toMappedNodeId(4096));
+    }
+
+    @Test
+    void shouldMapOffsetRunsArithmetically() {
+        IdMap idMap = build(LongStream.concat(LongStream.range(10_000, 12_048), LongStream.range(0, 2048)));
+
+        assertTrue(idMap instanceof RangeIdMap);
+        assertEquals(2, ((RangeIdMap) idMap).runCount());
+        for (long nodeId = 0; nodeId < 2048; nodeId++) {
+            assertEquals(nodeId, idMap.toMappedNodeId(10_000 + nodeId));
+            assertEquals(10_000 + nodeId, idMap.toOriginalNodeId(nodeId));
+            assertEquals(2048 + nodeId, idMap.toMappedNodeId(nodeId));
+            assertEquals(nodeId, idMap.toOriginalNodeId(2048 + nodeId));
+        }
+        assertFalse(idMap.contains(2048));
+        assertFalse(idMap.contains(9_999));
+        assertFalse(idMap.contains(12_048));
+    }
+
+    @Test
+    void shouldMapManyUnevenRuns() {
+        // short runs that share pages of the run index, and long runs that span many pages, in shuffled order
+        List<long[]> runs = new ArrayList<>();
+        long start = 42;
+        for (int i = 0; i < 64; i++) {
+            long length = i % 8 == 0 ? 20_000 : 3;
+            runs.add(LongStream.range(start, start + length).toArray());
+            start += length + 1 + i;
+        }
+        Collections.shuffle(runs, new Random(42));
+        long[] originalIds = runs.stream().flatMapToLong(Arrays::stream).toArray();
+
+        IdMap idMap = build(Arrays.stream(originalIds));
+
+        assertTrue(idMap instanceof RangeIdMap);
+        assertEquals(64, ((RangeIdMap) idMap).runCount());
+        Set<Long> ids = new HashSet<>();
+        for (int nodeId = 0; nodeId < originalIds.length; nodeId++) {
+            assertEquals(nodeId, idMap.toMappedNodeId(originalIds[nodeId]));
+            assertEquals(originalIds[nodeId], idMap.toOriginalNodeId(nodeId));
+            ids.add(originalIds[nodeId]);
+        }
+        for (long originalId = 0; originalId <= start; originalId++) {
+            assertEquals(ids.contains(originalId), idMap.contains(originalId));
+        }
+    }
+
+    @Test
+    void shouldFallBackToSparseMappingForFragmentedIds() {
+        IdMap idMap = build(LongStream.range(0, 4096).map(nodeId -> 2 * nodeId));
+
+        assertFalse(idMap instanceof RangeIdMap);
+        for (long nodeId = 0; nodeId < 4096; nodeId++) {
+            assertEquals(nodeId, idMap.toMappedNodeId(2 * nodeId));
+            assertEquals(2 * nodeId, idMap.toOriginalNodeId(nodeId));
+        }
+        assertFalse(idMap.contains(1));
+    }
+
+    @Test
+    void shouldDetectDuplicatesInOverlappingRuns() {
+        long[] ids = LongStream.concat(LongStream.range(0, 2048), LongStream.range(1024, 3072)).toArray();
+
+        assertThrows(DuplicateNodeIdException.class, () -> IdMapBuilder.buildChecked(
+            builder(ids),
+            LabelIndex.EMPTY,
+            3072,
+            1,
+            AllocationTracker.EMPTY
+        ));
+    }
+
+    private static IdMap build(LongStream ids) {
+        long[] originalIds = ids.toArray();
+        long highestNodeId = Arrays.stream(originalIds).max().orElse(0L) + 1;
+        return IdMapBuilder.build(builder(originalIds), Collections.emptyMap(), highestNodeId, 1, AllocationTracker.EMPTY);
+    }
+
+    private static HugeLongArrayBuilder builder(long[] originalIds) {
+        HugeLongArrayBuilder builder = HugeLongArrayBuilder.of(originalIds.length, AllocationTracker.EMPTY);
+        HugeLongArrayBuilder.BulkAdder<long[]> adder = builder.allocate(originalIds.length);
+        int index = 0;
+        while (adder.nextBuffer()) {
+            System.arraycopy(originalIds, index, adder.buffer, adder.offset, adder.length);
+            index += adder.length;
+        }
+        return builder;
     }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.IntObjectHashMap;
+import com.carrotsearch.hppc.IntObjectMap;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.core.GraphDimensions.ANY_LABEL;
+
+class LabelIndexTest {
+
+    private static final NodeLabel A = NodeLabel.of("A");
+    private static final NodeLabel B = NodeLabel.of("B");
+    private static final NodeLabel C = NodeLabel.of("C");
+
+    // node 0: A, node 1: A B, node 2: B, node 3: -, node 4: A B C, node 5: A B
+    private static final LabelIndex INDEX = LabelIndex.of(
+        Map.of(A, bitSet(0, 1, 4, 5), B, bitSet(1, 2, 4, 5), C, bitSet(4)),
+        6,
+        AllocationTracker.EMPTY
+    );
+
+    @Test
+    void shouldInternLabelSets() {
+        assertEquals(Set.of(A, B, C), INDEX.availableLabels());
+
+        assertEquals(Set.of(A), INDEX.nodeLabels(0));
+        assertEquals(Set.of(A, B), INDEX.nodeLabels(1));
+        assertEquals(Set.of(B), INDEX.nodeLabels(2));
+        assertEquals(Set.of(), INDEX.nodeLabels(3));
+        assertEquals(Set.of(A, B, C), INDEX.nodeLabels(4));
+        assertSame(INDEX.nodeLabels(1), INDEX.nodeLabels(5));
+    }
+
+    @Test
+    void shouldTestLabels() {
+        assertTrue(INDEX.hasLabel(0, A));
+        assertFalse(INDEX.hasLabel(0, B));
+        assertTrue(INDEX.hasLabel(4, C));
+        assertFalse(INDEX.hasLabel(3, A));
+        assertFalse(INDEX.hasLabel(4, NodeLabel.of("D")));
+    }
+
+    @Test
+    void shouldComputeUnion() {
+        BitSet union = INDEX.union(List.of(A, C), 6);
+
+        assertEquals(bitSet(0, 1, 4, 5), union);
+    }
+
+    @Test
+    void shouldOnlyShowFilteredLabels() {
+        LabelIndex filtered = INDEX.withLabels(List.of(B, C));
+
+        assertEquals(Set.of(B, C), filtered.availableLabels());
+        assertEquals(Set.of(), filtered.nodeLabels(0));
+        assertEquals(Set.of(B), filtered.nodeLabels(1));
+        assertEquals(Set.of(B, C), filtered.nodeLabels(4));
+        assertFalse(filtered.hasLabel(1, A));
+        assertTrue(filtered.hasLabel(1, B));
+    }
+
+    @Test
+    void shouldReorder() {
+        LabelIndex reordered = INDEX.reorder(HugeLongArray.of(4, 3, 2, 1, 0, 5), AllocationTracker.EMPTY);
+
+        assertEquals(Set.of(A, B, C), reordered.nodeLabels(0));
+        assertEquals(Set.of(), reordered.nodeLabels(1));
+        assertEquals(Set.of(B), reordered.nodeLabels(2));
+        assertEquals(Set.of(A, B), reordered.nodeLabels(3));
+        assertEquals(Set.of(A), reordered.nodeLabels(4));
+        assertEquals(Set.of(A, B), reordered.nodeLabels(5));
+    }
+
+    @Test
+    void shouldHandleNoLabels() {
+        LabelIndex index = LabelIndex.of(Map.of(), 42, AllocationTracker.EMPTY);
+
+        assertTrue(index.isEmpty());
+        assertFalse(index.hasLabel(0, A));
+    }
+
+    @Test
+    void shouldInternLabelSetsWhileImporting() {
+        IntObjectMap<List<NodeLabel>> labelTokens = new IntObjectHashMap<>();
+        labelTokens.put(1, List.of(A));
+        labelTokens.put(2, List.of(B));
+        labelTokens.put(3, List.of(A, C));
+        var builder = new LabelIndex.Builder(labelTokens, 3, 6, AllocationTracker.EMPTY);
+
+        builder.addNodes(0, new long[][]{{1}, {1, 2}, {2}}, 3);
+        builder.addNodes(3, new long[][]{{}, {3, 2}, {2, 1}}, 3);
+        LabelIndex index = builder.build(6);
+
+        assertEquals(Set.of(A, B, C), index.availableLabels());
+        assertEquals(Set.of(A), index.nodeLabels(0));
+        assertEquals(Set.of(A, B), index.nodeLabels(1));
+        assertEquals(Set.of(B), index.nodeLabels(2));
+        assertEquals(Set.of(), index.nodeLabels(3));
+        assertEquals(Set.of(A, B, C), index.nodeLabels(4));
+        assertSame(index.nodeLabels(1), index.nodeLabels(5));
+        assertTrue(index.hasLabel(4, C));
+        assertFalse(index.hasLabel(2, A));
+    }
+
+    @Test
+    void shouldAddStarLabelsToAllNodes() {
+        NodeLabel all = NodeLabel.of("All");
+        IntObjectMap<List<NodeLabel>> labelTokens = new IntObjectHashMap<>();
+        labelTokens.put(1, List.of(A));
+        labelTokens.put(ANY_LABEL, List.of(all));
+        var builder = new LabelIndex.Builder(labelTokens, 2, 2, AllocationTracker.EMPTY);
+
+        builder.addNodes(0, new long[][]{{1}, {7}}, 2);
+        LabelIndex index = builder.build(2);
+
+        assertEquals(Set.of(A, all), index.nodeLabels(0));
+        assertEquals(Set.of(all), index.nodeLabels(1));
+    }
+
+    @Test
+    void shouldSetLabelSetsOfAdjacentNodesConcurrently() {
+        IntObjectMap<List<NodeLabel>> labelTokens = new IntObjectHashMap<>();
+        labelTokens.put(1, List.of(A));
+        labelTokens.put(2, List.of(B));
+        labelTokens.put(3, List.of(C));
+        int nodeCount = 100_000;
+        var builder = new LabelIndex.Builder(labelTokens, 3, nodeCount, AllocationTracker.EMPTY);
+
+        IntStream.range(0, nodeCount).parallel().forEach(nodeId ->
+            builder.addNodes(nodeId, new long[][]{{nodeId % 3 + 1, (nodeId + 1) % 3 + 1}}, 1)
+        );
+        LabelIndex index = builder.build(nodeCount);
+
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            assertTrue(index.hasLabel(nodeId, List.of(A, B, C).get(nodeId % 3)));
+            assertTrue(index.hasLabel(nodeId, List.of(A, B, C).get((nodeId + 1) % 3)));
+            assertEquals(2, index.nodeLabels(nodeId).size());
+        }
+    }
+
+    @Test
+    void shouldReleaseTheLabelSetIdsOfASingleLabelSet() {
+        IntObjectMap<List<NodeLabel>> labelTokens = new IntObjectHashMap<>();
+        labelTokens.put(1, List.of(A));
+        labelTokens.put(2, List.of(B));
+        var tracker = AllocationTracker.create();
+        var builder = new LabelIndex.Builder(labelTokens, 2, 4096, tracker);
+
+        long[][] labelIds = new long[4096][];
+        Arrays.fill(labelIds, new long[]{1, 2});
+        builder.addNodes(0, labelIds, 4096);
+        LabelIndex index = builder.build(4096);
+
+        assertEquals(0L, tracker.tracked());
+        assertEquals(Set.of(A, B), index.nodeLabels(4095));
+    }
+
+    private static BitSet bitSet(long... nodeIds) {
+        BitSet bitSet = new BitSet(6);
+        for (long nodeId : nodeIds) {
+            bitSet.set(nodeId);
+        }
+        return bitSet;
+    }
+}
@@ -27,8 +27,11 @@ import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -74,4 +77,37 @@ class NativeFactoryTest {
         assertEquals(3_205_950_312L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
         assertEquals(6_011_568_216L, estimate.memoryUsage().max);
     }
-}
\ No newline at end of file
+
+    @Test
+    void memoryEstimationWithNodeOrdering() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(500_000_000L)
+            .build();
+
+        NodeProjections nodeProjections = NodeProjections.all();
+        RelationshipProjections relationshipProjections = RelationshipProjections.single(
+            RelationshipType.ALL_RELATIONSHIPS,
+            RelationshipProjection.ALL
+        );
+
+        MemoryTree graph = NativeFactory
+            .getMemoryEstimation(nodeProjections, relationshipProjections)
+            .estimate(dimensions, 1);
+        MemoryTree reordered = NativeFactory
+            .getMemoryEstimation(nodeProjections, relationshipProjections, NodeOrdering.BFS)
+            .estimate(dimensions, 1);
+        MemoryTree unordered = NativeFactory
+            .getMemoryEstimation(nodeProjections, relationshipProjections, NodeOrdering.NONE)
+            .estimate(dimensions, 1);
+
+        long transientBytes = 2 * HugeLongArray.memoryEstimation(dimensions.nodeCount())
+                              + MemoryUsage.sizeOfBitset(dimensions.nodeCount())
+                              + MemoryUsage.sizeOfInstance(HugeGraph.class)
+                              + MemoryUsage.sizeOfInstance(NodeReordering.class);
+
+        assertEquals(graph.memoryUsage(), unordered.memoryUsage());
+        assertEquals(2 * graph.memoryUsage().min + transientBytes, reordered.memoryUsage().min);
+        assertEquals(2 * graph.memoryUsage().max + transientBytes, reordered.memoryUsage().max);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class NodeReorderingTest {
+
+    private static final RelationshipType TYPE = RelationshipType.of("REL");
+
+    private static final String GDL =
+        "  (a { p: 1.0 }), (b { p: 2.0 }), (c { p: 3.0 }), (d { p: 4.0 }), (e { p: 5.0 }), (f { p: 6.0 })" +
+        ", (a)-[:REL { w: 1.0 }]->(b)" +
+        ", (b)-[:REL { w: 2.0 }]->(c)" +
+        ", (c)-[:REL { w: 3.0 }]->(e)" +
+        ", (e)-[:REL { w: 4.0 }]->(a)" +
+        ", (e)-[:REL { w: 5.0 }]->(b)" +
+        ", (e)-[:REL { w: 6.0 }]->(c)" +
+        ", (e)-[:REL { w: 7.0 }]->(f)" +
+        ", (e)-[:REL { w: 8.0 }]->(f)" +
+        ", (f)-[:REL { w: 9.0 }]->(d)";
+
+    @ParameterizedTest
+    @EnumSource(value = NodeOrdering.class, names = "NONE", mode = EnumSource.Mode.EXCLUDE)
+    void keepsTheGraph(NodeOrdering ordering) {
+        TestGraph expected = fromGdl(GDL);
+        HugeGraph reordered = reorder(ordering);
+
+        assertGraphEquals(expected, reordered);
+        assertEquals(relationshipsByOriginalId(expected), relationshipsByOriginalId(reordered));
+        reordered.forEachNode(nodeId -> {
+            long originalId = reordered.toOriginalNodeId(nodeId);
+            assertEquals(
+                expected.nodeProperties("p").nodeProperty(expected.toMappedNodeId(originalId)),
+                reordered.nodeProperties("p").nodeProperty(nodeId)
+            );
+            return true;
+        });
+    }
+
+    @Test
+    void ordersByDescendingDegree() {
+        HugeGraph reordered = reorder(NodeOrdering.DEGREE);
+        TestGraph expected = fromGdl(GDL);
+
+        assertEquals(expected.toOriginalNodeId("e"), reordered.toOriginalNodeId(0));
+        for (long nodeId = 1; nodeId < reordered.nodeCount(); nodeId++) {
+            assertTrue(reordered.degree(nodeId - 1) >= reordered.degree(nodeId));
+        }
+    }
+
+    @Test
+    void ordersByBreadthFirstTraversal() {
+        HugeGraph reordered = reorder(NodeOrdering.BFS);
+        TestGraph expected = fromGdl(GDL);
+
+        // a, its neighbor b, then c, then e and its remaining neighbor f, then d
+        String[] order = {"a", "b", "c", "e", "f", "d"};
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(expected.toOriginalNodeId(order[i]), reordered.toOriginalNodeId(i));
+        }
+    }
+
+    @Test
+    void ordersByReverseCuthillMcKee() {
+        HugeGraph reordered = reorder(NodeOrdering.RCM);
+        TestGraph expected = fromGdl(GDL);
+
+        // traversals from d, f and c, the lowest degrees first, where c reaches e and e reaches a and b, then reversed
+        String[] order = {"b", "a", "e", "c", "f", "d"};
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(expected.toOriginalNodeId(order[i]), reordered.toOriginalNodeId(i));
+        }
+    }
+
+    @Test
+    void keepsIntegralAndArrayNodeProperties() {
+        HugeGraph graph = (HugeGraph) fromGdl(GDL).innerGraph();
+        long nodeCount = graph.nodeCount();
+        HugeLongArray longs = HugeLongArray.newArray(nodeCount, AllocationTracker.EMPTY);
+        HugeLongArray arrays = HugeLongArray.newArray(nodeCount * 2, AllocationTracker.EMPTY);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long originalId = graph.toOriginalNodeId(nodeId);
+            // not representable as a double
+            longs.set(nodeId, Long.MAX_VALUE - originalId);
+            arrays.set(2 * nodeId, originalId);
+            arrays.set(2 * nodeId + 1, -originalId);
+        }
+        Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = Map.of(
+            NodeLabel.ALL_NODES,
+            Map.of("long", TypedNodeProperties.ofLongs(longs), "array", TypedNodeProperties.ofLongArrays(arrays, 2))
+        );
+        Map<RelationshipType, HugeGraph.TopologyCSR> topologies = new HashMap<>();
+        topologies.put(TYPE, graph.relationships().topology());
+
+        NodeReordering reordering = NodeReordering.of(NodeOrdering.DEGREE, graph.idMap(), topologies, 2, AllocationTracker.EMPTY);
+        IdMap idMap = reordering.idMap();
+        Map<String, NodeProperties> reordered = reordering.nodeProperties(nodeProperties).get(NodeLabel.ALL_NODES);
+
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long originalId = idMap.toOriginalNodeId(nodeId);
+            assertEquals(Long.MAX_VALUE - originalId, reordered.get("long").longValue(nodeId));
+            assertArrayEquals(new long[]{originalId, -originalId}, reordered.get("array").longArrayValue(nodeId));
+        }
+    }
+
+    @Test
+    void rejectsUnknownOrdering() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> NodeOrdering.parse("random"));
+        assertEquals("Node ordering `random` is not supported. Must be one of: NONE, DEGREE, BFS, RCM.", exception.getMessage());
+    }
+
+    private static HugeGraph reorder(NodeOrdering ordering) {
+        HugeGraph graph = (HugeGraph) fromGdl(GDL).innerGraph();
+        HugeGraph.Relationships relationships = graph.relationships();
+
+        Map<RelationshipType, HugeGraph.TopologyCSR> topologies = new HashMap<>();
+        topologies.put(TYPE, relationships.topology());
+        Map<RelationshipType, Map<String, HugeGraph.PropertyCSR>> properties = new HashMap<>();
+        properties.put(TYPE, Map.of("w", relationships.properties().orElseThrow()));
+        Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = Map.of(
+            NodeLabel.ALL_NODES,
+            Map.of("p", graph.nodeProperties("p"))
+        );
+
+        NodeReordering reordering = NodeReordering.of(ordering, graph.idMap(), topologies, 2, AllocationTracker.EMPTY);
+        reordering.reorderRelationships(topologies, properties);
+
+        return HugeGraph.create(
+            reordering.idMap(),
+            reordering.nodeProperties(nodeProperties).get(NodeLabel.ALL_NODES),
+            topologies.get(TYPE),
+            Optional.of(properties.get(TYPE).get("w")),
+            AllocationTracker.EMPTY
+        );
+    }
+
+    private static Map<String, Double> relationshipsByOriginalId(Graph graph) {
+        Map<String, Double> relationships = new TreeMap<>();
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+                relationships.merge(
+                    graph.toOriginalNodeId(source) + "->" + graph.toOriginalNodeId(target),
+                    property,
+                    Double::sum
+                );
+                return true;
+            });
+            return true;
+        });
+        return relationships;
+    }
+}
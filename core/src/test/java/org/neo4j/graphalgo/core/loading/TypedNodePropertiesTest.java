@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.utils.ExceptionUtil.rootCause;
+
+class TypedNodePropertiesTest {
+
+    @Test
+    void shouldKeepLongsExact() {
+        long[] data = {(1L << 53) + 1, -42L, Long.MAX_VALUE};
+        NodeProperties properties = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfLong<long[]>) (values, nodeId) -> values[(int) nodeId],
+            data,
+            data.length,
+            4,
+            AllocationTracker.EMPTY
+        );
+
+        for (int nodeId = 0; nodeId < data.length; nodeId++) {
+            assertEquals(data[nodeId], properties.longValue(nodeId));
+            assertEquals(Values.longValue(data[nodeId]), properties.value(nodeId));
+        }
+        assertEquals(Long.MAX_VALUE, properties.getMaxPropertyValue().getAsLong());
+    }
+
+    @Test
+    void shouldStoreFloatsAsFloats() {
+        float[] data = {1.5f, Float.NaN, -0.25f};
+        NodeProperties properties = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfFloat<float[]>) (values, nodeId) -> values[(int) nodeId],
+            data,
+            data.length,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(1.5, properties.nodeProperty(0));
+        assertEquals(Double.NaN, properties.nodeProperty(1));
+        assertEquals(Values.floatValue(-0.25f), properties.value(2));
+    }
+
+    @Test
+    void shouldCopyDoublesForFloatingPointTranslators() {
+        double[] data = {0.1, 0.2, 0.3};
+        NodeProperties properties = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfDouble<double[]>) (values, nodeId) -> values[(int) nodeId],
+            data,
+            data.length,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        data[1] = 42.0;
+        assertEquals(0.2, properties.nodeProperty(1));
+    }
+
+    @Test
+    void shouldStoreFloatArraysAsRows() {
+        float[][] data = {{1, 2, 3}, {4, 5, 6}};
+        NodeProperties properties = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfFloatArray<float[][]>) (values, nodeId) -> values[(int) nodeId],
+            data,
+            data.length,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(3, properties.dimension());
+        assertArrayEquals(new float[]{4, 5, 6}, properties.floatArrayValue(1));
+        assertArrayEquals(new double[]{1, 2, 3}, properties.doubleArrayValue(0));
+        assertEquals(Values.floatArray(new float[]{1, 2, 3}), properties.value(0));
+    }
+
+    @Test
+    void shouldStoreDoubleArraysAsRows() {
+        double[][] data = {{1, 2}, {3, 4}, {5, 6}};
+        NodeProperties properties = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfDoubleArray<double[][]>) (values, nodeId) -> values[(int) nodeId],
+            data,
+            data.length,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(2, properties.dimension());
+        assertArrayEquals(new double[]{5, 6}, properties.doubleArrayValue(2));
+        double[] target = new double[2];
+        properties.copyDoubleArrayValue(1, target);
+        assertArrayEquals(new double[]{3, 4}, target);
+    }
+
+    @Test
+    void shouldStoreLongArraysExact() {
+        long[][] data = {{1, (1L << 53) + 1}, {3, Long.MAX_VALUE}};
+        NodeProperties properties = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfLongArray<long[][]>) (values, nodeId) -> values[(int) nodeId],
+            data,
+            data.length,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(2, properties.dimension());
+        assertArrayEquals(data[0], properties.longArrayValue(0));
+        assertEquals(Values.longArray(data[1]), properties.value(1));
+    }
+
+    @Test
+    void shouldUseTheSameDimensionForEmptyArrayColumns() {
+        NodeProperties floatArrays = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfFloatArray<float[][]>) (values, nodeId) -> values[(int) nodeId],
+            new float[0][],
+            0,
+            1,
+            AllocationTracker.EMPTY
+        );
+        NodeProperties doubleArrays = TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfDoubleArray<double[][]>) (values, nodeId) -> values[(int) nodeId],
+            new double[0][],
+            0,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(floatArrays.dimension(), doubleArrays.dimension());
+        assertEquals(0, floatArrays.size());
+        assertEquals(0, doubleArrays.size());
+    }
+
+    @Test
+    void shouldRejectArraysOfDifferentLengths() {
+        float[][] data = {{1, 2, 3}, {4, 5}};
+        var exception = assertThrows(RuntimeException.class, () -> TypedNodeProperties.copyOf(
+            (PropertyTranslator.OfFloatArray<float[][]>) (values, nodeId) -> values[(int) nodeId],
+            data,
+            data.length,
+            1,
+            AllocationTracker.EMPTY
+        ));
+        assertEquals(IllegalArgumentException.class, rootCause(exception).getClass());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.loading.TypedNodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.values.storable.NumberType;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GraphStoreExportTest {
+
+    @Test
+    void shouldExportNodePropertiesInTheirStoredType() {
+        GraphStore graphStore = GdlFactory.of("(a:A {score: 0.5}), (b:A {score: 1.5})").build().graphStore();
+        long nodeCount = graphStore.nodeCount();
+        long beyondDoublePrecision = (1L << 53) + 1;
+
+        var longs = HugeLongArray.newArray(nodeCount, AllocationTracker.EMPTY);
+        var embeddings = HugeFloatMatrix.newMatrix(nodeCount, 2, AllocationTracker.EMPTY);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            longs.set(nodeId, beyondDoublePrecision + nodeId);
+            embeddings.setRow(nodeId, new float[]{nodeId, -nodeId});
+        }
+        var label = NodeLabel.of("A");
+        graphStore.addNodeProperty(label, "longs", NumberType.INTEGRAL, TypedNodeProperties.ofLongs(longs));
+        graphStore.addNodeProperty(label, "embedding", NumberType.NO_NUMBER, TypedNodeProperties.ofFloatArrays(embeddings));
+
+        var scores = graphStore.nodePropertyValues(label, "score");
+        var nodeProperties = GraphStoreExport.NodeStore.of(graphStore).nodeProperties.get("A");
+
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            assertEquals(scores.nodeProperty(nodeId), nodeProperties.get("score").apply(nodeId));
+            assertEquals(beyondDoublePrecision + nodeId, nodeProperties.get("longs").apply(nodeId));
+            assertArrayEquals(new float[]{nodeId, -nodeId}, (float[]) nodeProperties.get("embedding").apply(nodeId));
+        }
+    }
+}
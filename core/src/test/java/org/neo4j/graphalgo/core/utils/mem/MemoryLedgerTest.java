@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.mem;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryLedgerTest {
+
+    @Test
+    void shouldReserveTheMaximumWithinTheBudget() {
+        var ledger = new MemoryLedger(() -> 100L, 1);
+
+        var first = ledger.reserve("first", "", MemoryRange.of(10, 60), Duration.ZERO, 0).orElseThrow();
+        assertEquals(60L, first.bytes());
+        assertEquals(40L, ledger.availableBytes());
+
+        // the maximum does not fit anymore, but the minimum does
+        var second = ledger.reserve("second", "", MemoryRange.of(30, 60), Duration.ZERO, 0).orElseThrow();
+        assertEquals(40L, second.bytes());
+        assertEquals(0L, ledger.availableBytes());
+
+        assertTrue(ledger.reserve("third", "", MemoryRange.of(1), Duration.ZERO, 0).isEmpty());
+
+        first.release();
+        first.release();
+        assertEquals(60L, ledger.availableBytes());
+        second.close();
+        assertEquals(100L, ledger.availableBytes());
+    }
+
+    @Test
+    void shouldAdmitWaitingJobOnRelease() throws Exception {
+        var ledger = new MemoryLedger(() -> 100L, 1);
+        var running = ledger.reserve("running", "", MemoryRange.of(80), Duration.ZERO, 0).orElseThrow();
+
+        var queued = new CountDownLatch(1);
+        var waiting = CompletableFuture.supplyAsync(() -> {
+            queued.countDown();
+            return ledger.reserve("waiting", "", MemoryRange.of(50), Duration.ofMinutes(1), 0);
+        });
+        queued.await();
+        while (ledger.snapshot().entries.size() < 2) {
+            Thread.onSpinWait();
+        }
+        assertEquals(MemoryLedger.State.WAITING, ledger.snapshot().entries.get(1).state);
+
+        running.release();
+
+        var reservation = waiting.get(1, TimeUnit.MINUTES);
+        assertTrue(reservation.isPresent());
+        assertEquals(50L, reservation.get().bytes());
+    }
+
+    @Test
+    void shouldAdmitOnceMoreMemoryIsFree() {
+        var freeMemory = new AtomicLong(10L);
+        var ledger = new MemoryLedger(freeMemory::get, 1);
+
+        var waiting = CompletableFuture.supplyAsync(
+            () -> ledger.reserve("waiting", "", MemoryRange.of(50), Duration.ofMinutes(1), 0)
+        );
+        freeMemory.set(100L);
+
+        assertTrue(waiting.join().isPresent());
+    }
+
+    @Test
+    void shouldTimeOut() {
+        var ledger = new MemoryLedger(() -> 10L, 1);
+
+        assertFalse(ledger.reserve("job", "", MemoryRange.of(50), Duration.ofMillis(10), 0).isPresent());
+        assertTrue(ledger.snapshot().entries.isEmpty());
+    }
+
+    @Test
+    void shouldFailOnFullQueue() {
+        var ledger = new MemoryLedger(() -> 10L, 0);
+
+        var exception = assertThrows(
+            IllegalStateException.class,
+            () -> ledger.reserve("job", "", MemoryRange.of(50), Duration.ofSeconds(1), 0)
+        );
+        assertEquals("Cannot queue job `job` since 0 jobs are already waiting for memory.", exception.getMessage());
+    }
+
+    @Test
+    void shouldNotBypassWaitingJobsWithSamePriority() throws Exception {
+        var ledger = new MemoryLedger(() -> 100L, 2);
+        var running = ledger.reserve("running", "", MemoryRange.of(80), Duration.ZERO, 0).orElseThrow();
+
+        var waiting = CompletableFuture.supplyAsync(
+            () -> ledger.reserve("waiting", "", MemoryRange.of(50), Duration.ofMinutes(1), 0)
+        );
+        while (ledger.snapshot().entries.size() < 2) {
+            Thread.onSpinWait();
+        }
+
+        // would fit, but must not overtake the waiting job
+        assertTrue(ledger.reserve("small", "", MemoryRange.of(10), Duration.ZERO, 0).isEmpty());
+        // a higher priority may overtake
+        assertTrue(ledger.reserve("urgent", "", MemoryRange.of(10), Duration.ZERO, 1).isPresent());
+
+        running.release();
+        assertTrue(waiting.get(1, TimeUnit.MINUTES).isPresent());
+    }
+
+    @Test
+    void shouldCreditReclaimedMemoryUntilNextMeasurement() {
+        var freeMemory = new AtomicLong(10L);
+        var ledger = new MemoryLedger(freeMemory::get, 1);
+
+        ledger.reclaimed(40L);
+        assertEquals(50L, ledger.availableBytes());
+
+        freeMemory.set(20L);
+        assertEquals(20L, ledger.availableBytes());
+    }
+
+    @Test
+    void shouldChargeRetainedMemoryUntilNextMeasurement() {
+        var freeMemory = new AtomicLong(100L);
+        var ledger = new MemoryLedger(freeMemory::get, 1);
+
+        var reservation = ledger.reserve("create", "", MemoryRange.of(60L), Duration.ZERO, 0).orElseThrow();
+        ledger.retained(50L);
+        reservation.release();
+        assertEquals(50L, ledger.availableBytes());
+        assertTrue(ledger.reserve("too large", "", MemoryRange.of(60L), Duration.ZERO, 0).isEmpty());
+
+        freeMemory.set(50L);
+        assertEquals(50L, ledger.availableBytes());
+    }
+}
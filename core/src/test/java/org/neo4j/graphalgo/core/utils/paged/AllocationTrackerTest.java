@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllocationTrackerTest {
+
+    @Test
+    void shouldPropagateChildAllocationsToParents() {
+        var tracker = AllocationTracker.create();
+        var idMap = tracker.child(AllocationTracker.ID_MAP_SCOPE);
+        var adjacency = tracker.child(AllocationTracker.ADJACENCY_SCOPE);
+
+        idMap.add(100);
+        adjacency.add(400);
+        adjacency.child("buffers").add(50);
+
+        assertSame(idMap, tracker.child(AllocationTracker.ID_MAP_SCOPE));
+        assertEquals(100, idMap.tracked());
+        assertEquals(450, adjacency.tracked());
+        assertEquals(550, tracker.tracked());
+    }
+
+    @Test
+    void shouldRecordHighWaterMark() {
+        var tracker = AllocationTracker.create();
+        var child = tracker.child("child");
+
+        child.add(100);
+        child.add(200);
+        child.remove(250);
+        child.add(10);
+
+        assertEquals(60, child.tracked());
+        assertEquals(300, child.highWaterMark());
+        assertEquals(300, tracker.highWaterMark());
+
+        child.add(500);
+        assertEquals(560, tracker.highWaterMark());
+    }
+
+    @Test
+    void shouldCountConcurrentAllocations() {
+        var tracker = AllocationTracker.create();
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> tracker.child("scope" + (i % 4)).add(8));
+
+        assertEquals(80_000, tracker.tracked());
+        assertEquals(20_000, tracker.child("scope0").tracked());
+    }
+
+    @Test
+    void shouldExposeTheUsageTree() {
+        var tracker = AllocationTracker.create();
+        tracker.child("b").add(2048);
+        tracker.child("a").add(1024);
+
+        Map<String, Object> map = tracker.toMap();
+        assertEquals("total", map.get("name"));
+        assertEquals(3072L, map.get("tracked"));
+        var children = (List<?>) map.get("children");
+        assertEquals("a", ((Map<?, ?>) children.get(0)).get("name"));
+
+        String tree = tracker.getUsageTree();
+        assertTrue(tree.startsWith("total: 3072 Bytes"), tree);
+        assertTrue(tree.contains("  a: 1024 Bytes"), tree);
+    }
+
+    @Test
+    void emptyTrackerShouldNotTrack() {
+        var child = AllocationTracker.EMPTY.child("child");
+        child.add(42);
+
+        assertSame(AllocationTracker.EMPTY, child);
+        assertEquals(0, AllocationTracker.EMPTY.tracked());
+        assertTrue(AllocationTracker.EMPTY.toMap().isEmpty());
+    }
+}
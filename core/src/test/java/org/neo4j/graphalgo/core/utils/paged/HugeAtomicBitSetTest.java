@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HugeAtomicBitSetTest {
+
+    @Test
+    void shouldSetAndClearBits() {
+        var bitSet = HugeAtomicBitSet.create(130, AllocationTracker.EMPTY);
+
+        assertFalse(bitSet.getAndSet(0));
+        assertTrue(bitSet.getAndSet(0));
+        bitSet.set(64);
+        bitSet.set(129);
+
+        assertTrue(bitSet.get(0));
+        assertFalse(bitSet.get(1));
+        assertTrue(bitSet.get(64));
+        assertTrue(bitSet.get(129));
+        assertEquals(3, bitSet.cardinality());
+
+        bitSet.clear();
+        assertEquals(0, bitSet.cardinality());
+    }
+
+    @Test
+    void shouldLetExactlyOneThreadWinEachBit() {
+        long size = 100_000;
+        var bitSet = HugeAtomicBitSet.create(size, AllocationTracker.EMPTY);
+
+        long winners = ParallelUtil.parallelStream(
+            LongStream.range(0, 4 * size),
+            4,
+            stream -> stream.filter(i -> !bitSet.getAndSet(i % size)).count()
+        );
+
+        assertEquals(size, winners);
+        assertEquals(size, bitSet.cardinality());
+    }
+
+    @Test
+    void shouldTrackAndEstimateMemory() {
+        var tracker = AllocationTracker.create();
+        HugeAtomicBitSet.create(1_000_000, tracker);
+
+        assertTrue(tracker.tracked() > 1_000_000 / Byte.SIZE);
+        assertTrue(HugeAtomicBitSet.memoryEstimation(1_000_000) >= tracker.tracked());
+    }
+}
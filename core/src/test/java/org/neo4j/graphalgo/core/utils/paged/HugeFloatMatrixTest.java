@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HugeFloatMatrixTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 128, 10_000})
+    void shouldStoreRowsContiguously(int columns) {
+        long rows = 20_000;
+        var matrix = HugeFloatMatrix.newMatrix(rows, columns, AllocationTracker.EMPTY);
+
+        for (long row = 0; row < rows; row += 97) {
+            float[] page = matrix.page(row);
+            int offset = matrix.offset(row);
+            assertTrue(offset + columns <= page.length);
+            for (int column = 0; column < columns; column++) {
+                page[offset + column] = row + column;
+            }
+        }
+
+        for (long row = 0; row < rows; row += 97) {
+            for (int column = 0; column < columns; column++) {
+                assertEquals(row + column, matrix.get(row, column));
+            }
+        }
+    }
+
+    @Test
+    void shouldCopyRows() {
+        var matrix = HugeFloatMatrix.newMatrix(3, 4, AllocationTracker.EMPTY);
+        matrix.setRow(1, new float[]{1, 2, 3, 4});
+        matrix.addTo(1, 2, 0.5f);
+
+        assertArrayEquals(new float[]{1, 2, 3.5f, 4}, matrix.row(1));
+        assertArrayEquals(new float[4], matrix.row(0));
+        assertArrayEquals(new float[4], matrix.row(2));
+        assertSame(matrix.page(0), matrix.page(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 100, 8192, 100_000})
+    void shouldTrackAndEstimateMemory(long rows) {
+        var tracker = AllocationTracker.create();
+        var matrix = HugeFloatMatrix.newMatrix(rows, 64, tracker);
+
+        assertEquals(matrix.sizeOf(), tracker.tracked());
+        assertTrue(HugeFloatMatrix.memoryEstimation(rows, 64) >= matrix.sizeOf());
+        assertEquals(matrix.sizeOf(), matrix.release());
+        assertEquals(0L, matrix.release());
+    }
+}
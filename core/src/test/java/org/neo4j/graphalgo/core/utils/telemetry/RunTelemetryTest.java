@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunTelemetryTest {
+
+    @Test
+    void shouldRecordPhasesAndRelationships() {
+        var registry = new TelemetryRegistry(10);
+        var telemetry = registry.start("job", "alice");
+
+        try (var ignored = telemetry.phase("load")) {
+            telemetry.relationshipsTraversed(10);
+        }
+        try (var ignored = telemetry.phase("compute")) {
+            telemetry.relationshipsTraversed(32);
+        }
+        telemetry.finish();
+
+        List<Map<String, Object>> phases = telemetry.phases();
+        assertEquals(List.of("load", "compute"), phases.stream().map(phase -> phase.get("name")).collect(Collectors.toList()));
+        assertEquals(10L, phases.get(0).get("relationshipsTraversed"));
+        assertEquals(32L, phases.get(1).get("relationshipsTraversed"));
+        assertEquals(42L, telemetry.relationshipsTraversed());
+        assertEquals(42L, registry.getRelationshipsTraversed());
+    }
+
+    @Test
+    void shouldPropagateToWorkerThreads() {
+        var registry = new TelemetryRegistry(10);
+        var telemetry = registry.start("job", "alice");
+
+        try (var ignored = telemetry.bind()) {
+            assertSame(telemetry, RunTelemetry.current());
+            var tasks = IntStream.range(0, 8)
+                .mapToObj(i -> (Runnable) () -> RunTelemetry.current().relationshipsTraversed(1))
+                .collect(Collectors.toList());
+            ParallelUtil.runWithConcurrency(4, tasks, Pools.DEFAULT);
+        }
+        assertSame(RunTelemetry.NONE, RunTelemetry.current());
+
+        assertEquals(8L, telemetry.relationshipsTraversed());
+        assertFalse(telemetry.threads().isEmpty());
+    }
+
+    @Test
+    void shouldKeepThreadsWithTheSameNameApart() throws InterruptedException {
+        var telemetry = new TelemetryRegistry(1).start("job", "alice");
+        Runnable task = telemetry.instrument(() -> {});
+
+        var first = new Thread(task, "worker");
+        var second = new Thread(task, "worker");
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+
+        Map<String, Object> threads = telemetry.threads();
+        assertEquals(2, threads.size());
+        assertTrue(threads.containsKey(String.valueOf(first.getId())));
+        assertTrue(threads.containsKey(String.valueOf(second.getId())));
+    }
+
+    @Test
+    void shouldMoveFinishedRunsToBoundedHistory() {
+        var registry = new TelemetryRegistry(2);
+        var first = registry.start("first", "alice");
+        var second = registry.start("second", "alice");
+        var third = registry.start("third", "alice");
+
+        assertEquals(3, registry.getRunningRuns());
+        first.finish();
+        second.finish();
+        third.finish();
+        third.finish();
+
+        assertEquals(0, registry.getRunningRuns());
+        assertEquals(3L, registry.getFinishedRuns());
+        assertEquals(List.of(third, second), registry.runs());
+        assertFalse(third.isRunning());
+    }
+
+    @Test
+    void shouldCompareAllocatedWithEstimatedMemory() {
+        var telemetry = new TelemetryRegistry(1).start("job", "alice");
+        var tracker = AllocationTracker.create();
+        tracker.add(1337);
+
+        telemetry.trackMemory(4096, tracker);
+
+        assertEquals(4096L, telemetry.estimatedBytes());
+        assertEquals(1337L, telemetry.allocatedBytes());
+    }
+
+    @Test
+    void shouldIgnoreEverythingWhenDisabled() {
+        var telemetry = RunTelemetry.NONE;
+        Runnable task = () -> {};
+
+        try (var ignored = telemetry.phase("compute")) {
+            telemetry.relationshipsTraversed(42);
+        }
+        telemetry.finish();
+
+        assertSame(task, telemetry.instrument(task));
+        assertTrue(telemetry.phases().isEmpty());
+        assertEquals(0L, telemetry.relationshipsTraversed());
+    }
+}
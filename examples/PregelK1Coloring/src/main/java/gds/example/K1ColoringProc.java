@@ -58,7 +58,8 @@ public class K1ColoringProc extends AlgoBaseProc<K1ColoringAlgorithm, HugeDouble
                         return new StreamResult(neoNodeId, Double.valueOf(coloring.get(nodeId)).longValue());
                     });
 
-            }).orElse(Stream.empty());
+            }).orElse(Stream.empty())
+            .onClose(compute::close);
     }
 
     @Override
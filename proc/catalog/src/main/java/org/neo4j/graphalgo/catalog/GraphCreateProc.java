@@ -33,6 +33,7 @@ import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.mem.MemoryLedger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -153,14 +154,17 @@ public class GraphCreateProc extends CatalogProc {
     }
 
     private GraphCreateResult createGraph(GraphCreateConfig config) {
-        tryValidateMemoryUsage(config, this::memoryTreeWithDimensions);
-
         GraphCreateResult.Builder builder = config instanceof GraphCreateFromCypherConfig
             ? new GraphCreateCypherResult.Builder((GraphCreateFromCypherConfig) config)
             : new GraphCreateNativeResult.Builder((GraphCreateFromStoreConfig) config);
 
-        try (ProgressTimer ignored = ProgressTimer.start(builder::withCreateMillis)) {
-            GraphLoader loader = newLoader(config, AllocationTracker.EMPTY);
+        AllocationTracker tracker = AllocationTracker.create();
+        try (
+            MemoryLedger.Reservation reservation = reserveMemory(config, "gds.graph.create " + config.graphName(), this::memoryTreeWithDimensions);
+            ProgressTimer ignored = ProgressTimer.start(builder::withCreateMillis)
+        ) {
+            reservation.track(tracker);
+            GraphLoader loader = newLoader(config, tracker);
             GraphStore graphStore =  loader.graphStore();
 
             builder
@@ -168,6 +172,8 @@ public class GraphCreateProc extends CatalogProc {
                 .withRelationshipCount(graphStore.relationshipCount());
 
             GraphStoreCatalog.set(config, graphStore);
+            // the graph outlives the reservation, keep it charged until the next GC measurement accounts for it
+            MemoryLedger.global().retained(tracker.tracked());
         }
 
         return builder.build();
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphExportNodePropertiesToFileConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.export.NodePropertiesFileExport;
+import org.neo4j.graphalgo.utils.StringJoining;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+import org.neo4j.values.storable.NumberType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphExportNodePropertiesToFileProc extends CatalogProc {
+
+    static final String EXPORT_DIRECTORY = "export";
+
+    @Procedure(name = "gds.alpha.graph.exportNodeProperties", mode = READ)
+    @Description("Exports the given node properties into a CSV or binary file in the `export` directory of the Neo4j home directory.")
+    public Stream<Result> exportNodeProperties(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "nodeProperties") List<String> nodeProperties,
+        @Name(value = "nodeLabels", defaultValue = "['*']") List<String> nodeLabels,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(graphName);
+
+        // input
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        GraphExportNodePropertiesToFileConfig config = GraphExportNodePropertiesToFileConfig.of(
+            getUsername(),
+            graphName,
+            nodeProperties,
+            nodeLabels,
+            cypherConfig
+        );
+        // validation
+        validateConfig(cypherConfig, config);
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore();
+        config.validate(graphStore);
+
+        Collection<NodeLabel> validNodeLabels = config.validNodeLabels(graphStore);
+        var subGraph = graphStore.getGraph(validNodeLabels, graphStore.relationshipTypes(), Optional.empty());
+        List<NodeProperties> propertyValues = config.nodeProperties()
+            .stream()
+            .map(subGraph::nodeProperties)
+            .collect(Collectors.toList());
+        List<NumberType> propertyTypes = config.nodeProperties()
+            .stream()
+            .map(propertyKey -> propertyType(graphStore, validNodeLabels, propertyKey))
+            .collect(Collectors.toList());
+
+        Path file = exportDirectory().resolve(config.fileName());
+        var result = new Result(graphName, file.toString(), config.exportFormat().name(), subGraph.nodeCount());
+
+        try (ProgressTimer ignored = ProgressTimer.start(millis -> result.exportMillis = millis)) {
+            result.bytesWritten = runWithExceptionLogging(
+                "Node property export failed",
+                () -> {
+                    var export = new NodePropertiesFileExport(
+                        subGraph,
+                        config.nodeProperties(),
+                        propertyValues,
+                        propertyTypes,
+                        config.batchSize(),
+                        config.concurrency()
+                    );
+                    return export.write(file, config.exportFormat());
+                }
+            );
+        }
+        result.propertiesExported = subGraph.nodeCount() * config.nodeProperties().size();
+
+        return Stream.of(result);
+    }
+
+    /**
+     * Resolves the type of a property column over all exported labels.
+     * Integral and floating point values are exported as floating point, other types must agree.
+     */
+    private static NumberType propertyType(GraphStore graphStore, Collection<NodeLabel> nodeLabels, String propertyKey) {
+        Set<NumberType> types = nodeLabels
+            .stream()
+            .map(nodeLabel -> graphStore.nodePropertyType(nodeLabel, propertyKey))
+            .collect(Collectors.toSet());
+        if (types.size() == 1) {
+            return types.iterator().next();
+        }
+        if (types.equals(Set.of(NumberType.INTEGRAL, NumberType.FLOATING_POINT))) {
+            return NumberType.FLOATING_POINT;
+        }
+        throw new IllegalArgumentException(formatWithLocale(
+            "Node property `%s` has different types for the labels %s, export the labels separately.",
+            propertyKey,
+            StringJoining.join(nodeLabels.stream().map(NodeLabel::name))
+        ));
+    }
+
+    private Path exportDirectory() {
+        Path directory = api.databaseLayout().getNeo4jLayout().homeDirectory().toPath().resolve(EXPORT_DIRECTORY);
+        try {
+            return Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static class Result {
+        public final String graphName;
+        public final String file;
+        public final String format;
+        public final long nodeCount;
+        public long propertiesExported;
+        public long bytesWritten;
+        public long exportMillis;
+
+        Result(String graphName, String file, String format, long nodeCount) {
+            this.graphName = graphName;
+            this.file = file;
+            this.format = format;
+            this.nodeCount = nodeCount;
+        }
+    }
+}
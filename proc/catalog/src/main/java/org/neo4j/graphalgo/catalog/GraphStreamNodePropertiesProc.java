@@ -22,21 +22,26 @@ package org.neo4j.graphalgo.catalog;
 import org.apache.commons.lang3.tuple.Pair;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.GraphExportNodePropertiesConfig;
 import org.neo4j.graphalgo.config.GraphStreamNodePropertiesConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.ParallelBatchStream;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 import org.neo4j.values.storable.NumberType;
+import org.neo4j.values.storable.Value;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.LongStream;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.neo4j.procedure.Mode.READ;
@@ -104,40 +109,65 @@ public class GraphStreamNodePropertiesProc extends CatalogProc {
         var nodePropertyKeysAndValues = config.nodeProperties().stream().map(propertyKey -> Pair.of(propertyKey, subGraph.nodeProperties(propertyKey))).collect(Collectors.toList());
         var usesPropertyNameColumn = callContext.outputFields().anyMatch(field -> field.equals("nodeProperty"));
 
-        return LongStream
-            .range(0, subGraph.nodeCount())
-            .boxed()
-            .flatMap(nodeId -> {
-                var originalId = subGraph.toOriginalNodeId(nodeId);
-                var label = subGraph.nodeLabels(nodeId).iterator().next();
-
-                return nodePropertyKeysAndValues.stream().map(propertyKeyAndValues -> {
-                    NumberType valueType = graphStore.nodePropertyType(label, propertyKeyAndValues.getKey());
-
-                    double doubleValue = propertyKeyAndValues.getValue().nodeProperty(nodeId);
-                    Number numberValue;
-                    if (valueType == NumberType.FLOATING_POINT) {
-                        numberValue = doubleValue;
+        return ParallelBatchStream
+            .stream(
+                subGraph.nodeCount(),
+                ParallelUtil.DEFAULT_BATCH_SIZE,
+                config.concurrency(),
+                Pools.DEFAULT,
+                (startNode, endNode) -> {
+                    int size = Math.toIntExact(endNode - startNode);
+                    var originalIds = new long[size];
+                    var values = new Object[size * nodePropertyKeysAndValues.size()];
+                    for (int i = 0; i < size; i++) {
+                        long nodeId = startNode + i;
+                        originalIds[i] = subGraph.toOriginalNodeId(nodeId);
+                        var label = subGraph.nodeLabels(nodeId).iterator().next();
+
+                        for (int p = 0; p < nodePropertyKeysAndValues.size(); p++) {
+                            var propertyKeyAndValues = nodePropertyKeysAndValues.get(p);
+                            NumberType valueType = graphStore.nodePropertyType(label, propertyKeyAndValues.getKey());
+                            values[i * nodePropertyKeysAndValues.size() + p] = propertyValue(
+                                propertyKeyAndValues.getValue(),
+                                valueType,
+                                nodeId
+                            );
+                        }
                     }
-                    else {
-                        numberValue = (long) doubleValue;
-                    }
-
+                    return Pair.of(originalIds, values);
+                }
+            )
+            .flatMap(batch -> IntStream
+                .range(0, batch.getRight().length)
+                .mapToObj(index -> {
+                    int property = index % nodePropertyKeysAndValues.size();
                     return producer.produce(
-                        originalId,
-                        usesPropertyNameColumn ? propertyKeyAndValues.getKey() : null,
-                        numberValue
+                        batch.getLeft()[index / nodePropertyKeysAndValues.size()],
+                        usesPropertyNameColumn ? nodePropertyKeysAndValues.get(property).getKey() : null,
+                        batch.getRight()[index]
                     );
-                });
-            });
+                }));
+    }
+
+    private static Object propertyValue(NodeProperties nodeProperties, NumberType valueType, long nodeId) {
+        switch (valueType) {
+            case FLOATING_POINT:
+                return nodeProperties.nodeProperty(nodeId);
+            case INTEGRAL:
+                return nodeProperties.longValue(nodeId);
+            default:
+                // array properties are registered without a number type
+                Value value = nodeProperties.value(nodeId);
+                return value == null ? null : value.asObject();
+        }
     }
 
     public static class PropertiesResult {
         public final long nodeId;
         public final String nodeProperty;
-        public final Number propertyValue;
+        public final Object propertyValue;
 
-        PropertiesResult(long nodeId, String nodeProperty, Number propertyValue) {
+        PropertiesResult(long nodeId, String nodeProperty, Object propertyValue) {
             this.nodeId = nodeId;
             this.nodeProperty = nodeProperty;
             this.propertyValue = propertyValue;
@@ -146,15 +176,15 @@ public class GraphStreamNodePropertiesProc extends CatalogProc {
 
     public static class PropertyResult {
         public final long nodeId;
-        public final Number propertyValue;
+        public final Object propertyValue;
 
-        PropertyResult(long nodeId, Number propertyValue) {
+        PropertyResult(long nodeId, Object propertyValue) {
             this.nodeId = nodeId;
             this.propertyValue = propertyValue;
         }
     }
     interface ResultProducer<R> {
-        R produce(long nodeId, String propertyName, Number propertyValue);
+        R produce(long nodeId, String propertyName, Object propertyValue);
     }
 
 }
@@ -26,26 +26,31 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.config.GraphStreamRelationshipPropertiesConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.ParallelBatchStream;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 import org.neo4j.values.storable.NumberType;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.DoubleFunction;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.LongStream;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.neo4j.procedure.Mode.READ;
 
 public class GraphStreamRelationshipPropertiesProc extends CatalogProc {
 
+    // bounds the primitive columns that a batch holds while it waits for the consumer
+    private static final int MAX_RELATIONSHIPS_PER_BATCH = 100_000;
+
     @Procedure(name = "gds.graph.streamRelationshipProperties", mode = READ)
     @Description("Streams the given relationship properties.")
     public Stream<PropertiesResult> streamProperties(
@@ -122,33 +127,107 @@ public class GraphStreamRelationshipPropertiesProc extends CatalogProc {
             .collect(Collectors.toList());
         var usesPropertyNameColumn = callContext.outputFields().anyMatch(field -> field.equals("relationshipProperty"));
 
-        return LongStream
-            .range(0, graphStore.nodeCount())
-            .mapToObj(nodeId -> relationshipPropertyKeysAndValues.stream().flatMap(relTypeAndPropertyKeyAndValues -> {
-                NumberType valueType = graphStore.relationshipPropertyType(relTypeAndPropertyKeyAndValues.getMiddle());
-                DoubleFunction<Number> convertProperty = valueType == NumberType.FLOATING_POINT
-                    ? property -> property
-                    : property -> (long) property;
-
-                var relationshipType = relTypeAndPropertyKeyAndValues.getLeft().name();
-                var propertyName = usesPropertyNameColumn ? relTypeAndPropertyKeyAndValues.getMiddle() : null;
-
-                Graph graph = relTypeAndPropertyKeyAndValues.getRight();
-                var originalSourceId = graph.toOriginalNodeId(nodeId);
-                return graph
-                    .streamRelationships(nodeId, Double.NaN)
-                    .map(relationshipCursor -> {
-                        var originalTargetId = graph.toOriginalNodeId(relationshipCursor.targetId());
-                        Number propertyValue = convertProperty.apply(relationshipCursor.property());
-                        return producer.produce(
-                            originalSourceId,
-                            originalTargetId,
-                            relationshipType,
-                            propertyName,
-                            propertyValue
-                        );
-                    });
-            })).flatMap(Function.identity());
+        var relationshipTypeNames = relationshipPropertyKeysAndValues
+            .stream()
+            .map(relTypeAndPropertyKeyAndValues -> relTypeAndPropertyKeyAndValues.getLeft().name())
+            .collect(Collectors.toList());
+        var propertyTypes = relationshipPropertyKeysAndValues
+            .stream()
+            .map(relTypeAndPropertyKeyAndValues -> graphStore.relationshipPropertyType(relTypeAndPropertyKeyAndValues.getMiddle()))
+            .collect(Collectors.toList());
+
+        var degreeGraphs = relationshipPropertyKeysAndValues
+            .stream()
+            .map(relTypeAndPropertyKeyAndValues -> relTypeAndPropertyKeyAndValues.getRight().concurrentCopy())
+            .collect(Collectors.toList());
+        long nodeCount = graphStore.nodeCount();
+
+        return ParallelBatchStream
+            .stream(
+                nodeCount,
+                startNode -> batchEnd(degreeGraphs, startNode, nodeCount),
+                config.concurrency(),
+                Pools.DEFAULT,
+                (startNode, endNode) -> {
+                    var batch = new RelationshipBatch();
+                    var graphs = relationshipPropertyKeysAndValues
+                        .stream()
+                        .map(relTypeAndPropertyKeyAndValues -> relTypeAndPropertyKeyAndValues.getRight().concurrentCopy())
+                        .collect(Collectors.toList());
+                    for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                        for (int index = 0; index < graphs.size(); index++) {
+                            Graph graph = graphs.get(index);
+                            long originalSourceId = graph.toOriginalNodeId(nodeId);
+                            int graphIndex = index;
+                            graph.forEachRelationship(nodeId, Double.NaN, (sourceNodeId, targetNodeId, property) -> {
+                                batch.add(graphIndex, originalSourceId, graph.toOriginalNodeId(targetNodeId), property);
+                                return true;
+                            });
+                        }
+                    }
+                    return batch;
+                }
+            )
+            .flatMap(batch -> IntStream
+                .range(0, batch.size)
+                .mapToObj(index -> {
+                    int graphIndex = batch.graphIndices[index];
+                    double property = batch.properties[index];
+                    Number propertyValue = propertyTypes.get(graphIndex) == NumberType.FLOATING_POINT
+                        ? (Number) property
+                        : (Number) (long) property;
+                    return producer.produce(
+                        batch.sourceIds[index],
+                        batch.targetIds[index],
+                        relationshipTypeNames.get(graphIndex),
+                        usesPropertyNameColumn ? relationshipPropertyKeysAndValues.get(graphIndex).getMiddle() : null,
+                        propertyValue
+                    );
+                }));
+    }
+
+    /**
+     * Ends a batch once it would hold more than {@link #MAX_RELATIONSHIPS_PER_BATCH} relationships,
+     * so that dense nodes do not make a single batch arbitrarily large. A batch has at least one node.
+     */
+    private static long batchEnd(List<Graph> graphs, long startNode, long nodeCount) {
+        long endNode = startNode;
+        long relationships = 0L;
+        while (endNode < nodeCount && endNode - startNode < ParallelUtil.DEFAULT_BATCH_SIZE) {
+            long degree = 0L;
+            for (Graph graph : graphs) {
+                degree += graph.degree(endNode);
+            }
+            if (endNode > startNode && relationships + degree > MAX_RELATIONSHIPS_PER_BATCH) {
+                break;
+            }
+            relationships += degree;
+            endNode++;
+        }
+        return endNode;
+    }
+
+    private static final class RelationshipBatch {
+        int size;
+        int[] graphIndices = new int[64];
+        long[] sourceIds = new long[64];
+        long[] targetIds = new long[64];
+        double[] properties = new double[64];
+
+        void add(int graphIndex, long sourceId, long targetId, double property) {
+            if (size == properties.length) {
+                int newLength = size + (size >> 1);
+                graphIndices = Arrays.copyOf(graphIndices, newLength);
+                sourceIds = Arrays.copyOf(sourceIds, newLength);
+                targetIds = Arrays.copyOf(targetIds, newLength);
+                properties = Arrays.copyOf(properties, newLength);
+            }
+            graphIndices[size] = graphIndex;
+            sourceIds[size] = sourceId;
+            targetIds[size] = targetId;
+            properties[size] = property;
+            size++;
+        }
     }
 
     public static class PropertiesResult {
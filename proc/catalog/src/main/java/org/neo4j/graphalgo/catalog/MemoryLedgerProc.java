@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.BaseProc;
+import org.neo4j.graphalgo.compat.MapUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryLedger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class MemoryLedgerProc extends BaseProc {
+
+    private static final String DESCRIPTION =
+        "Lists the memory reserved by running procedures and the procedures waiting for memory. " +
+        "Only the procedures of the current user are listed, the totals cover all users.";
+
+    @Procedure(name = "gds.alpha.memory.ledger", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<LedgerResult> ledger() {
+        MemoryLedger.Snapshot snapshot = MemoryLedger.global().snapshot();
+        String username = getUsername();
+        List<Map<String, Object>> reserved = entries(snapshot, username, MemoryLedger.State.RESERVED);
+        List<Map<String, Object>> waiting = entries(snapshot, username, MemoryLedger.State.WAITING);
+        long waitingCount = snapshot.entries.stream().filter(entry -> entry.state == MemoryLedger.State.WAITING).count();
+        return Stream.of(new LedgerResult(snapshot, waitingCount, reserved, waiting));
+    }
+
+    private static List<Map<String, Object>> entries(
+        MemoryLedger.Snapshot snapshot,
+        String username,
+        MemoryLedger.State state
+    ) {
+        return snapshot.entries
+            .stream()
+            .filter(entry -> entry.state == state && entry.username.equals(username))
+            .map(entry -> MapUtil.map(
+                "jobName", entry.jobName,
+                "bytes", entry.bytes,
+                "memory", MemoryUsage.humanReadable(entry.bytes),
+                "priority", entry.priority,
+                "since", entry.since,
+                "tracked", entry.tracker.toMap()
+            ))
+            .collect(Collectors.toList());
+    }
+
+    public static class LedgerResult {
+        public final long freeMemory;
+        public final long reservedMemory;
+        public final long availableMemory;
+        public final long waitingJobs;
+        public final List<Map<String, Object>> reservations;
+        public final List<Map<String, Object>> queue;
+
+        LedgerResult(
+            MemoryLedger.Snapshot snapshot,
+            long waitingJobs,
+            List<Map<String, Object>> reservations,
+            List<Map<String, Object>> queue
+        ) {
+            this.freeMemory = snapshot.freeMemory;
+            this.reservedMemory = snapshot.reservedMemory;
+            this.availableMemory = snapshot.availableMemory;
+            this.waitingJobs = waitingJobs;
+            this.reservations = reservations;
+            this.queue = queue;
+        }
+    }
+}
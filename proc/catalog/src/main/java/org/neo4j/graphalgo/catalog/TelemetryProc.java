@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.BaseProc;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
+import org.neo4j.graphalgo.core.utils.telemetry.TelemetryRegistry;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Procedure;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class TelemetryProc extends BaseProc {
+
+    private static final String DESCRIPTION =
+        "Lists the phase timings, traversal rates, thread utilization, memory and garbage collection " +
+        "of the running and the recently finished procedures of the current user.";
+
+    @Procedure(name = "gds.alpha.debug.telemetry", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<TelemetryResult> telemetry() {
+        String username = getUsername();
+        return TelemetryRegistry.global()
+            .runs()
+            .stream()
+            .filter(run -> run.username().equals(username))
+            .map(TelemetryResult::new);
+    }
+
+    public static class TelemetryResult {
+        public final long id;
+        public final String jobName;
+        public final ZonedDateTime startTime;
+        public final boolean running;
+        public final long durationMillis;
+        public final List<Map<String, Object>> phases;
+        public final long relationshipsTraversed;
+        public final long relationshipsPerSecond;
+        public final Map<String, Object> threads;
+        public final long estimatedBytes;
+        public final long allocatedBytes;
+        public final long gcCount;
+        public final long gcMillis;
+
+        TelemetryResult(RunTelemetry run) {
+            this.id = run.id();
+            this.jobName = run.jobName();
+            this.startTime = run.startTime();
+            this.running = run.isRunning();
+            this.durationMillis = run.durationMillis();
+            this.phases = run.phases();
+            this.relationshipsTraversed = run.relationshipsTraversed();
+            this.relationshipsPerSecond = run.relationshipsPerSecond();
+            this.threads = run.threads();
+            this.estimatedBytes = run.estimatedBytes();
+            this.allocatedBytes = run.allocatedBytes();
+            this.gcCount = run.gcCount();
+            this.gcMillis = run.gcMillis();
+        }
+    }
+}
@@ -47,7 +47,9 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.mem.MemoryLedger;
 import org.neo4j.graphalgo.test.TestProc;
 import org.neo4j.graphalgo.utils.ExceptionUtil;
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
@@ -692,7 +694,7 @@ class GraphCreateProcTest extends BaseProcTest {
                         NODE_PROJECTION_KEY, "*",
                         RELATIONSHIP_PROJECTION_KEY, "*"))
                 );
-                proc.tryValidateMemoryUsage(config, c -> proc.memoryTreeWithDimensions(c), () -> 42);
+                proc.reserveMemory(config, "test", c -> proc.memoryTreeWithDimensions(c), new MemoryLedger(() -> 42, 0));
             });
         });
 
@@ -712,7 +714,7 @@ class GraphCreateProcTest extends BaseProcTest {
                     SUDO_KEY, true
                 ))
             );
-            proc.tryValidateMemoryUsage(config, c -> proc.memoryTreeWithDimensions(c), () -> 42);
+            proc.reserveMemory(config, "test", c -> proc.memoryTreeWithDimensions(c), new MemoryLedger(() -> 42, 0));
         });
     }
 
@@ -727,7 +729,7 @@ class GraphCreateProcTest extends BaseProcTest {
                     SUDO_KEY, true
                 ))
             );
-            proc.tryValidateMemoryUsage(config, c -> proc.memoryTreeWithDimensions(c), () -> 42);
+            proc.reserveMemory(config, "test", c -> proc.memoryTreeWithDimensions(c), new MemoryLedger(() -> 42, 0));
         });
     }
 
@@ -742,7 +744,7 @@ class GraphCreateProcTest extends BaseProcTest {
                         RELATIONSHIP_QUERY_KEY, "MATCH ()-[r]->() RETURN r",
                         "sudo", false))
                 );
-                proc.tryValidateMemoryUsage(config, c -> proc.memoryTreeWithDimensions(c), () -> 42);
+                proc.reserveMemory(config, "test", c -> proc.memoryTreeWithDimensions(c), new MemoryLedger(() -> 42, 0));
             });
         });
 
@@ -751,6 +753,41 @@ class GraphCreateProcTest extends BaseProcTest {
             "Procedure was blocked since minimum estimated memory \\(.+\\) exceeds current free memory \\(42 Bytes\\)."));
     }
 
+    @Test
+    void shouldEvictDecodedRelationshipPropertiesBeforeBlocking() {
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withRelationshipType("REL")
+            .withRelationshipProperty("weight")
+            .graphCreate("g")
+            .yields());
+        var graphStore = (CSRGraphStore) GraphStoreCatalog.get(getUsername(), "g").graphStore();
+        // reading the properties decodes them
+        Graph graph = graphStore.getGraph(RelationshipType.of("REL"), Optional.of("weight"));
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, Double.NaN, (source, target, weight) -> true);
+            return true;
+        });
+        long resident = graphStore.residentRelationshipPropertyMemory();
+        assertTrue(resident > 0);
+
+        applyOnProcedure(proc -> {
+            GraphCreateConfig config = GraphCreateFromStoreConfig.fromProcedureConfig(
+                "",
+                CypherMapWrapper.create(MapUtil.map(
+                    NODE_PROJECTION_KEY, "*",
+                    RELATIONSHIP_PROJECTION_KEY, "*"))
+            );
+            long required = proc.memoryTreeWithDimensions(config).memoryTree.memoryUsage().min;
+            // the procedure only fits once the decoded properties are evicted
+            var ledger = new MemoryLedger(() -> Math.max(0, required - resident), 0);
+
+            proc.reserveMemory(config, "test", c -> proc.memoryTreeWithDimensions(c), ledger).close();
+        });
+
+        assertEquals(0, graphStore.residentRelationshipPropertyMemory());
+    }
+
     void applyOnProcedure(Consumer<GraphCreateProc> func) {
         try (GraphDatabaseApiProxy.Transactions transactions = newKernelTransaction(db)) {
             GraphCreateProc proc = new GraphCreateProc();
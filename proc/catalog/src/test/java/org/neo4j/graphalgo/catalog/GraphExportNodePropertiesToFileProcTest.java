@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.IdentityProperties;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphdb.QueryExecutionException;
+import org.neo4j.values.storable.NumberType;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.utils.ExceptionUtil.rootCause;
+
+class GraphExportNodePropertiesToFileProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A {nodeProp: 0.0})" +
+        ", (b:A {nodeProp: 1.0})" +
+        ", (c:A {nodeProp: 2.0})" +
+        ", (d:B {nodeProp: 3.0})";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphExportNodePropertiesToFileProc.class);
+        runQuery(DB_CYPHER);
+
+        runQuery(GdsCypher.call()
+            .withNodeLabel("A")
+            .withNodeLabel("B")
+            .withNodeProperty("nodeProp")
+            .withAnyRelationshipType()
+            .graphCreate("graph")
+            .yields()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldExportCsv() throws IOException {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.graph.exportNodeProperties('graph', ['nodeProp'], ['A'], {fileName: 'a.csv', batchSize: 2, concurrency: 2})",
+            row -> {
+                assertEquals(3L, row.getNumber("nodeCount").longValue());
+                assertEquals(3L, row.getNumber("propertiesExported").longValue());
+                assertEquals("CSV", row.getString("format"));
+            }
+        );
+
+        assertEquals(
+            List.of("nodeId,nodeProp", "0,0.0", "1,1.0", "2,2.0"),
+            Files.readAllLines(exportDirectory().resolve("a.csv"))
+        );
+    }
+
+    @Test
+    void shouldExportBinaryColumns() throws IOException {
+        runQuery("CALL gds.alpha.graph.exportNodeProperties('graph', ['nodeProp'], ['*'], {fileName: 'all.bin', format: 'binary', batchSize: 3, concurrency: 2})");
+
+        try (var in = new DataInputStream(Files.newInputStream(exportDirectory().resolve("all.bin")))) {
+            assertEquals(0x47445343, in.readInt());
+            assertEquals(1, in.readInt());
+            assertEquals(4L, in.readLong());
+            assertEquals(1, in.readInt());
+            byte[] name = new byte[in.readInt()];
+            in.readFully(name);
+            assertEquals("nodeProp", new String(name, StandardCharsets.UTF_8));
+            assertEquals(1, in.readByte());
+            assertEquals(1, in.readInt());
+
+            for (long nodeId = 0; nodeId < 4; nodeId++) {
+                assertEquals(nodeId, in.readLong());
+            }
+            for (double value = 0; value < 4; value++) {
+                assertEquals(value, in.readDouble());
+            }
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void shouldNotOverwriteExistingFiles() throws IOException {
+        Files.writeString(exportDirectory().resolve("existing.csv"), "keep me");
+
+        var exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery("CALL gds.alpha.graph.exportNodeProperties('graph', ['nodeProp'], ['*'], {fileName: 'existing.csv'})")
+        );
+        assertEquals(IllegalArgumentException.class, rootCause(exception).getClass());
+        assertEquals(List.of("keep me"), Files.readAllLines(exportDirectory().resolve("existing.csv")));
+    }
+
+    @Test
+    void shouldExportIntegralAndFloatingPointLabelsAsFloatingPoint() throws IOException {
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), "graph").graphStore();
+        graphStore.addNodeProperty(NodeLabel.of("A"), "mixed", NumberType.FLOATING_POINT, nodeId -> nodeId + 0.5);
+        graphStore.addNodeProperty(NodeLabel.of("B"), "mixed", NumberType.INTEGRAL, new IdentityProperties(4));
+
+        runQuery("CALL gds.alpha.graph.exportNodeProperties('graph', ['mixed'], ['*'], {fileName: 'mixed.csv'})");
+
+        assertEquals(
+            List.of("nodeId,mixed", "0,0.5", "1,1.5", "2,2.5", "3,3.0"),
+            Files.readAllLines(exportDirectory().resolve("mixed.csv"))
+        );
+    }
+
+    @Test
+    void shouldRejectPathsAsFileNames() {
+        var exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery("CALL gds.alpha.graph.exportNodeProperties('graph', ['nodeProp'], ['*'], {fileName: '../a.csv'})")
+        );
+        assertEquals(IllegalArgumentException.class, rootCause(exception).getClass());
+    }
+
+    private Path exportDirectory() {
+        return db.databaseLayout().getNeo4jLayout().homeDirectory().toPath().resolve(GraphExportNodePropertiesToFileProc.EXPORT_DIRECTORY);
+    }
+}
@@ -19,14 +19,23 @@
  */
 package org.neo4j.graphalgo.catalog;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.BaseProcTest;
 import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.TypedNodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.values.storable.NumberType;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.NodeLabel.ALL_NODES;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 class GraphStoreExportProcTest extends BaseProcTest {
@@ -50,6 +59,11 @@ class GraphStoreExportProcTest extends BaseProcTest {
         runQuery(DB_CYPHER);
     }
 
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
     @Test
     void exportGraph() {
         runQuery(GdsCypher.call()
@@ -82,4 +96,32 @@ class GraphStoreExportProcTest extends BaseProcTest {
         });
     }
 
+    @Test
+    void exportGraphWithMutatedArrayAndLongProperties() {
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withNodeProperty("prop1")
+            .withAnyRelationshipType()
+            .graphCreate("test-graph")
+            .yields());
+
+        long nodeCount = 4;
+        var longs = HugeLongArray.newArray(nodeCount, AllocationTracker.EMPTY);
+        var embeddings = HugeFloatMatrix.newMatrix(nodeCount, 2, AllocationTracker.EMPTY);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            longs.set(nodeId, Long.MAX_VALUE - nodeId);
+            embeddings.setRow(nodeId, new float[]{nodeId, -nodeId});
+        }
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), "test-graph").graphStore();
+        graphStore.addNodeProperty(ALL_NODES, "longs", NumberType.INTEGRAL, TypedNodeProperties.ofLongs(longs));
+        graphStore.addNodeProperty(ALL_NODES, "embedding", NumberType.NO_NUMBER, TypedNodeProperties.ofFloatArrays(embeddings));
+
+        var exportQuery = "CALL gds.graph.export('test-graph', { dbName: 'test-db-typed' })";
+
+        runQueryWithRowConsumer(exportQuery, row -> {
+            assertEquals(4, row.getNumber("nodeCount").longValue());
+            assertEquals(12, row.getNumber("nodePropertyCount").longValue());
+        });
+    }
+
 }
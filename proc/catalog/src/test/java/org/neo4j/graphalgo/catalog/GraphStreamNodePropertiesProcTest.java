@@ -34,10 +34,18 @@ import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.IdentityProperties;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.TypedNodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.functions.AsNodeFunc;
 import org.neo4j.graphdb.QueryExecutionException;
 import org.neo4j.values.storable.NumberType;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
@@ -213,6 +221,40 @@ class GraphStreamNodePropertiesProcTest extends BaseProcTest {
         ));
     }
 
+    @Test
+    void streamMutatedArrayNodeProperties() {
+        long nodeCount = 6;
+        var floatArrays = HugeFloatMatrix.newMatrix(nodeCount, 2, AllocationTracker.EMPTY);
+        var longArrays = HugeLongArray.newArray(nodeCount * 2, AllocationTracker.EMPTY);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            floatArrays.setRow(nodeId, new float[]{nodeId, -nodeId});
+            longArrays.set(2 * nodeId, nodeId);
+            longArrays.set(2 * nodeId + 1, Long.MAX_VALUE - nodeId);
+        }
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), TEST_GRAPH_SAME_PROPERTIES).graphStore();
+        for (String label : List.of("A", "B")) {
+            graphStore.addNodeProperty(NodeLabel.of(label), "floats", NumberType.NO_NUMBER, TypedNodeProperties.ofFloatArrays(floatArrays));
+            graphStore.addNodeProperty(NodeLabel.of(label), "longs", NumberType.NO_NUMBER, TypedNodeProperties.ofLongArrays(longArrays, 2));
+        }
+
+        String graphStreamQuery = formatWithLocale(
+            "CALL gds.graph.streamNodeProperties(" +
+            "   '%s', " +
+            "   ['floats', 'longs']" +
+            ")  YIELD nodeId, nodeProperty, propertyValue " +
+            "RETURN gds.util.asNode(nodeId).id AS id, nodeProperty, propertyValue[0] AS first, propertyValue[1] AS second",
+            TEST_GRAPH_SAME_PROPERTIES
+        );
+
+        var expected = new ArrayList<Map<String, Object>>();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            expected.add(map("id", nodeId, "nodeProperty", "floats", "first", (double) nodeId, "second", (double) -nodeId));
+            expected.add(map("id", nodeId, "nodeProperty", "longs", "first", nodeId, "second", Long.MAX_VALUE - nodeId));
+        }
+        assertCypherResult(graphStreamQuery, expected);
+    }
+
     @Test
     void shouldFailOnNonExistingNodeProperties() {
         QueryExecutionException ex = assertThrows(
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.core.utils.mem.MemoryLedger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryLedgerProcTest extends BaseProcTest {
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(MemoryLedgerProc.class);
+    }
+
+    @Test
+    void shouldListReservationsOfTheCurrentUser() {
+        try (
+            var own = MemoryLedger.global().reserve("own", "", MemoryRange.of(42), Duration.ZERO, 0).orElseThrow();
+            var other = MemoryLedger.global().reserve("other", "alice", MemoryRange.of(1337), Duration.ZERO, 0).orElseThrow()
+        ) {
+            runQueryWithRowConsumer("CALL gds.alpha.memory.ledger()", row -> {
+                assertTrue(row.getNumber("reservedMemory").longValue() >= 42L + 1337L);
+                assertEquals(0L, row.getNumber("waitingJobs").longValue());
+
+                @SuppressWarnings("unchecked")
+                var reservations = (List<Map<String, Object>>) row.get("reservations");
+                assertEquals(1, reservations.size());
+                assertEquals("own", reservations.get(0).get("jobName"));
+                assertEquals(42L, reservations.get(0).get("bytes"));
+                assertTrue(((List<?>) row.get("queue")).isEmpty());
+            });
+        }
+    }
+}
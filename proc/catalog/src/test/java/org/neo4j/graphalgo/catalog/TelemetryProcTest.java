@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.core.utils.telemetry.TelemetryRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TelemetryProcTest extends BaseProcTest {
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(TelemetryProc.class);
+    }
+
+    @Test
+    void shouldListRunsOfTheCurrentUser() {
+        var own = TelemetryRegistry.global().start("own job", "");
+        var other = TelemetryRegistry.global().start("other job", "alice");
+        try (var ignored = own.phase("compute")) {
+            own.relationshipsTraversed(42);
+        }
+        own.finish();
+
+        List<String> jobNames = new ArrayList<>();
+        runQueryWithRowConsumer("CALL gds.alpha.debug.telemetry()", row -> {
+            jobNames.add(row.getString("jobName"));
+            if (row.getString("jobName").equals("own job")) {
+                assertFalse((boolean) row.get("running"));
+                assertEquals(42L, row.getNumber("relationshipsTraversed").longValue());
+
+                @SuppressWarnings("unchecked")
+                var phases = (List<Map<String, Object>>) row.get("phases");
+                assertEquals(1, phases.size());
+                assertEquals("compute", phases.get(0).get("name"));
+            }
+        });
+        other.finish();
+
+        assertTrue(jobNames.contains("own job"));
+        assertFalse(jobNames.contains("other job"));
+    }
+}
@@ -49,16 +49,22 @@ import org.neo4j.graphalgo.core.loading.ImmutableGraphStoreWithConfig;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryLedger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
+import org.neo4j.graphalgo.core.utils.telemetry.TelemetryRegistry;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.graphalgo.results.MemoryEstimateResult;
 import org.neo4j.graphalgo.utils.StringJoining;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -67,6 +73,9 @@ import static java.util.stream.Collectors.toList;
 import static org.neo4j.graphalgo.ElementProjection.PROJECT_ALL;
 import static org.neo4j.graphalgo.config.ConcurrencyConfig.CONCURRENCY_KEY;
 import static org.neo4j.graphalgo.config.ConcurrencyConfig.DEFAULT_CONCURRENCY;
+import static org.neo4j.graphalgo.config.BaseConfig.MEMORY_PRIORITY_KEY;
+import static org.neo4j.graphalgo.core.utils.paged.AllocationTracker.ALGORITHM_SCOPE;
+import static org.neo4j.graphalgo.config.BaseConfig.MEMORY_WAIT_SECONDS_KEY;
 import static org.neo4j.graphalgo.config.BaseConfig.SUDO_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateConfig.READ_CONCURRENCY_KEY;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -100,11 +109,12 @@ public abstract class AlgoBaseProc<
             maybeImplicitCreate = Optional.of(createConfig);
             allowedKeys.addAll(createConfig.configKeys());
             CypherMapWrapper configWithoutCreateKeys = config.withoutAny(allowedKeys);
-            // check if we have an explicit configured sudo key, as this one is
+            // check if we have explicitly configured memory admission keys, as these are
             // shared between create and algo configs
-            Boolean sudoValue = config.getChecked(SUDO_KEY, null, Boolean.class);
-            if (sudoValue != null) {
-                configWithoutCreateKeys = configWithoutCreateKeys.withBoolean(SUDO_KEY, sudoValue);
+            for (String sharedKey : List.of(SUDO_KEY, MEMORY_WAIT_SECONDS_KEY, MEMORY_PRIORITY_KEY)) {
+                if (config.containsKey(sharedKey)) {
+                    configWithoutCreateKeys = configWithoutCreateKeys.withEntry(sharedKey, config.get(sharedKey, null));
+                }
             }
             config = configWithoutCreateKeys;
         }
@@ -407,16 +417,57 @@ public abstract class AlgoBaseProc<
         Pair<CONFIG, Optional<String>> input = processInput(graphNameOrConfig, configuration);
         CONFIG config = input.getOne();
 
-        validateMemoryUsageIfImplemented(config);
+        RunTelemetry telemetry = TelemetryRegistry.global().start(jobName(config), getUsername());
+        // released by ComputationResult#close once the results have been streamed, written or mutated
+        ComputationResources resources = new ComputationResources();
+        // the run ends with its output, after everything else has been released
+        resources.onClose(telemetry::finish);
+        try {
+            MemoryLedger.Reservation reservation = reserveMemoryIfImplemented(config);
+            resources.onClose(reservation::release);
+            try (RunTelemetry.Scope ignored = telemetry.bind()) {
+                reservation.track(tracker);
+                telemetry.trackMemory(reservation.bytes(), tracker);
+                return runComputation(
+                    builder.telemetry(telemetry).resources(resources),
+                    telemetry,
+                    tracker,
+                    resources,
+                    input,
+                    releaseAlgorithm,
+                    releaseTopology
+                );
+            }
+        } catch (RuntimeException | Error e) {
+            resources.close();
+            throw e;
+        }
+    }
 
+    private ComputationResult<ALGO, ALGO_RESULT, CONFIG> runComputation(
+        ImmutableComputationResult.Builder<ALGO, ALGO_RESULT, CONFIG> builder,
+        RunTelemetry telemetry,
+        AllocationTracker tracker,
+        ComputationResources resources,
+        Pair<CONFIG, Optional<String>> input,
+        boolean releaseAlgorithm,
+        boolean releaseTopology
+    ) {
+        CONFIG config = input.getOne();
         GraphStore graphStore;
         Graph graph;
 
-        try (ProgressTimer timer = ProgressTimer.start(builder::createMillis)) {
+        try (
+            ProgressTimer timer = ProgressTimer.start(builder::createMillis);
+            RunTelemetry.Scope phase = telemetry.phase("load")
+        ) {
             graphStore = getOrCreateGraphStore(input);
             graph = createGraph(graphStore, config);
         }
 
+        // decoded relationship properties must not be evicted while the algorithm or the result output reads them
+        resources.onClose(graphStore.pinRelationshipProperties()::close);
+
         if (graph.isEmpty()) {
             return builder
                 .isGraphEmpty(true)
@@ -430,18 +481,22 @@ public abstract class AlgoBaseProc<
                 .build();
         }
 
-        ALGO algo = newAlgorithm(graph, config, tracker);
+        ALGO algo = newAlgorithm(graph, config, tracker.child(ALGORITHM_SCOPE));
 
         ALGO_RESULT result = runWithExceptionLogging(
             "Computation failed",
             () -> {
-                try (ProgressTimer ignored = ProgressTimer.start(builder::computeMillis)) {
+                try (
+                    ProgressTimer ignored = ProgressTimer.start(builder::computeMillis);
+                    RunTelemetry.Scope phase = telemetry.phase("compute")
+                ) {
                     return algo.compute();
                 }
             }
         );
 
         log.info(algoName() + ": overall memory usage %s", tracker.getUsageString());
+        log.debug(algoName() + ": memory usage by scope%n%s", tracker.getUsageTree());
 
         if (releaseAlgorithm) {
             algo.release();
@@ -467,15 +522,19 @@ public abstract class AlgoBaseProc<
             "Procedure needs to implement org.neo4j.graphalgo.BaseAlgoProc.nodePropertyTranslator");
     }
 
-    private void validateMemoryUsageIfImplemented(CONFIG config) {
+    private MemoryLedger.Reservation reserveMemoryIfImplemented(CONFIG config) {
         var sudoImplicitCreate = config.implicitCreateConfig().map(BaseConfig::sudo).orElse(false);
 
         if (sudoImplicitCreate) {
             log.debug("Sudo mode: Won't check for available memory.");
-            return;
+            return MemoryLedger.Reservation.NONE;
         }
 
-        tryValidateMemoryUsage(config, this::memoryEstimation);
+        return reserveMemory(config, jobName(config), this::memoryEstimation);
+    }
+
+    private String jobName(CONFIG config) {
+        return config.graphName().map(graphName -> algoName() + " on " + graphName).orElse(algoName());
     }
 
     protected Stream<MemoryEstimateResult> computeEstimate(
@@ -494,7 +553,7 @@ public abstract class AlgoBaseProc<
     }
 
     @ValueClass
-    public interface ComputationResult<A extends Algorithm<A, RESULT>, RESULT, CONFIG extends AlgoBaseConfig> {
+    public interface ComputationResult<A extends Algorithm<A, RESULT>, RESULT, CONFIG extends AlgoBaseConfig> extends AutoCloseable {
         long createMillis();
 
         long computeMillis();
@@ -517,5 +576,55 @@ public abstract class AlgoBaseProc<
         default boolean isGraphEmpty() {
             return false;
         }
+
+        /**
+         * The telemetry of the run, mutate and write phases are added to it after the computation.
+         */
+        @Value.Default
+        default RunTelemetry telemetry() {
+            return RunTelemetry.NONE;
+        }
+
+        @Value.Default
+        @Value.Auxiliary
+        default ComputationResources resources() {
+            return new ComputationResources();
+        }
+
+        /**
+         * Releases what the computation holds on to until its results have been consumed,
+         * e.g. the memory reservation. Procedures call this when their result stream is closed
+         * or after the results have been written. Calling it more than once has no effect.
+         */
+        @Override
+        default void close() {
+            resources().close();
+        }
+    }
+
+    /**
+     * Actions that release the resources of a computation, run in reverse order of registration.
+     */
+    public static final class ComputationResources implements AutoCloseable {
+
+        private final Deque<Runnable> closeActions = new ArrayDeque<>();
+        private boolean closed;
+
+        synchronized void onClose(Runnable closeAction) {
+            if (closed) {
+                closeAction.run();
+            } else {
+                closeActions.push(closeAction);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            Runnable closeAction;
+            while ((closeAction = closeActions.poll()) != null) {
+                closeAction.run();
+            }
+        }
     }
 }
@@ -28,7 +28,8 @@ import org.neo4j.graphalgo.core.ImmutableGraphLoader;
 import org.neo4j.graphalgo.core.SecureTransaction;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
-import org.neo4j.graphalgo.core.utils.mem.GcListenerExtension;
+import org.neo4j.graphalgo.core.utils.mem.MemoryLedger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTreeWithDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -40,6 +41,7 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Context;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -120,54 +122,74 @@ public abstract class BaseProc {
         }
     }
 
-    protected <C extends BaseConfig> void tryValidateMemoryUsage(C config, Function<C, MemoryTreeWithDimensions> runEstimation) {
-        tryValidateMemoryUsage(config, runEstimation, GcListenerExtension::freeMemory);
+    /**
+     * Reserves the estimated memory of the procedure in the process-wide {@link MemoryLedger},
+     * waiting up to {@link BaseConfig#memoryWaitSeconds()} for other procedures to release their reservations.
+     * The returned reservation must be released once the procedure is done.
+     */
+    protected <C extends BaseConfig> MemoryLedger.Reservation reserveMemory(
+        C config,
+        String jobName,
+        Function<C, MemoryTreeWithDimensions> runEstimation
+    ) {
+        return reserveMemory(config, jobName, runEstimation, MemoryLedger.global());
     }
 
-    public <C extends BaseConfig> void tryValidateMemoryUsage(
+    public <C extends BaseConfig> MemoryLedger.Reservation reserveMemory(
         C config,
+        String jobName,
         Function<C, MemoryTreeWithDimensions> runEstimation,
-        AlgoBaseProc.FreeMemoryInspector inspector
+        MemoryLedger ledger
     ) {
         if (config.sudo()) {
             log.debug("Sudo mode: Won't check for available memory.");
-            return;
+            return MemoryLedger.Reservation.NONE;
         }
 
-        MemoryTreeWithDimensions memoryTreeWithDimensions = null;
+        MemoryTreeWithDimensions memoryTreeWithDimensions;
         try {
             memoryTreeWithDimensions = runEstimation.apply(config);
         } catch (MemoryEstimationNotImplementedException ignored) {
+            return MemoryLedger.Reservation.NONE;
         }
-        if (memoryTreeWithDimensions != null) {
-            validateMemoryUsage(memoryTreeWithDimensions, inspector);
+
+        MemoryRange memoryRange = memoryTreeWithDimensions.memoryTree.memoryUsage();
+        if (memoryRange.min > ledger.availableBytes()) {
+            ledger.reclaimed(evictRelationshipProperties());
         }
+        return ledger
+            .reserve(
+                jobName,
+                getUsername(),
+                memoryRange,
+                Duration.ofSeconds(config.memoryWaitSeconds()),
+                config.memoryPriority()
+            )
+            .orElseThrow(() -> memoryBlockedException(memoryRange.min, ledger.availableBytes()));
     }
 
-    private void validateMemoryUsage(
-        MemoryTreeWithDimensions memoryTreeWithDimensions,
-        AlgoBaseProc.FreeMemoryInspector inspector
-    ) {
-        long freeMemory = inspector.freeMemory();
-        long minBytesProcedure = memoryTreeWithDimensions.memoryTree.memoryUsage().min;
-        if (minBytesProcedure > freeMemory) {
-            String template = "Procedure was blocked since minimum estimated memory (%s) exceeds current free memory (%s).";
-            if (GraphStoreCatalog.graphStoresCount() > 0) {
-                template += formatWithLocale(
-                    " Note: you have %s graphs currently loaded into memory.",
-                    GraphStoreCatalog.graphStoresCount()
-                );
-            }
-            throw new IllegalStateException(formatWithLocale(
-                template,
-                MemoryUsage.humanReadable(minBytesProcedure),
-                MemoryUsage.humanReadable(freeMemory)
-            ));
+    private long evictRelationshipProperties() {
+        // decoded relationship properties can be re-created from their compressed form on demand,
+        // only columns that no running computation uses are evicted, so their memory is actually freed
+        long evicted = GraphStoreCatalog.evictRelationshipProperties();
+        if (evicted > 0) {
+            log.debug("Evicted %d bytes of decoded relationship properties that are not in use.", evicted);
         }
+        return evicted;
     }
 
-    @FunctionalInterface
-    public interface FreeMemoryInspector {
-        long freeMemory();
+    private static IllegalStateException memoryBlockedException(long minBytesProcedure, long freeMemory) {
+        String template = "Procedure was blocked since minimum estimated memory (%s) exceeds current free memory (%s).";
+        if (GraphStoreCatalog.graphStoresCount() > 0) {
+            template += formatWithLocale(
+                " Note: you have %s graphs currently loaded into memory.",
+                GraphStoreCatalog.graphStoresCount()
+            );
+        }
+        return new IllegalStateException(formatWithLocale(
+            template,
+            MemoryUsage.humanReadable(minBytesProcedure),
+            MemoryUsage.humanReadable(freeMemory)
+        ));
     }
 }
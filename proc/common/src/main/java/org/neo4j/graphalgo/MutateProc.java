@@ -24,9 +24,13 @@ import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.MutatePropertyConfig;
 import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
+import org.neo4j.graphalgo.core.loading.TypedNodeProperties;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.values.storable.NumberType;
+import org.neo4j.values.storable.Value;
 
 import java.util.Collection;
 import java.util.stream.Stream;
@@ -42,19 +46,21 @@ public abstract class MutateProc<
     protected abstract AbstractResultBuilder<PROC_RESULT> resultBuilder(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computeResult);
 
     protected Stream<PROC_RESULT> mutate(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computeResult) {
-        CONFIG config = computeResult.config();
-        AbstractResultBuilder<PROC_RESULT> builder = resultBuilder(computeResult)
-            .withCreateMillis(computeResult.createMillis())
-            .withComputeMillis(computeResult.computeMillis())
-            .withNodeCount(computeResult.graph().nodeCount())
-            .withConfig(config);
-
-        if (computeResult.isGraphEmpty()) {
-            return Stream.of(builder.build());
-        } else {
-            updateGraphStore(builder, computeResult);
-            computeResult.graph().releaseProperties();
-            return Stream.of(builder.build());
+        try (computeResult) {
+            CONFIG config = computeResult.config();
+            AbstractResultBuilder<PROC_RESULT> builder = resultBuilder(computeResult)
+                .withCreateMillis(computeResult.createMillis())
+                .withComputeMillis(computeResult.computeMillis())
+                .withNodeCount(computeResult.graph().nodeCount())
+                .withConfig(config);
+
+            if (computeResult.isGraphEmpty()) {
+                return Stream.of(builder.build());
+            } else {
+                updateGraphStore(builder, computeResult);
+                computeResult.graph().releaseProperties();
+                return Stream.of(builder.build());
+            }
         }
     }
 
@@ -62,21 +68,24 @@ public abstract class MutateProc<
         AbstractResultBuilder<?> resultBuilder,
         ComputationResult<ALGO, ALGO_RESULT, CONFIG> computationResult
     ) {
-        PropertyTranslator<ALGO_RESULT> resultPropertyTranslator = nodePropertyTranslator(computationResult);
         MutatePropertyConfig mutatePropertyConfig = computationResult.config();
-        try (ProgressTimer ignored = ProgressTimer.start(resultBuilder::withMutateMillis)) {
+        try (
+            ProgressTimer ignored = ProgressTimer.start(resultBuilder::withMutateMillis);
+            RunTelemetry.Scope phase = computationResult.telemetry().phase("mutate")
+        ) {
             log.debug("Updating in-memory graph store");
             GraphStore graphStore = computationResult.graphStore();
             Graph graph = computationResult.graph();
 
             Collection<NodeLabel> labelsToUpdate = mutatePropertyConfig.nodeLabelIdentifiers(graphStore);
+            NodeProperties nodeProperties = filteredNodeProperties(nodeProperties(computationResult), graph);
 
             for (NodeLabel label : labelsToUpdate) {
                 graphStore.addNodeProperty(
                     label,
                     mutatePropertyConfig.mutateProperty(),
-                    resultPropertyTranslator.numberType(),
-                    nodeProperties(resultPropertyTranslator, computationResult.result(), graph)
+                    nodePropertyType(computationResult),
+                    nodeProperties
                 );
             }
 
@@ -84,37 +93,89 @@ public abstract class MutateProc<
         }
     }
 
-    private NodeProperties nodeProperties(
-        PropertyTranslator<ALGO_RESULT> resultPropertyTranslator,
-        ALGO_RESULT result,
-        Graph graph
-    ) {
-        if (graph instanceof NodeFilteredGraph) {
-            return new NodeProperties() {
-                @Override
-                public double nodeProperty(long nodeId) {
-                    return !graph.contains(nodeId) ?
-                        PropertyMapping.DEFAULT_FALLBACK_VALUE :
-                        resultPropertyTranslator.toDouble(result, ((NodeFilteredGraph) graph).getMappedNodeId(nodeId));
-                }
-
-                @Override
-                public long size() {
-                    return graph.nodeCount();
-                }
-            };
-        } else {
-            return new NodeProperties() {
-                @Override
-                public double nodeProperty(long nodeId) {
-                    return resultPropertyTranslator.toDouble(result, nodeId);
-                }
-
-                @Override
-                public long size() {
-                    return graph.nodeCount();
-                }
-            };
+    /**
+     * Returns the values that are added to the graph store, indexed by the node ids of the computation graph.
+     * <p>
+     * By default, the values of the {@link #nodePropertyTranslator(ComputationResult)} are copied into
+     * a compact, typed column, so that the algorithm result does not need to be kept alive by the graph store.
+     * Procedures whose result already is such a column can override this method to hand it over without copying.
+     */
+    protected NodeProperties nodeProperties(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computationResult) {
+        return TypedNodeProperties.copyOf(
+            nodePropertyTranslator(computationResult),
+            computationResult.result(),
+            computationResult.graph().nodeCount(),
+            computationResult.config().concurrency(),
+            computationResult.tracker()
+        );
+    }
+
+    protected NumberType nodePropertyType(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computationResult) {
+        return nodePropertyTranslator(computationResult).numberType();
+    }
+
+    private static NodeProperties filteredNodeProperties(NodeProperties nodeProperties, Graph graph) {
+        if (!(graph instanceof NodeFilteredGraph)) {
+            return nodeProperties;
         }
+        NodeFilteredGraph filteredGraph = (NodeFilteredGraph) graph;
+        return new NodeProperties() {
+            @Override
+            public double nodeProperty(long nodeId) {
+                return filteredGraph.contains(nodeId)
+                    ? nodeProperties.nodeProperty(filteredGraph.getMappedNodeId(nodeId))
+                    : PropertyMapping.DEFAULT_FALLBACK_VALUE;
+            }
+
+            @Override
+            public long longValue(long nodeId) {
+                return filteredGraph.contains(nodeId)
+                    ? nodeProperties.longValue(filteredGraph.getMappedNodeId(nodeId))
+                    : (long) PropertyMapping.DEFAULT_FALLBACK_VALUE;
+            }
+
+            @Override
+            public float[] floatArrayValue(long nodeId) {
+                return filteredGraph.contains(nodeId)
+                    ? nodeProperties.floatArrayValue(filteredGraph.getMappedNodeId(nodeId))
+                    : null;
+            }
+
+            @Override
+            public double[] doubleArrayValue(long nodeId) {
+                return filteredGraph.contains(nodeId)
+                    ? nodeProperties.doubleArrayValue(filteredGraph.getMappedNodeId(nodeId))
+                    : null;
+            }
+
+            @Override
+            public long[] longArrayValue(long nodeId) {
+                return filteredGraph.contains(nodeId)
+                    ? nodeProperties.longArrayValue(filteredGraph.getMappedNodeId(nodeId))
+                    : null;
+            }
+
+            @Override
+            public int dimension() {
+                return nodeProperties.dimension();
+            }
+
+            @Override
+            public Value value(long nodeId) {
+                return filteredGraph.contains(nodeId)
+                    ? nodeProperties.value(filteredGraph.getMappedNodeId(nodeId))
+                    : null;
+            }
+
+            @Override
+            public long size() {
+                return graph.nodeCount();
+            }
+
+            @Override
+            public long release() {
+                return nodeProperties.release();
+            }
+        };
     }
 }
@@ -33,13 +33,15 @@ public abstract class StatsProc<
     protected abstract AbstractResultBuilder<PROC_RESULT> resultBuilder(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computeResult);
 
     protected Stream<PROC_RESULT> stats(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computeResult) {
-        return Stream.of(
-            resultBuilder(computeResult)
-                .withCreateMillis(computeResult.createMillis())
-                .withComputeMillis(computeResult.computeMillis())
-                .withNodeCount(computeResult.graph().nodeCount())
-                .withConfig(computeResult.config())
-                .build()
-        );
+        try (computeResult) {
+            return Stream.of(
+                resultBuilder(computeResult)
+                    .withCreateMillis(computeResult.createMillis())
+                    .withComputeMillis(computeResult.computeMillis())
+                    .withNodeCount(computeResult.graph().nodeCount())
+                    .withConfig(computeResult.config())
+                    .build()
+            );
+        }
     }
 }
@@ -20,11 +20,13 @@
 package org.neo4j.graphalgo;
 
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelBatchStream;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 
-import java.util.stream.LongStream;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public abstract class StreamProc<
@@ -35,16 +37,54 @@ public abstract class StreamProc<
 
     protected abstract PROC_RESULT streamResult(long originalNodeId, double value);
 
+    /**
+     * Streams one result per node. The original node ids and the values are computed in parallel batches
+     * of primitive columns, the result objects are only created while the stream is being consumed.
+     * The computation result is closed together with the returned stream.
+     */
     protected Stream<PROC_RESULT> stream(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computationResult) {
         if (computationResult.isGraphEmpty()) {
+            computationResult.close();
             return Stream.empty();
         }
 
         Graph graph = computationResult.graph();
+        ALGO_RESULT result = computationResult.result();
         PropertyTranslator<ALGO_RESULT> propertyTranslator = nodePropertyTranslator(computationResult);
 
-        return LongStream
-            .range(IdMapping.START_NODE_ID, graph.nodeCount())
-            .mapToObj(nodeId -> streamResult(graph.toOriginalNodeId(nodeId), propertyTranslator.toDouble(computationResult.result(), nodeId)));
+        return ParallelBatchStream
+            .stream(
+                graph.nodeCount(),
+                ParallelUtil.DEFAULT_BATCH_SIZE,
+                computationResult.config().concurrency(),
+                Pools.DEFAULT,
+                (startNode, endNode) -> {
+                    var batch = new NodeValueBatch(Math.toIntExact(endNode - startNode));
+                    for (int i = 0; i < batch.size(); i++) {
+                        long nodeId = startNode + i;
+                        batch.originalNodeIds[i] = graph.toOriginalNodeId(nodeId);
+                        batch.values[i] = propertyTranslator.toDouble(result, nodeId);
+                    }
+                    return batch;
+                }
+            )
+            .flatMap(batch -> IntStream
+                .range(0, batch.size())
+                .mapToObj(i -> streamResult(batch.originalNodeIds[i], batch.values[i])))
+            .onClose(computationResult::close);
+    }
+
+    private static final class NodeValueBatch {
+        final long[] originalNodeIds;
+        final double[] values;
+
+        NodeValueBatch(int size) {
+            this.originalNodeIds = new long[size];
+            this.values = new double[size];
+        }
+
+        int size() {
+            return values.length;
+        }
     }
 }
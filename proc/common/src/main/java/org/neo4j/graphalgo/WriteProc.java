@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.config.WritePropertyConfig;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.telemetry.RunTelemetry;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
@@ -41,18 +42,20 @@ public abstract class WriteProc<
     protected abstract AbstractResultBuilder<PROC_RESULT> resultBuilder(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computeResult);
 
     protected Stream<PROC_RESULT> write(ComputationResult<ALGO, ALGO_RESULT, CONFIG> computeResult) {
-        CONFIG config = computeResult.config();
-        AbstractResultBuilder<PROC_RESULT> builder = resultBuilder(computeResult)
-            .withCreateMillis(computeResult.createMillis())
-            .withComputeMillis(computeResult.computeMillis())
-            .withNodeCount(computeResult.graph().nodeCount())
-            .withConfig(config);
+        try (computeResult) {
+            CONFIG config = computeResult.config();
+            AbstractResultBuilder<PROC_RESULT> builder = resultBuilder(computeResult)
+                .withCreateMillis(computeResult.createMillis())
+                .withComputeMillis(computeResult.computeMillis())
+                .withNodeCount(computeResult.graph().nodeCount())
+                .withConfig(config);
 
-        if (!computeResult.isGraphEmpty()) {
-            writeToNeo(builder, computeResult);
-            computeResult.graph().releaseProperties();
+            if (!computeResult.isGraphEmpty()) {
+                writeToNeo(builder, computeResult);
+                computeResult.graph().releaseProperties();
+            }
+            return Stream.of(builder.build());
         }
-        return Stream.of(builder.build());
     }
 
     private void writeToNeo(
@@ -60,7 +63,10 @@ public abstract class WriteProc<
         ComputationResult<ALGO, ALGO_RESULT, CONFIG> computationResult
     ) {
         WritePropertyConfig writePropertyConfig = computationResult.config();
-        try (ProgressTimer ignored = ProgressTimer.start(resultBuilder::withWriteMillis)) {
+        try (
+            ProgressTimer ignored = ProgressTimer.start(resultBuilder::withWriteMillis);
+            RunTelemetry.Scope phase = computationResult.telemetry().phase("write")
+        ) {
             log.debug("Writing results");
 
             Graph graph = computationResult.graph();
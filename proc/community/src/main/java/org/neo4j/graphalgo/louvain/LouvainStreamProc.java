@@ -92,7 +92,8 @@ public class LouvainStreamProc extends StreamProc<Louvain, Louvain, LouvainStrea
                 long[] communities = includeIntermediateCommunities ? louvain.getCommunities(nodeId) : null;
 
                 return new StreamResult(graph.toOriginalNodeId(nodeId), communities, louvain.getCommunity(nodeId));
-            });
+            })
+            .onClose(computationResult::close);
     }
 
     @Override
@@ -76,7 +76,8 @@ public class TriangleCountStreamProc
             .mapToObj(i -> new Result(
                 graph.toOriginalNodeId(i),
                 result.localTriangles().get(i)
-            ));
+            ))
+            .onClose(computationResult::close);
     }
 
     @Override
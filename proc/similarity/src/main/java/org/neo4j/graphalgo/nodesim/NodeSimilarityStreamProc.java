@@ -52,6 +52,7 @@ public class NodeSimilarityStreamProc extends StreamProc<NodeSimilarity, NodeSim
 
         if (result.isGraphEmpty()) {
             graph.release();
+            result.close();
             return Stream.empty();
         }
 
@@ -60,7 +61,8 @@ public class NodeSimilarityStreamProc extends StreamProc<NodeSimilarity, NodeSim
                 similarityResult.node1 = graph.toOriginalNodeId(similarityResult.node1);
                 similarityResult.node2 = graph.toOriginalNodeId(similarityResult.node2);
                 return similarityResult;
-            });
+            })
+            .onClose(result::close);
     }
 
     @Procedure(value = "gds.nodeSimilarity.stream.estimate", mode = READ)
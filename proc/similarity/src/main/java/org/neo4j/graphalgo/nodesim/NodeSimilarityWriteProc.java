@@ -92,60 +92,62 @@ public class NodeSimilarityWriteProc extends WriteProc<NodeSimilarity, NodeSimil
 
     @Override
     public Stream<WriteResult> write(ComputationResult<NodeSimilarity, NodeSimilarityResult, NodeSimilarityWriteConfig> computationResult) {
-        NodeSimilarityWriteConfig config = computationResult.config();
-
-        if (computationResult.isGraphEmpty()) {
-            return Stream.of(
-                new WriteResult(
-                    computationResult.createMillis(),
-                    0,
-                    0,
-                    0,
-                    0,
-                    0,
-                    Collections.emptyMap(),
-                    config.toMap()
-                )
-            );
-        }
+        try (computationResult) {
+            NodeSimilarityWriteConfig config = computationResult.config();
+
+            if (computationResult.isGraphEmpty()) {
+                return Stream.of(
+                    new WriteResult(
+                        computationResult.createMillis(),
+                        0,
+                        0,
+                        0,
+                        0,
+                        0,
+                        Collections.emptyMap(),
+                        config.toMap()
+                    )
+                );
+            }
 
-        NodeSimilarity algorithm = computationResult.algorithm();
-        Graph similarityGraph = computationResult.result().graphResult().similarityGraph();
-
-        NodeSimilarityProc.NodeSimilarityResultBuilder<WriteResult> resultBuilder =
-            NodeSimilarityProc.resultBuilder(new WriteResult.Builder(), computationResult);
-
-        if (similarityGraph.relationshipCount() > 0) {
-            String writeRelationshipType = config.writeRelationshipType();
-            String writeProperty = config.writeProperty();
-
-            runWithExceptionLogging(
-                "NodeSimilarity write-back failed",
-                () -> {
-                    try (ProgressTimer ignored = ProgressTimer.start(resultBuilder::withWriteMillis)) {
-                        RelationshipExporter exporter = RelationshipExporter
-                            .of(api, similarityGraph, algorithm.getTerminationFlag())
-                            .withLog(log)
-                            .build();
-                        if (shouldComputeHistogram(callContext)) {
-                            DoubleHistogram histogram = new DoubleHistogram(HISTOGRAM_PRECISION_DEFAULT);
-                            exporter.write(
-                                writeRelationshipType,
-                                Optional.of(writeProperty),
-                                (node1, node2, similarity) -> {
-                                    histogram.recordValue(similarity);
-                                    return true;
-                                }
-                            );
-                            resultBuilder.withHistogram(histogram);
-                        } else {
-                            exporter.write(writeRelationshipType, writeProperty);
+            NodeSimilarity algorithm = computationResult.algorithm();
+            Graph similarityGraph = computationResult.result().graphResult().similarityGraph();
+
+            NodeSimilarityProc.NodeSimilarityResultBuilder<WriteResult> resultBuilder =
+                NodeSimilarityProc.resultBuilder(new WriteResult.Builder(), computationResult);
+
+            if (similarityGraph.relationshipCount() > 0) {
+                String writeRelationshipType = config.writeRelationshipType();
+                String writeProperty = config.writeProperty();
+
+                runWithExceptionLogging(
+                    "NodeSimilarity write-back failed",
+                    () -> {
+                        try (ProgressTimer ignored = ProgressTimer.start(resultBuilder::withWriteMillis)) {
+                            RelationshipExporter exporter = RelationshipExporter
+                                .of(api, similarityGraph, algorithm.getTerminationFlag())
+                                .withLog(log)
+                                .build();
+                            if (shouldComputeHistogram(callContext)) {
+                                DoubleHistogram histogram = new DoubleHistogram(HISTOGRAM_PRECISION_DEFAULT);
+                                exporter.write(
+                                    writeRelationshipType,
+                                    Optional.of(writeProperty),
+                                    (node1, node2, similarity) -> {
+                                        histogram.recordValue(similarity);
+                                        return true;
+                                    }
+                                );
+                                resultBuilder.withHistogram(histogram);
+                            } else {
+                                exporter.write(writeRelationshipType, writeProperty);
+                            }
                         }
                     }
-                }
-            );
+                );
+            }
+            return Stream.of(resultBuilder.build());
         }
-        return Stream.of(resultBuilder.build());
     }
 
     public static class WriteResult {
@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.BaseConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.mem.MemoryLedger;
 import org.neo4j.graphalgo.utils.ExceptionUtil;
 
 import java.util.Optional;
@@ -51,7 +52,7 @@ public interface HeapControlTest<ALGORITHM extends Algorithm<ALGORITHM, RESULT>,
     default void shouldPassOnSufficientMemory() {
         applyOnProcedure(proc -> {
             CONFIG config = proc.newConfig(Optional.empty(), createMinimalImplicitConfig(CypherMapWrapper.empty()));
-            proc.tryValidateMemoryUsage(config, proc::memoryEstimation, () -> 10000000);
+            proc.reserveMemory(config, "test", proc::memoryEstimation, new MemoryLedger(() -> 10000000, 0)).close();
         });
     }
 
@@ -60,7 +61,7 @@ public interface HeapControlTest<ALGORITHM extends Algorithm<ALGORITHM, RESULT>,
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
             applyOnProcedure(proc -> {
                 CONFIG config = proc.newConfig(Optional.empty(), createMinimalImplicitConfig(CypherMapWrapper.empty()));
-                proc.tryValidateMemoryUsage(config, proc::memoryEstimation, () -> 42);
+                proc.reserveMemory(config, "test", proc::memoryEstimation, new MemoryLedger(() -> 42, 0));
             });
         });
 
@@ -83,7 +84,7 @@ public interface HeapControlTest<ALGORITHM extends Algorithm<ALGORITHM, RESULT>,
         applyOnProcedure(proc -> {
             CypherMapWrapper configMap = CypherMapWrapper.empty().withBoolean(BaseConfig.SUDO_KEY, true);
             CONFIG config = proc.newConfig(Optional.empty(), createMinimalImplicitConfig(configMap));
-            proc.tryValidateMemoryUsage(config, proc::memoryEstimation, () -> 42);
+            proc.reserveMemory(config, "test", proc::memoryEstimation, new MemoryLedger(() -> 42, 0));
         });
     }
 }
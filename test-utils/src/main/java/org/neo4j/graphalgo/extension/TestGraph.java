@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.extension;
 
 import org.neo4j.graphalgo.api.FilterGraph;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NeighborCursor;
 
 public class TestGraph extends FilterGraph {
 
@@ -45,6 +46,11 @@ public class TestGraph extends FilterGraph {
         return graph.toMappedNodeId(idFunction.of(variable));
     }
 
+    @Override
+    public NeighborCursor neighborCursor(double fallbackValue) {
+        return graph.neighborCursor(fallbackValue);
+    }
+
     @Override
     public Graph concurrentCopy() {
         return new TestGraph(graph.concurrentCopy(), idFunction, name);